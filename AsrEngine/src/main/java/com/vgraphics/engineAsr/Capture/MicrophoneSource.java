@@ -0,0 +1,119 @@
+package com.vgraphics.engineAsr.Capture;
+
+import android.Manifest;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresPermission;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+
+import java.io.IOException;
+
+/**
+ * Audio source that records 16-bit mono PCM from the device microphone through
+ * {@link AudioRecord}, tuned for voice recognition. Notice that the application must have
+ * {@link Manifest.permission#RECORD_AUDIO} permission to use this class.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MicrophoneSource implements AudioSource {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default sample rate in Hz. Supported by every Android device. */
+    public static final int DEFAULT_SAMPLE_RATE = 16000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Sample rate in Hz. */
+    private final int sampleRate;
+    /** Platform recorder. Only valid while open. */
+    private AudioRecord record;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new microphone source with {@link #DEFAULT_SAMPLE_RATE}.
+     */
+    public MicrophoneSource() {
+        this(DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Constructs a new microphone source.
+     *
+     * @param sampleRate Sample rate in Hz.
+     */
+    public MicrophoneSource(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SOURCE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    @RequiresPermission(Manifest.permission.RECORD_AUDIO)
+    public void open() throws IOException {
+        // Capture thread must not be preempted by ui work.
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_AUDIO);
+
+        final int minimum = AudioRecord.getMinBufferSize(sampleRate,
+                AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        if (minimum == AudioRecord.ERROR || minimum == AudioRecord.ERROR_BAD_VALUE)
+            throw new IOException("Sample rate " + sampleRate + " is not supported.");
+
+        record = new AudioRecord(MediaRecorder.AudioSource.VOICE_RECOGNITION, sampleRate,
+                AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT, minimum * 2);
+        if (record.getState() != AudioRecord.STATE_INITIALIZED) {
+            close();
+            throw new IOException("Failed to initialize microphone.");
+        }
+
+        record.startRecording();
+    }
+
+    @Override
+    public int read(@NonNull short[] buffer, int offset, int length) throws IOException {
+        if (record == null) return -1;
+
+        final int read = record.read(buffer, offset, length);
+        if (read < 0) throw new IOException("Microphone read failed with code : " + read);
+
+        return read;
+    }
+
+    @Override
+    public void close() {
+        if (record == null) return;
+
+        record.stop();
+        record.release();
+        record = null;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int getChannels() {
+        return 1;
+    }
+
+    @Override
+    public boolean isRealTime() {
+        return true;
+    }
+}
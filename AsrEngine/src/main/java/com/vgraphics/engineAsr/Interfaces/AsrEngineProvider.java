@@ -0,0 +1,62 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+
+public interface AsrEngineProvider {
+    /**
+     * Defines which engine code this provider creates engines for. Codes of engines outside this
+     * library must not clash with {@link AsrEngines}.
+     *
+     * @return The engine code of created engines.
+     */
+    @AsrEngines int engineCode();
+
+    /**
+     * @return Human readable name of the engine.
+     */
+    @NonNull
+    String getName();
+
+    /**
+     * @return Capabilities of the engine. Any combination of {@link EngineCapability} flags.
+     */
+    @EngineCapability int getCapabilities();
+
+    /**
+     * Performs any slow work that does not need the main thread ahead of construction, such as
+     * reading caches or loading models, so that a later {@link #create} is fast. Called on a
+     * background thread when an engine is preloaded.
+     *
+     * @param context  Application context.
+     * @param language Language the engine will be constructed with. May be {@code null}.
+     * @param options  Options shared by all engines.
+     */
+    @WorkerThread
+    void warmUp(@NonNull Context context, @Nullable String language,
+                @NonNull EngineOptions options);
+
+    /**
+     * Creates a new engine. Called on the main thread the first time the engine is used.
+     *
+     * @param context  Application context.
+     * @param language Language to set to engine. May be {@code null}.
+     * @param listener Listener to invoke asr events.
+     * @param options  Options shared by all engines.
+     *
+     * @return The new engine.
+     */
+    @MainThread
+    @NonNull
+    AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                              @NonNull AsrCallbacksListener listener,
+                              @NonNull EngineOptions options);
+}
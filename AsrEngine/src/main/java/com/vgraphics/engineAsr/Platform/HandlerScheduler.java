@@ -0,0 +1,71 @@
+package com.vgraphics.engineAsr.Platform;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Scheduler that posts to an Android {@link Handler}. The clock is
+ * {@link SystemClock#uptimeMillis()}, which is the clock the handler measures delays against.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class HandlerScheduler implements Scheduler {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Handler that runs posted runnables. */
+    private final Handler handler;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new scheduler that runs posted runnables on given looper.
+     *
+     * @param looper The looper that runs posted runnables.
+     */
+    public HandlerScheduler(@NonNull Looper looper) {
+        this.handler = new Handler(looper);
+    }
+
+    /**
+     * Constructs a new scheduler that runs posted runnables on the main thread.
+     *
+     * @return A scheduler of the main looper.
+     */
+    @NonNull
+    public static HandlerScheduler main() {
+        return new HandlerScheduler(Looper.getMainLooper());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SCHEDULER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public boolean post(@NonNull Runnable runnable) {
+        return handler.post(runnable);
+    }
+
+    @Override
+    public boolean postDelayed(@NonNull Runnable runnable, long delay) {
+        return handler.postDelayed(runnable, delay);
+    }
+
+    @Override
+    public void removeCallbacks(@NonNull Runnable runnable) {
+        handler.removeCallbacks(runnable);
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+}
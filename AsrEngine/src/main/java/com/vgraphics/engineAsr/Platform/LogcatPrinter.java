@@ -0,0 +1,15 @@
+package com.vgraphics.engineAsr.Platform;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Printer that writes the logs of the platform independent classes to logcat, exactly as the
+ * Android classes of the library do.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class LogcatPrinter implements Log.Printer {
+    @Override
+    public void print(int priority, @NonNull String tag, @NonNull String message) {
+        android.util.Log.println(priority, tag, message);
+    }
+}
@@ -3,18 +3,50 @@ package com.vgraphics.engineAsr.asr;
 import android.Manifest;
 import android.annotation.SuppressLint;
 import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresPermission;
 
+import com.vgraphics.engineAsr.Async.RecognitionException;
+import com.vgraphics.engineAsr.Async.RecognitionFuture;
+import com.vgraphics.engineAsr.Batch.BatchTranscriber;
+import com.vgraphics.engineAsr.Batch.DecoderTranscriber;
+import com.vgraphics.engineAsr.Capture.VoiceActivityDetector;
+import com.vgraphics.engineAsr.Commands.CommandMatcher;
+import com.vgraphics.engineAsr.Enums.AsrCommand;
 import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Enums.BreakerState;
+import com.vgraphics.engineAsr.Failover.FailoverAsr;
+import com.vgraphics.engineAsr.Interfaces.AsrAdmissionListener;
+import com.vgraphics.engineAsr.Interfaces.AsrBreakerListener;
 import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommandListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommittedPartialListener;
+import com.vgraphics.engineAsr.Interfaces.AsrDictationListener;
 import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.Interfaces.AsrMetricsListener;
+import com.vgraphics.engineAsr.Interfaces.AsrPartialDeltaListener;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Metrics.MetricsSnapshot;
+import com.vgraphics.engineAsr.Platform.HandlerScheduler;
+import com.vgraphics.engineAsr.Platform.LogcatPrinter;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.Replay.ReplayAsr;
+import com.vgraphics.engineAsr.Replay.ReplayTrace;
+import com.vgraphics.engineAsr.Replay.TraceRecorder;
+import com.vgraphics.engineAsr.Results.AsrResult;
+import com.vgraphics.engineAsr.Session.AsrSession;
+import com.vgraphics.engineAsr.Session.SessionManager;
 import com.vgraphics.engineAsr.asr.GoogleFree.GoogleFreeAsr;
+import com.vgraphics.engineAsr.asr.GoogleFree.RecognizerPool;
+import com.vgraphics.engineAsr.asr.Offline.OfflineAsr;
+import com.vgraphics.engineAsr.asr.Offline.VoskDecoder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,26 +61,64 @@ public abstract class Asr {
     //   → INTERNAL VARIABLES
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
     /** Logger tag. */
-    public static final String TAG = "*** VGraphics *** [AsrEngine] :: ";
+    public static final String TAG = com.vgraphics.engineAsr.Platform.Log.TAG;
     /** Static instance of Asr engine. */
     @SuppressLint("StaticFieldLeak")
     static Asr instance;
 
+    static {
+        // Platform independent classes log to logcat as well.
+        com.vgraphics.engineAsr.Platform.Log.setPrinter(new LogcatPrinter());
+    }
+
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → PRIVATE VARIABLES
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
     /** Asr current engine. */
-    private static AsrEngineInterface engine;
+    private volatile AsrEngineInterface engine;
+    /** Persisted languages of the selected engine, or {@code null} if it does not keep any. */
+    private volatile LanguageCache languageCache;
     /** Current selected asr engine. */
     private @AsrEngines int asrEngine = AsrEngines.GOOGLE_FREE;
     /** Application context. */
-    private Context context;
+    private volatile Context context;
     /** Listener to invoke asr results. */
     private AsrCallbacksListener listener;
     /** Defines the current selected language. */
     private String language;
     /** Lock object used to avoid calling multiple operations at the same time. */
     private final Object lock = new Object();
+    /** Scheduler of the main thread, that runs commands and sessions. */
+    private final Scheduler scheduler = HandlerScheduler.main();
+    /** Controller that queues and spaces start and stop requests before they reach the engine. */
+    private final AdmissionController admission = new AdmissionController(scheduler);
+    /** Options read by engines when they are constructed. */
+    private final EngineOptions options = new EngineOptions();
+    /** Registry of the available engines, which also keeps constructed engines. */
+    private final EngineRegistry registry = EngineRegistry.getInstance();
+    /** Continuous dictation that re-arms sessions while active. */
+    private final ContinuousDictation dictation = new ContinuousDictation(scheduler);
+    /** Dispatcher that executes engine commands on the main thread in FIFO order. */
+    private final CommandDispatcher dispatcher = new CommandDispatcher(scheduler,
+            new CommandDispatcher.Executor() {
+                @Override
+                public void execute(@AsrCommand int type, @Nullable String text, int number) {
+                    executeCommand(type, text, number);
+                }
+            });
+    /** Manager of the concurrent sessions, which construct their own engine instances. */
+    private final SessionManager sessions = new SessionManager(scheduler,
+            new SessionManager.EngineFactory() {
+                @Nullable
+                @Override
+                public AsrEngineInterface create(int engineCode, @Nullable String language,
+                                                 @NonNull AsrCallbacksListener listener) {
+                    final AsrEngineProvider provider = registry.getProvider(engineCode);
+                    if (provider == null) return null;
+
+                    return provider.create(context, language, listener, options);
+                }
+            });
 
     // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
     // ║ FUNCTIONS                                                                                 ║
@@ -60,7 +130,11 @@ public abstract class Asr {
     /**
      * Private constructor to avoid initializing abstract class.
      */
-    Asr() {}
+    Asr() {
+        admission.setDictation(dictation);
+        admission.setTiming(options.getTiming());
+        sessions.setMetrics(options.getMetrics());
+    }
 
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → INITIALIZE FUNCTIONS
@@ -129,9 +203,43 @@ public abstract class Asr {
      */
     public void initialize(@NonNull final Context context, @Nullable String language,
                            @AsrEngines int asrEngine) {
+        this.initialize(context, language, asrEngine, options.getTiming());
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Initializes ASR engine object with a timing profile. The profile replaces the fixed start
+     * watch dog deadline, mute duration, start spacing and stability window bounds of the
+     * sessions. Notice that this operation is required and must be called in order for asr to
+     * properly work.
+     *
+     * <p>If auto-tune of the profile is on, the start watch dog deadline follows the latency
+     * measured between a start request and the engine getting ready on this device. Unless the
+     * profile already has a store, the measured latencies are kept in the shared preferences, so
+     * the tuned deadline carries over to the next launch.
+     *
+     * @param context   Application context used to initialize asr engine.
+     * @param language  The language code used to initialize asr engine. If {@code null} or empty,
+     *                  device default language will be used.
+     * @param asrEngine The asr engine to use. No check for language support is done here. You may
+     *                  end with a corrupted engine unless you perform a language validation check.
+     * @param timing    The timing profile of the sessions.
+     *
+     * @see SessionTiming
+     */
+    public void initialize(@NonNull final Context context, @Nullable String language,
+                           @AsrEngines int asrEngine, @NonNull SessionTiming timing) {
         synchronized (lock) {
             Log.d(TAG, TAG + "Initializing Asr engine...");
 
+            // Persist tuned timings across launches.
+            if (timing.isAutoTune() && timing.getStore() == null)
+                timing.setStore(new PreferencesTimingStore(context, GoogleFreeAsr.CACHE_NAME));
+            options.setTiming(timing);
+            admission.setTiming(timing);
+
             // Check if given language is valid.
             if (language == null || language.isEmpty()) language = getCurrentLanguage();
 
@@ -161,20 +269,27 @@ public abstract class Asr {
      * <p>Parsing an invalid language will result the engine to use the default
      * {@link Locale#getDefault()}.
      *
+     * <p>Every change of the language invokes
+     * {@link AsrCallbacksListener#onAsrInitialized(boolean)} once the engine is ready for the new
+     * language, whether the engine had to be constructed or rebuilt, or already held a recognizer
+     * for it. Setting the current language again does nothing and invokes no callback.
+     *
      * @param language The new language to initialize the engine. Must be type of 'en-US'.
      */
     public void setLanguage(@Nullable String language) {
-        // Check if given language is valid.
-        if (language == null || language.isEmpty()) language = getCurrentLanguage();
+        synchronized (lock) {
+            // Check if given language is valid.
+            if (language == null || language.isEmpty()) language = getCurrentLanguage();
 
-        // Check if current language matches engine language.
-        if (this.language.equals(language)) return;
+            // Check if current language matches engine language.
+            if (this.language.equals(language)) return;
 
-        // Store language.
-        this.language = language;
+            // Store language.
+            this.language = language;
 
-        // Re-build engine.
-        constructEngine();
+            // Re-build engine.
+            constructEngine();
+        }
     }
 
     /**
@@ -190,8 +305,141 @@ public abstract class Asr {
         // Set listener.
         this.listener = listener;
 
-        // Check if we have a initialized engine. If we do, just set the listener.
-        if (engine != null) engine.setListener(this.listener);
+        // Engine invokes admission controller, which forwards callbacks to the listener.
+        admission.setListener(this.listener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the listener to receive start and stop requests that did not reach the engine, for
+     * example a start that was cancelled out by a following stop before the engine got to start.
+     * Notice that any set listener will be override.
+     *
+     * @param admissionListener Listener to invoke on rejected requests.
+     */
+    public void setAdmissionListener(@Nullable AsrAdmissionListener admissionListener) {
+        admission.setAdmissionListener(admissionListener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener to receive only the part of each partial result that is new or
+     * changed since the previous partial, together with the length of the stable prefix. Useful
+     * for long dictation where re-sending the whole partial is expensive. Identical partials are
+     * dropped and reach neither this listener nor {@link AsrCallbacksListener}. Notice that any
+     * set listener will be override.
+     *
+     * @param deltaListener Listener to invoke on partial result deltas.
+     */
+    public void setPartialDeltaListener(@Nullable AsrPartialDeltaListener deltaListener) {
+        admission.setPartialDeltaListener(deltaListener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener to receive the leading part of each partial result once it has
+     * stayed unchanged for a while. The part is unlikely to change anymore, so it can be shown or
+     * acted upon before the final result arrives. How long it must stay unchanged follows the
+     * pace the recognizer reports partials at. Listeners that implement
+     * {@link AsrCommittedPartialListener} as well receive them without being set here. Notice
+     * that any set listener will be override.
+     *
+     * @param committedListener Listener to invoke on committed partial results.
+     */
+    public void setCommittedPartialListener(
+            @Nullable AsrCommittedPartialListener committedListener) {
+        admission.setCommittedPartialListener(committedListener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener to receive every final result in structured form right before
+     * {@link AsrCallbacksListener#onAsrFinalResult(String)}. The result holds the n-best
+     * alternatives with their confidences, see {@link #setMaxAlternatives(int)}, and the timing
+     * of the session, so applications can re-score or disambiguate commands themselves. Listeners
+     * that implement {@link AsrResultListener} as well receive them without being set here.
+     * Notice that any set listener will be override.
+     *
+     * @param resultListener Listener to invoke on structured final results.
+     */
+    public void setResultListener(@Nullable AsrResultListener resultListener) {
+        admission.setResultListener(resultListener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the voice commands your application acts on. Commands are matched against every
+     * partial result as it arrives and are reported through {@link AsrCommandListener} as soon
+     * as they are matched unambiguously, instead of after the end of speech. Every command is
+     * reported once per session. Commands may be added to or removed from the matcher at any
+     * time.
+     *
+     * @param commands      The voice commands or {@code null} to match none.
+     * @param stopOnCommand Defines if the session is stopped as soon as a command is matched in a
+     *                      partial result.
+     */
+    public void setCommands(@Nullable CommandMatcher commands, boolean stopOnCommand) {
+        admission.setCommandMatcher(commands, stopOnCommand);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener to receive the voice commands set through
+     * {@link #setCommands(CommandMatcher, boolean)} that were matched. Notice that any set
+     * listener will be override.
+     *
+     * @param commandListener Listener to invoke on matched voice commands.
+     */
+    public void setCommandListener(@Nullable AsrCommandListener commandListener) {
+        admission.setCommandListener(commandListener);
+    }
+
+    /**
+     *<pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the maximum number of alternatives of structured final results. Defaults to 1, the
+     * best alternative only. Engines that do not recognize alternatives deliver one regardless.
+     * Applies to the current engine from its next session and to engines constructed later on.
+     *
+     * @param maxAlternatives Number of alternatives, clamped between 1 and
+     *                        {@link AsrResult#MAX_ALTERNATIVES}.
+     */
+    public void setMaxAlternatives(int maxAlternatives) {
+        options.setMaxAlternatives(maxAlternatives);
+
+        // Apply to current engine too.
+        final AsrEngineInterface current = engine;
+        if (current instanceof GoogleFreeAsr)
+            ((GoogleFreeAsr) current).setMaxAlternatives(options.getMaxAlternatives());
+        else if (current instanceof OfflineAsr)
+            ((OfflineAsr) current).setMaxAlternatives(options.getMaxAlternatives());
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the listener that receives the segments and the transcript of a continuous dictation.
+     *
+     * @param dictationListener Listener to invoke dictation events or {@code null} to remove it.
+     *
+     * @see #startDictation()
+     */
+    public void setDictationListener(@Nullable AsrDictationListener dictationListener) {
+        dictation.setListener(dictationListener);
     }
 
     /**
@@ -205,23 +453,500 @@ public abstract class Asr {
      *                  end with a corrupted engine unless you perform a language validation check.
      */
     public void setEngine(@AsrEngines int asrEngine) {
-        // Check if same engine requested.
-        if (this.asrEngine == asrEngine) {
-            Log.w(TAG, TAG + "Trying to set same engine. Skipping...");
+        synchronized (lock) {
+            // Check if same engine requested.
+            if (this.asrEngine == asrEngine) {
+                Log.w(TAG, TAG + "Trying to set same engine. Skipping...");
+                return;
+            }
+
+            // Store engine preference.
+            this.asrEngine = asrEngine;
+
+            // Re-build engine.
+            constructEngine();
+        }
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Preloads given engine, so that a later {@link #setEngine(int)} switches to it without a
+     * cold start. Slow preparation, such as loading models, runs on a background thread and the
+     * engine is then constructed on the main thread using the current language. The current
+     * engine is not affected. Notice that this operation requires {@link #initialize(Context)}
+     * first.
+     *
+     * @param asrEngine The asr engine to preload.
+     */
+    public void preloadEngine(@AsrEngines final int asrEngine) {
+        final Context context;
+        final String language;
+        synchronized (lock) {
+            context = this.context;
+            language = this.language;
+        }
+
+        // Check if asr is initialized.
+        if (context == null) {
+            Log.e(TAG, TAG + "Asr is not initialized. Can not preload engine.");
             return;
         }
 
-        // Store engine preference.
-        this.asrEngine = asrEngine;
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                registry.warmUp(asrEngine, context, language, options);
+                dispatcher.enqueue(AsrCommand.PRELOAD, language, asrEngine, false);
+            }
+        }, "EasyAsr-Preload").start();
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the maximum number of per-language recognizers kept alive at the same time. Switching
+     * to a language that already has a pooled recognizer does not re-create the recognizer. Least
+     * recently used recognizers are disposed when the pool is full. Default value is
+     * {@link RecognizerPool#DEFAULT_CAPACITY}.
+     *
+     * @param capacity Maximum number of pooled recognizers. Values lower than 1 are treated as 1.
+     */
+    public void setRecognizerPoolCapacity(int capacity) {
+        synchronized (lock) {
+            // Store preference for engines constructed later on.
+            options.setRecognizerPoolCapacity(capacity);
+
+            // Apply to current engine on the main thread, where recognizers live.
+            dispatcher.enqueue(AsrCommand.POOL_CAPACITY, null,
+                    options.getRecognizerPoolCapacity(), true);
+        }
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Enables or disables end of speech detection. When enabled, the level of the user voice is
+     * tracked against the background noise and listening stops as soon as the user was silent
+     * for given hangover, instead of waiting for the engine to decide. The values apply to every
+     * engine at once, while every engine detects on its own audio. Use
+     * {@link VoiceActivityDetector#getLastEndOfSpeechLatency()} of
+     * {@link #getVoiceActivityDetector()} to tune the values for your application.
+     *
+     * @param enabled     {@code True} to enable end of speech detection.
+     * @param hangover    Trailing silence that ends speech in milliseconds. Default value is
+     *                    {@link VoiceActivityDetector#DEFAULT_HANGOVER}.
+     * @param sensitivity Margin above background noise that counts as speech in dB. Default value
+     *                    is {@link VoiceActivityDetector#DEFAULT_SENSITIVITY}.
+     */
+    public void setEndOfSpeechDetection(boolean enabled, long hangover, float sensitivity) {
+        options.getVoiceActivitySettings()
+                .setHangover(hangover)
+                .setSensitivity(sensitivity)
+                .setEnabled(enabled);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Supplies the model of given language to the {@link AsrEngines#OFFLINE} engine. Models can
+     * be supplied at any time, before or after the engine is initialized. Notice that the model
+     * must be stored on the device file system, so models shipped as assets must be copied first.
+     *
+     * @param language  The language code of the model, e.g. 'en-US'.
+     * @param modelPath The path of the model directory, or {@code null} to remove the model.
+     */
+    public void setOfflineModel(@NonNull String language, @Nullable String modelPath) {
+        if (modelPath == null) options.getOfflineModels().remove(language);
+        else options.getOfflineModels().put(language, modelPath);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Supplies the recorded sessions that the {@link AsrEngines#REPLAY} engine replays instead of
+     * recognizing speech. Use it to load test or benchmark your application without a speech
+     * service, or to reproduce a recorded timing issue. Record traces of a live engine with
+     * {@link TraceRecorder}. The trace applies to the current replay engine from its next session
+     * and to replay engines constructed later on.
+     *
+     * @param trace The trace to replay or {@code null} to replay nothing.
+     * @param speed Factor the recorded timings are accelerated by. {@code 1} plays in real time
+     *              and {@link ReplayAsr#INSTANT} delivers a whole session at once.
+     *
+     * @throws IllegalArgumentException If given speed is not positive.
+     */
+    public void setReplayTrace(@Nullable ReplayTrace trace, float speed) {
+        if (!(speed > 0)) throw new IllegalArgumentException("Speed must be positive : " + speed);
+        options.setReplay(trace, speed);
+
+        // Apply to current engine too.
+        final AsrEngineInterface current = engine;
+        if (current instanceof ReplayAsr) {
+            ((ReplayAsr) current).setTrace(trace != null ? trace : new ReplayTrace());
+            ((ReplayAsr) current).setSpeed(speed);
+        }
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the engines the {@link AsrEngines#FAILOVER} engine recognizes through. Every turn
+     * starts on the first engine. If it fails with a network, server, client or busy error, or
+     * never starts listening, the next engine takes over within the same turn, so your listener
+     * only hears about the failure once every engine failed. With a hedge delay, the next engine
+     * is also started if the first one did not start listening or report a partial result in
+     * time, and the first final result wins. Applies to failover engines constructed later on.
+     * Defaults to {@link AsrEngines#GOOGLE_FREE} followed by {@link AsrEngines#OFFLINE}, without
+     * hedging.
+     *
+     * @param engines    Engine codes in the order they are tried.
+     * @param hedgeDelay Milliseconds the first engine gets before the next one is started too, or
+     *                   {@link FailoverAsr#NO_HEDGE} to only fail over.
+     *
+     * @throws IllegalArgumentException If no engines are given, the failover engine is among
+     *                                  them or the hedge delay is negative.
+     *
+     * @see #getFailoverStats()
+     */
+    public void setFailover(@NonNull int[] engines, long hedgeDelay) {
+        if (engines.length == 0) throw new IllegalArgumentException("No engines to fail over.");
+        for (int code : engines) if (code == AsrEngines.FAILOVER)
+            throw new IllegalArgumentException("Failover engine can not fail over to itself.");
+        if (hedgeDelay < 0) throw new IllegalArgumentException("Hedge delay must not be " +
+                "negative : " + hedgeDelay);
+
+        options.setFailover(engines, hedgeDelay);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the policy that recovers from recognizer errors. Sessions that fail with a transient
+     * error, such as a network error or a busy recognizer, are retried after a jittered
+     * exponential backoff, within the same user turn, and the recognizer is reconstructed once it
+     * keeps failing. After too many failures in a row, a circuit breaker opens and starts fail
+     * fast with {@link AsrError#CIRCUIT_OPEN} for a cool-down period, instead of adding load to a
+     * saturated recognizer service. Applies to the current engine and to engines constructed
+     * later on.
+     *
+     * @param recoveryPolicy The recovery policy. Set its breaker listener through
+     *                       {@link RecoveryPolicy#setBreakerListener(AsrBreakerListener)}.
+     *
+     * @see #getBreakerState()
+     */
+    public void setRecoveryPolicy(@NonNull RecoveryPolicy recoveryPolicy) {
+        options.setRecoveryPolicy(recoveryPolicy);
+
+        // Apply to current engine too.
+        final AsrEngineInterface current = engine;
+        if (current instanceof GoogleFreeAsr)
+            ((GoogleFreeAsr) current).setRecoveryPolicy(recoveryPolicy);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener to receive the state changes of the circuit breaker of the
+     * current recovery policy. Notice that any set listener will be override.
+     *
+     * @param breakerListener Listener to invoke on breaker state changes.
+     *
+     * @see #setRecoveryPolicy(RecoveryPolicy)
+     */
+    public void setBreakerListener(@Nullable AsrBreakerListener breakerListener) {
+        options.getRecoveryPolicy().setBreakerListener(breakerListener);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Creates a batch transcriber that transcribes stored audio, such as WAV files, concurrently
+     * and faster than real time with the offline model of given language. There is a worker per
+     * available core and every worker decodes with its own recognizer over the shared model. No
+     * microphone is used, so no permission is required. Notice that the caller owns the
+     * transcriber and must shut it down once done.
+     *
+     * @param language The language code of the model, supplied through
+     *                 {@link #setOfflineModel(String, String)}.
+     *
+     * @return A new batch transcriber.
+     *
+     * @throws IllegalStateException If no model was supplied for given language.
+     */
+    @NonNull
+    public BatchTranscriber newBatchTranscriber(@NonNull String language) {
+        final String path = options.getOfflineModels().get(language);
+        if (path == null)
+            throw new IllegalStateException("No offline model was supplied for : " + language);
+
+        return new BatchTranscriber(DecoderTranscriber.factory(VoskDecoder.FACTORY, path));
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Enables or disables latency and error metrics. Metrics are kept per engine and language and
+     * are disabled by default. While disabled they cost close to nothing. Read them through
+     * {@link #getMetricsSnapshots()} or {@link #setMetricsListener(AsrMetricsListener)}.
+     *
+     * @param enabled {@code True} to record metrics.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        options.getMetrics().setEnabled(enabled);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets an optional listener that receives every recorded metric while metrics are enabled.
+     * Notice that the listener is invoked on the thread that recorded the metric.
+     *
+     * @param metricsListener Listener to invoke on recorded metrics or {@code null} to remove it.
+     */
+    public void setMetricsListener(@Nullable AsrMetricsListener metricsListener) {
+        options.getMetrics().setListener(metricsListener);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the recognizer pool of the current engine. Use it to read pool hit, miss and
+     * eviction counters.
+     *
+     * @return The recognizer pool of the current engine or {@code null} if engine is not set or
+     * does not pool recognizers.
+     */
+    @Nullable
+    public RecognizerPool getRecognizerPool() {
+        final AsrEngineInterface current = engine;
+        if (current instanceof GoogleFreeAsr) return ((GoogleFreeAsr) current).getRecognizerPool();
+
+        return null;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the admission controller that queues start and stop requests. Use it to read the
+     * current start spacing, which follows the start latency of this device.
+     *
+     * @return The admission controller of this asr instance.
+     */
+    @NonNull
+    public AdmissionController getAdmissionController() {
+        return admission;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the dispatcher that executes engine commands. Use
+     * {@link CommandDispatcher#getHistory()} to read which commands were executed and when.
+     *
+     * @return The command dispatcher of this asr instance.
+     */
+    @NonNull
+    public CommandDispatcher getCommandDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the voice activity detector of the current engine. Use it to read the latency
+     * between the detected end of speech and the final result. Notice that every engine, and every
+     * opened session, detects with its own detector.
+     *
+     * @return The voice activity detector of the current engine or {@code null} if engine is not
+     * set or does not detect voice activity.
+     */
+    @Nullable
+    public VoiceActivityDetector getVoiceActivityDetector() {
+        final AsrEngineInterface current = engine;
+        if (current instanceof GoogleFreeAsr)
+            return ((GoogleFreeAsr) current).getVoiceActivityDetector();
+        if (current instanceof OfflineAsr) return ((OfflineAsr) current).getVoiceActivityDetector();
+
+        return null;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the real time factor of the last utterance decoded by the
+     * {@link AsrEngines#OFFLINE} engine, which is the time spent decoding divided by the duration
+     * of the audio. Values lower than 1 mean faster than real time.
+     *
+     * @return The real time factor of the last utterance or {@code -1} if current engine is not
+     * offline or did not decode anything yet.
+     */
+    public float getLastRealTimeFactor() {
+        final AsrEngineInterface current = engine;
+        if (current instanceof OfflineAsr) return ((OfflineAsr) current).getLastRealTimeFactor();
+
+        return -1;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the registry of the available engines. Use it to read the capabilities of an
+     * engine or to register engines of other libraries.
+     *
+     * @return The engine registry.
+     */
+    @NonNull
+    public EngineRegistry getEngineRegistry() {
+        return registry;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the continuous dictation of this asr instance. Use it to read the running
+     * transcript, the segment boundaries and the audio lost between segments.
+     *
+     * @return The continuous dictation.
+     */
+    @NonNull
+    public ContinuousDictation getDictation() {
+        return dictation;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the latency and error metrics of all engines. Use it to reset metrics or to read
+     * the metrics of a single engine and language.
+     *
+     * @return The metrics of this asr instance.
+     */
+    @NonNull
+    public AsrMetrics getMetrics() {
+        return options.getMetrics();
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns a snapshot of the metrics of every engine and language used so far, with the 50th,
+     * 95th and 99th percentile of every timing.
+     *
+     * @return The metric snapshots. Empty if nothing was used yet.
+     */
+    @NonNull
+    public List<MetricsSnapshot> getMetricsSnapshots() {
+        return options.getMetrics().getSnapshots();
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the statistics of every engine of the current {@link AsrEngines#FAILOVER} engine,
+     * in the order they are tried: how many turns each one started, won, lost to another engine
+     * and failed. Must be called on the main thread.
+     *
+     * @return The statistics. Empty if the current engine is not the failover engine.
+     */
+    @NonNull
+    public List<FailoverAsr.EngineStats> getFailoverStats() {
+        final List<FailoverAsr.EngineStats> stats = new ArrayList<>();
+        final AsrEngineInterface current = engine;
+        if (!(current instanceof FailoverAsr)) return stats;
+
+        final FailoverAsr failover = (FailoverAsr) current;
+        for (int i = 0; i < failover.getEngineCount(); i++) stats.add(failover.getStats(i));
+        return stats;
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the state of the circuit breaker of the current recovery policy. While it is
+     * {@link BreakerState#OPEN}, starts fail fast with {@link AsrError#CIRCUIT_OPEN}.
+     *
+     * @return The breaker state.
+     *
+     * @see #setRecoveryPolicy(RecoveryPolicy)
+     */
+    @BreakerState
+    public int getBreakerState() {
+        return options.getRecoveryPolicy().getBreakerState(SystemClock.elapsedRealtime());
+    }
 
-        // Re-build engine.
-        constructEngine();
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Returns the manager of the sessions opened through
+     * {@link #openSession(int, String, AsrCallbacksListener)}. Use it to look up a session by id
+     * or to read the number of open sessions.
+     *
+     * @return The session manager of this asr instance.
+     */
+    @NonNull
+    public SessionManager getSessionManager() {
+        return sessions;
     }
 
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → OPERATING FUNCTIONS
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
 
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Opens a recognition session with its own id, engine instance, language and listener. Any
+     * number of sessions can be open and listening at the same time, next to each other and next
+     * to the engine of this instance, without overriding each other's listener. Models and
+     * language lists are shared between sessions, so opening a session is cheap. Engines that
+     * always record from the device microphone can not listen on two sessions at once, so use an
+     * engine that reads a given audio source, such as {@link AsrEngines#OFFLINE}, for multiple
+     * microphones.
+     *
+     * <p>Notice that the caller owns the session and must close it once done. Operations of the
+     * session are queued, so they can be called right away.
+     *
+     * @param asrEngine The asr engine of the session.
+     * @param language  The language of the session or {@code null} for the engine default.
+     * @param listener  Listener to invoke asr events of the session only.
+     *
+     * @return The new session.
+     *
+     * @throws IllegalStateException If asr is not initialized.
+     */
+    @NonNull
+    public AsrSession openSession(@AsrEngines int asrEngine, @Nullable String language,
+                                  @NonNull AsrCallbacksListener listener) {
+        if (context == null) throw new IllegalStateException("Asr is not initialized.");
+
+        return sessions.open(asrEngine, language, listener);
+    }
+
     /**
      * <pre>
      *     <h3 color="80d8ff">Overview</h3>
@@ -229,6 +954,10 @@ public abstract class Asr {
      * Starts listening to user input. Be adviced that this operation may succeed or may fail. Do
      * not rely on these operation instead listen to events to be sure if engine is working.
      *
+     * <p>Requests are queued and start as soon as the engine is ready for a new session. A start
+     * followed by a stop before the engine started cancels out. Requests that will not reach the
+     * engine are reported through {@link AsrAdmissionListener#onAsrRequestRejected(boolean, int)}.
+     *
      * <pre>
      *    <h3 color="b2ff59">Permissions required</h3>
      *    <ul>
@@ -246,16 +975,8 @@ public abstract class Asr {
         }
 
         // Start the engine.
-        final boolean result = new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-                engine.startListening();
-            }
-        });
-
-        // Check if engine started.
-        if (!result) Log.e(TAG, TAG + "Failed to start asr engine.");
-        else Log.d(TAG, TAG + "Asr engine is starting...");
+        dispatcher.enqueue(AsrCommand.START);
+        Log.d(TAG, TAG + "Asr engine is starting...");
     }
 
     /**
@@ -264,6 +985,7 @@ public abstract class Asr {
      *
      * Stops listening to user input. Be adviced that this operation may succeed or may fail. Do
      * not rely on these operation instead listen to events to be sure if engine is working.
+     * Notice that this operation also ends a continuous dictation.
      */
     public void stopListening() {
         // Check if engine is initialized.
@@ -273,16 +995,78 @@ public abstract class Asr {
         }
 
         // Stop the engine.
-        final boolean result = new Handler(Looper.getMainLooper()).post(new Runnable() {
-            @Override
-            public void run() {
-                engine.stopListening();
-            }
-        });
+        dispatcher.enqueue(AsrCommand.STOP);
+        Log.d(TAG, TAG + "Asr engine is stopping...");
+    }
 
-        // Check if engine stopped.
-        if (!result) Log.e(TAG, TAG + "Failed to stop asr engine.");
-        else Log.d(TAG, TAG + "Asr engine is stopping...");
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Recognizes a single utterance and returns a future of its final result. Same as
+     * {@link #recognizeAsync(long)} without a timeout.
+     *
+     * @return The future of the recognition.
+     */
+    @NonNull
+    @RequiresPermission(allOf = {Manifest.permission.RECORD_AUDIO, Manifest.permission.INTERNET})
+    public RecognitionFuture recognizeAsync() {
+        return recognizeAsync(RecognitionFuture.NO_TIMEOUT);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Recognizes a single utterance and returns a future of its final result. The session is
+     * queued like {@link #startListening()} and its events reach the asr listener as usual. The
+     * future fails with a {@link RecognitionException} if the engine reports an error or the
+     * start request is rejected, and with a {@link java.util.concurrent.TimeoutException} if the
+     * final result did not arrive within given timeout. Cancelling the future stops the session.
+     *
+     * <p>Partial results are published through {@link RecognitionFuture#getPartials()}, as fast
+     * as subscribers request them. A slow subscriber only receives the latest partial result.
+     * Register a {@link RecognitionFuture.Callback} to be notified on the thread that completes
+     * the future, which is the main thread for results, errors and timeouts, but the cancelling
+     * thread if the future is cancelled. Block on {@link RecognitionFuture#get()} from a
+     * background thread only. This function is safe to call from any thread.
+     *
+     * @param timeout Time the final result has to arrive in, in milliseconds, or
+     *                {@link RecognitionFuture#NO_TIMEOUT}.
+     *
+     * @return The future of the recognition.
+     *
+     * @throws IllegalArgumentException If given timeout is negative.
+     */
+    @NonNull
+    @RequiresPermission(allOf = {Manifest.permission.RECORD_AUDIO, Manifest.permission.INTERNET})
+    public RecognitionFuture recognizeAsync(long timeout) {
+        return RecognitionFuture.start(scheduler, admission, asrEngine, language, timeout);
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Starts a continuous dictation. A new session is requested as soon as the previous one ends,
+     * and the results of all sessions are stitched into one transcript, which is delivered
+     * through {@link #setDictationListener(AsrDictationListener)}. Results are also delivered to
+     * the asr listener as usual. Dictation goes on until {@link #stopListening()} is called.
+     *
+     * <p>Engines that support audio hand-off, such as {@link AsrEngines#OFFLINE}, keep capturing
+     * between sessions so no audio is lost. Other engines lose the audio between two sessions.
+     * Use {@link ContinuousDictation#getLastGap()} of {@link #getDictation()} to read the gap.
+     */
+    public void startDictation() {
+        // Check if engine is initialized.
+        if (engine == null) {
+            Log.e(TAG, TAG + "Asr engine is null. Can not start dictation!");
+            return;
+        }
+
+        // Start dictating.
+        dispatcher.enqueue(AsrCommand.DICTATE);
+        Log.d(TAG, TAG + "Asr engine is starting dictation...");
     }
 
     /**
@@ -313,6 +1097,8 @@ public abstract class Asr {
      *
      * Defines if this engine supports given language. Make sure to perform this check, otherwise
      * initializing an engine with an un-supported language may result to {@code null} engine.
+     * Until the engine is constructed, the languages it persisted on a previous launch answer
+     * the check, so it may be performed right after {@link #initialize(Context)}.
      *
      * @param language Language to check if is supported by this engine. Must be of type 'el-GR'.
      *                 [IETF language tag (as defined by BCP 47)]
@@ -321,14 +1107,19 @@ public abstract class Asr {
      * otherwise.
      */
     public boolean languageIsSupported(String language) {
-        // Check if engine is initialized.
-        if (engine == null) {
+        // Check if engine is initialized. Read it once, since it may be destroyed meanwhile.
+        final AsrEngineInterface current = engine;
+        if (current == null) {
+            // Answer from persisted languages until the engine is constructed.
+            final LanguageCache cache = languageCache;
+            if (cache != null) return cache.contains(language);
+
             Log.e(TAG, TAG + "Asr engine is null. Can not check if language is supported!");
             return false;
         }
 
         // We have a valid engine. Check if language is supported.
-        return engine.languageIsSupported(language);
+        return current.languageIsSupported(language);
     }
 
     /**
@@ -347,14 +1138,15 @@ public abstract class Asr {
      * retrieve languages list. {@code False} otherwise.
      */
     public boolean getSupportedLanguages() {
-        // Check if engine is initialized.
-        if (engine == null) {
+        // Check if engine is initialized. Read it once, since it may be destroyed meanwhile.
+        final AsrEngineInterface current = engine;
+        if (current == null) {
             Log.e(TAG, TAG + "Asr engine is null. Can not retrieve supported languages!");
             return false;
         }
 
         // We have a valid engine. Retrieve list with supported engine languages.
-        engine.getSupportedLanguages();
+        current.getSupportedLanguages();
         return true;
     }
 
@@ -367,13 +1159,14 @@ public abstract class Asr {
      * calling {@link #setEngine(int)} immediately on an already constructed engine. If you need a
      * string that represents the name of the engine, consider using {@link #engineToString(int)}.
      *
+     * <p>Engines of other libraries are listed as well, once registered to
+     * {@link EngineRegistry}.
+     *
      * @return A list containing all the available asr engines. Values are integers that are mapped
-     * to {@link AsrEngines} values.
+     * to {@link AsrEngines} values. The list can not be modified.
      */
     public List<Integer> getAvailableEngines() {
-        final List<Integer> engines = new ArrayList<>();
-        engines.add(AsrEngines.GOOGLE_FREE);
-        return engines;
+        return registry.getEngineCodes();
     }
 
     /**
@@ -388,9 +1181,7 @@ public abstract class Asr {
      * @return A string that represents a friendly name for given asr engine.
      */
     public static String engineToString(@AsrEngines int asrEngine) {
-        if (asrEngine == AsrEngines.GOOGLE_FREE) return "Google Free";
-
-        return "undefined";
+        return EngineRegistry.getInstance().getName(asrEngine);
     }
 
     /**
@@ -406,11 +1197,12 @@ public abstract class Asr {
      */
     public boolean getAvailability() {
         synchronized (lock) {
-            if (engine == null) {
+            final AsrEngineInterface current = engine;
+            if (current == null) {
                 Log.e(TAG, TAG + "Engine is null. Can not check for availability.");
                 return false;
             }
-            return engine.getAvailability();
+            return current.getAvailability();
         }
     }
 
@@ -420,21 +1212,18 @@ public abstract class Asr {
      *
      * Disposes whole asr engine. You are safe to directly call destroy on your
      * main activity onDestroy method to clear engine. Notice that if you dispose the engine, you
-     * will have to initialize it again.
+     * will have to initialize it again. Open sessions are closed as well.
      */
     public void destroy() {
         synchronized (lock) {
             // Clear instance.
             instance = null;
 
+            // Close any open sessions.
+            sessions.closeAll();
+
             // Dispose asr engine too.
-            if (engine != null)
-                new Handler(Looper.getMainLooper()).post(new Runnable() {
-                    @Override
-                    public void run() {
-                        engine.disposeEngine();
-                    }
-                });
+            if (engine != null) dispatcher.enqueue(AsrCommand.DESTROY);
         }
     }
 
@@ -447,31 +1236,85 @@ public abstract class Asr {
      *     <h3 color="80d8ff">Overview</h3>
      *
      * Constructs the {@link #engine} based on stored {@link #language}, {@link #listener} and
-     * {@link #asrEngine}. This operation will not dispose the current engine if user has not
-     * changed his preference on used engine. Instead, it just rebuilds the current engine using
+     * {@link #asrEngine}. Engines are taken from {@link EngineRegistry}, which constructs them on
+     * first use only. Otherwise, the engine is just switched to the stored language using
      * {@link AsrEngineInterface#setRecognitionLanguage(String)} to avoid memory consumption.
-     * Notice that this operation will always run on the main thread.
+     * Notice that this operation will always run on the main thread. Consecutive calls before the
+     * main thread gets to run are merged into one.
      */
     private void constructEngine() {
         synchronized (lock) {
-            new Handler(Looper.getMainLooper()).post(new Runnable() {
-                @Override
-                public void run() {
-                // Re-construct engine if requested engine is same using new language.
-                if (engine != null && engine.engineCode() == asrEngine) {
-                    engine.setRecognitionLanguage(language);
-                    return;
-                }
+            // Load persisted languages right away, so that they can be checked before the engine
+            // is constructed on the main thread.
+            languageCache = context != null && asrEngine == AsrEngines.GOOGLE_FREE
+                    ? LanguageCache.obtain(context, GoogleFreeAsr.CACHE_NAME,
+                    LanguageCache.DEFAULT_TTL)
+                    : null;
 
-                // Engine is null or user requested another language. Dispose engine if we have any.
-                if (engine != null) engine.disposeEngine();
+            dispatcher.enqueue(AsrCommand.CONSTRUCT, language, asrEngine, true);
+        }
+    }
 
-                // Finally, construct a new engine.
-                if (asrEngine == AsrEngines.GOOGLE_FREE) {
-                    engine = new GoogleFreeAsr(context, language, listener);
-                }
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Executes a command dispatched by {@link #dispatcher}. Always runs on the main thread.
+     *
+     * @param type   The type of the command.
+     * @param text   Text argument of the command.
+     * @param number Numeric argument of the command.
+     */
+    private void executeCommand(@AsrCommand int type, @Nullable String text, int number) {
+        switch (type) {
+            case AsrCommand.CONSTRUCT:
+                // User requested another engine. Detach current one, but keep it for later use.
+                // Admission lets go of it first, so a stop that ends its session synchronously
+                // can not drain a queued start into it. Queued starts wait for the new engine.
+                if (engine != null && engine.engineCode() != number) {
+                    admission.detachEngine();
+                    engine.setListener(EngineRegistry.SILENT);
+                    engine.stopListening();
                 }
-            });
+
+                // Construct requested engine on first use or switch it to new language.
+                engine = registry.obtain(number, context, text, admission, options);
+
+                // Route admitted requests to new engine and record them to its metrics.
+                admission.setMetrics(options.getMetrics().scope(number, text));
+                admission.setEngine(engine);
+
+                // Keep dictating with new engine.
+                dictation.setEngine(engine);
+                if (dictation.isActive()) admission.requestStart();
+                break;
+            case AsrCommand.PRELOAD:
+                registry.preload(number, context, text, options);
+                break;
+            case AsrCommand.START:
+                admission.requestStart();
+                break;
+            case AsrCommand.STOP:
+                dictation.end();
+                admission.requestStop();
+                break;
+            case AsrCommand.DICTATE:
+                dictation.begin(engine);
+                admission.requestStart();
+                break;
+            case AsrCommand.DESTROY:
+                // Admission lets go of engines before they are disposed, like on CONSTRUCT.
+                dictation.end();
+                dictation.setEngine(null);
+                admission.setEngine(null);
+                registry.disposeAll();
+                engine = null;
+                dictation.finish();
+                break;
+            case AsrCommand.POOL_CAPACITY:
+                final RecognizerPool pool = getRecognizerPool();
+                if (pool != null) pool.setCapacity(number);
+                break;
         }
     }
 }
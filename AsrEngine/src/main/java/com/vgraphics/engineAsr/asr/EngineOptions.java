@@ -0,0 +1,203 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Capture.VoiceActivityDetector;
+import com.vgraphics.engineAsr.Capture.VoiceActivitySettings;
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Failover.FailoverAsr;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Replay.ReplayTrace;
+import com.vgraphics.engineAsr.Results.AsrResult;
+import com.vgraphics.engineAsr.asr.GoogleFree.RecognizerPool;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Options of an {@link Asr} instance that engines read when they are constructed. Engines keep
+ * references to the detector, the model map and the metrics, so later changes are visible to them
+ * as well.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EngineOptions {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Maximum number of per-language recognizers kept alive by engines that support pooling. */
+    private volatile int recognizerPoolCapacity = RecognizerPool.DEFAULT_CAPACITY;
+    /** Settings of the end of speech detection of all engines. Disabled by default. */
+    private final VoiceActivitySettings voiceActivitySettings = new VoiceActivitySettings();
+    /** Offline model paths keyed by language. */
+    private final Map<String, String> offlineModels = new ConcurrentHashMap<>();
+    /** Latency and error metrics of all engines. Disabled by default. */
+    private final AsrMetrics metrics = new AsrMetrics();
+    /** Trace replayed by the replay engine, if any. */
+    private volatile ReplayTrace replayTrace;
+    /** Playback speed of the replay engine. */
+    private volatile float replaySpeed = 1;
+    /** Maximum number of alternatives of structured final results. */
+    private volatile int maxAlternatives = 1;
+    /** Timing profile of the sessions of engines that support it. */
+    private volatile SessionTiming timing = new SessionTiming();
+    /** Recovery policy shared by the engines of the same recognizer service. */
+    private volatile RecoveryPolicy recoveryPolicy = new RecoveryPolicy();
+    /** Engines of the failover engine in the order they are tried. */
+    private volatile int[] failoverEngines = {AsrEngines.GOOGLE_FREE, AsrEngines.OFFLINE};
+    /** Hedge delay of the failover engine. Disabled by default. */
+    private volatile long hedgeDelay = FailoverAsr.NO_HEDGE;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Package private constructor. Options are owned by {@link Asr}.
+     */
+    EngineOptions() {}
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the maximum number of per-language recognizers kept alive at the same time.
+     *
+     * @param capacity Maximum number of pooled recognizers. Values lower than 1 are treated as 1.
+     */
+    void setRecognizerPoolCapacity(int capacity) {
+        recognizerPoolCapacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Sets the maximum number of alternatives of structured final results.
+     *
+     * @param maxAlternatives Number of alternatives, clamped between 1 and
+     *                        {@link AsrResult#MAX_ALTERNATIVES}.
+     */
+    void setMaxAlternatives(int maxAlternatives) {
+        this.maxAlternatives = Math.max(1, Math.min(maxAlternatives, AsrResult.MAX_ALTERNATIVES));
+    }
+
+    /**
+     * Sets the timing profile of the sessions of engines that support it.
+     *
+     * @param timing The timing profile.
+     */
+    void setTiming(@NonNull SessionTiming timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Sets the recovery policy of engines that support it.
+     *
+     * @param recoveryPolicy The recovery policy.
+     */
+    void setRecoveryPolicy(@NonNull RecoveryPolicy recoveryPolicy) {
+        this.recoveryPolicy = recoveryPolicy;
+    }
+
+    /**
+     * Sets the engines and the hedge delay of the failover engine.
+     *
+     * @param engines    Engine codes in the order they are tried.
+     * @param hedgeDelay The hedge delay in milliseconds or {@link FailoverAsr#NO_HEDGE}.
+     */
+    void setFailover(@NonNull int[] engines, long hedgeDelay) {
+        this.failoverEngines = engines.clone();
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * Sets the trace and the playback speed of the replay engine.
+     *
+     * @param trace The trace to replay or {@code null} to replay nothing.
+     * @param speed Factor the recorded timings are accelerated by.
+     */
+    void setReplay(@Nullable ReplayTrace trace, float speed) {
+        replayTrace = trace;
+        replaySpeed = speed;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Maximum number of per-language recognizers kept alive at the same time. */
+    public int getRecognizerPoolCapacity() {
+        return recognizerPoolCapacity;
+    }
+
+    /** @return Settings of the end of speech detection, shared by all engines. */
+    @NonNull
+    public VoiceActivitySettings getVoiceActivitySettings() {
+        return voiceActivitySettings;
+    }
+
+    /**
+     * Constructs a voice activity detector for a new engine. Every engine needs its own detector,
+     * since detectors keep the state of the audio they process, while all of them follow
+     * {@link #getVoiceActivitySettings()}.
+     *
+     * @return A new detector.
+     */
+    @NonNull
+    public VoiceActivityDetector newVoiceActivityDetector() {
+        return new VoiceActivityDetector(voiceActivitySettings);
+    }
+
+    /** @return Offline model paths keyed by language. */
+    @NonNull
+    public Map<String, String> getOfflineModels() {
+        return offlineModels;
+    }
+
+    /** @return Trace replayed by the replay engine or {@code null} if none was set. */
+    @Nullable
+    public ReplayTrace getReplayTrace() {
+        return replayTrace;
+    }
+
+    /** @return Playback speed of the replay engine. */
+    public float getReplaySpeed() {
+        return replaySpeed;
+    }
+
+    /** @return Maximum number of alternatives of structured final results. */
+    public int getMaxAlternatives() {
+        return maxAlternatives;
+    }
+
+    /** @return Timing profile of the sessions of engines that support it. */
+    @NonNull
+    public SessionTiming getTiming() {
+        return timing;
+    }
+
+    /** @return Recovery policy of engines that support it. */
+    @NonNull
+    public RecoveryPolicy getRecoveryPolicy() {
+        return recoveryPolicy;
+    }
+
+    /** @return A copy of the engine codes of the failover engine in the order they are tried. */
+    @NonNull
+    public int[] getFailoverEngines() {
+        return failoverEngines.clone();
+    }
+
+    /** @return Hedge delay of the failover engine in milliseconds. */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /** @return Latency and error metrics of all engines. */
+    @NonNull
+    public AsrMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,340 @@
+package com.vgraphics.engineAsr.asr;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.asr.Failover.FailoverProvider;
+import com.vgraphics.engineAsr.asr.GoogleFree.GoogleFreeProvider;
+import com.vgraphics.engineAsr.asr.Offline.OfflineProvider;
+import com.vgraphics.engineAsr.asr.Replay.ReplayProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static com.vgraphics.engineAsr.asr.Asr.TAG;
+
+/**
+ * Registry of the available asr engines. Engines are described by {@link AsrEngineProvider}s.
+ * Providers of this library are always registered, while providers of other libraries are
+ * discovered through {@link ServiceLoader}, by listing them in a
+ * {@code META-INF/services/com.vgraphics.engineAsr.Interfaces.AsrEngineProvider} resource, or
+ * registered manually through {@link #register(AsrEngineProvider)}.
+ *
+ * <p>Engines are constructed lazily, the first time they are used, and kept until
+ * {@link #disposeAll()} so that switching back to an engine does not construct it again. An
+ * engine can also be preloaded ahead of use, so that switching to it does not cold start.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EngineRegistry {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Listener of engines that are preloaded or not in use. Drops every callback. */
+    public static final AsrCallbacksListener SILENT = new AsrCallbacksListener() {
+        @Override
+        public void onAsrInitialized(boolean success) {}
+
+        @Override
+        public void onAsrStart() {}
+
+        @Override
+        public void onAsrCancelled() {}
+
+        @Override
+        public void onAsrFinalResult(@NonNull String result) {}
+
+        @Override
+        public void onAsrPartialResult(@NonNull String result) {}
+
+        @Override
+        public void onAsrError(int error) {}
+
+        @Override
+        public void onLangListRetrieved(@NonNull List<String> languages) {}
+    };
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Shared registry. */
+    private static volatile EngineRegistry registry;
+
+    /** Registered providers keyed by engine code. Replaced as a whole on registration. */
+    private volatile Map<Integer, AsrEngineProvider> providers = Collections.emptyMap();
+    /** Codes of registered engines in registration order. Replaced as a whole on registration. */
+    private volatile List<Integer> codes = Collections.emptyList();
+    /** Constructed engines keyed by engine code. Only accessed on the main thread. */
+    private final Map<Integer, AsrEngineInterface> engines = new HashMap<>();
+    /** Language each constructed engine was last set to. Only accessed on the main thread. */
+    private final Map<Integer, String> languages = new HashMap<>();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Private constructor. Use {@link #getInstance()}.
+     */
+    private EngineRegistry() {
+        // Engines of this library.
+        register(new GoogleFreeProvider());
+        register(new OfflineProvider());
+        register(new ReplayProvider());
+        register(new FailoverProvider());
+
+        // Engines of other libraries.
+        try {
+            for (AsrEngineProvider provider : ServiceLoader.load(AsrEngineProvider.class,
+                    EngineRegistry.class.getClassLoader())) register(provider);
+        } catch (ServiceConfigurationError e) {
+            Log.e(TAG, TAG + "Failed to discover engine providers. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the shared registry. Providers are discovered the first time this function is
+     * called.
+     *
+     * @return The shared registry.
+     */
+    @NonNull
+    public static EngineRegistry getInstance() {
+        if (registry == null) {
+            synchronized (EngineRegistry.class) {
+                if (registry == null) registry = new EngineRegistry();
+            }
+        }
+        return registry;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PROVIDER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Registers an engine provider. Providers registered first win, so an engine code can not be
+     * taken over.
+     *
+     * @param provider The provider to register.
+     *
+     * @return {@code True} if the provider was registered. {@code False} if its engine code is
+     * already taken.
+     */
+    public synchronized boolean register(@NonNull AsrEngineProvider provider) {
+        final int code = provider.engineCode();
+        if (providers.containsKey(code)) {
+            final AsrEngineProvider current = providers.get(code);
+            if (current.getClass() != provider.getClass()) Log.w(TAG, TAG + "Engine code " + code
+                    + " is already taken by " + current.getName() + ". Skipping " +
+                    provider.getName() + "...");
+            return false;
+        }
+
+        // Publish new snapshots, so that readers never lock.
+        final Map<Integer, AsrEngineProvider> providers = new LinkedHashMap<>(this.providers);
+        providers.put(code, provider);
+        this.providers = Collections.unmodifiableMap(providers);
+        this.codes = Collections.unmodifiableList(new ArrayList<>(providers.keySet()));
+
+        Log.d(TAG, TAG + "Registered engine : " + provider.getName());
+        return true;
+    }
+
+    /**
+     * @param code The engine code.
+     *
+     * @return The provider of given engine code or {@code null} if not registered.
+     */
+    @Nullable
+    public AsrEngineProvider getProvider(int code) {
+        return providers.get(code);
+    }
+
+    /** @return All registered providers in registration order. The list can not be modified. */
+    @NonNull
+    public List<AsrEngineProvider> getProviders() {
+        return Collections.unmodifiableList(new ArrayList<>(providers.values()));
+    }
+
+    /** @return Codes of all registered engines in registration order. Can not be modified. */
+    @NonNull
+    public List<Integer> getEngineCodes() {
+        return codes;
+    }
+
+    /**
+     * @param code The engine code.
+     *
+     * @return Human readable name of given engine or "undefined" if not registered.
+     */
+    @NonNull
+    public String getName(int code) {
+        final AsrEngineProvider provider = providers.get(code);
+        return provider != null ? provider.getName() : "undefined";
+    }
+
+    /**
+     * Defines if given engine has given capability.
+     *
+     * @param code       The engine code.
+     * @param capability Any of {@link EngineCapability}.
+     *
+     * @return {@code True} if given engine is registered and has given capability. {@code False}
+     * otherwise.
+     */
+    public boolean hasCapability(int code, @EngineCapability int capability) {
+        final AsrEngineProvider provider = providers.get(code);
+        return provider != null && (provider.getCapabilities() & capability) == capability;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ENGINE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the engine of given code, constructing it if this is its first use. An engine that
+     * already exists is attached to given listener and switched to given language. If it already
+     * uses given language, initialization is reported right away.
+     *
+     * @param code     The engine code.
+     * @param context  Application context.
+     * @param language Language to set to engine.
+     * @param listener Listener to invoke asr events.
+     * @param options  Options shared by all engines.
+     *
+     * @return The engine of given code or {@code null} if no such engine is registered.
+     */
+    @MainThread
+    @Nullable
+    public AsrEngineInterface obtain(int code, @NonNull Context context, @Nullable String language,
+                                     @NonNull AsrCallbacksListener listener,
+                                     @NonNull EngineOptions options) {
+        final AsrEngineInterface engine = engines.get(code);
+        if (engine == null) return construct(code, context, language, listener, options);
+
+        engine.setListener(listener);
+
+        // Switch language only if needed, otherwise the engine is ready as is.
+        final String current = languages.get(code);
+        if (language == null ? current != null : !language.equals(current)) {
+            languages.put(code, language);
+            engine.setRecognitionLanguage(language);
+        }
+        else listener.onAsrInitialized(engine.getAvailability());
+
+        return engine;
+    }
+
+    /**
+     * Performs any slow preparation of given engine that does not need the main thread. Call it
+     * before {@link #preload} to keep the main thread free.
+     *
+     * @param code     The engine code.
+     * @param context  Application context.
+     * @param language Language the engine will be constructed with.
+     * @param options  Options shared by all engines.
+     */
+    @WorkerThread
+    public void warmUp(int code, @NonNull Context context, @Nullable String language,
+                       @NonNull EngineOptions options) {
+        final AsrEngineProvider provider = providers.get(code);
+        if (provider == null) return;
+
+        final long started = System.nanoTime();
+        provider.warmUp(context, language, options);
+
+        Log.d(TAG, TAG + "Warmed up engine : " + provider.getName() + " in " +
+                (System.nanoTime() - started) / 1000000 + " ms.");
+    }
+
+    /**
+     * Constructs given engine ahead of use, unless it already exists. The engine stays detached
+     * until {@link #obtain} attaches it to a listener.
+     *
+     * @param code     The engine code.
+     * @param context  Application context.
+     * @param language Language to set to engine.
+     * @param options  Options shared by all engines.
+     */
+    @MainThread
+    public void preload(int code, @NonNull Context context, @Nullable String language,
+                        @NonNull EngineOptions options) {
+        if (engines.containsKey(code)) return;
+
+        construct(code, context, language, SILENT, options);
+    }
+
+    /**
+     * @param code The engine code.
+     *
+     * @return The constructed engine of given code or {@code null} if not constructed yet.
+     */
+    @MainThread
+    @Nullable
+    public AsrEngineInterface getEngine(int code) {
+        return engines.get(code);
+    }
+
+    /**
+     * Disposes all constructed engines. They will be constructed again on their next use.
+     */
+    @MainThread
+    public void disposeAll() {
+        for (AsrEngineInterface engine : engines.values()) engine.disposeEngine();
+        engines.clear();
+        languages.clear();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs and stores a new engine.
+     *
+     * @param code     The engine code.
+     * @param context  Application context.
+     * @param language Language to set to engine.
+     * @param listener Listener to invoke asr events.
+     * @param options  Options shared by all engines.
+     *
+     * @return The new engine or {@code null} if no such engine is registered.
+     */
+    @Nullable
+    private AsrEngineInterface construct(int code, @NonNull Context context,
+                                         @Nullable String language,
+                                         @NonNull AsrCallbacksListener listener,
+                                         @NonNull EngineOptions options) {
+        final AsrEngineProvider provider = providers.get(code);
+        if (provider == null) {
+            Log.e(TAG, TAG + "No engine is registered with code : " + code);
+            return null;
+        }
+
+        final long started = System.nanoTime();
+        final AsrEngineInterface engine = provider.create(context, language, listener, options);
+        engines.put(code, engine);
+        languages.put(code, language);
+
+        Log.d(TAG, TAG + "Constructed engine : " + provider.getName() + " in " +
+                (System.nanoTime() - started) / 1000000 + " ms.");
+        return engine;
+    }
+}
@@ -0,0 +1,67 @@
+package com.vgraphics.engineAsr.asr.Failover;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.Failover.FailoverAsr;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.Platform.HandlerScheduler;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+import com.vgraphics.engineAsr.asr.EngineRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provider of the {@link AsrEngines#FAILOVER} engine. Engines own a new instance of every engine
+ * of the failover order of the options, created through the providers of the registry.
+ */
+public class FailoverProvider implements AsrEngineProvider {
+    @Override
+    public int engineCode() {
+        return AsrEngines.FAILOVER;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "Failover";
+    }
+
+    @Override
+    public int getCapabilities() {
+        return EngineCapability.STREAMING;
+    }
+
+    @Override
+    public void warmUp(@NonNull Context context, @Nullable String language,
+                       @NonNull EngineOptions options) {
+        for (int code : options.getFailoverEngines()) {
+            final AsrEngineProvider provider = EngineRegistry.getInstance().getProvider(code);
+            if (provider != null) provider.warmUp(context, language, options);
+        }
+    }
+
+    @NonNull
+    @Override
+    public AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                                     @NonNull AsrCallbacksListener listener,
+                                     @NonNull EngineOptions options) {
+        final List<AsrEngineInterface> engines = new ArrayList<>();
+        for (int code : options.getFailoverEngines()) {
+            final AsrEngineProvider provider = EngineRegistry.getInstance().getProvider(code);
+            if (provider != null)
+                engines.add(provider.create(context, language, EngineRegistry.SILENT, options));
+        }
+
+        final FailoverAsr engine = new FailoverAsr(HandlerScheduler.main(), engines, listener);
+        engine.setHedgeDelay(options.getHedgeDelay());
+        return engine;
+    }
+}
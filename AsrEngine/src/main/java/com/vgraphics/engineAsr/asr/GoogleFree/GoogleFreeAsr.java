@@ -8,6 +8,7 @@ import android.media.AudioManager;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -15,12 +16,29 @@ import android.text.TextUtils;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Capture.VoiceActivityDetector;
 
 import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Enums.AsrMetric;
 import com.vgraphics.engineAsr.Enums.EngineState;
+import com.vgraphics.engineAsr.Enums.SessionState;
 import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommittedPartialListener;
 import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Interfaces.AsrRetryListener;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Metrics.MetricsScope;
+import com.vgraphics.engineAsr.Results.AsrResult;
 import com.vgraphics.engineAsr.asr.Asr;
+import com.vgraphics.engineAsr.asr.LanguageCache;
+import com.vgraphics.engineAsr.asr.PartialStabilityTracker;
+import com.vgraphics.engineAsr.asr.RecoveryPolicy;
+import com.vgraphics.engineAsr.asr.SessionStateMachine;
+import com.vgraphics.engineAsr.asr.SessionTiming;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +49,12 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
     // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
     // ║ VARIABLES                                                                                 ║
     // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Name of the persistent language cache of this engine. */
+    public static final String CACHE_NAME = "google_free";
+
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → PRIVATE VARIABLES
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
@@ -46,16 +70,46 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
     private SpeechRecognizer speechRecognizer = null;
     /** Intent used to initialize asr engine. */
     private Intent recognizerIntent;
-    /** Defines if final result has already been sent. */
-    private boolean sentFinal;
     /** Current recognized text. */
-    private String currentText = "";
-    /** The state of the engine. */
-    private @EngineState String state;
-    /** List containing engine supported languages. */
-    private List<String> supportedLanguages = new ArrayList<>();
-    /** Timestamp when asr was requested to start listening. */
-    private long requestTimestamp;
+    private volatile String currentText = "";
+    /** The session state machine of the engine. Only changed through compare-and-set. */
+    private final SessionStateMachine state = new SessionStateMachine(SessionState.IDLE);
+    /** Generation of the session the start watch dog was scheduled for. */
+    private volatile long listenGeneration;
+    /** Generation of the session the stability timer was scheduled for. */
+    private volatile long resultsGeneration;
+    /** Persistent cache of engine supported languages. */
+    private final LanguageCache languageCache;
+    /** Pool of pre-built recognizers keyed by language, used to switch languages quickly. */
+    private final RecognizerPool recognizerPool;
+    /** Detector that ends the session as soon as trailing silence is detected, if any. */
+    private volatile VoiceActivityDetector voiceActivityDetector;
+    /** Metrics of all engines, if any. */
+    private final AsrMetrics metrics;
+    /** Metrics of the current language, if any. */
+    private volatile MetricsScope metricsScope;
+    /** Time the recognizer reported end of speech in the current session, or {@code -1}. */
+    private long endOfSpeechTimestamp = -1;
+    /** Time the recognizer got ready for speech in the current session, or {@code -1}. */
+    private long readyTimestamp = -1;
+    /** Time the recognizer was last commanded to start, or {@code -1} once it got ready. */
+    private long startTimestamp = -1;
+    /** Deadline of the last start, in milliseconds. */
+    private long startDeadline;
+    /** Timing profile of the sessions. */
+    private volatile SessionTiming timing = new SessionTiming();
+    /** Policy that retries failed sessions and fails fast while the recognizer keeps failing. */
+    private volatile RecoveryPolicy recovery = new RecoveryPolicy();
+    /** Number of times the current user turn was retried. */
+    private int retries;
+    /** Defines if a retry of the current user turn is scheduled. */
+    private boolean retryPending;
+    /** Defines if the start of the current user turn was reported. */
+    private boolean turnStarted;
+    /** Maximum number of alternatives requested from the recognizer. */
+    private volatile int maxAlternatives = 1;
+    /** Tracker of how long the partial results of the current session stayed unchanged. */
+    private final PartialStabilityTracker stability = new PartialStabilityTracker();
 
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → HANDLERS AND RUNNABLE
@@ -68,10 +122,28 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      * but engine did not start, request will be cancelled. */
     private final Runnable listenRunnable;
     /**
-     * Runnable that starts when the first partial result arrives and when it does, if not results
-     * arrive in the following short period, asr is stopped and current results are accepted.
+     * Runnable that runs when the next part of the partial results becomes stable. Stable parts
+     * are committed, and once the whole partial is stable, asr is stopped and current results are
+     * accepted.
      */
-    private final Runnable noResultsRunnable;
+    private final Runnable stabilityRunnable;
+    /** Runnable that re-arms the current user turn once its backoff is over. */
+    private final Runnable retryRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (!retryPending) return;
+
+            retryPending = false;
+            beginSession();
+        }
+    };
+    /** Runnable that fails a start fast while the circuit breaker is open. */
+    private final Runnable circuitOpenRunnable = new Runnable() {
+        @Override
+        public void run() {
+            listener.onAsrError(AsrError.CIRCUIT_OPEN);
+        }
+    };
 
     // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
     // ║ FUNCTIONS                                                                                 ║
@@ -88,17 +160,53 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     public GoogleFreeAsr(@NonNull Context context, @NonNull String language,
                          @NonNull AsrCallbacksListener listener) {
+        this(context, language, listener, RecognizerPool.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs new google free asr engine.
+     *
+     * @param context      Application context.
+     * @param language     Language to set to engine.
+     * @param listener     Listener to invoke asr events.
+     * @param poolCapacity Maximum number of per-language recognizers kept alive at the same time.
+     */
+    public GoogleFreeAsr(@NonNull Context context, @NonNull String language,
+                         @NonNull AsrCallbacksListener listener, int poolCapacity) {
+        this(context, language, listener, poolCapacity, null);
+    }
+
+    /**
+     * Constructs new google free asr engine.
+     *
+     * @param context      Application context.
+     * @param language     Language to set to engine.
+     * @param listener     Listener to invoke asr events.
+     * @param poolCapacity Maximum number of per-language recognizers kept alive at the same time.
+     * @param metrics      Metrics to record rebuilds, watch dog firings, busy retries and result
+     *                     latency to, or {@code null} to record nothing.
+     */
+    public GoogleFreeAsr(@NonNull Context context, @NonNull String language,
+                         @NonNull AsrCallbacksListener listener, int poolCapacity,
+                         @Nullable AsrMetrics metrics) {
         // Store values.
         this.context = context;
         this.language = language;
         this.listener = listener;
+        this.metrics = metrics;
+
+        // Initialize recognizer pool.
+        recognizerPool = new RecognizerPool(poolCapacity);
+
+        // Share cached supported languages. Refresh them in background if they have expired,
+        // unless another instance is refreshing them already.
+        languageCache = LanguageCache.obtain(context, CACHE_NAME, LanguageCache.DEFAULT_TTL);
+        if (!languageCache.isFresh() && languageCache.beginRefresh())
+            requestSupportedLanguages(false, true);
 
         // Initialize handler.
         mainHandler = new Handler(Looper.getMainLooper());
 
-        // Set state to idle since constructor called.
-        state = EngineState.IDLE;
-
         // Get system audio manager.
         audioManager = ((AudioManager) context.getSystemService(Context.AUDIO_SERVICE));
 
@@ -119,36 +227,56 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
         listenRunnable = new Runnable() {
             @Override
             public void run() {
-                // Check if we are at another state than the fail one.
-                if (!state.equals(EngineState.REQUESTED)) return;
+                // Check if the session we were scheduled for is still requested.
+                if (!state.transition(listenGeneration, SessionState.REQUESTED,
+                        SessionState.IDLE)) return;
 
                 Log.w(TAG, TAG + GoogleFreeAsr.this.getClass().getCanonicalName() + " engine" +
                         " failed to start. Cancelling request to resume flow.");
 
+                final MetricsScope scope = metricsScope;
+                if (scope != null) scope.increment(AsrMetric.WATCHDOG);
+
+                // Start latency is only known to be longer than the deadline.
+                if (startTimestamp >= 0) timing.recordStartTimeout(startDeadline);
+                startTimestamp = -1;
+
                 // Requested and time passed but engine still did not start. Cancel request.
                 speechRecognizer.cancel();
                 speechRecognizer.stopListening();
 
+                // Retry after a backoff, unless the recognizer keeps failing.
+                if (recover(AsrError.CLIENT)) return;
+
                 // Invoke listener to keep flow.
                 GoogleFreeAsr.this.listener.onAsrCancelled();
-
-                // Reset state to idle.
-                state = EngineState.IDLE;
             }
         };
 
-        // Initialize results runnable.
-        noResultsRunnable = new Runnable() {
+        // Initialize stability runnable.
+        stabilityRunnable = new Runnable() {
             @Override
             public void run() {
-                // Make sure we are listening to user.
-                if (!state.equals(EngineState.LISTENING)) return;
+                // Make sure we are still listening to the session we were scheduled for.
+                if (!state.is(SessionState.LISTENING)
+                        || state.getGeneration() != resultsGeneration) return;
 
                 // Check that we do have results.
                 if (currentText.isEmpty()) return;
 
-                Log.w(TAG, TAG + GoogleFreeAsr.this.getClass().getCanonicalName() + " engine" +
-                        " did not get results the last short period. Accepting current results.");
+                // Commit the part that became stable.
+                final long now = SystemClock.elapsedRealtime();
+                if (stability.commit(now)) notifyCommitted(stability.getCommitted());
+
+                // Wait for the rest to become stable.
+                if (!stability.isStable(now)) {
+                    scheduleStability(now);
+                    return;
+                }
+
+                Log.d(TAG, TAG + GoogleFreeAsr.this.getClass().getCanonicalName() + " engine" +
+                        " results were stable for " + stability.getWindow() + " ms. Accepting" +
+                        " current results.");
 
                 // Stop asr and accept current results.
                 stopListening();
@@ -163,13 +291,15 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
     //   → ASSISTING FUNCTIONS
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
     /**
-     * Rebuilds asr engine based on given language. Notice that engine is first disposed. Then,
-     * engine is initialized again from the start.
+     * Rebuilds asr engine based on given language. If a recognizer for given language is already
+     * pooled, it is reused as is. Otherwise, a new recognizer is constructed and pooled, which may
+     * dispose the least recently used one.
      *
      * @param language Language to set to engine.
      */
     private void rebuild(String language) {
         Log.d(TAG, TAG + "Rebuilding " + getClass().getCanonicalName() + " engine.");
+        final long started = SystemClock.elapsedRealtime();
 
         // Check if engine is valid.
         if (!getAvailability()) {
@@ -177,21 +307,36 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
                     "since it is not available on this device.");
 
             // Set undefined state.
-            state = EngineState.UNDEFINED;
+            state.moveTo(SessionState.UNDEFINED);
 
             // Invoke callback.
             listener.onAsrInitialized(false);
             return;
         }
 
-        // Dispose first.
-        if (speechRecognizer != null) {
-            // Stop listening first.
-            stopListening();
+        // Stop any running session of the current recognizer first.
+        if (speechRecognizer != null) stopListening();
 
-            // Dispose engine.
-            speechRecognizer.destroy();
-            speechRecognizer = null;
+        // Store language.
+        this.language = language;
+        final MetricsScope scope = metrics != null ? metrics.scope(engineCode(), language) : null;
+        metricsScope = scope;
+
+        // Engine is usable again if it was disposed.
+        state.transition(SessionState.UNDEFINED, SessionState.IDLE);
+
+        // Check if we already have a recognizer for this language.
+        final RecognizerPool.Pooled pooled = recognizerPool.acquire(language);
+        if (pooled != null) {
+            Log.d(TAG, TAG + getClass().getCanonicalName() + " switched to pooled recognizer " +
+                    "for language : " + language);
+
+            speechRecognizer = pooled.recognizer;
+            recognizerIntent = pooled.intent;
+            if (scope != null) scope.record(AsrMetric.REBUILD,
+                    SystemClock.elapsedRealtime() - started);
+            postInitialized();
+            return;
         }
 
         Log.d(TAG, TAG + "Constructing SpeechRecognizer at thread : " +
@@ -209,11 +354,21 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
         recognizerIntent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, context.getPackageName());
         recognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
         recognizerIntent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, true);
-        recognizerIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, 1);
+        recognizerIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, maxAlternatives);
+
+        // Pool new recognizer.
+        recognizerPool.put(new RecognizerPool.Pooled(language, speechRecognizer, recognizerIntent));
 
         Log.d(TAG, TAG + getClass().getCanonicalName() + " engine rebuilt successfully.");
+        if (scope != null) scope.record(AsrMetric.REBUILD, SystemClock.elapsedRealtime() - started);
+        postInitialized();
+    }
 
-        // Invoke callback.
+    /**
+     * Reports a successful initialization on the main thread. Invoked for every rebuild, whether
+     * the recognizer was pooled or not.
+     */
+    private void postInitialized() {
         mainHandler.post(new Runnable() {
             @Override
             public void run() {
@@ -227,59 +382,78 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
     /**
      * Starts listening to user input. Be adviced that this operation may succeed or may fail. Do
-     * not rely on these operation instead listen to events to be sure if engine is working.
+     * not rely on these operation instead listen to events to be sure if engine is working. Notice
+     * that spacing between consecutive requests is handled by {@link Asr}, not by the engine.
      */
     @Override
     public void startListening() {
-        // Check if much time has passed since the request. If it did, then engine may failed
-        // to start or is busy. We will retry to make a new request. Calculate time passed since
-        // last request.
-        final long timeFromRequest = System.currentTimeMillis() - requestTimestamp;
-
-        // Check if user is requesting asr too often.
-        if (timeFromRequest < 1500) {
-            Log.w(TAG, TAG + "You requested asr to start before " + timeFromRequest + "ms. " +
-                    "Please, avoid requesting so often. Skipping request...");
-            return;
-        }
-
         Log.d(TAG, TAG + getClass().getCanonicalName() + " is commanded to start...");
 
-        // Check if engine is valid.
-        if (speechRecognizer == null || recognizerIntent == null) rebuild(language);
-
-        // Check if we are already listening.
-        if (state.equals(EngineState.LISTENING)) {
-            Log.w(TAG, TAG + getClass().getCanonicalName() + " engine already listening...");
+        // Check if engine is free to start a new user turn.
+        if (!state.is(SessionState.IDLE) && !state.is(SessionState.UNDEFINED)) {
+            Log.w(TAG, TAG + getClass().getCanonicalName() + " engine is " +
+                    SessionStateMachine.toEngineState(state.getState()) + ". Skipping request...");
             return;
         }
 
-        // Check if we have already requested to speak.
-        if (state.equals(EngineState.REQUESTED)) {
-            Log.w(TAG, TAG + getClass().getCanonicalName() + " engine already received " +
-                    "request. Please wait...");
+        // A new user turn replaces any pending retry.
+        mainHandler.removeCallbacks(retryRunnable);
+        retryPending = false;
+        retries = 0;
+        turnStarted = false;
+
+        // Fail fast while the recognizer keeps failing.
+        if (!recovery.allowStart(SystemClock.elapsedRealtime())) {
+            Log.w(TAG, TAG + getClass().getCanonicalName() + " circuit breaker is open. " +
+                    "Failing fast...");
+            mainHandler.post(circuitOpenRunnable);
             return;
         }
 
-        // Set requested listening flag.
-        state = EngineState.REQUESTED;
+        beginSession();
+    }
 
-        // Execute watch dog runnable to make sure that engine did not stuck.
-        mainHandler.postDelayed(listenRunnable, 3000);
+    /**
+     * Starts a recognizer session of the current user turn, either its first one or a retry.
+     */
+    private void beginSession() {
+        // Check if engine is valid.
+        if (speechRecognizer == null || recognizerIntent == null) rebuild(language);
 
-        // Reset flag.
-        sentFinal = false;
+        // Request a new session. Only succeeds if engine is idle.
+        final long generation = state.begin();
+        if (generation == SessionStateMachine.NO_SESSION) {
+            Log.w(TAG, TAG + getClass().getCanonicalName() + " engine is " +
+                    SessionStateMachine.toEngineState(state.getState()) + ". Skipping request...");
+            return;
+        }
 
         // Clear text.
         currentText = "";
+        endOfSpeechTimestamp = -1;
+        readyTimestamp = -1;
+        stability.reset();
+
+        // Apply the timing profile to the new session.
+        final SessionTiming timing = this.timing;
+        stability.setWindowBounds(timing.getMinStableWindow(), timing.getMaxStableWindow());
+
+        // Prepare voice activity detector for the new utterance.
+        final VoiceActivityDetector detector = voiceActivityDetector;
+        if (detector != null) detector.reset();
 
-        // Store request timestamp.
-        requestTimestamp = System.currentTimeMillis();
+        // Execute watch dog runnable to make sure that engine did not stuck.
+        listenGeneration = generation;
+        startDeadline = timing.getStartTimeout();
+        mainHandler.removeCallbacks(listenRunnable);
+        mainHandler.postDelayed(listenRunnable, startDeadline);
 
         // Mute device.
         muteStream(true);
 
-        // Start listening to user input.
+        // Start listening to user input. Pooled intents may request another number of results.
+        recognizerIntent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, maxAlternatives);
+        startTimestamp = SystemClock.elapsedRealtime();
         speechRecognizer.startListening(recognizerIntent);
     }
 
@@ -291,18 +465,34 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
     public void stopListening() {
         Log.d(TAG, TAG + getClass().getCanonicalName() + " is commanded to stop...");
 
-        // Check if engine is idle.
-        if (state.equals(EngineState.IDLE)) {
-            Log.d(TAG, TAG + getClass().getCanonicalName() + " is idle. Nothing to stop...");
+        // A user turn waiting for its retry has nothing to deliver.
+        if (retryPending) {
+            mainHandler.removeCallbacks(retryRunnable);
+            retryPending = false;
+            listener.onAsrCancelled();
             return;
         }
 
-        // Check if engine is currently working.
-        if (state.equals(EngineState.UNDEFINED)) {
+        // Check if engine is initialized.
+        if (state.is(SessionState.UNDEFINED)) {
             Log.w(TAG, TAG + getClass().getCanonicalName() + " engine not initialized.");
             return;
         }
 
+        // End current session. Only one of any racing stop, result or timer wins.
+        if (state.transition(SessionState.REQUESTED, SessionState.IDLE)) {
+            // Session never got ready, so it proved nothing about the recognizer.
+            recovery.recordAbandoned();
+        }
+        else if (!state.transition(SessionState.LISTENING, SessionState.IDLE)) {
+            Log.d(TAG, TAG + getClass().getCanonicalName() + " is idle. Nothing to stop...");
+            return;
+        }
+
+        // Clear timers of the ended session.
+        mainHandler.removeCallbacks(listenRunnable);
+        mainHandler.removeCallbacks(stabilityRunnable);
+
         if (speechRecognizer != null) {
             // Cancel any current requested to recognizer.
             speechRecognizer.cancel();
@@ -311,15 +501,17 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
             speechRecognizer.stopListening();
         }
 
+        // Take current text and clear it.
+        final String text = currentText;
+        currentText = "";
+
         // Invoke callback.
-        if (!currentText.isEmpty()) listener.onAsrFinalResult(currentText);
+        if (!text.isEmpty()) {
+            reportEndOfSpeechLatency();
+            notifyResult(null, null, text);
+            listener.onAsrFinalResult(text);
+        }
         else listener.onAsrCancelled();
-
-        // Set state to idle since engine is stopping.
-        state = EngineState.IDLE;
-
-        // Clear text.
-        currentText = "";
     }
 
     /**
@@ -330,30 +522,38 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void disposeEngine() {
+        // Drop any pending retry.
+        mainHandler.removeCallbacks(retryRunnable);
+        mainHandler.removeCallbacks(circuitOpenRunnable);
+        retryPending = false;
+
         if (speechRecognizer != null) {
             // Stop listening first.
             speechRecognizer.stopListening();
 
             // Cancel engine to release resources.
             speechRecognizer.cancel();
-
-            // Dispose engine.
-            speechRecognizer.destroy();
             speechRecognizer = null;
         }
 
+        // Dispose all pooled recognizers, including the current one.
+        recognizerPool.clear();
+        recognizerIntent = null;
+
         // Make sure device is un muted from us.
         muteStream(false);
 
-        // Reset state since engine is disposed.
-        state = EngineState.UNDEFINED;
+        // Reset state since engine is disposed. A session that never got ready proved nothing.
+        if (state.moveTo(SessionState.UNDEFINED) == SessionState.REQUESTED)
+            recovery.recordAbandoned();
     }
 
     /**
      * Defines if this engine supports given language. Make sure to perform this check, otherwise
      * initializing an engine with an un-supported language may result to a {@code null} or a
-     * corrupted engine. Notice that you may need to perform a {@link Asr#getSupportedLanguages()}
-     * first to initialize list of supported languages for current asr engine.
+     * corrupted engine. Supported languages are loaded from a persistent cache when the engine is
+     * constructed, so this lookup is valid from the first call after a cold start unless the
+     * languages were never retrieved on this device.
      *
      * @param language Language to check if is supported by this engine.
      *
@@ -362,7 +562,7 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public boolean languageIsSupported(String language) {
-        return supportedLanguages.contains(language);
+        return languageCache.contains(language);
     }
 
     /**
@@ -382,49 +582,27 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      * the calling point. Notice that since some engines may require to send an intent or read a
      * file in order to identify the supported languages, you will receive the list with the
      * supported languages from the listener {@link AsrCallbacksListener#onLangListRetrieved(List)}.
+     * Languages are served from the persistent cache unless it has expired.
      */
     @Override
     public void getSupportedLanguages() {
-        // Initialize the intent to send in order to receive the supported languages.
-        Intent intent = new Intent(RecognizerIntent.ACTION_GET_LANGUAGE_DETAILS);
-        intent.setPackage("com.google.android.googlequicksearchbox");
-
-        // Send the intent and await for the response.
-        context.sendOrderedBroadcast(intent, null, new BroadcastReceiver() {
-            @Override
-            public void onReceive(Context context, Intent intent) {
-                // Check if result code is ok.
-                if (getResultCode() != Activity.RESULT_OK) {
-                    Log.e(TAG, TAG + "Failed to receive supported languages for engine : " +
-                            getClass().getCanonicalName());
-
-                    // Invoke callback.
-                    listener.onLangListRetrieved(null);
-                    return;
-                }
-
-                // Get languages list and store them.
-                supportedLanguages = getResultExtras(true)
-                        .getStringArrayList(RecognizerIntent.EXTRA_SUPPORTED_LANGUAGES);
-
-                if (supportedLanguages != null) {
-                    // Remove monkey languages.
-                    supportedLanguages.remove("mk-MK");
-
-                    // Sort languages array.
-                    //supportedLanguages.sort(String::compareToIgnoreCase);
-                }
+        // Serve cached languages if still valid.
+        if (languageCache.isFresh()) {
+            listener.onLangListRetrieved(languageCache.getLanguages());
+            return;
+        }
 
-                // Invoke callback.
-                listener.onLangListRetrieved(supportedLanguages);
-            }
-        }, null, Activity.RESULT_OK, null, null);
+        // Listener is answered even if another refresh is in flight, but only the holder of the
+        // refresh claim may release it.
+        requestSupportedLanguages(true, languageCache.beginRefresh());
     }
 
     /**
      * Sets the recognition language for this engine. Given language must be of type 'el-GR' etc.
      * [IETF language tag (as defined by BCP 47)]. Notice that the engine will rebuild on it's own.
-     * You do not need to dispose the engine and re-construct it on your own.
+     * You do not need to dispose the engine and re-construct it on your own. Switching to a
+     * language that is already pooled does not re-create the recognizer, but still invokes
+     * {@link AsrCallbacksListener#onAsrInitialized(boolean)} like any other switch.
      *
      * @param language Language to set for this engine.
      */
@@ -457,10 +635,284 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
         return SpeechRecognizer.isRecognitionAvailable(context);
     }
 
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → STATE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the current state of the engine.
+     *
+     * @return The current state. Can be any of {@link EngineState}.
+     */
+    @NonNull
+    @EngineState
+    public String getState() {
+        return SessionStateMachine.toEngineState(state.getState());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → POOL FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the pool of per-language recognizers used by this engine. Use it to read pool hit,
+     * miss and eviction counters or to change the pool capacity.
+     *
+     * @return The recognizer pool of this engine.
+     */
+    @NonNull
+    public RecognizerPool getRecognizerPool() {
+        return recognizerPool;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → VOICE ACTIVITY FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the detector that ends the session as soon as trailing silence is detected. The
+     * detector is fed from {@link #onRmsChanged(float)} and only acts while enabled.
+     *
+     * @param detector The voice activity detector or {@code null} to rely on the recognizer and
+     *                 the stability timer only.
+     */
+    public void setVoiceActivityDetector(@Nullable VoiceActivityDetector detector) {
+        this.voiceActivityDetector = detector;
+    }
+
+    /** @return The voice activity detector of this engine or {@code null} if not set. */
+    @Nullable
+    public VoiceActivityDetector getVoiceActivityDetector() {
+        return voiceActivityDetector;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TIMING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the timing profile of the sessions: the start watch dog deadline, the mute duration and
+     * the bounds of the stability window. The profile records the measured start latencies, so
+     * its start deadline can tune itself. Applies from the next session.
+     *
+     * @param timing The timing profile.
+     */
+    public void setTiming(@NonNull SessionTiming timing) {
+        this.timing = timing;
+    }
+
+    /** @return The timing profile of the sessions. */
+    @NonNull
+    public SessionTiming getTiming() {
+        return timing;
+    }
+
+    /**
+     * Sets the policy that retries sessions that failed with a transient error after a backoff,
+     * rebuilds the recognizer once it keeps failing and fails fast while its circuit breaker is
+     * open. Engines that share a policy share its breaker.
+     *
+     * @param recovery The recovery policy.
+     */
+    public void setRecoveryPolicy(@NonNull RecoveryPolicy recovery) {
+        this.recovery = recovery;
+    }
+
+    /** @return The recovery policy of the sessions. */
+    @NonNull
+    public RecoveryPolicy getRecoveryPolicy() {
+        return recovery;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → RESULT FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the maximum number of alternatives requested from the recognizer, which are delivered
+     * with their confidences to listeners that implement {@link AsrResultListener}. Applies from
+     * the next session.
+     *
+     * @param maxAlternatives Number of alternatives, clamped between 1 and
+     *                        {@link AsrResult#MAX_ALTERNATIVES}.
+     */
+    public void setMaxAlternatives(int maxAlternatives) {
+        this.maxAlternatives = Math.max(1, Math.min(maxAlternatives, AsrResult.MAX_ALTERNATIVES));
+    }
+
+    /** @return The maximum number of alternatives requested from the recognizer. */
+    public int getMaxAlternatives() {
+        return maxAlternatives;
+    }
+
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → ASSISTING FUNCTIONS
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
 
+    /**
+     * Ends the current session because trailing silence was detected. If partial results were
+     * received they are accepted at once, same as the stability timer does. Otherwise, the
+     * recognizer is asked to stop capturing so that it delivers its final results early.
+     */
+    private void endOfSpeech() {
+        Log.d(TAG, TAG + getClass().getCanonicalName() + " detected end of speech.");
+
+        if (!currentText.isEmpty()) stopListening();
+        else if (speechRecognizer != null) speechRecognizer.stopListening();
+    }
+
+    /**
+     * Records a failed session to the recovery policy and schedules a retry of the user turn if
+     * the policy allows it. The recognizer is constructed anew first if the policy asks for it.
+     *
+     * @param error The error code the session failed with.
+     *
+     * @return {@code True} if a retry was scheduled. {@code False} if the error must be reported.
+     */
+    private boolean recover(int error) {
+        final RecoveryPolicy recovery = this.recovery;
+        final int action = recovery.recordFailure(error, retries,
+                SystemClock.elapsedRealtime());
+        if (action == RecoveryPolicy.ACTION_REPORT) return false;
+
+        // Replace a recognizer that keeps failing.
+        if (action == RecoveryPolicy.ACTION_REBUILD) {
+            Log.w(TAG, TAG + getClass().getCanonicalName() + " keeps failing. Reconstructing " +
+                    "recognizer...");
+            recognizerPool.remove(language);
+            speechRecognizer = null;
+            rebuild(language);
+        }
+
+        retries++;
+        final long delay = recovery.getRetryDelay(retries);
+        Log.d(TAG, TAG + getClass().getCanonicalName() + " failed with code : " + error +
+                ". Retry " + retries + " in " + delay + " ms.");
+
+        retryPending = true;
+        mainHandler.removeCallbacks(retryRunnable);
+        mainHandler.postDelayed(retryRunnable, delay);
+
+        // Let the admission wait for the retried session.
+        if (listener instanceof AsrRetryListener)
+            ((AsrRetryListener) listener).onAsrRetry(retries, delay);
+        return true;
+    }
+
+    /**
+     * Schedules the stability runnable for when the next part of the partial results becomes
+     * stable, unless it changes before.
+     *
+     * @param now Current time.
+     */
+    private void scheduleStability(long now) {
+        final long next = Math.min(stability.getStableTime(), stability.getNextCommitTime());
+
+        mainHandler.removeCallbacks(stabilityRunnable);
+        if (next != PartialStabilityTracker.NEVER)
+            mainHandler.postDelayed(stabilityRunnable, Math.max(0, next - now));
+    }
+
+    /**
+     * Delivers the committed part of the partial results, if the listener wants it.
+     *
+     * @param committed The committed part.
+     */
+    private void notifyCommitted(@NonNull String committed) {
+        if (listener instanceof AsrCommittedPartialListener)
+            ((AsrCommittedPartialListener) listener).onAsrCommittedPartial(committed);
+    }
+
+    /**
+     * Delivers the structured final result of the current session, if the listener wants it.
+     *
+     * @param matches     The n-best alternatives of the recognizer or {@code null} if there are
+     *                    none.
+     * @param confidences The confidences of the alternatives or {@code null} if not reported.
+     * @param text        The final result, used as the only alternative if there are no matches.
+     */
+    private void notifyResult(@Nullable List<String> matches, @Nullable float[] confidences,
+                              @NonNull String text) {
+        if (!(listener instanceof AsrResultListener)) return;
+
+        final AsrResult result = AsrResult.obtain(AsrEngines.GOOGLE_FREE, language);
+        if (matches != null && !matches.isEmpty()) {
+            for (int i = 0; i < matches.size(); i++) {
+                final String match = matches.get(i);
+                if (match == null) continue;
+                final float confidence = confidences != null && i < confidences.length ?
+                        confidences[i] : AsrResult.UNKNOWN_CONFIDENCE;
+                if (!result.addAlternative(match, confidence)) break;
+            }
+        }
+        else if (!text.isEmpty()) result.addAlternative(text, AsrResult.UNKNOWN_CONFIDENCE);
+
+        result.setTiming(readyTimestamp, endOfSpeechTimestamp, SystemClock.elapsedRealtime());
+        try {
+            ((AsrResultListener) listener).onAsrResult(result);
+        }
+        finally {
+            result.recycle();
+        }
+    }
+
+    /**
+     * Reports the latency between the detected end of speech and the final result, if the voice
+     * activity detector detected the end of speech of the current session.
+     */
+    private void reportEndOfSpeechLatency() {
+        final VoiceActivityDetector detector = voiceActivityDetector;
+        if (detector == null) return;
+
+        final long latency = detector.onFinalResult(SystemClock.elapsedRealtime());
+        if (latency >= 0) Log.d(TAG, TAG + "End of speech to final result latency : " +
+                latency + " ms.");
+    }
+
+    /**
+     * Sends an ordered broadcast to Google speech kit to retrieve the supported languages and
+     * stores them to the persistent cache.
+     *
+     * @param notify  If {@code true}, retrieved languages are also sent to the listener through
+     *                {@link AsrCallbacksListener#onLangListRetrieved(List)}. Background
+     *                refreshes do not notify the listener.
+     * @param claimed {@code True} if this request holds the refresh claim of the cache, taken
+     *                with {@link LanguageCache#beginRefresh()}.
+     */
+    private void requestSupportedLanguages(final boolean notify, final boolean claimed) {
+        // Initialize the intent to send in order to receive the supported languages.
+        Intent intent = new Intent(RecognizerIntent.ACTION_GET_LANGUAGE_DETAILS);
+        intent.setPackage("com.google.android.googlequicksearchbox");
+
+        // Send the intent and await for the response.
+        context.sendOrderedBroadcast(intent, null, new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                // Check if result code is ok.
+                if (getResultCode() != Activity.RESULT_OK) {
+                    Log.e(TAG, TAG + "Failed to receive supported languages for engine : " +
+                            getClass().getCanonicalName());
+                    if (claimed) languageCache.endRefresh();
+
+                    // Invoke callback.
+                    if (notify) listener.onLangListRetrieved(null);
+                    return;
+                }
+
+                // Get languages list.
+                final ArrayList<String> supportedLanguages = getResultExtras(true)
+                        .getStringArrayList(RecognizerIntent.EXTRA_SUPPORTED_LANGUAGES);
+
+                if (supportedLanguages != null) {
+                    // Remove monkey languages.
+                    supportedLanguages.remove("mk-MK");
+
+                    // Store languages.
+                    languageCache.store(supportedLanguages);
+                }
+                else if (claimed) languageCache.endRefresh();
+
+                // Invoke callback.
+                if (notify) listener.onLangListRetrieved(supportedLanguages);
+            }
+        }, null, Activity.RESULT_OK, null, null);
+    }
+
     /**
      * Mutes/un-mutes device stream music by using {@link Context#AUDIO_SERVICE}.
      *
@@ -474,13 +926,13 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
                     ? AudioManager.ADJUST_MUTE
                     : AudioManager.ADJUST_UNMUTE, 0);
 
-            // Google beep sound lasts 0.8 seconds. Re-enable stream levels after a duration.
+            // Google beep sound lasts 0.8 seconds. Re-enable stream levels after the mute duration.
             if (mute) {
                 // Make sure to cancel any running mute runnable.
                 mainHandler.removeCallbacks(muteRunnable);
 
                 // Mute device after a while.
-                mainHandler.postDelayed(muteRunnable, 900);
+                mainHandler.postDelayed(muteRunnable, timing.getMuteDuration());
             }
         }
     }
@@ -495,17 +947,28 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void onReadyForSpeech(Bundle params) {
+        // Measure start latency, unless the watch dog already recorded the start as timed out.
+        final long now = SystemClock.elapsedRealtime();
+        if (startTimestamp >= 0) timing.recordStartLatency(now - startTimestamp);
+        startTimestamp = -1;
+
+        // Set state to listening. Ignore if request was already cancelled or stopped.
+        if (!state.transition(SessionState.REQUESTED, SessionState.LISTENING)) return;
+
+        // Clear watch dog runnable.
+        mainHandler.removeCallbacks(listenRunnable);
+
         // Mute device.
         muteStream(true);
 
+        // Recognizer works. Retries of this user turn report their start once only.
+        recovery.recordSuccess();
+        readyTimestamp = now;
+        if (turnStarted) return;
+
         // Invoke callback.
+        turnStarted = true;
         listener.onAsrStart();
-
-        // Set state to listening. Engine stated!
-        state = EngineState.LISTENING;
-
-        // Clear watch dog runnable.
-        mainHandler.removeCallbacks(listenRunnable);
     }
 
     /**
@@ -523,6 +986,13 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void onRmsChanged(float rmsdB) {
+        // Check if voice activity detection is enabled and user is being listened.
+        final VoiceActivityDetector detector = voiceActivityDetector;
+        if (detector == null || !state.is(SessionState.LISTENING)) return;
+
+        // End session as soon as trailing silence is detected.
+        if (detector.process(rmsdB, SystemClock.elapsedRealtime())
+                == VoiceActivityDetector.EVENT_SPEECH_END) endOfSpeech();
     }
 
     /**
@@ -540,6 +1010,8 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void onEndOfSpeech() {
+        endOfSpeechTimestamp = SystemClock.elapsedRealtime();
+
         // Mute device to avoid hearing ending beep sound.
         muteStream(true);
     }
@@ -557,17 +1029,36 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
         Log.e(TAG, TAG + "An error occurred with code : " + error + " at engine : " +
                 getClass().getCanonicalName());
 
+        // Set state to idle. Engine thrown an error or did not get any results. Errors of an
+        // already ended session were already reported through another callback, and errors
+        // after disposal must not revive the engine.
+        if (!state.transition(SessionState.REQUESTED, SessionState.IDLE)
+                && !state.transition(SessionState.LISTENING, SessionState.IDLE)) {
+            Log.d(TAG, TAG + "Ignoring error of an ended session.");
+            return;
+        }
+
         // Mute device to avoid hearing ending beep sound.
         muteStream(true);
 
-        // Set state to idle. Engine thrown an error or did not get any results.
-        state = EngineState.IDLE;
+        // Clear watch dog runnable.
+        mainHandler.removeCallbacks(listenRunnable);
+
+        // Clear stability runnable since we finished listening to user.
+        mainHandler.removeCallbacks(stabilityRunnable);
 
         // Try to fix broken engine.
         if (error == 8) {
             Log.e(TAG, TAG + "Engine : " + getClass().getCanonicalName() + " is busy...");
-            speechRecognizer.cancel();
+            if (speechRecognizer != null) speechRecognizer.cancel();
+
+            final MetricsScope scope = metricsScope;
+            if (scope != null) scope.increment(AsrMetric.BUSY_RETRY);
         }
+
+        // Retry after a backoff, unless the error is not transient or the recognizer keeps
+        // failing.
+        if (recover(error)) return;
         else if (error == 7) {
             Log.e(TAG, TAG + "Engine : " + getClass().getCanonicalName() +
                     " did not get matches.");
@@ -579,12 +1070,6 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
 
         // Invoke callback.
         listener.onAsrError(error);
-
-        // Clear watch dog runnable.
-        mainHandler.removeCallbacks(listenRunnable);
-
-        // Clear no results runnable since we finished listening to user.
-        mainHandler.removeCallbacks(noResultsRunnable);
     }
 
     /**
@@ -597,29 +1082,28 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void onResults(@NonNull Bundle results) {
-        // Did we sent final results already?
-        if (sentFinal || !state.equals(EngineState.LISTENING)) return;
-
-        // Got results. Go to idle state.
-        state = EngineState.IDLE;
+        // Got results. Go to idle state. Ignore if final results were already sent.
+        if (!state.transition(SessionState.LISTENING, SessionState.IDLE)) return;
 
         // Get matches out of bundle.
         final ArrayList<String> matches = results
                 .getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
 
-        // Set flag.
-        sentFinal = true;
+        // Clear stability runnable since we finished listening to user.
+        mainHandler.removeCallbacks(stabilityRunnable);
 
-        // Clear no results runnable since we finished listening to user.
-        mainHandler.removeCallbacks(noResultsRunnable);
+        // Measure how long user waited since speech ended.
+        reportEndOfSpeechLatency();
+        final MetricsScope scope = metricsScope;
+        if (scope != null && endOfSpeechTimestamp >= 0) scope.record(AsrMetric.RESULT_LATENCY,
+                SystemClock.elapsedRealtime() - endOfSpeechTimestamp);
 
         // Check if matches list is valid.
-        if (matches != null && !matches.isEmpty())
-            // Invoke callback.
-            listener.onAsrFinalResult(matches.get(0));
-        else
-            // Invoke callback.
-            listener.onAsrFinalResult("");
+        final String text = matches != null && !matches.isEmpty() ? matches.get(0) : "";
+
+        // Invoke callbacks.
+        notifyResult(matches, results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES), text);
+        listener.onAsrFinalResult(text);
 
         // Clear text.
         currentText = "";
@@ -638,26 +1122,33 @@ public class GoogleFreeAsr implements AsrEngineInterface, RecognitionListener {
      */
     @Override
     public void onPartialResults(@NonNull Bundle partialResults) {
-        if (!state.equals(EngineState.LISTENING)) return;
+        if (!state.is(SessionState.LISTENING)) return;
 
         // Get matches out of bundle.
         final ArrayList<String> matches = partialResults
                 .getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
 
+        final long now = SystemClock.elapsedRealtime();
+
         // Check if matches list is valid.
         if (matches != null) {
+            // Join results. Most of the times there is a single match, so avoid joining.
+            final String text = matches.size() == 1 ? matches.get(0) : TextUtils.join("", matches);
+
+            // Drop identical partials. Nothing changed since the previous one, but they still
+            // tell the pace of the recognizer.
+            if (text == null || !stability.update(text, now)) return;
+
             // Store results.
-            currentText = TextUtils.join("", matches);
+            currentText = text;
 
             // Invoke callback.
             listener.onAsrPartialResult(currentText);
         }
 
-        // Clear current results runnable.
-        mainHandler.removeCallbacks(noResultsRunnable);
-
-        // Run new results runnable.
-        mainHandler.postDelayed(noResultsRunnable, 3000);
+        // Wait for results to become stable.
+        resultsGeneration = state.getGeneration();
+        scheduleStability(now);
     }
 
     /**
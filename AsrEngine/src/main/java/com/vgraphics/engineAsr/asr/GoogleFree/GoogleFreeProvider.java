@@ -0,0 +1,57 @@
+package com.vgraphics.engineAsr.asr.GoogleFree;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+import com.vgraphics.engineAsr.asr.LanguageCache;
+
+/**
+ * Provider of the {@link AsrEngines#GOOGLE_FREE} engine.
+ */
+public class GoogleFreeProvider implements AsrEngineProvider {
+    @Override
+    public int engineCode() {
+        return AsrEngines.GOOGLE_FREE;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "Google Free";
+    }
+
+    @Override
+    public int getCapabilities() {
+        return EngineCapability.STREAMING | EngineCapability.LANGUAGE_DISCOVERY
+                | EngineCapability.VOICE_ACTIVITY;
+    }
+
+    @Override
+    public void warmUp(@NonNull Context context, @Nullable String language,
+                       @NonNull EngineOptions options) {
+        // Load pooled language cache from disk, so that the engine finds it in memory.
+        LanguageCache.obtain(context, GoogleFreeAsr.CACHE_NAME, LanguageCache.DEFAULT_TTL);
+    }
+
+    @NonNull
+    @Override
+    public AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                                     @NonNull AsrCallbacksListener listener,
+                                     @NonNull EngineOptions options) {
+        final GoogleFreeAsr engine = new GoogleFreeAsr(context, language, listener,
+                options.getRecognizerPoolCapacity(), options.getMetrics());
+        engine.setVoiceActivityDetector(options.newVoiceActivityDetector());
+        engine.setMaxAlternatives(options.getMaxAlternatives());
+        engine.setTiming(options.getTiming());
+        engine.setRecoveryPolicy(options.getRecoveryPolicy());
+        return engine;
+    }
+}
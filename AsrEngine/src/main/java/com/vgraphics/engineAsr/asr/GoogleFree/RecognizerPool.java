@@ -0,0 +1,216 @@
+package com.vgraphics.engineAsr.asr.GoogleFree;
+
+import android.content.Intent;
+import android.speech.SpeechRecognizer;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.vgraphics.engineAsr.asr.Asr.TAG;
+
+/**
+ * Bounded pool of pre-built {@link SpeechRecognizer} and recognizer {@link Intent} pairs keyed by
+ * language tag. Least recently used entries are destroyed once the pool exceeds its capacity.
+ * Notice that the pool is not thread safe and must only be accessed from the main thread, same as
+ * the recognizers it holds.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RecognizerPool {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default number of recognizers kept alive at the same time. */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Pooled entries in access order. Eldest entry is the least recently used one. */
+    private final LinkedHashMap<String, Pooled> entries;
+    /** Maximum number of pooled entries. */
+    private int capacity;
+    /** Number of acquisitions served by an already pooled recognizer. */
+    private volatile long hits;
+    /** Number of acquisitions that required constructing a new recognizer. */
+    private volatile long misses;
+    /** Number of recognizers destroyed because the pool was full. */
+    private volatile long evictions;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new recognizer pool.
+     *
+     * @param capacity Maximum number of recognizers kept alive. Values lower than 1 are treated
+     *                 as 1.
+     */
+    public RecognizerPool(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.entries = new LinkedHashMap<String, Pooled>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pooled> eldest) {
+                if (size() <= RecognizerPool.this.capacity) return false;
+
+                // Pool is full. Destroy least recently used recognizer.
+                destroy(eldest.getValue());
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → POOL FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the pooled entry for given language and marks it as the most recently used one.
+     * Hit and miss counters are updated accordingly.
+     *
+     * @param language Language tag of the requested recognizer.
+     *
+     * @return The pooled entry or {@code null} if no recognizer is pooled for given language.
+     */
+    @Nullable
+    public Pooled acquire(@NonNull String language) {
+        final Pooled entry = entries.get(language);
+
+        if (entry != null) hits++;
+        else misses++;
+
+        return entry;
+    }
+
+    /**
+     * Adds a newly constructed entry to the pool. Least recently used entry is destroyed if the
+     * pool exceeds its capacity.
+     *
+     * @param entry The entry to pool.
+     */
+    public void put(@NonNull Pooled entry) {
+        final Pooled previous = entries.put(entry.language, entry);
+
+        // Make sure we do not leak a replaced recognizer.
+        if (previous != null && previous != entry) destroy(previous);
+    }
+
+    /**
+     * Removes and destroys the pooled recognizer of given language, if any.
+     *
+     * @param language Language tag of the recognizer to remove.
+     */
+    public void remove(@NonNull String language) {
+        final Pooled entry = entries.remove(language);
+        if (entry != null) destroy(entry);
+    }
+
+    /**
+     * Destroys all pooled recognizers. Counters are not reset.
+     */
+    public void clear() {
+        for (Pooled entry : entries.values()) destroy(entry);
+        entries.clear();
+    }
+
+    /**
+     * Changes the capacity of the pool. Least recently used recognizers are destroyed immediately
+     * if the pool holds more entries than the new capacity.
+     *
+     * @param capacity Maximum number of recognizers kept alive. Values lower than 1 are treated
+     *                 as 1.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+
+        // Trim pool down to new capacity.
+        final Iterator<Pooled> iterator = entries.values().iterator();
+        while (entries.size() > this.capacity && iterator.hasNext()) {
+            destroy(iterator.next());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Maximum number of recognizers kept alive. */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** @return Number of currently pooled recognizers. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return Number of language switches served by an already pooled recognizer. */
+    public long getHits() {
+        return hits;
+    }
+
+    /** @return Number of language switches that required constructing a new recognizer. */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** @return Number of recognizers destroyed because the pool was full. */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Cancels and destroys the recognizer of given entry.
+     *
+     * @param entry The entry to destroy.
+     */
+    private static void destroy(@NonNull Pooled entry) {
+        Log.d(TAG, TAG + "Destroying pooled recognizer for language : " + entry.language);
+
+        entry.recognizer.cancel();
+        entry.recognizer.destroy();
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * A pre-built recognizer and the intent used to start it for a single language.
+     */
+    public static final class Pooled {
+        /** Language tag of this entry. */
+        final String language;
+        /** Recognizer built for {@link #language}. */
+        final SpeechRecognizer recognizer;
+        /** Intent used to start {@link #recognizer}. */
+        final Intent intent;
+
+        /**
+         * Constructs a new pool entry.
+         *
+         * @param language   Language tag of this entry.
+         * @param recognizer Recognizer built for given language.
+         * @param intent     Intent used to start given recognizer.
+         */
+        Pooled(@NonNull String language, @NonNull SpeechRecognizer recognizer,
+              @NonNull Intent intent) {
+            this.language = language;
+            this.recognizer = recognizer;
+            this.intent = intent;
+        }
+    }
+}
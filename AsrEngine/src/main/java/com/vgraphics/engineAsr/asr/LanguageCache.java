@@ -0,0 +1,242 @@
+package com.vgraphics.engineAsr.asr;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vgraphics.engineAsr.asr.Asr.TAG;
+
+/**
+ * Persistent cache of the languages supported by an engine. Languages are stored per engine as a
+ * single comma separated preference together with the time they were retrieved, so they can be
+ * loaded synchronously when the engine is constructed. Cached languages are indexed in a hash set
+ * so {@link #contains(String)} runs in constant time. Notice that this class is thread safe.
+ *
+ * <p>Caches obtained through {@link #obtain(Context, String, long)} are pooled per engine, so
+ * every engine instance of a process shares the same languages and only one of them refreshes
+ * them at a time.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class LanguageCache {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default time to live of the cached languages, in milliseconds. */
+    public static final long DEFAULT_TTL = 24 * 60 * 60 * 1000L;
+    /** Time after which a refresh that never completed may be started again, in milliseconds. */
+    public static final long REFRESH_TIMEOUT = 10 * 1000L;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Name of the preferences file holding the caches of all engines. */
+    private static final String PREFERENCES = "easy_asr_languages";
+    /** Separator of the stored languages. */
+    private static final char SEPARATOR = ',';
+    /** Pooled caches keyed by engine. */
+    private static final Map<String, LanguageCache> caches = new HashMap<>();
+
+    /** Preferences holding the cache. */
+    private final SharedPreferences preferences;
+    /** Preference key of the stored languages. */
+    private final String languagesKey;
+    /** Preference key of the time the languages were retrieved. */
+    private final String timestampKey;
+    /** Time to live of the cached languages, in milliseconds. */
+    private final long ttl;
+    /** Cached languages, in the order they were retrieved. */
+    private volatile List<String> languages = Collections.emptyList();
+    /** Cached languages indexed for constant time lookup. */
+    private volatile Set<String> index = Collections.emptySet();
+    /** Time the cached languages were retrieved. Zero if nothing is cached. */
+    private volatile long timestamp;
+    /** Time the current refresh started. Zero if no refresh is in flight. */
+    private final AtomicLong refreshStarted = new AtomicLong();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new language cache and synchronously loads any stored languages.
+     *
+     * @param context Application context.
+     * @param engine  Unique name of the engine that owns the cache.
+     * @param ttl     Time to live of the cached languages, in milliseconds.
+     */
+    public LanguageCache(@NonNull Context context, @NonNull String engine, long ttl) {
+        this.preferences = context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        this.languagesKey = engine + ".languages";
+        this.timestampKey = engine + ".timestamp";
+        this.ttl = ttl;
+
+        load();
+    }
+
+    /**
+     * Returns the pooled cache of given engine, constructing and loading it on first use. Engine
+     * instances that share a cache do not read the stored languages again.
+     *
+     * @param context Application context.
+     * @param engine  Unique name of the engine that owns the cache.
+     * @param ttl     Time to live of the cached languages, in milliseconds. Only used when the
+     *                cache is constructed.
+     *
+     * @return The pooled cache of given engine.
+     */
+    @NonNull
+    public static LanguageCache obtain(@NonNull Context context, @NonNull String engine,
+                                       long ttl) {
+        synchronized (caches) {
+            LanguageCache cache = caches.get(engine);
+            if (cache == null) {
+                cache = new LanguageCache(context.getApplicationContext(), engine, ttl);
+                caches.put(engine, cache);
+            }
+            return cache;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CACHE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Defines if given language is cached as supported.
+     *
+     * @param language Language to look up.
+     *
+     * @return {@code True} if given language is cached. {@code False} otherwise.
+     */
+    public boolean contains(@Nullable String language) {
+        return language != null && index.contains(language);
+    }
+
+    /**
+     * Defines if the cache holds languages that have not yet expired.
+     *
+     * @return {@code True} if cached languages are still valid. {@code False} if the cache is
+     * empty or expired and should be refreshed.
+     */
+    public boolean isFresh() {
+        return timestamp > 0 && System.currentTimeMillis() - timestamp < ttl;
+    }
+
+    /**
+     * Returns the cached languages in the order they were retrieved.
+     *
+     * @return A copy of the cached languages. Empty if nothing is cached.
+     */
+    @NonNull
+    public ArrayList<String> getLanguages() {
+        return new ArrayList<>(languages);
+    }
+
+    /**
+     * Claims the refresh of the cached languages, so that engine instances sharing the cache do
+     * not refresh it at the same time. A claim is released by {@link #store(List)} or
+     * {@link #endRefresh()}, or expires after {@link #REFRESH_TIMEOUT}.
+     *
+     * @return {@code True} if the caller should refresh the languages. {@code False} if another
+     * refresh is in flight.
+     */
+    public boolean beginRefresh() {
+        final long now = System.currentTimeMillis();
+        final long started = refreshStarted.get();
+        if (started > 0 && now - started < REFRESH_TIMEOUT) return false;
+
+        return refreshStarted.compareAndSet(started, now);
+    }
+
+    /**
+     * Releases the claim of a refresh that did not retrieve any languages.
+     */
+    public void endRefresh() {
+        refreshStarted.set(0);
+    }
+
+    /**
+     * Replaces the cached languages and persists them. Preferences are written asynchronously.
+     *
+     * @param retrieved The retrieved languages.
+     */
+    public void store(@NonNull List<String> retrieved) {
+        final StringBuilder builder = new StringBuilder(retrieved.size() * 6);
+        for (String language : retrieved) {
+            if (builder.length() > 0) builder.append(SEPARATOR);
+            builder.append(language);
+        }
+
+        final long now = System.currentTimeMillis();
+        apply(new ArrayList<>(retrieved), now);
+
+        preferences.edit()
+                .putString(languagesKey, builder.toString())
+                .putLong(timestampKey, now)
+                .apply();
+
+        endRefresh();
+    }
+
+    /**
+     * Removes any cached languages from memory and storage.
+     */
+    public void clear() {
+        apply(Collections.<String>emptyList(), 0);
+
+        preferences.edit().remove(languagesKey).remove(timestampKey).apply();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Loads stored languages. Expired languages are loaded too, so lookups stay correct while the
+     * cache is being refreshed.
+     */
+    private void load() {
+        final String stored = preferences.getString(languagesKey, null);
+        if (stored == null || stored.isEmpty()) return;
+
+        // Split stored languages.
+        final List<String> loaded = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= stored.length(); i++) {
+            if (i < stored.length() && stored.charAt(i) != SEPARATOR) continue;
+            if (i > start) loaded.add(stored.substring(start, i));
+            start = i + 1;
+        }
+
+        apply(loaded, preferences.getLong(timestampKey, 0));
+
+        Log.d(TAG, TAG + "Loaded " + loaded.size() + " cached languages for : " + languagesKey);
+    }
+
+    /**
+     * Publishes given languages to readers.
+     *
+     * @param loaded    Languages to publish.
+     * @param timestamp Time the languages were retrieved.
+     */
+    private void apply(@NonNull List<String> loaded, long timestamp) {
+        this.index = new HashSet<>(loaded);
+        this.languages = Collections.unmodifiableList(loaded);
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,835 @@
+package com.vgraphics.engineAsr.asr.Offline;
+
+import android.Manifest;
+import android.os.Handler;
+import android.os.Looper;
+import android.speech.SpeechRecognizer;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresPermission;
+
+import com.vgraphics.engineAsr.Capture.AudioCapture;
+import com.vgraphics.engineAsr.Capture.FrameRingBuffer;
+import com.vgraphics.engineAsr.Capture.MicrophoneSource;
+import com.vgraphics.engineAsr.Capture.VoiceActivityDetector;
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+import com.vgraphics.engineAsr.Enums.EngineState;
+import com.vgraphics.engineAsr.Enums.SessionState;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Interfaces.AudioHandOff;
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+import com.vgraphics.engineAsr.Interfaces.OfflineDecoder;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Metrics.MetricsScope;
+import com.vgraphics.engineAsr.Results.AsrResult;
+import com.vgraphics.engineAsr.asr.SessionStateMachine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.vgraphics.engineAsr.asr.Asr.TAG;
+
+/**
+ * Asr engine that decodes on the device, out of model files supplied by the application, so it
+ * works with no network at all. Audio is captured through {@link AudioCapture} and decoded on a
+ * dedicated thread, which also loads the models. Partial and final results are delivered through
+ * the same {@link AsrCallbacksListener} as every other engine.
+ *
+ * <p>The real time factor of every utterance, which is the decoding time divided by the audio
+ * duration, is logged and available through {@link #getLastRealTimeFactor()}. Since the audio
+ * source, the decoder factory and the callback executor can all be supplied, the whole engine
+ * runs on a plain JVM as well, for example driven by a
+ * {@link com.vgraphics.engineAsr.Capture.PcmFileSource}.
+ *
+ * <p>With hand-off enabled, capture keeps running for a short while after a session ends, so that
+ * the next session starts decoding from where the previous one stopped and no audio is lost.
+ */
+public class OfflineAsr implements AsrEngineInterface, AudioHandOff {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Time the decoding thread waits for a frame before checking for a stop request. */
+    private static final long FRAME_TIMEOUT = 100;
+    /** Maximum time to wait for the capture thread to release the audio source. */
+    private static final long RELEASE_TIMEOUT = 1000;
+    /** Time capture keeps running after a session ends while hand-off is enabled. */
+    private static final long HAND_OFF_TIMEOUT = 2000;
+
+    /** Current working language. */
+    private volatile String language;
+    /** Listener to invoke asr events. */
+    private volatile AsrCallbacksListener listener;
+    /** Model paths keyed by language. Shared with the caller, so models can be added later. */
+    private final Map<String, String> models;
+    /** Factory that creates decoders out of model files. */
+    private final OfflineDecoder.Factory factory;
+    /** Source of the audio to decode. Re-opened for every session. */
+    private final AudioSource source;
+    /** Executor that delivers callbacks. */
+    private final Executor callbacks;
+    /** The session state machine of the engine. Only changed through compare-and-set. */
+    private final SessionStateMachine state = new SessionStateMachine(SessionState.IDLE);
+    /** Decoders keyed by language. Only accessed on the decoding thread. */
+    private final Map<String, OfflineDecoder> decoders = new HashMap<>();
+    /** Thread that loads models and decodes sessions one at a time. Replaced on the main thread. */
+    private volatile ScheduledExecutorService worker;
+    /** Capture of the current or handed off session. Only accessed on the decoding thread. */
+    private AudioCapture capture;
+    /** Cursor of {@link #capture}. Only accessed on the decoding thread. */
+    private FrameRingBuffer.Cursor cursor;
+    /** Defines if capture keeps running between sessions. */
+    private volatile boolean handOff;
+    /** Audio lost before the last session started, or {@code -1} if it started a new capture. */
+    private volatile long handOffGap = -1;
+    /** Generation of the session that was requested to stop. */
+    private volatile long stopGeneration = -1;
+    /** Detector that ends the session as soon as trailing silence is detected, if any. */
+    private volatile VoiceActivityDetector voiceActivityDetector;
+    /** Real time factor of the last utterance. */
+    private volatile float lastRealTimeFactor = -1;
+    /** Metrics to record model loads and result latency to, if any. */
+    private volatile AsrMetrics metrics;
+    /** Maximum number of alternatives of structured final results. */
+    private volatile int maxAlternatives = 1;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs new offline asr engine that records from the microphone, decodes with
+     * {@link VoskDecoder} and delivers callbacks on the main thread.
+     *
+     * @param language Language to set to engine. If {@code null} or empty, device default
+     *                 language will be used.
+     * @param listener Listener to invoke asr events.
+     * @param models   Model paths keyed by language.
+     */
+    @RequiresPermission(Manifest.permission.RECORD_AUDIO)
+    public OfflineAsr(@Nullable String language, @NonNull AsrCallbacksListener listener,
+                      @NonNull Map<String, String> models) {
+        this(language, listener, models, VoskDecoder.FACTORY, new MicrophoneSource(),
+                new Executor() {
+                    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+                    @Override
+                    public void execute(@NonNull Runnable command) {
+                        mainHandler.post(command);
+                    }
+                });
+    }
+
+    /**
+     * Constructs new offline asr engine.
+     *
+     * @param language  Language to set to engine. If {@code null} or empty, device default
+     *                  language will be used.
+     * @param listener  Listener to invoke asr events.
+     * @param models    Model paths keyed by language.
+     * @param factory   Factory that creates decoders out of model files.
+     * @param source    Source of the audio to decode. Must support being re-opened.
+     * @param callbacks Executor that delivers callbacks.
+     */
+    public OfflineAsr(@Nullable String language, @NonNull AsrCallbacksListener listener,
+                      @NonNull Map<String, String> models, @NonNull OfflineDecoder.Factory factory,
+                      @NonNull AudioSource source, @NonNull Executor callbacks) {
+        // Store values.
+        this.listener = listener;
+        this.models = models;
+        this.factory = factory;
+        this.source = source;
+        this.callbacks = callbacks;
+
+        // Initialize asr engine.
+        rebuild(language);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → INTERFACE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts listening to user input. Be adviced that this operation may succeed or may fail. Do
+     * not rely on these operation instead listen to events to be sure if engine is working.
+     */
+    @Override
+    public void startListening() {
+        Log.d(TAG, TAG + getClass().getCanonicalName() + " is commanded to start...");
+
+        // Check if engine is valid.
+        if (worker == null) rebuild(language);
+
+        // Request a new session. Only succeeds if engine is idle.
+        final long generation = state.begin();
+        if (generation == SessionStateMachine.NO_SESSION) {
+            Log.w(TAG, TAG + getClass().getCanonicalName() + " engine is " +
+                    SessionStateMachine.toEngineState(state.getState()) + ". Skipping request...");
+            return;
+        }
+
+        // Decode session on the worker thread. The session keeps the worker it started on, since
+        // the engine may be disposed while it decodes.
+        final String language = this.language;
+        final ScheduledExecutorService worker = this.worker;
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                decode(generation, language, worker);
+            }
+        });
+    }
+
+    /**
+     * Stops listening to user input. Audio captured so far is decoded and its final result is
+     * delivered. Be adviced that this operation may succeed or may fail. Do not rely on these
+     * operation instead listen to events to be sure if engine is working.
+     */
+    @Override
+    public void stopListening() {
+        Log.d(TAG, TAG + getClass().getCanonicalName() + " is commanded to stop...");
+
+        // Check if engine is working.
+        if (!state.is(SessionState.REQUESTED) && !state.is(SessionState.LISTENING)) {
+            Log.d(TAG, TAG + getClass().getCanonicalName() + " is idle. Nothing to stop...");
+            return;
+        }
+
+        // Decoding thread ends the session and delivers the final result.
+        stopGeneration = state.getGeneration();
+    }
+
+    /**
+     * Destroys/disposes engine. Only call when your application is terminating since it is memory
+     * consuming. You do not need to initialize engine at all since initialization is automatically
+     * done.
+     */
+    @Override
+    public void disposeEngine() {
+        // End any session. Decoding thread notices and drops it.
+        state.moveTo(SessionState.UNDEFINED);
+        stopGeneration = state.getGeneration();
+
+        // Close decoders once the decoding thread is done and let it end.
+        final ScheduledExecutorService worker = this.worker;
+        if (worker != null) {
+            worker.execute(new Runnable() {
+                @Override
+                public void run() {
+                    releaseCapture();
+                    for (OfflineDecoder decoder : decoders.values()) decoder.close();
+                    decoders.clear();
+                }
+            });
+            worker.shutdown();
+            this.worker = null;
+        }
+
+        Log.d(TAG, TAG + getClass().getCanonicalName() + " engine disposed.");
+    }
+
+    /**
+     * Defines if this engine supports given language, which is the case if the application
+     * supplied a model for it.
+     *
+     * @param language Language to check if is supported by this engine.
+     *
+     * @return {@code True} if requested language is supported by this engine. {@code False}
+     * otherwise.
+     */
+    @Override
+    public boolean languageIsSupported(String language) {
+        return language != null && models.containsKey(language);
+    }
+
+    /**
+     * Changes the listener to invoke asr results callbacks. Notice that current set listener will
+     * be override. New results and callbacks will be send to new listener from now on. Notice that
+     * you do not have to rebuild engine.
+     *
+     * @param listener Listener to invoke asr callbacks.
+     */
+    @Override
+    public void setListener(@NonNull AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Commands engine to find the supported languages, which are the languages the application
+     * supplied models for. The list is delivered through
+     * {@link AsrCallbacksListener#onLangListRetrieved(List)}.
+     */
+    @Override
+    public void getSupportedLanguages() {
+        final List<String> languages = new ArrayList<>(models.keySet());
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onLangListRetrieved(languages);
+            }
+        });
+    }
+
+    /**
+     * Sets the recognition language for this engine. Given language must be of type 'el-GR' etc.
+     * [IETF language tag (as defined by BCP 47)]. Notice that the engine will rebuild on it's own.
+     * You do not need to dispose the engine and re-construct it on your own.
+     *
+     * @param language Language to set for this engine.
+     */
+    @Override
+    public void setRecognitionLanguage(@NonNull String language) {
+        rebuild(language);
+    }
+
+    /**
+     * Defines which {@link AsrEngines} int code represents this engine. Mostly used internally to
+     * avoid rebuilding engines.
+     *
+     * @return An int type of {@link AsrEngines} that represents this engine.
+     */
+    @Override
+    public int engineCode() {
+        return AsrEngines.OFFLINE;
+    }
+
+    /**
+     * Defines if current asr engine is supported at current device or not. This engine is
+     * available if the decoder library is present and at least one model was supplied.
+     *
+     * @return {@code True} if this asr engine can properly work at this device. {@code False}
+     * otherwise.
+     */
+    @Override
+    public boolean getAvailability() {
+        return factory.isAvailable() && !models.isEmpty();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → STATE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the current state of the engine.
+     *
+     * @return The current state. Can be any of {@link EngineState}.
+     */
+    @NonNull
+    @EngineState
+    public String getState() {
+        return SessionStateMachine.toEngineState(state.getState());
+    }
+
+    /**
+     * Returns the real time factor of the last utterance, which is the time spent decoding
+     * divided by the duration of the audio. Values lower than 1 mean faster than real time.
+     *
+     * @return The real time factor of the last utterance, or {@code -1} if none was decoded yet.
+     */
+    public float getLastRealTimeFactor() {
+        return lastRealTimeFactor;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HAND-OFF FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void setHandOff(boolean enabled) {
+        handOff = enabled;
+
+        // Release capture kept for a session that will not come. Sessions decode on the same
+        // thread, so this never runs in the middle of one.
+        final ScheduledExecutorService worker = this.worker;
+        if (!enabled && worker != null) worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                releaseCapture();
+            }
+        });
+    }
+
+    @Override
+    public long getHandOffGap() {
+        return handOffGap;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → VOICE ACTIVITY FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the detector that ends the session as soon as trailing silence is detected. The
+     * detector is fed with the raw PCM frames and only acts while enabled.
+     *
+     * @param detector The voice activity detector or {@code null} to rely on the decoder
+     *                 endpointing only.
+     */
+    public void setVoiceActivityDetector(@Nullable VoiceActivityDetector detector) {
+        this.voiceActivityDetector = detector;
+    }
+
+    /** @return The voice activity detector of this engine or {@code null} if not set. */
+    @Nullable
+    public VoiceActivityDetector getVoiceActivityDetector() {
+        return voiceActivityDetector;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → METRICS FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the metrics that model loads and the latency between the end of an utterance and its
+     * final result are recorded to.
+     *
+     * @param metrics The metrics or {@code null} to record nothing.
+     */
+    public void setMetrics(@Nullable AsrMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → RESULT FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the maximum number of alternatives the decoder reports, which are delivered with their
+     * scores to listeners that implement {@link AsrResultListener}. Applies from the next session.
+     *
+     * @param maxAlternatives Number of alternatives, clamped between 1 and
+     *                        {@link AsrResult#MAX_ALTERNATIVES}.
+     */
+    public void setMaxAlternatives(int maxAlternatives) {
+        this.maxAlternatives = Math.max(1, Math.min(maxAlternatives, AsrResult.MAX_ALTERNATIVES));
+    }
+
+    /** @return The maximum number of alternatives the decoder reports. */
+    public int getMaxAlternatives() {
+        return maxAlternatives;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Rebuilds asr engine based on given language. The model of given language is loaded in
+     * background and initialization is reported once it is ready.
+     *
+     * @param language Language to set to engine. If {@code null} or empty, device default
+     *                 language will be used.
+     */
+    private void rebuild(@Nullable String language) {
+        Log.d(TAG, TAG + "Rebuilding " + getClass().getCanonicalName() + " engine.");
+
+        // Stop any running session first.
+        stopListening();
+
+        // Store language.
+        final String resolved = language == null || language.isEmpty()
+                ? Locale.getDefault().getLanguage() + "-" + Locale.getDefault().getCountry()
+                : language;
+        this.language = resolved;
+
+        // Check if engine is valid.
+        if (!getAvailability()) {
+            Log.d(TAG, TAG + "Failed to rebuild " + getClass().getCanonicalName() + " engine " +
+                    "since decoder library or models are missing.");
+
+            // Set undefined state.
+            state.moveTo(SessionState.UNDEFINED);
+
+            // Invoke callback.
+            notifyInitialized(false);
+            return;
+        }
+
+        // Engine is usable again if it was disposed.
+        if (worker == null) {
+            worker = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    return new Thread(runnable, "EasyAsr-Offline");
+                }
+            });
+        }
+        state.transition(SessionState.UNDEFINED, SessionState.IDLE);
+
+        // Load model in background.
+        worker.execute(new Runnable() {
+            @Override
+            public void run() {
+                notifyInitialized(decoderFor(resolved) != null);
+            }
+        });
+    }
+
+    /**
+     * Decodes a session. Runs on the decoding thread.
+     *
+     * @param generation The generation of the session.
+     * @param language   The language of the session.
+     * @param worker     The worker the session decodes on.
+     */
+    private void decode(long generation, @NonNull String language,
+                        @NonNull ScheduledExecutorService worker) {
+        // Load model of the session.
+        final OfflineDecoder decoder = decoderFor(language);
+        if (decoder == null) {
+            releaseCapture();
+            if (state.transition(generation, SessionState.REQUESTED, SessionState.IDLE))
+                notifyError(SpeechRecognizer.ERROR_CLIENT);
+            return;
+        }
+
+        // Check if session was stopped while model was loading.
+        if (stopGeneration == generation) {
+            releaseCapture();
+            if (state.transition(generation, SessionState.REQUESTED, SessionState.IDLE))
+                notifyCancelled();
+            return;
+        }
+
+        // Continue capture of previous session if it was handed off.
+        if (hasPendingCapture()) {
+            handOffGap = lostMillis();
+        }
+        else {
+            releaseCapture();
+            handOffGap = -1;
+
+            // Start capturing. Register cursor first so that no frame is missed.
+            capture = new AudioCapture(source);
+            cursor = capture.newCursor();
+            capture.start();
+        }
+
+        if (!state.transition(generation, SessionState.REQUESTED, SessionState.LISTENING)) {
+            releaseCapture();
+            return;
+        }
+        notifyStart();
+        final long startTime = System.nanoTime() / 1000000;
+
+        final VoiceActivityDetector detector = voiceActivityDetector;
+        if (detector != null) detector.reset();
+
+        // Only ask the decoder for alternatives if the listener wants them.
+        final boolean structured = listener instanceof AsrResultListener;
+        decoder.setMaxAlternatives(structured ? maxAlternatives : 0);
+
+        final AudioCapture capture = this.capture;
+        final short[] frame = new short[capture.getRing().getFrameSize()];
+        final int sampleRate = source.getSampleRate() * source.getChannels();
+        String partial = "";
+        long samples = 0;
+        long decodeNanos = 0;
+
+        // Decode until stopped, the source ends or end of utterance is detected.
+        while (stopGeneration != generation && state.is(SessionState.LISTENING)) {
+            final int read = cursor.take(frame, FRAME_TIMEOUT);
+            if (read == FrameRingBuffer.Cursor.END_OF_STREAM) break;
+            if (read == FrameRingBuffer.Cursor.EMPTY) continue;
+
+            final long started = System.nanoTime();
+            final boolean endpoint = decoder.acceptWaveform(frame, read);
+            decodeNanos += System.nanoTime() - started;
+            samples += read;
+
+            if (endpoint) break;
+
+            // Deliver partial result if it changed.
+            final String current = decoder.getPartialResult();
+            if (!current.isEmpty() && !current.equals(partial)) {
+                partial = current;
+                notifyPartialResult(current);
+            }
+
+            // End utterance as soon as trailing silence is detected.
+            if (detector != null && detector.process(frame, read, System.nanoTime() / 1000000)
+                    == VoiceActivityDetector.EVENT_SPEECH_END) break;
+        }
+
+        final long endTime = System.nanoTime() / 1000000;
+
+        // Keep capturing for the next session if hand-off is enabled.
+        if (handOff && hasPendingCapture()) scheduleRelease(worker, generation);
+        else releaseCapture();
+
+        // Flush decoder and take final result, with its alternatives if requested.
+        final AsrResult result = structured ? AsrResult.obtain(AsrEngines.OFFLINE, language) : null;
+        final long started = System.nanoTime();
+        final String text = result != null ? decoder.getFinalResult(result) :
+                decoder.getFinalResult();
+        final long finalNanos = System.nanoTime() - started;
+        if (result != null) result.setTiming(startTime, endTime, System.nanoTime() / 1000000);
+        decodeNanos += finalNanos;
+        decoder.reset();
+
+        // Record latency between the end of the utterance and its final result.
+        final MetricsScope scope = scopeOf(language);
+        if (scope != null) scope.record(AsrMetric.RESULT_LATENCY, finalNanos / 1000000);
+
+        // Report real time factor of the utterance.
+        if (samples > 0) {
+            lastRealTimeFactor = (float) (decodeNanos / (samples * 1e9 / sampleRate));
+            Log.d(TAG, TAG + getClass().getCanonicalName() + " decoded " +
+                    (samples * 1000 / sampleRate) + " ms of audio with real time factor : " +
+                    lastRealTimeFactor);
+        }
+
+        // Report latency since end of speech.
+        if (detector != null) {
+            final long latency = detector.onFinalResult(System.nanoTime() / 1000000);
+            if (latency >= 0) Log.d(TAG, TAG + "End of speech to final result latency : " +
+                    latency + " ms.");
+        }
+
+        // End session. Ignore if engine was disposed meanwhile.
+        if (!state.transition(generation, SessionState.LISTENING, SessionState.IDLE)) {
+            if (result != null) result.recycle();
+            return;
+        }
+
+        // Invoke callback.
+        if (samples == 0 && capture.getError() != null) {
+            Log.e(TAG, TAG + "Audio capture failed : " + capture.getError().getMessage());
+            if (result != null) result.recycle();
+            notifyError(SpeechRecognizer.ERROR_AUDIO);
+        }
+        else if (!text.isEmpty()) notifyFinalResult(text, result);
+        else {
+            if (result != null) result.recycle();
+            notifyCancelled();
+        }
+    }
+
+    /**
+     * Returns the decoder of given language, loading its model if needed. Runs on the decoding
+     * thread.
+     *
+     * @param language The language.
+     *
+     * @return The decoder of given language or {@code null} if it could not be loaded.
+     */
+    @Nullable
+    private OfflineDecoder decoderFor(@NonNull String language) {
+        OfflineDecoder decoder = decoders.get(language);
+        if (decoder != null) return decoder;
+
+        final String path = models.get(language);
+        if (path == null) {
+            Log.e(TAG, TAG + "No offline model was supplied for language : " + language);
+            return null;
+        }
+
+        try {
+            final long started = System.nanoTime();
+            decoder = factory.create(path, source.getSampleRate());
+            decoders.put(language, decoder);
+
+            final long elapsed = (System.nanoTime() - started) / 1000000;
+            Log.d(TAG, TAG + "Loaded offline model for language : " + language + " in " +
+                    elapsed + " ms.");
+
+            final MetricsScope scope = scopeOf(language);
+            if (scope != null) scope.record(AsrMetric.REBUILD, elapsed);
+            return decoder;
+        } catch (IOException e) {
+            Log.e(TAG, TAG + "Failed to load offline model : " + path + ". " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param language The language.
+     *
+     * @return The metrics of given language or {@code null} if metrics are not recorded.
+     */
+    @Nullable
+    private MetricsScope scopeOf(@NonNull String language) {
+        final AsrMetrics metrics = this.metrics;
+        if (metrics == null || !metrics.isEnabled()) return null;
+
+        return metrics.scope(engineCode(), language);
+    }
+
+    /**
+     * Stops the capture, if any, and waits for it to release the audio source, so that the next
+     * session can open it again. Runs on the decoding thread.
+     */
+    private void releaseCapture() {
+        final AudioCapture capture = this.capture;
+        final FrameRingBuffer.Cursor cursor = this.cursor;
+        this.capture = null;
+        this.cursor = null;
+        if (capture == null) return;
+
+        capture.stop();
+
+        // Capture thread finishes the ring after closing the source.
+        final long deadline = System.nanoTime() + RELEASE_TIMEOUT * 1000000;
+        final short[] frame = new short[capture.getRing().getFrameSize()];
+        while (System.nanoTime() < deadline) {
+            if (cursor.take(frame, FRAME_TIMEOUT) == FrameRingBuffer.Cursor.END_OF_STREAM) break;
+        }
+
+        cursor.close();
+    }
+
+    /**
+     * Defines if the capture can be continued by the next session, which is the case while it is
+     * running or while it still holds frames that were not decoded. A finite source, such as a
+     * file, may be read to the end long before it is decoded. Runs on the decoding thread.
+     *
+     * @return {@code True} if there is a capture to continue. {@code False} otherwise.
+     */
+    private boolean hasPendingCapture() {
+        return capture != null && (capture.isRunning() || cursor.getLag() > 0);
+    }
+
+    /**
+     * Releases the capture handed off by given session, unless a new session started meanwhile.
+     * Nothing is scheduled if the engine was disposed, since disposal releases the capture once
+     * the session is decoded.
+     *
+     * @param worker     The worker the session decoded on.
+     * @param generation The generation of the session that handed capture off.
+     */
+    private void scheduleRelease(@NonNull ScheduledExecutorService worker, final long generation) {
+        if (worker.isShutdown()) return;
+
+        try {
+            worker.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (state.getGeneration() == generation) releaseCapture();
+                }
+            }, HAND_OFF_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Engine was disposed right now.
+            Log.d(TAG, TAG + "Hand-off release skipped since engine is disposed.");
+        }
+    }
+
+    /**
+     * Computes the audio a handed off capture lost because the ring overflowed before the next
+     * session started reading it.
+     *
+     * @return The lost audio in milliseconds.
+     */
+    private long lostMillis() {
+        final FrameRingBuffer ring = capture.getRing();
+        final long lost = Math.max(0, cursor.getLag() - ring.getSlots() + 1);
+        return lost * ring.getFrameSize() * 1000
+                / (source.getSampleRate() * source.getChannels());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → LISTENER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Delivers initialization result through the callback executor.
+     *
+     * @param success {@code True} if engine initialized successfully.
+     */
+    private void notifyInitialized(final boolean success) {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAsrInitialized(success);
+            }
+        });
+    }
+
+    /**
+     * Delivers start of session through the callback executor.
+     */
+    private void notifyStart() {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAsrStart();
+            }
+        });
+    }
+
+    /**
+     * Delivers cancellation of session through the callback executor.
+     */
+    private void notifyCancelled() {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAsrCancelled();
+            }
+        });
+    }
+
+    /**
+     * Delivers a partial result through the callback executor.
+     *
+     * @param text The partial result.
+     */
+    private void notifyPartialResult(@NonNull final String text) {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAsrPartialResult(text);
+            }
+        });
+    }
+
+    /**
+     * Delivers a final result through the callback executor, preceded by its structured form if
+     * given. The structured result is recycled once delivered.
+     *
+     * @param text   The final result.
+     * @param result The structured final result or {@code null} if not requested.
+     */
+    private void notifyFinalResult(@NonNull final String text, @Nullable final AsrResult result) {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                final AsrCallbacksListener listener = OfflineAsr.this.listener;
+                if (result != null) {
+                    try {
+                        if (listener instanceof AsrResultListener)
+                            ((AsrResultListener) listener).onAsrResult(result);
+                    }
+                    finally {
+                        result.recycle();
+                    }
+                }
+                listener.onAsrFinalResult(text);
+            }
+        });
+    }
+
+    /**
+     * Delivers an error through the callback executor.
+     *
+     * @param error The error code. Same codes as {@link SpeechRecognizer} are used.
+     */
+    private void notifyError(final int error) {
+        callbacks.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAsrError(error);
+            }
+        });
+    }
+}
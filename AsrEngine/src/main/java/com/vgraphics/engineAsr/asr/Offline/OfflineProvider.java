@@ -0,0 +1,64 @@
+package com.vgraphics.engineAsr.asr.Offline;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+
+import java.io.IOException;
+
+/**
+ * Provider of the {@link AsrEngines#OFFLINE} engine.
+ */
+public class OfflineProvider implements AsrEngineProvider {
+    @Override
+    public int engineCode() {
+        return AsrEngines.OFFLINE;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "Offline";
+    }
+
+    @Override
+    public int getCapabilities() {
+        return EngineCapability.STREAMING | EngineCapability.OFFLINE
+                | EngineCapability.VOICE_ACTIVITY;
+    }
+
+    @Override
+    public void warmUp(@NonNull Context context, @Nullable String language,
+                       @NonNull EngineOptions options) {
+        // Load model of the language, so that the engine finds it already loaded.
+        final String path = language != null ? options.getOfflineModels().get(language) : null;
+        if (path == null || !VoskDecoder.FACTORY.isAvailable()) return;
+
+        try {
+            VoskDecoder.FACTORY.load(path);
+        } catch (IOException ignored) {
+            // Engine reports the failure once it tries to load the model itself.
+        }
+    }
+
+    @SuppressWarnings("MissingPermission")
+    @NonNull
+    @Override
+    public AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                                     @NonNull AsrCallbacksListener listener,
+                                     @NonNull EngineOptions options) {
+        final OfflineAsr engine = new OfflineAsr(language, listener, options.getOfflineModels());
+        engine.setVoiceActivityDetector(options.newVoiceActivityDetector());
+        engine.setMetrics(options.getMetrics());
+        engine.setMaxAlternatives(options.getMaxAlternatives());
+        return engine;
+    }
+}
@@ -0,0 +1,263 @@
+package com.vgraphics.engineAsr.asr.Offline;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.OfflineDecoder;
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline decoder backed by the Vosk speech recognition toolkit. The toolkit is not bundled with
+ * this library. Applications that want offline recognition add {@code com.alphacephei:vosk-android}
+ * to their dependencies and supply a Vosk model directory per language. The same decoder runs on
+ * a plain JVM with {@code com.alphacephei:vosk} instead.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VoskDecoder implements OfflineDecoder {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Shared factory. Loaded models are cached, so every language is loaded once. */
+    public static final Factory FACTORY = new Factory();
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Vosk recognizer of this decoder. */
+    private final Recognizer recognizer;
+    /** Defines if this decoder was closed. */
+    private boolean closed;
+    /** Number of alternatives the recognizer reports. Zero for plain results. */
+    private int maxAlternatives;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new decoder.
+     *
+     * @param model      Loaded Vosk model.
+     * @param sampleRate Sample rate of the audio in Hz.
+     *
+     * @throws IOException If the recognizer could not be created.
+     */
+    private VoskDecoder(@NonNull Model model, int sampleRate) throws IOException {
+        recognizer = new Recognizer(model, sampleRate);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → DECODER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public boolean acceptWaveform(@NonNull short[] frame, int length) {
+        return recognizer.acceptWaveForm(frame, length);
+    }
+
+    @NonNull
+    @Override
+    public String getPartialResult() {
+        return textOf(recognizer.getPartialResult(), "partial");
+    }
+
+    @NonNull
+    @Override
+    public String getFinalResult() {
+        return textOf(recognizer.getFinalResult(), "text");
+    }
+
+    @NonNull
+    @Override
+    public String getFinalResult(@NonNull AsrResult result) {
+        final String json = recognizer.getFinalResult();
+
+        // Plain results carry the best alternative only, without a score.
+        if (maxAlternatives == 0) {
+            final String text = textOf(json, "text");
+            if (!text.isEmpty()) result.addAlternative(text, AsrResult.UNKNOWN_CONFIDENCE);
+            return text;
+        }
+
+        // Alternatives are objects of a confidence followed by a text, best first.
+        final String name = "\"confidence\"";
+        int index = json == null ? -1 : json.indexOf(name);
+        while (index >= 0) {
+            final float confidence = numberOf(json, index + name.length());
+            final int next = json.indexOf(name, index + name.length());
+            final String text = textOf(next < 0 ? json.substring(index) :
+                    json.substring(index, next), "text");
+            if (!text.isEmpty() && !result.addAlternative(text, confidence)) break;
+            index = next;
+        }
+
+        return result.getText();
+    }
+
+    @Override
+    public void setMaxAlternatives(int maxAlternatives) {
+        if (this.maxAlternatives == maxAlternatives) return;
+
+        this.maxAlternatives = maxAlternatives;
+        recognizer.setMaxAlternatives(maxAlternatives);
+    }
+
+    @Override
+    public void reset() {
+        recognizer.reset();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+
+        closed = true;
+        recognizer.close();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Extracts the value of given key out of a Vosk json result. Vosk results are flat objects,
+     * so there is no need for a json parser, which a plain JVM does not have either.
+     *
+     * @param json The Vosk result.
+     * @param key  The key of the text.
+     *
+     * @return The text of given key or empty if it is missing.
+     */
+    @NonNull
+    static String textOf(String json, @NonNull String key) {
+        if (json == null) return "";
+
+        final String name = "\"" + key + "\"";
+        int index = json.indexOf(name);
+        if (index < 0) return "";
+
+        // Find opening quote of the value.
+        index = json.indexOf(':', index + name.length());
+        if (index < 0) return "";
+        index = json.indexOf('"', index + 1);
+        if (index < 0) return "";
+
+        // Read value until closing quote, unescaping characters.
+        final StringBuilder builder = new StringBuilder();
+        for (int i = index + 1; i < json.length(); i++) {
+            final char c = json.charAt(i);
+            if (c == '"') break;
+            if (c == '\\' && i + 1 < json.length()) {
+                final char escaped = json.charAt(++i);
+                if (escaped == 'u' && i + 4 < json.length()) {
+                    builder.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                    i += 4;
+                } else if (escaped == 'n') builder.append('\n');
+                else if (escaped == 't') builder.append('\t');
+                else builder.append(escaped);
+                continue;
+            }
+            builder.append(c);
+        }
+
+        return builder.toString().trim();
+    }
+
+    /**
+     * Parses the number that follows the colon after given index of a Vosk json result.
+     *
+     * @param json  The Vosk result.
+     * @param index Index to search the colon from.
+     *
+     * @return The number or {@link AsrResult#UNKNOWN_CONFIDENCE} if it is missing or invalid.
+     */
+    static float numberOf(@NonNull String json, int index) {
+        int start = json.indexOf(':', index);
+        if (start < 0) return AsrResult.UNKNOWN_CONFIDENCE;
+
+        // Skip white space, then read until the number ends.
+        start++;
+        while (start < json.length() && Character.isWhitespace(json.charAt(start))) start++;
+        int end = start;
+        while (end < json.length() && "+-.0123456789eE".indexOf(json.charAt(end)) >= 0) end++;
+
+        try {
+            return Float.parseFloat(json.substring(start, end));
+        } catch (NumberFormatException e) {
+            return AsrResult.UNKNOWN_CONFIDENCE;
+        }
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Creates Vosk decoders. Models are loaded once per path and kept until {@link #release()}.
+     */
+    public static final class Factory implements OfflineDecoder.Factory {
+        /** Loaded models keyed by path. */
+        private final Map<String, Model> models = new HashMap<>();
+
+        /**
+         * Private constructor. Use {@link VoskDecoder#FACTORY}.
+         */
+        private Factory() {}
+
+        @Override
+        public boolean isAvailable() {
+            try {
+                Class.forName("org.vosk.Recognizer");
+                return true;
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+
+        @NonNull
+        @Override
+        public synchronized OfflineDecoder create(@NonNull String modelPath, int sampleRate)
+                throws IOException {
+            return new VoskDecoder(load(modelPath), sampleRate);
+        }
+
+        /**
+         * Loads the model of given path, unless it is already loaded. Loading a model may take
+         * a while, so never call this function on the main thread.
+         *
+         * @param modelPath Path of the model directory.
+         *
+         * @return The loaded model.
+         *
+         * @throws IOException If the model could not be loaded.
+         */
+        @NonNull
+        public synchronized Model load(@NonNull String modelPath) throws IOException {
+            if (!isAvailable()) throw new IOException("Vosk library is missing.");
+
+            Model model = models.get(modelPath);
+            if (model == null) {
+                model = new Model(modelPath);
+                models.put(modelPath, model);
+            }
+
+            return model;
+        }
+
+        /**
+         * Releases all loaded models. Decoders created before must be closed first.
+         */
+        public synchronized void release() {
+            for (Model model : models.values()) model.close();
+            models.clear();
+        }
+    }
+}
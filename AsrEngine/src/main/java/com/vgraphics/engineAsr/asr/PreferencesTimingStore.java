@@ -0,0 +1,107 @@
+package com.vgraphics.engineAsr.asr;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.TimingStore;
+
+import static com.vgraphics.engineAsr.asr.Asr.TAG;
+
+/**
+ * Timing store that keeps the start latencies of an engine in the shared preferences, as a single
+ * comma separated preference, so auto-tuned start deadlines carry over to the next launch. Writes
+ * are applied asynchronously.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PreferencesTimingStore implements TimingStore {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Name of the preferences file holding the latencies of all engines. */
+    private static final String PREFERENCES = "easy_asr_timing";
+    /** Separator of the stored latencies. */
+    private static final char SEPARATOR = ',';
+
+    /** Preferences holding the latencies. */
+    private final SharedPreferences preferences;
+    /** Preference key of the stored latencies. */
+    private final String latenciesKey;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new timing store.
+     *
+     * @param context Any context. Only its application context is kept.
+     * @param engine  Unique name of the engine that owns the latencies.
+     */
+    public PreferencesTimingStore(@NonNull Context context, @NonNull String engine) {
+        this.preferences = context.getApplicationContext()
+                .getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+        this.latenciesKey = engine + ".start_latencies";
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → STORE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Nullable
+    @Override
+    public long[] load() {
+        final String stored = preferences.getString(latenciesKey, null);
+        if (stored == null || stored.isEmpty()) return null;
+
+        // Count stored latencies.
+        int count = 1;
+        for (int i = 0; i < stored.length(); i++) if (stored.charAt(i) == SEPARATOR) count++;
+
+        // Split stored latencies.
+        final long[] latencies = new long[count];
+        int loaded = 0;
+        int start = 0;
+        for (int i = 0; i <= stored.length(); i++) {
+            if (i < stored.length() && stored.charAt(i) != SEPARATOR) continue;
+            try {
+                if (i > start) latencies[loaded++] = Long.parseLong(stored.substring(start, i));
+            } catch (NumberFormatException e) {
+                Log.w(TAG, TAG + "Skipping corrupted start latency of : " + latenciesKey);
+            }
+            start = i + 1;
+        }
+
+        Log.d(TAG, TAG + "Loaded " + loaded + " start latencies for : " + latenciesKey);
+        if (loaded == count) return latencies;
+
+        final long[] trimmed = new long[loaded];
+        System.arraycopy(latencies, 0, trimmed, 0, loaded);
+        return trimmed;
+    }
+
+    @Override
+    public void save(@NonNull long[] latencies, int count) {
+        final StringBuilder builder = new StringBuilder(count * 5);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) builder.append(SEPARATOR);
+            builder.append(latencies[i]);
+        }
+
+        preferences.edit().putString(latenciesKey, builder.toString()).apply();
+    }
+
+    /**
+     * Removes the stored latencies.
+     */
+    public void clear() {
+        preferences.edit().remove(latenciesKey).apply();
+    }
+}
@@ -0,0 +1,57 @@
+package com.vgraphics.engineAsr.asr.Replay;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.EngineCapability;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.Platform.HandlerScheduler;
+import com.vgraphics.engineAsr.Replay.ReplayAsr;
+import com.vgraphics.engineAsr.Replay.ReplayTrace;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+
+/**
+ * Provider of the {@link AsrEngines#REPLAY} engine. Engines replay the trace of the options on
+ * the main thread.
+ */
+public class ReplayProvider implements AsrEngineProvider {
+    @Override
+    public int engineCode() {
+        return AsrEngines.REPLAY;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "Replay";
+    }
+
+    @Override
+    public int getCapabilities() {
+        return EngineCapability.STREAMING | EngineCapability.OFFLINE;
+    }
+
+    @Override
+    public void warmUp(@NonNull Context context, @Nullable String language,
+                       @NonNull EngineOptions options) {
+        // Nothing to prepare. Traces are already in memory.
+    }
+
+    @NonNull
+    @Override
+    public AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                                     @NonNull AsrCallbacksListener listener,
+                                     @NonNull EngineOptions options) {
+        final ReplayTrace trace = options.getReplayTrace();
+        final ReplayAsr engine = new ReplayAsr(HandlerScheduler.main(),
+                trace != null ? trace : new ReplayTrace(), language, listener);
+        engine.setSpeed(options.getReplaySpeed());
+        engine.setMetrics(options.getMetrics());
+        return engine;
+    }
+}
@@ -0,0 +1,368 @@
+package com.vgraphics.engineAsr.asr.Offline;
+
+import android.speech.SpeechRecognizer;
+
+import com.vgraphics.engineAsr.Capture.MemoryAudioSource;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+import com.vgraphics.engineAsr.Interfaces.OfflineDecoder;
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the whole offline engine path on a plain JVM, with a fake decoder that turns every
+ * {@link #WORD_SAMPLES} samples into a word, so no model is needed.
+ */
+public class OfflineAsrTest {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Language of the tests. */
+    private static final String LANGUAGE = "en-US";
+    /** Sample rate of the test audio. */
+    private static final int SAMPLE_RATE = 16000;
+    /** Samples the fake decoder turns into a word. */
+    private static final int WORD_SAMPLES = 3200;
+    /** Words the fake decoder recognizes, in order. */
+    private static final String[] WORDS = {"turn", "on", "the", "lights", "now"};
+    /** Time to wait for a callback, in seconds. */
+    private static final long TIMEOUT = 5;
+
+    /** Callbacks of the engine, in order. */
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    /** Structured final results of the engine. */
+    private final List<AsrResult> results = new ArrayList<>();
+    /** Engine under test. */
+    private OfflineAsr engine;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TESTS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @After
+    public void tearDown() {
+        if (engine != null) engine.disposeEngine();
+    }
+
+    @Test
+    public void endpointDeliversPartialsAndFinalResult() throws InterruptedException {
+        // Decoder detects the end of the utterance after three words, before the audio ends.
+        engine = newEngine(new MemoryAudioSource(new short[WORD_SAMPLES * 10], SAMPLE_RATE, 1),
+                3);
+        assertEquals("initialized:true", next());
+
+        engine.startListening();
+        assertEquals("start", next());
+        assertEquals("partial:turn", next());
+        assertEquals("partial:turn on", next());
+        assertEquals("final:turn on the", next());
+
+        assertTrue("Real time factor was not measured.", engine.getLastRealTimeFactor() > 0);
+        assertEquals("IDLE", engine.getState());
+    }
+
+    @Test
+    public void endOfAudioFlushesFinalResult() throws InterruptedException {
+        // Audio ends after two words, without an endpoint.
+        engine = newEngine(new MemoryAudioSource(new short[WORD_SAMPLES * 2], SAMPLE_RATE, 1),
+                Integer.MAX_VALUE);
+        assertEquals("initialized:true", next());
+
+        engine.startListening();
+        assertEquals("start", next());
+        assertEquals("partial:turn", next());
+        assertEquals("partial:turn on", next());
+        assertEquals("final:turn on", next());
+    }
+
+    @Test
+    public void structuredResultCarriesAlternativesAndTiming() throws InterruptedException {
+        engine = newEngine(new MemoryAudioSource(new short[WORD_SAMPLES * 10], SAMPLE_RATE, 1),
+                2);
+        engine.setMaxAlternatives(2);
+        assertEquals("initialized:true", next());
+
+        engine.startListening();
+        assertEquals("start", next());
+        assertEquals("partial:turn", next());
+        assertEquals("final:turn on", next());
+
+        assertEquals(1, results.size());
+        final AsrResult result = results.get(0);
+        assertEquals(2, result.getAlternativeCount());
+        assertEquals("turn on", result.getText());
+        assertEquals("TURN ON", result.getText(1));
+        assertTrue(result.getResultTime() >= result.getEndOfSpeechTime());
+    }
+
+    @Test
+    public void stopDeliversAudioDecodedSoFar() throws InterruptedException {
+        // Endless real time source, so only a stop ends the session.
+        engine = newEngine(new EndlessSource(), Integer.MAX_VALUE);
+        assertEquals("initialized:true", next());
+
+        engine.startListening();
+        assertEquals("start", next());
+        assertEquals("partial:turn", next());
+
+        engine.stopListening();
+        String event = next();
+        while (event.startsWith("partial:")) event = next();
+        assertTrue("Unexpected event : " + event, event.startsWith("final:turn"));
+    }
+
+    @Test
+    public void missingModelFailsInitialization() throws InterruptedException {
+        final Map<String, String> models = new HashMap<>();
+        models.put("el-GR", "/models/el-GR");
+        engine = new OfflineAsr(LANGUAGE, new Listener(), models, new FakeFactory(1),
+                new MemoryAudioSource(new short[0], SAMPLE_RATE, 1), new DirectExecutor());
+        assertEquals("initialized:false", next());
+
+        engine.startListening();
+        assertEquals("error:" + SpeechRecognizer.ERROR_CLIENT, next());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs an engine with a model for the test language.
+     *
+     * @param source        Source of the audio.
+     * @param endpointWords Number of words after which the fake decoder detects an endpoint.
+     *
+     * @return The engine.
+     */
+    private OfflineAsr newEngine(AudioSource source, int endpointWords) {
+        final Map<String, String> models = new HashMap<>();
+        models.put(LANGUAGE, "/models/" + LANGUAGE);
+        return new OfflineAsr(LANGUAGE, new Listener(), models, new FakeFactory(endpointWords),
+                source, new DirectExecutor());
+    }
+
+    /**
+     * Waits for the next callback.
+     *
+     * @return The callback.
+     */
+    private String next() throws InterruptedException {
+        final String event = events.poll(TIMEOUT, TimeUnit.SECONDS);
+        assertNotNull("No callback in time.", event);
+        return event;
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Listener that records callbacks as events.
+     */
+    private final class Listener implements AsrCallbacksListener, AsrResultListener {
+        @Override
+        public void onAsrInitialized(boolean success) {
+            events.add("initialized:" + success);
+        }
+
+        @Override
+        public void onAsrStart() {
+            events.add("start");
+        }
+
+        @Override
+        public void onAsrCancelled() {
+            events.add("cancelled");
+        }
+
+        @Override
+        public void onAsrFinalResult(String finalResult) {
+            events.add("final:" + finalResult);
+        }
+
+        @Override
+        public void onAsrPartialResult(String partialResult) {
+            events.add("partial:" + partialResult);
+        }
+
+        @Override
+        public void onAsrError(int errorCode) {
+            events.add("error:" + errorCode);
+        }
+
+        @Override
+        public void onLangListRetrieved(List<String> languages) {
+        }
+
+        @Override
+        public void onAsrResult(AsrResult result) {
+            synchronized (results) {
+                results.add(result.copy());
+            }
+        }
+    }
+
+    /**
+     * Executor that delivers callbacks on the calling thread.
+     */
+    private static final class DirectExecutor implements Executor {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+    /**
+     * Real time source of silence that never ends.
+     */
+    private static final class EndlessSource implements AudioSource {
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public int read(short[] buffer, int offset, int length) throws IOException {
+            try {
+                Thread.sleep(length * 1000L / SAMPLE_RATE);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return length;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int getSampleRate() {
+            return SAMPLE_RATE;
+        }
+
+        @Override
+        public int getChannels() {
+            return 1;
+        }
+
+        @Override
+        public boolean isRealTime() {
+            return true;
+        }
+    }
+
+    /**
+     * Factory of fake decoders.
+     */
+    private static final class FakeFactory implements OfflineDecoder.Factory {
+        /** Number of words after which an endpoint is detected. */
+        private final int endpointWords;
+
+        FakeFactory(int endpointWords) {
+            this.endpointWords = endpointWords;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public OfflineDecoder create(String modelPath, int sampleRate) {
+            return new FakeDecoder(endpointWords);
+        }
+    }
+
+    /**
+     * Decoder that recognizes a word out of every {@link #WORD_SAMPLES} samples.
+     */
+    private static final class FakeDecoder implements OfflineDecoder {
+        /** Number of words after which an endpoint is detected. */
+        private final int endpointWords;
+        /** Samples accepted since the last reset. */
+        private long samples;
+        /** Maximum number of alternatives to report. */
+        private int maxAlternatives;
+
+        FakeDecoder(int endpointWords) {
+            this.endpointWords = endpointWords;
+        }
+
+        @Override
+        public boolean acceptWaveform(short[] frame, int length) {
+            samples += length;
+            return words() >= endpointWords;
+        }
+
+        @Override
+        public String getPartialResult() {
+            return text(words());
+        }
+
+        @Override
+        public String getFinalResult() {
+            return text(words());
+        }
+
+        @Override
+        public String getFinalResult(AsrResult result) {
+            final String text = getFinalResult();
+            if (maxAlternatives > 0) result.addAlternative(text, 0.9f);
+            if (maxAlternatives > 1) result.addAlternative(text.toUpperCase(), 0.1f);
+            return text;
+        }
+
+        @Override
+        public void setMaxAlternatives(int maxAlternatives) {
+            this.maxAlternatives = maxAlternatives;
+        }
+
+        @Override
+        public void reset() {
+            samples = 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /** @return Number of complete words accepted so far, up to the script length. */
+        private int words() {
+            return (int) Math.min(WORDS.length, samples / WORD_SAMPLES);
+        }
+
+        /**
+         * @param count Number of words.
+         *
+         * @return The first words of the script.
+         */
+        private static String text(int count) {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < Math.min(count, WORDS.length); i++) {
+                if (i > 0) builder.append(' ');
+                builder.append(WORDS[i]);
+            }
+            return builder.toString();
+        }
+    }
+}
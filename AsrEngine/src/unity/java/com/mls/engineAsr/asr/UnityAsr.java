@@ -1,6 +1,8 @@
 package com.vgraphics.engineAsr.asr;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.annotation.Keep;
@@ -8,13 +10,23 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
-import com.unity3d.player.UnityPlayer;
 
 import java.util.List;
 
 @Keep
 @SuppressWarnings({"unused"})
 public class UnityAsr extends Asr implements AsrCallbacksListener {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Bridge that delivers asr events to Unity. */
+    private final UnityEventBridge bridge = new UnityEventBridge();
+    /** Handler that is running on the main thread, where the bridge lives. */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
     // ║ FUNCTIONS                                                                                 ║
     // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
@@ -47,6 +59,59 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
         return instance;
     }
 
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sets the Unity GameObject that receives asr events. Default is
+     * {@link UnityEventBridge#DEFAULT_TARGET}.
+     *
+     * @param target Name of the Unity GameObject.
+     */
+    public void setUnityTarget(@NonNull final String target) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                bridge.setTarget(target);
+            }
+        });
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Buffers asr events and delivers them to Unity at most once per given interval, instead of
+     * sending every event synchronously. A newer partial result replaces an older one that was not
+     * delivered yet. Final results, errors and all other events keep their order.
+     *
+     * @param interval Minimum interval between two deliveries in milliseconds. If zero, events are
+     *                 delivered once per display frame.
+     */
+    public void setUnityEventInterval(final long interval) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                bridge.setCoalesced(interval);
+            }
+        });
+    }
+
+    /**
+     * <pre>
+     *     <h3 color="80d8ff">Overview</h3>
+     *
+     * Sends every asr event to Unity as soon as it arrives. This is the default mode.
+     */
+    public void setUnityEventsImmediate() {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                bridge.setImmediate();
+            }
+        });
+    }
+
     // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
     //   → LISTENER FUNCTIONS
     // └───────────────────────────────────────────────────────────────────────────────────────────┘
@@ -59,8 +124,7 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
      */
     @Override
     public void onAsrInitialized(boolean success) {
-        UnityPlayer.UnitySendMessage("MainObject", "EventAsrInitialized",
-                String.valueOf(success));
+        bridge.send("EventAsrInitialized", String.valueOf(success));
     }
 
     /**
@@ -70,7 +134,7 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
     public void onAsrStart() {
         Log.d(TAG, TAG + "Asr just started. Waiting for your sweet voice darling!");
 
-        UnityPlayer.UnitySendMessage("MainObject", "EventAsrStarted", "");
+        bridge.send("EventAsrStarted", "");
     }
 
     /**
@@ -82,7 +146,7 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
     public void onAsrCancelled() {
         Log.d(TAG, TAG + "Asr was cancelled. Chicken!");
 
-        UnityPlayer.UnitySendMessage("MainObject", "EventAsrCancelled", "");
+        bridge.send("EventAsrCancelled", "");
     }
 
     /**
@@ -96,9 +160,9 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
 
         // Check if final result is empty.
         if (finalResult.isEmpty())
-            UnityPlayer.UnitySendMessage("MainObject", "EventAsrEmptyResult", "");
+            bridge.send("EventAsrEmptyResult", "");
         else
-            UnityPlayer.UnitySendMessage("MainObject", "EventAsrFinalResults", finalResult);
+            bridge.send("EventAsrFinalResults", finalResult);
     }
 
     /**
@@ -111,7 +175,7 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
         Log.d(TAG, TAG + "Received partial results : " + partialResult);
 
         // Send partial results to unity engine.
-        UnityPlayer.UnitySendMessage("MainObject", "EventAsrPartialResults", partialResult);
+        bridge.send(UnityEventBridge.PARTIAL_RESULTS, partialResult);
     }
 
     /**
@@ -122,8 +186,7 @@ public class UnityAsr extends Asr implements AsrCallbacksListener {
         Log.d(TAG, TAG + "An error occurred!");
 
         // Invoke callback on unity.
-        UnityPlayer.UnitySendMessage("MainObject", "EventAsrError",
-                String.valueOf(errorCode));
+        bridge.send("EventAsrError", String.valueOf(errorCode));
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.vgraphics.engineAsr.asr;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import com.unity3d.player.UnityPlayer;
+
+/**
+ * Bridge that delivers asr events to a Unity GameObject. By default every event is sent
+ * immediately. In coalesced mode events are buffered in a bounded queue and delivered at most once
+ * per configured interval, or once per display frame if the interval is zero. A newer partial
+ * result replaces an older one that was not delivered yet, while every other event keeps its
+ * order. Notice that this class must only be used from the main thread.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class UnityEventBridge {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default Unity GameObject that receives events. */
+    public static final String DEFAULT_TARGET = "MainObject";
+    /** Maximum number of buffered events. Queue is flushed early when full. */
+    public static final int QUEUE_CAPACITY = 32;
+    /** Unity function that receives partial results. */
+    public static final String PARTIAL_RESULTS = "EventAsrPartialResults";
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Handler that is running on the main thread. */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /** Unity functions of the buffered events. */
+    private final String[] methods = new String[QUEUE_CAPACITY];
+    /** Messages of the buffered events. */
+    private final String[] messages = new String[QUEUE_CAPACITY];
+    /** Number of buffered events. */
+    private int count;
+    /** Index of the buffered partial result that may still be replaced, or {@code -1}. */
+    private int partialIndex = -1;
+    /** Unity GameObject that receives events. */
+    private String target = DEFAULT_TARGET;
+    /** Defines if events are buffered instead of being sent immediately. */
+    private boolean coalesced;
+    /** Minimum interval between two deliveries in milliseconds. Zero delivers once per frame. */
+    private long interval;
+    /** Time of the last delivery. */
+    private long lastFlush;
+    /** Defines if a delivery is already scheduled. */
+    private boolean scheduled;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that delivers buffered events after the interval. */
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            scheduled = false;
+            flush();
+        }
+    };
+    /** Frame callback that delivers buffered events once per frame. */
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            scheduled = false;
+            flush();
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the Unity GameObject that receives events.
+     *
+     * @param target Name of the Unity GameObject.
+     */
+    public void setTarget(@NonNull String target) {
+        this.target = target;
+    }
+
+    /**
+     * Enables coalesced mode. Buffered events are delivered at most once per given interval.
+     *
+     * @param interval Minimum interval between two deliveries in milliseconds. If zero or lower,
+     *                 events are delivered once per display frame.
+     */
+    public void setCoalesced(long interval) {
+        this.interval = Math.max(0, interval);
+        this.coalesced = true;
+    }
+
+    /**
+     * Disables coalesced mode. Buffered events are delivered immediately and every following
+     * event is sent as soon as it arrives.
+     */
+    public void setImmediate() {
+        coalesced = false;
+        flush();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → DELIVERY FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sends an event to Unity, or buffers it in coalesced mode.
+     *
+     * @param method  Unity function that receives the event.
+     * @param message Message of the event.
+     */
+    public void send(@NonNull String method, @NonNull String message) {
+        if (!coalesced) {
+            UnityPlayer.UnitySendMessage(target, method, message);
+            return;
+        }
+
+        // Replace buffered partial result with the newer one.
+        if (PARTIAL_RESULTS.equals(method) && partialIndex >= 0) {
+            messages[partialIndex] = message;
+            return;
+        }
+
+        // Make room by delivering what we have.
+        if (count == QUEUE_CAPACITY) flush();
+
+        methods[count] = method;
+        messages[count] = message;
+
+        // Any other event fixes the order, so a later partial must come after it.
+        partialIndex = PARTIAL_RESULTS.equals(method) ? count : -1;
+        count++;
+
+        schedule();
+    }
+
+    /**
+     * Delivers all buffered events in order.
+     */
+    public void flush() {
+        // Cancel any scheduled delivery.
+        if (scheduled) {
+            mainHandler.removeCallbacks(flushRunnable);
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            scheduled = false;
+        }
+
+        for (int i = 0; i < count; i++) {
+            UnityPlayer.UnitySendMessage(target, methods[i], messages[i]);
+            methods[i] = null;
+            messages[i] = null;
+        }
+
+        count = 0;
+        partialIndex = -1;
+        lastFlush = SystemClock.uptimeMillis();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Schedules delivery of buffered events, unless already scheduled.
+     */
+    private void schedule() {
+        if (scheduled) return;
+        scheduled = true;
+
+        // Deliver on next frame.
+        if (interval == 0) {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+            return;
+        }
+
+        // Deliver once interval since last delivery elapses.
+        final long wait = lastFlush + interval - SystemClock.uptimeMillis();
+        mainHandler.postDelayed(flushRunnable, Math.max(0, wait));
+    }
+}
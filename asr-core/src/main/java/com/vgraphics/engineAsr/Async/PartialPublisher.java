@@ -0,0 +1,332 @@
+package com.vgraphics.engineAsr.Async;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Platform.Log;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Publisher of the partial results of a recognition. It follows the contract of
+ * {@code java.util.concurrent.Flow}, which is not available on every supported api level. A
+ * subscriber receives partial results only as far as it requested them. If partial results
+ * arrive faster than the subscriber requests them, only the latest one is kept and the older
+ * ones are dropped, since every partial result supersedes the previous one.
+ *
+ * <p>Signals to a subscriber never overlap. They are delivered on the thread that offered the
+ * partial result, or on the thread that requested more of them if the subscriber was waiting.
+ * Subscribers that subscribe after the recognition ended receive the terminal signal only.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class PartialPublisher {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Subscriptions of the current subscribers. */
+    private final CopyOnWriteArrayList<Emitter> emitters = new CopyOnWriteArrayList<>();
+    /** Number of partial results dropped for a newer one, over every subscriber. */
+    private final AtomicLong conflated = new AtomicLong();
+    /** Defines if the recognition ended. */
+    private boolean done;
+    /** Failure of the recognition or {@code null} if it completed. */
+    private Throwable failure;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Constructs a new publisher. */
+    PartialPublisher() {
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Subscribes given subscriber. {@link Subscriber#onSubscribe(Subscription)} is invoked before
+     * any other signal.
+     *
+     * @param subscriber The subscriber.
+     */
+    public void subscribe(@NonNull Subscriber subscriber) {
+        final Emitter emitter = new Emitter(subscriber);
+        subscriber.onSubscribe(emitter);
+
+        final boolean ended;
+        final Throwable failure;
+        synchronized (this) {
+            ended = done;
+            failure = this.failure;
+            if (!ended) emitters.add(emitter);
+        }
+
+        if (ended) emitter.terminate(failure);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of partial results dropped for a newer one, over every subscriber. */
+    public long getConflatedCount() {
+        return conflated.get();
+    }
+
+    /** @return Number of current subscribers. */
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    /** @return {@code True} if the recognition ended. {@code False} otherwise. */
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Publishes a partial result to every subscriber.
+     *
+     * @param partial The partial result.
+     */
+    void offer(@NonNull String partial) {
+        synchronized (this) {
+            if (done) return;
+        }
+
+        for (Emitter emitter : emitters) emitter.offer(partial);
+    }
+
+    /** Completes every subscriber. */
+    void complete() {
+        end(null);
+    }
+
+    /**
+     * Fails every subscriber.
+     *
+     * @param failure The failure of the recognition.
+     */
+    void fail(@NonNull Throwable failure) {
+        end(failure);
+    }
+
+    /**
+     * Ends the publisher. Partial results still waiting for demand are dropped.
+     *
+     * @param failure The failure of the recognition or {@code null} if it completed.
+     */
+    private void end(@Nullable Throwable failure) {
+        synchronized (this) {
+            if (done) return;
+            done = true;
+            this.failure = failure;
+        }
+
+        for (Emitter emitter : emitters) emitter.terminate(failure);
+        emitters.clear();
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Receiver of the partial results. Mirrors {@code java.util.concurrent.Flow.Subscriber}.
+     */
+    public interface Subscriber {
+        /**
+         * Invokes once, before any other signal.
+         *
+         * @param subscription The subscription to request partial results through.
+         */
+        void onSubscribe(@NonNull Subscription subscription);
+
+        /**
+         * Invokes with the latest partial result, at most as many times as requested.
+         *
+         * @param partial The partial result.
+         */
+        void onNext(@NonNull String partial);
+
+        /**
+         * Invokes once if the recognition failed or a non positive amount was requested. No other
+         * signal follows.
+         *
+         * @param error The failure.
+         */
+        void onError(@NonNull Throwable error);
+
+        /** Invokes once when the recognition ended. No other signal follows. */
+        void onComplete();
+    }
+
+    /**
+     * Link of a subscriber to the publisher. Mirrors
+     * {@code java.util.concurrent.Flow.Subscription}. Functions are safe to call from any thread.
+     */
+    public interface Subscription {
+        /**
+         * Requests more partial results. Demand adds up to {@link Long#MAX_VALUE}, which is
+         * treated as unbounded.
+         *
+         * @param n The amount of partial results. Non positive amounts fail the subscriber.
+         */
+        void request(long n);
+
+        /** Stops the signals. Partial results still waiting for demand are dropped. */
+        void cancel();
+    }
+
+    /**
+     * Subscription that holds the demand of a subscriber and the latest undelivered partial.
+     */
+    private final class Emitter implements Subscription {
+        /** The subscriber. */
+        private final Subscriber subscriber;
+        /** Partial results requested and not delivered yet. */
+        private long demand;
+        /** Latest partial result waiting for demand or {@code null}. */
+        private String pending;
+        /** Defines if the terminal signal is due. */
+        private boolean terminated;
+        /** Failure to signal or {@code null} to complete. */
+        private Throwable error;
+        /** Defines if no more signals are delivered. */
+        private boolean cancelled;
+        /** Defines if a thread is delivering signals. */
+        private boolean emitting;
+
+        /**
+         * Constructs a new subscription.
+         *
+         * @param subscriber The subscriber.
+         */
+        Emitter(@NonNull Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelled || terminated) return;
+
+                if (n <= 0) {
+                    terminated = true;
+                    pending = null;
+                    error = new IllegalArgumentException("Requested amount must be positive : " +
+                            n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+
+            emit();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                pending = null;
+            }
+
+            emitters.remove(this);
+        }
+
+        /**
+         * Keeps given partial result, replacing any older one still waiting for demand.
+         *
+         * @param partial The partial result.
+         */
+        void offer(@NonNull String partial) {
+            synchronized (this) {
+                if (cancelled || terminated) return;
+                if (pending != null) conflated.incrementAndGet();
+                pending = partial;
+            }
+
+            emit();
+        }
+
+        /**
+         * Schedules the terminal signal.
+         *
+         * @param failure The failure of the recognition or {@code null} if it completed.
+         */
+        void terminate(@Nullable Throwable failure) {
+            synchronized (this) {
+                if (cancelled || terminated) return;
+                terminated = true;
+                error = failure;
+            }
+
+            emit();
+        }
+
+        /**
+         * Delivers the signals that are due. Only one thread delivers at a time, others leave the
+         * signals they caused to it.
+         */
+        private void emit() {
+            synchronized (this) {
+                if (emitting) return;
+                emitting = true;
+            }
+
+            while (true) {
+                String partial = null;
+                final Throwable failure;
+                synchronized (this) {
+                    if (cancelled) {
+                        emitting = false;
+                        return;
+                    }
+
+                    if (pending != null && demand > 0) {
+                        partial = pending;
+                        pending = null;
+                        if (demand != Long.MAX_VALUE) demand--;
+                        failure = null;
+                    } else if (terminated) {
+                        // Nothing is delivered after the terminal signal.
+                        cancelled = true;
+                        pending = null;
+                        emitting = false;
+                        failure = error;
+                    } else {
+                        emitting = false;
+                        return;
+                    }
+                }
+
+                try {
+                    if (partial != null) {
+                        subscriber.onNext(partial);
+                    } else {
+                        emitters.remove(this);
+                        if (failure != null) subscriber.onError(failure);
+                        else subscriber.onComplete();
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    Log.e(TAG, TAG + "Partial result subscriber threw : " + e + ". " +
+                            "Cancelling it.");
+                    synchronized (this) {
+                        emitting = false;
+                    }
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vgraphics.engineAsr.Async;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Enums.AdmissionRejection;
+import com.vgraphics.engineAsr.Enums.AsrError;
+
+/**
+ * Failure of an asynchronous recognition. Either the engine reported an error, see
+ * {@link #getError()}, or the start request never reached the engine, see
+ * {@link #getRejection()}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RecognitionException extends Exception {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Rejection of a recognition that was not rejected. */
+    public static final int NO_REJECTION = -1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Version of the serialized form. */
+    private static final long serialVersionUID = 1L;
+
+    /** The error code reported by the engine or {@code 0}. */
+    private final int error;
+    /** The reason the start request was rejected or {@link #NO_REJECTION}. */
+    private final int rejection;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new exception.
+     *
+     * @param message   The detail message.
+     * @param error     The error code reported by the engine or {@code 0}.
+     * @param rejection The reason the start request was rejected or {@link #NO_REJECTION}.
+     */
+    RecognitionException(@NonNull String message, int error, int rejection) {
+        super(message);
+        this.error = error;
+        this.rejection = rejection;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The error code reported by the engine, see {@link AsrError}, or {@code 0}. */
+    public int getError() {
+        return error;
+    }
+
+    /**
+     * @return The reason the start request was rejected, see {@link AdmissionRejection}, or
+     * {@link #NO_REJECTION}.
+     */
+    public int getRejection() {
+        return rejection;
+    }
+}
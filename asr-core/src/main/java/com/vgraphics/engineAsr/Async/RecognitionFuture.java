@@ -0,0 +1,427 @@
+package com.vgraphics.engineAsr.Async;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AdmissionRejection;
+import com.vgraphics.engineAsr.Interfaces.AsrAdmissionListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.Results.AsrResult;
+import com.vgraphics.engineAsr.asr.AdmissionController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of a single recognition that completes once the engine reports the final result. It
+ * stands in for {@code java.util.concurrent.CompletableFuture}, which is not available on every
+ * supported api level. Register a {@link Callback} to be notified without blocking, or block on
+ * {@link #get()} from a background thread. Never block on the main thread, since the engine
+ * reports the result there.
+ *
+ * <p>The recognition fails with {@link RecognitionException} if the engine reports an error or
+ * the start request is rejected, and with {@link TimeoutException} if the final result did not
+ * arrive within the timeout. Cancelling the future, or a timeout, stops the session. Stopping the
+ * session otherwise completes the future with the latest partial result, which is empty if none
+ * arrived. Partial results are published through {@link #getPartials()}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class RecognitionFuture implements Future<AsrResult> {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Timeout that lets the recognition run until the engine ends it. */
+    public static final long NO_TIMEOUT = 0;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler of the admission controller. */
+    private final Scheduler scheduler;
+    /** Admission controller that runs the session. */
+    private final AdmissionController admission;
+    /** Code of the engine that recognizes. */
+    private final int engine;
+    /** Language of the recognition. */
+    private final String language;
+    /** Publisher of the partial results. */
+    private final PartialPublisher partials = new PartialPublisher();
+    /** Observer of the session. */
+    private final Observer observer = new Observer();
+    /** Callbacks to invoke on completion. */
+    private final List<Callback> callbacks = new ArrayList<>();
+    /** Defines if the future completed. */
+    private boolean done;
+    /** Defines if the future was cancelled. */
+    private boolean cancelled;
+    /** Result of the recognition or {@code null} if not completed successfully. */
+    private AsrResult result;
+    /** Failure of the recognition or {@code null} if not failed. */
+    private Throwable failure;
+    /** Latest partial result of the session. Only accessed on the scheduler thread. */
+    private String lastPartial;
+    /** Structured final result of the session. Only accessed on the scheduler thread. */
+    private AsrResult finalResult;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that requests the session. */
+    private final Runnable startRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (!isDone()) admission.requestStart(observer);
+        }
+    };
+
+    /** Runnable that stops the session of a completed future. */
+    private final Runnable stopRunnable = new Runnable() {
+        @Override
+        public void run() {
+            admission.requestStop(observer);
+        }
+    };
+
+    /** Runnable that fails the recognition when the timeout elapses. */
+    private final Runnable timeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (complete(null, new TimeoutException("No final result in time."), false))
+                admission.requestStop(observer);
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new future.
+     *
+     * @param scheduler Scheduler of the admission controller.
+     * @param admission Admission controller that runs the session.
+     * @param engine    Code of the engine that recognizes.
+     * @param language  Language of the recognition.
+     */
+    private RecognitionFuture(@NonNull Scheduler scheduler, @NonNull AdmissionController admission,
+                              int engine, @Nullable String language) {
+        this.scheduler = scheduler;
+        this.admission = admission;
+        this.engine = engine;
+        this.language = language;
+    }
+
+    /**
+     * Requests a recognition session through given admission controller. The request is posted
+     * on the scheduler, so this function is safe to call from any thread.
+     *
+     * @param scheduler Scheduler of the admission controller.
+     * @param admission Admission controller that runs the session.
+     * @param engine    Code of the engine that recognizes, used for the result.
+     * @param language  Language of the recognition, used for the result.
+     * @param timeout   Time the final result has to arrive in, in milliseconds, or
+     *                  {@link #NO_TIMEOUT}.
+     *
+     * @return The future of the recognition.
+     *
+     * @throws IllegalArgumentException If given timeout is negative.
+     */
+    @NonNull
+    public static RecognitionFuture start(@NonNull Scheduler scheduler,
+                                          @NonNull AdmissionController admission, int engine,
+                                          @Nullable String language, long timeout) {
+        if (timeout < 0) throw new IllegalArgumentException("Timeout must not be negative : " +
+                timeout);
+
+        final RecognitionFuture future = new RecognitionFuture(scheduler, admission, engine,
+                language);
+        if (timeout != NO_TIMEOUT) scheduler.postDelayed(future.timeoutRunnable, timeout);
+        if (!scheduler.post(future.startRunnable))
+            future.complete(null, new RecognitionException("Scheduler is shut down.", 0,
+                    AdmissionRejection.ENGINE_UNAVAILABLE), false);
+
+        return future;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Registers a callback to invoke once the future completes, on the thread that completes it.
+     * If the future is already completed, the callback is invoked right away on the calling
+     * thread.
+     *
+     * @param callback The callback.
+     *
+     * @return This future.
+     */
+    @NonNull
+    public RecognitionFuture whenComplete(@NonNull Callback callback) {
+        final AsrResult result;
+        final Throwable failure;
+        synchronized (this) {
+            if (!done) {
+                callbacks.add(callback);
+                return this;
+            }
+
+            result = this.result;
+            failure = this.failure;
+        }
+
+        callback.onComplete(result, failure);
+        return this;
+    }
+
+    /**
+     * Cancels the recognition and stops its session. Partial result subscribers complete.
+     *
+     * @param mayInterruptIfRunning Ignored. The session is stopped in any case.
+     *
+     * @return {@code True} if the future was cancelled. {@code False} if it was already
+     * completed.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!complete(null, new CancellationException("Recognition cancelled."), true))
+            return false;
+
+        scheduler.post(stopRunnable);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Waits for the final result. Never call it on the main thread, since the result is reported
+     * there.
+     *
+     * @return The final result.
+     *
+     * @throws CancellationException If the recognition was cancelled.
+     * @throws ExecutionException    If the recognition failed. The cause is a
+     *                               {@link RecognitionException} or a {@link TimeoutException}.
+     * @throws InterruptedException  If the waiting thread was interrupted.
+     */
+    @NonNull
+    @Override
+    public synchronized AsrResult get() throws InterruptedException, ExecutionException {
+        while (!done) wait();
+
+        return report();
+    }
+
+    /**
+     * Waits for the final result up to given time. Never call it on the main thread, since the
+     * result is reported there. The recognition goes on if the wait times out.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout.
+     *
+     * @return The final result.
+     *
+     * @throws CancellationException If the recognition was cancelled.
+     * @throws ExecutionException    If the recognition failed. The cause is a
+     *                               {@link RecognitionException} or a {@link TimeoutException}.
+     * @throws InterruptedException  If the waiting thread was interrupted.
+     * @throws TimeoutException      If the final result did not arrive in time.
+     */
+    @NonNull
+    @Override
+    public synchronized AsrResult get(long timeout, @NonNull TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!done) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) throw new TimeoutException("No final result in " + timeout + " " +
+                    unit + ".");
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return report();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Publisher of the partial results of the recognition. */
+    @NonNull
+    public PartialPublisher getPartials() {
+        return partials;
+    }
+
+    /** @return The final result or {@code null} if not completed successfully. */
+    @Nullable
+    public synchronized AsrResult getNow() {
+        return result;
+    }
+
+    /** @return The failure or {@code null} if not failed, or not completed yet. */
+    @Nullable
+    public synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the outcome of a completed future. Must be called while holding the lock.
+     *
+     * @return The final result.
+     *
+     * @throws CancellationException If the recognition was cancelled.
+     * @throws ExecutionException    If the recognition failed.
+     */
+    @NonNull
+    private AsrResult report() throws ExecutionException {
+        if (cancelled) throw (CancellationException) failure;
+        if (failure != null) throw new ExecutionException(failure);
+
+        return result;
+    }
+
+    /**
+     * Completes the future, unless already completed, and ends the partial results.
+     *
+     * @param result    The final result or {@code null} if failed.
+     * @param failure   The failure or {@code null} if succeeded.
+     * @param cancelled Defines if the future is cancelled.
+     *
+     * @return {@code True} if the future was completed by this call. {@code False} otherwise.
+     */
+    private boolean complete(@Nullable AsrResult result, @Nullable Throwable failure,
+                             boolean cancelled) {
+        final Callback[] callbacks;
+        synchronized (this) {
+            if (done) return false;
+
+            done = true;
+            this.cancelled = cancelled;
+            this.result = result;
+            this.failure = failure;
+            callbacks = this.callbacks.toArray(new Callback[0]);
+            this.callbacks.clear();
+            notifyAll();
+        }
+
+        scheduler.removeCallbacks(timeoutRunnable);
+        if (failure == null || cancelled) partials.complete();
+        else partials.fail(failure);
+
+        for (Callback callback : callbacks) callback.onComplete(result, failure);
+        return true;
+    }
+
+    /**
+     * Builds a final result of given text, if the engine reported no structured one.
+     *
+     * @param text The text of the result or {@code null} for an empty result.
+     *
+     * @return The final result.
+     */
+    @NonNull
+    private AsrResult buildResult(@Nullable String text) {
+        final AsrResult pooled = AsrResult.obtain(engine, language);
+        if (text != null && !text.isEmpty())
+            pooled.addAlternative(text, AsrResult.UNKNOWN_CONFIDENCE);
+
+        final AsrResult result = pooled.copy();
+        pooled.recycle();
+        return result;
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Callback of the completion of a recognition.
+     */
+    public interface Callback {
+        /**
+         * Invokes once the recognition completes.
+         *
+         * @param result The final result or {@code null} if the recognition failed.
+         * @param error  The failure or {@code null} if the recognition succeeded. A
+         *               {@link CancellationException} if the future was cancelled.
+         */
+        void onComplete(@Nullable AsrResult result, @Nullable Throwable error);
+    }
+
+    /**
+     * Observer of the session of the recognition. Invoked on the scheduler thread.
+     */
+    private final class Observer implements AsrCallbacksListener, AsrResultListener,
+            AsrAdmissionListener {
+        @Override
+        public void onAsrInitialized(boolean success) {
+        }
+
+        @Override
+        public void onAsrStart() {
+        }
+
+        @Override
+        public void onAsrCancelled() {
+            complete(finalResult != null ? finalResult : buildResult(lastPartial), null, false);
+        }
+
+        @Override
+        public void onAsrFinalResult(String finalResult) {
+            complete(RecognitionFuture.this.finalResult != null ?
+                    RecognitionFuture.this.finalResult : buildResult(finalResult), null, false);
+        }
+
+        @Override
+        public void onAsrResult(@NonNull AsrResult result) {
+            finalResult = result.copy();
+        }
+
+        @Override
+        public void onAsrPartialResult(String partialResult) {
+            if (partialResult == null) return;
+
+            lastPartial = partialResult;
+            partials.offer(partialResult);
+        }
+
+        @Override
+        public void onAsrError(int errorCode) {
+            complete(null, new RecognitionException("Engine reported error : " + errorCode,
+                    errorCode, RecognitionException.NO_REJECTION), false);
+        }
+
+        @Override
+        public void onLangListRetrieved(@Nullable List<String> languages) {
+        }
+
+        @Override
+        public void onAsrRequestRejected(boolean start, int reason) {
+            if (!start) return;
+
+            complete(null, new RecognitionException("Start request rejected : " + reason,
+                    0, reason), false);
+        }
+    }
+}
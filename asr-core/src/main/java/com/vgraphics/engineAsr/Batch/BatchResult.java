@@ -0,0 +1,104 @@
+package com.vgraphics.engineAsr.Batch;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of a batch transcription job. The transcript is made of the recognized
+ * segments, in order, separated by a space.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class BatchResult {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Id of the job. */
+    private final String id;
+    /** Recognized segments in order. */
+    private final List<String> segments;
+    /** Duration of the transcribed audio in milliseconds. */
+    private final long audioMillis;
+    /** Time spent transcribing in milliseconds. */
+    private final long processingMillis;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Package private constructor. Results are created by {@link BatchTranscriber}.
+     *
+     * @param id               Id of the job.
+     * @param segments         Recognized segments in order.
+     * @param audioMillis      Duration of the transcribed audio in milliseconds.
+     * @param processingMillis Time spent transcribing in milliseconds.
+     */
+    BatchResult(@NonNull String id, @NonNull List<String> segments, long audioMillis,
+                long processingMillis) {
+        this.id = id;
+        this.segments = Collections.unmodifiableList(new ArrayList<>(segments));
+        this.audioMillis = audioMillis;
+        this.processingMillis = processingMillis;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Id of the job. */
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    /** @return The transcript, made of every segment separated by a space. */
+    @NonNull
+    public String getTranscript() {
+        final StringBuilder builder = new StringBuilder();
+        for (String segment : segments) {
+            if (builder.length() > 0) builder.append(' ');
+            builder.append(segment);
+        }
+        return builder.toString();
+    }
+
+    /** @return Recognized segments in order. */
+    @NonNull
+    public List<String> getSegments() {
+        return segments;
+    }
+
+    /** @return Duration of the transcribed audio in milliseconds. */
+    public long getAudioMillis() {
+        return audioMillis;
+    }
+
+    /** @return Time spent transcribing in milliseconds. */
+    public long getProcessingMillis() {
+        return processingMillis;
+    }
+
+    /**
+     * Returns the real time factor of the job, which is the time spent transcribing divided by
+     * the duration of the audio. Values lower than 1 mean faster than real time.
+     *
+     * @return The real time factor, or {@code -1} if the job had no audio.
+     */
+    public float getRealTimeFactor() {
+        return audioMillis > 0 ? (float) processingMillis / audioMillis : -1;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return id + " : " + segments.size() + " segments, " + audioMillis + " ms of audio in " +
+                processingMillis + " ms";
+    }
+}
@@ -0,0 +1,470 @@
+package com.vgraphics.engineAsr.Batch;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Capture.PcmFileSource;
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+import com.vgraphics.engineAsr.Interfaces.BatchListener;
+import com.vgraphics.engineAsr.Interfaces.Transcriber;
+import com.vgraphics.engineAsr.Platform.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Transcribes stored audio, such as recordings, files or streams, concurrently and faster than
+ * real time. Jobs run on a fixed pool of worker threads and every worker owns its own
+ * {@link Transcriber}, so decoders are never shared between threads. With an offline decoder,
+ * throughput scales with the number of cores.
+ *
+ * <p>The number of jobs in flight, running or waiting for a worker, is bounded. Once the bound is
+ * reached {@link #submit(String, AudioSource)} blocks until a job completes, which keeps a
+ * producer that walks a large collection of recordings from opening all of them at once. Every
+ * job has its own {@link Future} and reports its progress to the {@link BatchListener}.
+ *
+ * <p>Call {@link #shutdown()} once no more jobs will be submitted. Transcribers are closed once
+ * every job has completed.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class BatchTranscriber {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Milliseconds of audio between two progress callbacks of the same job. */
+    public static final long PROGRESS_INTERVAL = 1000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Factory of the transcriber of every worker. */
+    private final Transcriber.Factory factory;
+    /** Number of worker threads. */
+    private final int workers;
+    /** Number of jobs that may wait for a worker. */
+    private final int queueCapacity;
+    /** Permits of the jobs in flight, running or waiting for a worker. */
+    private final Semaphore slots;
+    /** Pool of the worker threads. */
+    private final ThreadPoolExecutor executor;
+    /** Transcriber of every worker thread. */
+    private final ThreadLocal<Transcriber> transcriber = new ThreadLocal<>();
+    /** Every transcriber created so far, closed on termination. */
+    private final List<Transcriber> transcribers = new ArrayList<>();
+    /** Listener to invoke batch events. */
+    private volatile BatchListener listener;
+    /** Number of jobs completed successfully. */
+    private final AtomicLong completed = new AtomicLong();
+    /** Number of jobs that failed or were cancelled. */
+    private final AtomicLong failed = new AtomicLong();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new batch transcriber with a worker per available core and room for two jobs
+     * per worker to wait.
+     *
+     * @param factory Factory of the transcriber of every worker.
+     */
+    public BatchTranscriber(@NonNull Transcriber.Factory factory) {
+        this(factory, Runtime.getRuntime().availableProcessors(),
+                2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new batch transcriber.
+     *
+     * @param factory       Factory of the transcriber of every worker.
+     * @param workers       Number of worker threads. Must be positive.
+     * @param queueCapacity Number of jobs that may wait for a worker before submitting blocks.
+     *                      Must not be negative.
+     */
+    public BatchTranscriber(@NonNull Transcriber.Factory factory, int workers, int queueCapacity) {
+        if (workers < 1)
+            throw new IllegalArgumentException("Workers must be positive : " + workers);
+        if (queueCapacity < 0)
+            throw new IllegalArgumentException("Queue capacity is negative : " + queueCapacity);
+
+        this.factory = factory;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.slots = new Semaphore(workers + queueCapacity);
+
+        // Queue needs no bound of its own. Slots never let more jobs in.
+        final AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread thread = new Thread(runnable,
+                        "EasyAsr-Batch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }) {
+            @Override
+            protected void terminated() {
+                closeTranscribers();
+            }
+        };
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the listener that receives job events. Safe to call from any thread.
+     *
+     * @param listener Listener to invoke batch events or {@code null} to remove it.
+     */
+    public void setListener(@Nullable BatchListener listener) {
+        this.listener = listener;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SUBMIT FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Submits a job, blocking while the maximum number of jobs is in flight.
+     *
+     * @param id     The id of the job, reported back through the listener and the result.
+     * @param source The source to transcribe. Must not be opened yet.
+     *
+     * @return The future of the job.
+     *
+     * @throws InterruptedException       If interrupted while waiting for room.
+     * @throws RejectedExecutionException If the transcriber was shut down.
+     */
+    @NonNull
+    public Future<BatchResult> submit(@NonNull String id, @NonNull AudioSource source)
+            throws InterruptedException {
+        slots.acquire();
+        return enqueue(id, source);
+    }
+
+    /**
+     * Submits a job unless the maximum number of jobs is in flight.
+     *
+     * @param id     The id of the job, reported back through the listener and the result.
+     * @param source The source to transcribe. Must not be opened yet.
+     *
+     * @return The future of the job, or {@code null} if there was no room for it.
+     *
+     * @throws RejectedExecutionException If the transcriber was shut down.
+     */
+    @Nullable
+    public Future<BatchResult> trySubmit(@NonNull String id, @NonNull AudioSource source) {
+        if (!slots.tryAcquire()) return null;
+        return enqueue(id, source);
+    }
+
+    /**
+     * Submits a WAV file, blocking while the maximum number of jobs is in flight. The path of
+     * the file is the id of the job.
+     *
+     * @param file WAV file holding 16-bit PCM samples.
+     *
+     * @return The future of the job.
+     *
+     * @throws IOException                If the file is not a 16-bit PCM WAV file.
+     * @throws InterruptedException       If interrupted while waiting for room.
+     * @throws RejectedExecutionException If the transcriber was shut down.
+     */
+    @NonNull
+    public Future<BatchResult> submit(@NonNull File file) throws IOException,
+            InterruptedException {
+        return submit(file.getPath(), new PcmFileSource(file));
+    }
+
+    /**
+     * Submits WAV files in order, blocking whenever the maximum number of jobs is in flight, so
+     * files are only opened once there is room for them.
+     *
+     * @param files WAV files holding 16-bit PCM samples.
+     *
+     * @return The futures of the jobs, in the order of given files.
+     *
+     * @throws IOException                If a file is not a 16-bit PCM WAV file. Files before it
+     *                                    are submitted already.
+     * @throws InterruptedException       If interrupted while waiting for room.
+     * @throws RejectedExecutionException If the transcriber was shut down.
+     */
+    @NonNull
+    public List<Future<BatchResult>> submitAll(@NonNull Collection<File> files)
+            throws IOException, InterruptedException {
+        final List<Future<BatchResult>> futures = new ArrayList<>(files.size());
+        for (File file : files) futures.add(submit(file));
+        return futures;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Stops accepting jobs. Submitted jobs still complete, after which transcribers are closed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Stops accepting jobs and cancels every submitted job. Running jobs are interrupted.
+     */
+    public void shutdownNow() {
+        for (Runnable runnable : executor.shutdownNow()) {
+            // Jobs that never reached a worker will never run, so free their slots here.
+            final Job job = (Job) runnable;
+            job.cancel(false);
+            job.release();
+        }
+    }
+
+    /**
+     * Waits for every submitted job to complete after a shutdown.
+     *
+     * @param timeout Maximum time to wait in milliseconds.
+     *
+     * @return {@code True} if every job completed. {@code False} if timed out.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of worker threads. */
+    public int getWorkerCount() {
+        return workers;
+    }
+
+    /** @return Number of jobs that may wait for a worker. */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /** @return Number of jobs in flight, running or waiting for a worker. */
+    public int getInFlightCount() {
+        return workers + queueCapacity - slots.availablePermits();
+    }
+
+    /** @return Number of jobs completed successfully. */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /** @return Number of jobs that failed or were cancelled. */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /** @return {@code True} if shut down and every job has completed. {@code False} otherwise. */
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Hands a job to the workers. The caller holds a slot for it.
+     *
+     * @param id     The id of the job.
+     * @param source The source to transcribe.
+     *
+     * @return The future of the job.
+     */
+    @NonNull
+    private Future<BatchResult> enqueue(@NonNull String id, @NonNull AudioSource source) {
+        final Job job = new Job(id, source);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Transcribes the source of the job on the calling worker.
+     *
+     * @param id     Id of the job.
+     * @param source The source to transcribe.
+     *
+     * @return The result of the job.
+     *
+     * @throws IOException          If the source could not be transcribed.
+     * @throws InterruptedException If the job was cancelled.
+     */
+    @NonNull
+    private BatchResult transcribe(@NonNull final String id, @NonNull AudioSource source)
+            throws IOException, InterruptedException {
+        final Transcriber transcriber = transcriberOfWorker();
+        final BatchListener listener = this.listener;
+        if (listener != null) listener.onBatchJobStarted(id);
+
+        final long rate = (long) source.getSampleRate() * Math.max(1, source.getChannels());
+        final List<String> segments = new ArrayList<>();
+        final long[] samples = new long[1];
+        final long started = System.nanoTime();
+
+        transcriber.transcribe(source, new Transcriber.Sink() {
+            /** Milliseconds of audio at the last progress callback. */
+            private long reported;
+
+            @Override
+            public void onSegment(@NonNull String text) {
+                final String segment = text.trim();
+                if (segment.isEmpty()) return;
+
+                segments.add(segment);
+                if (listener != null)
+                    listener.onBatchSegment(id, segments.size() - 1, segment);
+            }
+
+            @Override
+            public void onAudio(int count) {
+                samples[0] += count;
+                if (listener == null || rate <= 0) return;
+
+                final long millis = samples[0] * 1000 / rate;
+                if (millis - reported < PROGRESS_INTERVAL) return;
+                reported = millis;
+                listener.onBatchProgress(id, millis);
+            }
+        });
+
+        final long elapsed = (System.nanoTime() - started) / 1000000;
+        final long audio = rate > 0 ? samples[0] * 1000 / rate : 0;
+        return new BatchResult(id, segments, audio, elapsed);
+    }
+
+
+    /**
+     * Returns the transcriber of the calling worker, creating it on first use.
+     *
+     * @return The transcriber of the calling worker.
+     *
+     * @throws IOException If the transcriber could not be created.
+     */
+    @NonNull
+    private Transcriber transcriberOfWorker() throws IOException {
+        Transcriber current = transcriber.get();
+        if (current != null) return current;
+
+        current = factory.create();
+        transcriber.set(current);
+        synchronized (transcribers) {
+            transcribers.add(current);
+        }
+        return current;
+    }
+
+    /**
+     * Closes every transcriber. Called once every worker has ended.
+     */
+    private void closeTranscribers() {
+        synchronized (transcribers) {
+            for (Transcriber current : transcribers) current.close();
+            transcribers.clear();
+        }
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * A submitted job and its future. Reports its outcome once done and frees its slot once its
+     * worker is done with it. A job cancelled while running is done before its worker stops, so
+     * its slot is held until then, otherwise more transcriptions than slots could run at once.
+     */
+    private final class Job extends FutureTask<BatchResult> {
+        /** Id of the job. */
+        private final String id;
+        /** Defines if the slot of the job was freed. */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Constructs a new job.
+         *
+         * @param id     Id of the job.
+         * @param source The source to transcribe.
+         */
+        Job(@NonNull final String id, @NonNull final AudioSource source) {
+            super(new Callable<BatchResult>() {
+                @Override
+                public BatchResult call() throws Exception {
+                    return BatchTranscriber.this.transcribe(id, source);
+                }
+            });
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        protected void done() {
+            // Report outcome of the job.
+            final BatchListener listener = BatchTranscriber.this.listener;
+            try {
+                final BatchResult result = get();
+                completed.incrementAndGet();
+                if (listener != null) listener.onBatchJobCompleted(id, result);
+            } catch (CancellationException e) {
+                failed.incrementAndGet();
+                if (listener != null) listener.onBatchJobFailed(id, e);
+            } catch (ExecutionException e) {
+                failed.incrementAndGet();
+                Log.e(TAG, TAG + "Batch job " + id + " failed : " + e.getCause());
+                if (listener != null) listener.onBatchJobFailed(id,
+                        e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+            } catch (InterruptedException e) {
+                // Never happens since the job is done.
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Frees the slot of the job, unless already freed.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) slots.release();
+        }
+    }
+}
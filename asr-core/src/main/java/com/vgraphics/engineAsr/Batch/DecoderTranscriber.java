@@ -0,0 +1,174 @@
+package com.vgraphics.engineAsr.Batch;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+import com.vgraphics.engineAsr.Interfaces.OfflineDecoder;
+import com.vgraphics.engineAsr.Interfaces.Transcriber;
+
+import java.io.IOException;
+
+/**
+ * Transcriber that feeds audio straight into an {@link OfflineDecoder}, with no capture thread or
+ * engine session in between. This is the fastest way to transcribe stored audio. Multi-channel
+ * audio is mixed down to mono, and a segment is emitted whenever the decoder detects the end of
+ * an utterance.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class DecoderTranscriber implements Transcriber {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Milliseconds of audio fed to the decoder at once. */
+    private static final int CHUNK_MILLIS = 100;
+
+    /** Factory that creates the decoder. */
+    private final OfflineDecoder.Factory factory;
+    /** Path of the model of the decoder. */
+    private final String modelPath;
+    /** Decoder of the current sample rate, created on first use. */
+    private OfflineDecoder decoder;
+    /** Sample rate of {@link #decoder}. */
+    private int decoderRate;
+    /** Interleaved samples read from the source. */
+    private short[] buffer = new short[0];
+    /** Mono samples fed to the decoder. */
+    private short[] mono = new short[0];
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new transcriber. The decoder is created once the first source is transcribed.
+     *
+     * @param factory   Factory that creates the decoder.
+     * @param modelPath Path of the model of the decoder.
+     */
+    public DecoderTranscriber(@NonNull OfflineDecoder.Factory factory, @NonNull String modelPath) {
+        this.factory = factory;
+        this.modelPath = modelPath;
+    }
+
+    /**
+     * Returns a factory of transcribers that share given decoder factory and model, to be used
+     * with a {@link BatchTranscriber}.
+     *
+     * @param factory   Factory that creates the decoders.
+     * @param modelPath Path of the model of the decoders.
+     *
+     * @return A factory of decoder transcribers.
+     */
+    @NonNull
+    public static Transcriber.Factory factory(@NonNull final OfflineDecoder.Factory factory,
+                                              @NonNull final String modelPath) {
+        return new Transcriber.Factory() {
+            @NonNull
+            @Override
+            public Transcriber create() {
+                return new DecoderTranscriber(factory, modelPath);
+            }
+        };
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TRANSCRIBER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void transcribe(@NonNull AudioSource source, @NonNull Sink sink)
+            throws IOException, InterruptedException {
+        final int rate = source.getSampleRate();
+        final int channels = Math.max(1, source.getChannels());
+        final OfflineDecoder decoder = decoderFor(rate);
+
+        // Size buffers for a chunk of every channel.
+        final int frames = Math.max(1, rate * CHUNK_MILLIS / 1000);
+        if (buffer.length < frames * channels) buffer = new short[frames * channels];
+        if (mono.length < frames) mono = new short[frames];
+
+        source.open();
+        try {
+            int carry = 0;
+            while (true) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                final int read = source.read(buffer, carry, buffer.length - carry);
+                if (read < 0) break;
+                sink.onAudio(read);
+
+                // Feed whole frames only. Samples of a partial frame wait for the next read.
+                final int total = carry + read;
+                final int count = total / channels;
+                final short[] samples = mix(count, channels);
+                carry = total - count * channels;
+                System.arraycopy(buffer, count * channels, buffer, 0, carry);
+
+                if (count > 0 && decoder.acceptWaveform(samples, count)) {
+                    sink.onSegment(decoder.getFinalResult());
+                    decoder.reset();
+                }
+            }
+
+            // Flush the last utterance.
+            sink.onSegment(decoder.getFinalResult());
+        } finally {
+            decoder.reset();
+            source.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (decoder == null) return;
+
+        decoder.close();
+        decoder = null;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the decoder of given sample rate, re-creating it if the rate changed.
+     *
+     * @param rate The sample rate in Hz.
+     *
+     * @return The decoder.
+     *
+     * @throws IOException If the decoder could not be created.
+     */
+    @NonNull
+    private OfflineDecoder decoderFor(int rate) throws IOException {
+        if (decoder != null && decoderRate == rate) return decoder;
+
+        close();
+        decoder = factory.create(modelPath, rate);
+        decoderRate = rate;
+        return decoder;
+    }
+
+    /**
+     * Mixes the first frames of the read buffer down to mono.
+     *
+     * @param count    Number of frames to mix.
+     * @param channels Number of interleaved channels.
+     *
+     * @return The mono samples. The read buffer itself if there is a single channel.
+     */
+    @NonNull
+    private short[] mix(int count, int channels) {
+        if (channels == 1) return buffer;
+
+        for (int i = 0; i < count; i++) {
+            int sum = 0;
+            for (int c = 0; c < channels; c++) sum += buffer[i * channels + c];
+            mono[i] = (short) (sum / channels);
+        }
+        return mono;
+    }
+}
@@ -0,0 +1,406 @@
+package com.vgraphics.engineAsr.Batch;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AudioHandOff;
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+import com.vgraphics.engineAsr.Interfaces.Transcriber;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Transcriber that drives any {@link AsrEngineInterface} that reads its audio from a given
+ * {@link AudioSource}, such as {@code OfflineAsr}. The engine is constructed once over a source
+ * that is switched to every transcribed source in turn. Sessions are re-armed until the source
+ * ends, and engines that implement {@link AudioHandOff} keep capturing between sessions, so no
+ * audio is lost between utterances.
+ *
+ * <p>Engines that record from the microphone no matter the source, such as the Google engine,
+ * cannot transcribe stored audio. Jobs fail once a few sessions in a row end without any audio
+ * being read.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EngineTranscriber implements Transcriber {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Time a session may go without any callback or audio before the job fails. */
+    public static final long STALL_TIMEOUT = 10000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of consecutive sessions that read no audio before the job fails. */
+    private static final int MAX_IDLE_SESSIONS = 3;
+    /** Time to wait for a session callback before checking for a stall. */
+    private static final long WAIT_INTERVAL = 100;
+    /** Executor that delivers engine callbacks on the engine thread. */
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    /** Lock guarding the session outcome. */
+    private final Object lock = new Object();
+    /** Source the engine reads, switched to the transcribed source. */
+    private final SwitchSource source;
+    /** The engine. */
+    private final AsrEngineInterface engine;
+    /** Defines if the current session has ended. Guarded by {@link #lock}. */
+    private boolean ended;
+    /** Final result of the current session, if any. Guarded by {@link #lock}. */
+    private String result;
+    /** Error of the current session, or {@code 0}. Guarded by {@link #lock}. */
+    private int error;
+    /** Time of the last callback or audio of the current session. */
+    private volatile long activity;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Listener that follows the sessions of the engine. */
+    private final AsrCallbacksListener listener = new AsrCallbacksListener() {
+        @Override
+        public void onAsrInitialized(boolean success) {
+            touch();
+        }
+
+        @Override
+        public void onAsrStart() {
+            touch();
+        }
+
+        @Override
+        public void onAsrCancelled() {
+            end(null, 0);
+        }
+
+        @Override
+        public void onAsrFinalResult(String finalResult) {
+            end(finalResult, 0);
+        }
+
+        @Override
+        public void onAsrPartialResult(String partialResult) {
+            touch();
+        }
+
+        @Override
+        public void onAsrError(int errorCode) {
+            end(null, errorCode);
+        }
+
+        @Override
+        public void onLangListRetrieved(@Nullable List<String> languages) {
+            // Nothing to do.
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new transcriber and its engine. Only sources of given format can be
+     * transcribed, since the engine is constructed for it.
+     *
+     * @param factory    Factory that constructs the engine.
+     * @param sampleRate Sample rate of the transcribed sources in Hz.
+     * @param channels   Number of interleaved channels of the transcribed sources.
+     */
+    public EngineTranscriber(@NonNull EngineFactory factory, int sampleRate, int channels) {
+        this.source = new SwitchSource(sampleRate, channels);
+        this.engine = factory.create(source, listener, DIRECT);
+    }
+
+    /**
+     * Returns a factory of transcribers that each construct their own engine, to be used with a
+     * {@link BatchTranscriber}.
+     *
+     * @param factory    Factory that constructs the engines.
+     * @param sampleRate Sample rate of the transcribed sources in Hz.
+     * @param channels   Number of interleaved channels of the transcribed sources.
+     *
+     * @return A factory of engine transcribers.
+     */
+    @NonNull
+    public static Transcriber.Factory factory(@NonNull final EngineFactory factory,
+                                              final int sampleRate, final int channels) {
+        return new Transcriber.Factory() {
+            @NonNull
+            @Override
+            public Transcriber create() {
+                return new EngineTranscriber(factory, sampleRate, channels);
+            }
+        };
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TRANSCRIBER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void transcribe(@NonNull AudioSource audio, @NonNull Sink sink)
+            throws IOException, InterruptedException {
+        if (audio.getSampleRate() != source.sampleRate || audio.getChannels() != source.channels)
+            throw new IOException("Source format " + audio.getSampleRate() + " Hz x " +
+                    audio.getChannels() + " does not match engine format " + source.sampleRate +
+                    " Hz x " + source.channels);
+
+        source.switchTo(audio, sink);
+        setHandOff(true);
+        try {
+            int idle = 0;
+            while (!source.isExhausted()) {
+                final long read = source.getRead();
+                final String text = session();
+                if (text != null) sink.onSegment(text);
+
+                // Engine does not read the given source and would never end it.
+                idle = source.getRead() == read ? idle + 1 : 0;
+                if (idle >= MAX_IDLE_SESSIONS && !source.hasEnded())
+                    throw new IOException("Engine " + engine.engineCode() +
+                            " does not read the given audio source.");
+            }
+        } finally {
+            setHandOff(false);
+            source.switchTo(null, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        engine.disposeEngine();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Runs a single session of the engine.
+     *
+     * @return The final result of the session, or {@code null} if it had none.
+     *
+     * @throws IOException          If the session failed or stalled.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    @Nullable
+    private String session() throws IOException, InterruptedException {
+        synchronized (lock) {
+            ended = false;
+            result = null;
+            error = 0;
+        }
+        touch();
+        engine.startListening();
+
+        try {
+            synchronized (lock) {
+                while (!ended) {
+                    lock.wait(WAIT_INTERVAL);
+                    if (!ended && System.nanoTime() / 1000000 - activity > STALL_TIMEOUT)
+                        throw new IOException("Engine " + engine.engineCode() + " stalled.");
+                }
+
+                // Silence or nothing recognized is not a failure of the job.
+                if (error != 0 && error != AsrError.NO_MATCH && error != AsrError.SPEECH_TIMEOUT)
+                    throw new IOException("Engine " + engine.engineCode() + " failed with " +
+                            "error : " + error);
+                return result;
+            }
+        } catch (InterruptedException | IOException e) {
+            engine.stopListening();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the outcome of the current session and wakes the waiting worker.
+     *
+     * @param text The final result, or {@code null} if there is none.
+     * @param code The error code, or {@code 0} if the session did not fail.
+     */
+    private void end(@Nullable String text, int code) {
+        synchronized (lock) {
+            ended = true;
+            result = text;
+            error = code;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Marks the current session as active.
+     */
+    private void touch() {
+        activity = System.nanoTime() / 1000000;
+    }
+
+    /**
+     * Enables or disables hand-off of the engine, if supported.
+     *
+     * @param enabled {@code True} to keep capturing between sessions.
+     */
+    private void setHandOff(boolean enabled) {
+        if (engine instanceof AudioHandOff) ((AudioHandOff) engine).setHandOff(enabled);
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Constructs engines that read the given source.
+     */
+    public interface EngineFactory {
+        /**
+         * Constructs a new engine. Called on the worker thread that will own it.
+         *
+         * @param source    The source the engine must read its audio from.
+         * @param listener  The listener of the engine.
+         * @param callbacks Executor the engine should deliver callbacks through.
+         *
+         * @return The new engine.
+         */
+        @NonNull
+        AsrEngineInterface create(@NonNull AudioSource source,
+                                  @NonNull AsrCallbacksListener listener,
+                                  @NonNull Executor callbacks);
+    }
+
+    /**
+     * Audio source that reads from the source currently being transcribed, and reports the audio
+     * it reads. The current source is opened once, so engines that capture anew for every
+     * session still read it from start to end exactly once.
+     */
+    private final class SwitchSource implements AudioSource {
+        /** Sample rate of the engine in Hz. */
+        final int sampleRate;
+        /** Number of interleaved channels of the engine. */
+        final int channels;
+        /** Source currently being transcribed. */
+        private volatile AudioSource current;
+        /** Sink of the source currently being transcribed. */
+        private volatile Sink sink;
+        /** Defines if the current source was opened. */
+        private volatile boolean opened;
+        /** Defines if the current source has ended. */
+        private volatile boolean finished;
+        /** Defines if the engine asked for audio once the current source had ended. */
+        private volatile boolean exhausted;
+        /** Number of samples read from the current source. */
+        private volatile long read;
+
+        /**
+         * Constructs a new switch source.
+         *
+         * @param sampleRate Sample rate of the engine in Hz.
+         * @param channels   Number of interleaved channels of the engine.
+         */
+        SwitchSource(int sampleRate, int channels) {
+            this.sampleRate = sampleRate;
+            this.channels = channels;
+        }
+
+        /**
+         * Switches to given source.
+         *
+         * @param source The source to read or {@code null} to read nothing.
+         * @param sink   The sink of the source.
+         */
+        void switchTo(@Nullable AudioSource source, @Nullable Sink sink) {
+            final AudioSource previous = this.current;
+            if (previous != null && opened) previous.close();
+
+            this.sink = sink;
+            this.current = source;
+            this.opened = false;
+            this.finished = source == null;
+            this.exhausted = source == null;
+            this.read = 0;
+        }
+
+        /** @return {@code True} if the current source has ended. {@code False} otherwise. */
+        boolean hasEnded() {
+            return finished;
+        }
+
+        /**
+         * Defines if the engine has consumed the whole current source. Engines only re-open their
+         * source once every captured frame was decoded, so a re-open after the source has ended
+         * proves that nothing is left.
+         *
+         * @return {@code True} if the whole source was consumed. {@code False} otherwise.
+         */
+        boolean isExhausted() {
+            return exhausted;
+        }
+
+        /** @return Number of samples read from the current source. */
+        long getRead() {
+            return read;
+        }
+
+        @Override
+        public void open() throws IOException {
+            final AudioSource current = this.current;
+            if (current == null) throw new IOException("No audio source to transcribe.");
+
+            // Sessions continue reading where the previous ones stopped.
+            if (finished) exhausted = true;
+            else if (!opened) {
+                current.open();
+                opened = true;
+            }
+        }
+
+        @Override
+        public int read(@NonNull short[] buffer, int offset, int length) throws IOException {
+            final AudioSource current = this.current;
+            if (current == null || finished) return -1;
+
+            final int count = current.read(buffer, offset, length);
+            if (count < 0) {
+                finished = true;
+                return -1;
+            }
+
+            read += count;
+            touch();
+            final Sink sink = this.sink;
+            if (sink != null) sink.onAudio(count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // Current source stays open for the next session and is closed once switched.
+        }
+
+        @Override
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        @Override
+        public int getChannels() {
+            return channels;
+        }
+
+        @Override
+        public boolean isRealTime() {
+            return false;
+        }
+    }
+}
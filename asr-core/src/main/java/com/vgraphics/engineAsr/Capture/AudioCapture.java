@@ -0,0 +1,178 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+
+import java.io.IOException;
+
+/**
+ * Captures audio from an {@link AudioSource} on a dedicated thread and publishes it as fixed size
+ * frames to a {@link FrameRingBuffer}. Any number of consumers read the frames through their own
+ * {@link FrameRingBuffer.Cursor}. Real time sources overwrite frames that slow consumers did not
+ * read in time, while file and memory sources wait for the slowest consumer.
+ *
+ * <p>This class does not depend on the Android framework, so a whole pipeline driven by a file or
+ * memory source runs on any JVM.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AudioCapture {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default frame duration in milliseconds. */
+    public static final int DEFAULT_FRAME_MILLIS = 20;
+    /** Default number of frames the ring holds. Two seconds of audio with default frames. */
+    public static final int DEFAULT_SLOTS = 100;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Source of the captured audio. */
+    private final AudioSource source;
+    /** Ring that receives captured frames. */
+    private final FrameRingBuffer ring;
+    /** Capture thread. Only valid while capturing. */
+    private Thread thread;
+    /** Defines if capture should keep running. */
+    private volatile boolean running;
+    /** Error that stopped the capture, if any. */
+    private volatile IOException error;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new capture with {@link #DEFAULT_FRAME_MILLIS} frames and
+     * {@link #DEFAULT_SLOTS} slots.
+     *
+     * @param source Source of the captured audio.
+     */
+    public AudioCapture(@NonNull AudioSource source) {
+        this(source, source.getSampleRate() * source.getChannels() * DEFAULT_FRAME_MILLIS / 1000,
+                DEFAULT_SLOTS);
+    }
+
+    /**
+     * Constructs a new capture.
+     *
+     * @param source    Source of the captured audio.
+     * @param frameSize Number of samples per frame, all channels included.
+     * @param slots     Number of frames the ring holds.
+     */
+    public AudioCapture(@NonNull AudioSource source, int frameSize, int slots) {
+        this.source = source;
+        this.ring = new FrameRingBuffer(frameSize, slots, !source.isRealTime());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts capturing on a new thread. Register consumers through {@link #newCursor()} before
+     * starting, so that they do not miss the first frames. Does nothing if already capturing.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                capture();
+            }
+        }, "EasyAsr-Capture");
+        thread.start();
+    }
+
+    /**
+     * Stops capturing. Consumers receive end of stream once they read all published frames. Does
+     * not wait for the capture thread to end.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+        thread = null;
+    }
+
+    /**
+     * Registers a new consumer of the captured frames.
+     *
+     * @return The cursor of the new consumer.
+     */
+    @NonNull
+    public FrameRingBuffer.Cursor newCursor() {
+        return ring.newCursor();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The ring that receives captured frames. */
+    @NonNull
+    public FrameRingBuffer getRing() {
+        return ring;
+    }
+
+    /** @return The source of the captured audio. */
+    @NonNull
+    public AudioSource getSource() {
+        return source;
+    }
+
+    /** @return The error that stopped the capture, or {@code null} if none occurred. */
+    @Nullable
+    public IOException getError() {
+        return error;
+    }
+
+    /** @return {@code True} if capture is running. {@code False} otherwise. */
+    public boolean isRunning() {
+        return running && !ring.isFinished();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Capture loop. Reads whole frames from the source and publishes them until the source ends,
+     * an error occurs or capture is stopped.
+     */
+    private void capture() {
+        final short[] frame = new short[ring.getFrameSize()];
+
+        try {
+            source.open();
+
+            int filled = 0;
+            while (running) {
+                final int read = source.read(frame, filled, frame.length - filled);
+
+                // Source ended. Publish what is left.
+                if (read < 0) {
+                    if (filled > 0) ring.publish(frame, filled);
+                    break;
+                }
+
+                filled += read;
+                if (filled < frame.length) continue;
+
+                if (!ring.publish(frame, filled)) break;
+                filled = 0;
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            source.close();
+            running = false;
+            ring.finish();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single producer, multiple consumer ring buffer of fixed size PCM frames. The producer publishes
+ * frames by advancing a volatile sequence and every consumer reads through its own
+ * {@link Cursor}, so no locks are taken on either side. Frames are stored in one pre-allocated
+ * array, so publishing and reading do not allocate.
+ *
+ * <p>In overwrite mode the producer never waits. A consumer that falls more than a whole ring
+ * behind skips to the oldest frame still available and its overrun counter is increased. In
+ * blocking mode the producer waits for the slowest consumer instead, which is what file and
+ * memory sources want so that no frame is lost.
+ *
+ * <p>In overwrite mode every slot is guarded like a seqlock. The producer stamps a slot as being
+ * written before overwriting it, and a consumer validates the stamp after copying the frame, so a
+ * frame that was overwritten while it was copied is never returned.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class FrameRingBuffer {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Time a waiting side parks before checking again, in nanoseconds. */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /** Stamp of a slot that is being written. */
+    private static final long WRITING = -1;
+
+    /** Number of samples per frame. */
+    private final int frameSize;
+    /** Number of frame slots. */
+    private final int slots;
+    /** Samples of all slots. */
+    private final short[] samples;
+    /** Number of valid samples of each slot. Last frame of a source may be shorter. */
+    private final int[] lengths;
+    /** Defines if the producer waits for the slowest consumer instead of overwriting frames. */
+    private final boolean blocking;
+    /** Sequence of the frame each slot holds, or {@link #WRITING}. {@code null} if blocking. */
+    private final AtomicLongArray stamps;
+    /** Registered consumers. */
+    private final CopyOnWriteArrayList<Cursor> cursors = new CopyOnWriteArrayList<>();
+    /** Number of published frames. Written by the producer only. */
+    private volatile long published;
+    /** Defines if the producer has finished and no more frames will be published. */
+    private volatile boolean finished;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new ring buffer.
+     *
+     * @param frameSize Number of samples per frame.
+     * @param slots     Number of frames the ring holds.
+     * @param blocking  If {@code true}, the producer waits for the slowest consumer. Otherwise,
+     *                  the oldest frames are overwritten.
+     */
+    public FrameRingBuffer(int frameSize, int slots, boolean blocking) {
+        if (frameSize <= 0 || slots <= 0)
+            throw new IllegalArgumentException("Frame size and slots must be positive.");
+
+        this.frameSize = frameSize;
+        this.slots = slots;
+        this.samples = new short[frameSize * slots];
+        this.lengths = new int[slots];
+        this.blocking = blocking;
+        this.stamps = blocking ? null : new AtomicLongArray(slots);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRODUCER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Publishes a frame. Must only be called by the single producer. In blocking mode this call
+     * waits until the slowest consumer has made room, unless the producer thread is interrupted.
+     *
+     * @param frame  Buffer holding the frame samples.
+     * @param length Number of valid samples. At most {@link #getFrameSize()}.
+     *
+     * @return {@code True} if the frame was published. {@code False} if the producer thread was
+     * interrupted while waiting for room.
+     */
+    public boolean publish(@NonNull short[] frame, int length) {
+        final long sequence = published;
+
+        // Wait for slowest consumer to make room.
+        if (blocking) {
+            while (sequence - minimumPosition(sequence) >= slots) {
+                if (Thread.currentThread().isInterrupted()) return false;
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+
+        final int slot = (int) (sequence % slots);
+        final int count = Math.min(length, frameSize);
+
+        // Stamp slot before overwriting it. Reading the stamp back orders the stamp before the
+        // copy and synchronizes with a consumer that validated the slot before.
+        if (stamps != null) stamps.getAndSet(slot, WRITING);
+        System.arraycopy(frame, 0, samples, slot * frameSize, count);
+        lengths[slot] = count;
+        if (stamps != null) stamps.set(slot, sequence);
+
+        // Volatile write makes the frame visible to consumers.
+        published = sequence + 1;
+        return true;
+    }
+
+    /**
+     * Marks the producer as finished. Consumers return end of stream once they have read all
+     * published frames.
+     */
+    public void finish() {
+        finished = true;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSUMER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Registers a new consumer. The consumer starts reading from the next published frame.
+     *
+     * @return The cursor of the new consumer.
+     */
+    @NonNull
+    public Cursor newCursor() {
+        final Cursor cursor = new Cursor(published);
+        cursors.add(cursor);
+        return cursor;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of samples per frame. */
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /** @return Number of frames the ring holds. */
+    public int getSlots() {
+        return slots;
+    }
+
+    /** @return Number of frames published since construction. */
+    public long getPublishedCount() {
+        return published;
+    }
+
+    /** @return {@code True} if the producer has finished. {@code False} otherwise. */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the position of the slowest registered consumer.
+     *
+     * @param fallback Position to return if no consumer is registered.
+     *
+     * @return The position of the slowest consumer.
+     */
+    private long minimumPosition(long fallback) {
+        long minimum = fallback;
+        for (Cursor cursor : cursors) {
+            if (!cursor.closed) minimum = Math.min(minimum, cursor.position);
+        }
+        return minimum;
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Read position of a single consumer. Each cursor must only be used by one thread.
+     */
+    public final class Cursor {
+        /** Returned by read functions when no frame is available yet. */
+        public static final int EMPTY = 0;
+        /** Returned by read functions when the producer finished and all frames were read. */
+        public static final int END_OF_STREAM = -1;
+
+        /** Sequence of the next frame to read. */
+        private volatile long position;
+        /** Defines if this cursor is closed and no longer holds back the producer. */
+        private volatile boolean closed;
+        /** Number of frames lost because the producer overwrote them. */
+        private long overruns;
+
+        /**
+         * Constructs a new cursor.
+         *
+         * @param position Sequence of the first frame to read.
+         */
+        private Cursor(long position) {
+            this.position = position;
+        }
+
+        /**
+         * Reads the next frame without waiting.
+         *
+         * @param frame Buffer to copy the frame into. Must hold at least a frame.
+         *
+         * @return Number of samples copied, {@link #EMPTY} if no frame is available yet or
+         * {@link #END_OF_STREAM} if the producer finished and all frames were read.
+         */
+        public int read(@NonNull short[] frame) {
+            while (true) {
+                final long available = published;
+
+                // Check if there is anything to read.
+                if (position >= available) return finished && position >= published
+                        ? END_OF_STREAM : EMPTY;
+
+                // Skip frames that were overwritten or are about to be. The slot of the oldest
+                // frame is the one the producer writes next.
+                if (!blocking && available - position >= slots) {
+                    overruns += available - slots + 1 - position;
+                    position = available - slots + 1;
+                }
+
+                final int slot = (int) (position % slots);
+                final int length = lengths[slot];
+                System.arraycopy(samples, slot * frameSize, frame, 0, length);
+
+                // Retry if the producer started to overwrite the slot before we were done
+                // copying it. Unlike a plain read, the compare and set cannot be reordered
+                // before the copy.
+                if (stamps != null && !stamps.compareAndSet(slot, position, position)) continue;
+
+                position++;
+                return length;
+            }
+        }
+
+        /**
+         * Reads the next frame, waiting up to given timeout for one to be published.
+         *
+         * @param frame   Buffer to copy the frame into. Must hold at least a frame.
+         * @param timeout Maximum time to wait in milliseconds.
+         *
+         * @return Number of samples copied, {@link #EMPTY} if timeout elapsed or the thread was
+         * interrupted, or {@link #END_OF_STREAM} if the producer finished and all frames were read.
+         */
+        public int take(@NonNull short[] frame, long timeout) {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+            while (true) {
+                final int result = read(frame);
+                if (result != EMPTY) return result;
+                if (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())
+                    return EMPTY;
+
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+
+        /**
+         * Closes this cursor. A closed cursor no longer holds back a blocking producer.
+         */
+        public void close() {
+            closed = true;
+            cursors.remove(this);
+        }
+
+        /** @return Number of frames lost because the producer overwrote them. */
+        public long getOverruns() {
+            return overruns;
+        }
+
+        /** @return Number of published frames that were not read yet. */
+        public long getLag() {
+            return published - position;
+        }
+    }
+}
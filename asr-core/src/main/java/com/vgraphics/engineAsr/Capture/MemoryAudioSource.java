@@ -0,0 +1,84 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+
+/**
+ * Audio source that reads 16-bit PCM samples from memory. Useful for tests and for audio that is
+ * already decoded. Notice that samples are not copied.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MemoryAudioSource implements AudioSource {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Samples of the source. */
+    private final short[] samples;
+    /** Sample rate in Hz. */
+    private final int sampleRate;
+    /** Number of interleaved channels. */
+    private final int channels;
+    /** Index of the next sample to read. */
+    private int position;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new memory source.
+     *
+     * @param samples    Interleaved 16-bit PCM samples.
+     * @param sampleRate Sample rate in Hz.
+     * @param channels   Number of interleaved channels.
+     */
+    public MemoryAudioSource(@NonNull short[] samples, int sampleRate, int channels) {
+        this.samples = samples;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SOURCE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void open() {
+        position = 0;
+    }
+
+    @Override
+    public int read(@NonNull short[] buffer, int offset, int length) {
+        if (position >= samples.length) return -1;
+
+        final int count = Math.min(length, samples.length - position);
+        System.arraycopy(samples, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        position = samples.length;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    @Override
+    public boolean isRealTime() {
+        return false;
+    }
+}
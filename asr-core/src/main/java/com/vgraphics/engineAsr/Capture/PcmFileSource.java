@@ -0,0 +1,253 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Audio source that reads 16-bit little-endian PCM from a WAV file or a raw PCM file. Samples are
+ * read as fast as consumers keep up, so a whole recording can be processed faster than real time.
+ * This class does not depend on the Android framework and can be used on any JVM.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PcmFileSource implements AudioSource {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Size of the read buffer in bytes. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** File to read. */
+    private final File file;
+    /** Sample rate in Hz. */
+    private final int sampleRate;
+    /** Number of interleaved channels. */
+    private final int channels;
+    /** Offset of the first sample in bytes. */
+    private final long dataOffset;
+    /** Number of sample bytes, or {@code -1} to read until the end of the file. */
+    private final long dataLength;
+    /** Scratch buffer used to convert bytes to samples. */
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    /** Open stream. Only valid while open. */
+    private InputStream stream;
+    /** Number of sample bytes read so far. */
+    private long consumed;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new source that reads a WAV file. Sample rate and channels are read from the
+     * file header.
+     *
+     * @param file WAV file holding 16-bit PCM samples.
+     *
+     * @throws IOException If the file could not be read or is not a 16-bit PCM WAV file.
+     */
+    public PcmFileSource(@NonNull File file) throws IOException {
+        this.file = file;
+
+        final InputStream input = new BufferedInputStream(new FileInputStream(file));
+        try {
+            // Check RIFF header.
+            final int riff = readTag(input);
+            skip(input, 4);
+            if (riff != 0x46464952 || readTag(input) != 0x45564157)
+                throw new IOException("Not a WAV file : " + file);
+
+            int rate = 0;
+            int count = 0;
+            long offset = 12;
+            while (true) {
+                final int tag = readTag(input);
+                final long size = readInt(input) & 0xffffffffL;
+                offset += 8;
+
+                // Format chunk.
+                if (tag == 0x20746d66) {
+                    final int format = readShort(input);
+                    count = readShort(input);
+                    rate = readInt(input);
+                    skip(input, 6);
+                    final int bits = readShort(input);
+                    if (format != 1 || bits != 16)
+                        throw new IOException("Only 16-bit PCM WAV files are supported : " + file);
+                    skip(input, size - 16 + (size & 1));
+                }
+                // Data chunk.
+                else if (tag == 0x61746164) {
+                    if (rate == 0) throw new IOException("Missing WAV format chunk : " + file);
+                    this.sampleRate = rate;
+                    this.channels = count;
+                    this.dataOffset = offset;
+                    this.dataLength = size;
+                    return;
+                }
+                // Any other chunk.
+                else skip(input, size + (size & 1));
+
+                offset += size + (size & 1);
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Constructs a new source that reads a raw PCM file with no header.
+     *
+     * @param file       Raw file holding 16-bit little-endian PCM samples.
+     * @param sampleRate Sample rate in Hz.
+     * @param channels   Number of interleaved channels.
+     */
+    public PcmFileSource(@NonNull File file, int sampleRate, int channels) {
+        this.file = file;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.dataOffset = 0;
+        this.dataLength = -1;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SOURCE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void open() throws IOException {
+        stream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        consumed = 0;
+        skip(stream, dataOffset);
+    }
+
+    @Override
+    public int read(@NonNull short[] buffer, int offset, int length) throws IOException {
+        if (stream == null) return -1;
+
+        // Limit read to data chunk and to scratch buffer. Read whole samples only.
+        long wanted = Math.min((long) length * 2, bytes.length);
+        if (dataLength >= 0) wanted = Math.min(wanted, dataLength - consumed);
+        wanted &= ~1L;
+        if (wanted < 2) return -1;
+
+        int read = 0;
+        while (read < wanted) {
+            final int count = stream.read(bytes, read, (int) wanted - read);
+            if (count < 0) break;
+            read += count;
+
+            // Return as soon as we have whole samples.
+            if ((read & 1) == 0) break;
+        }
+        if (read < 2) return -1;
+
+        final int samples = read / 2;
+        for (int i = 0; i < samples; i++)
+            buffer[offset + i] = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8));
+
+        consumed += samples * 2;
+        return samples;
+    }
+
+    @Override
+    public void close() {
+        if (stream == null) return;
+
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing to do. Stream is discarded anyway.
+        }
+        stream = null;
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    @Override
+    public boolean isRealTime() {
+        return false;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Skips given number of bytes.
+     *
+     * @param input Stream to skip.
+     * @param count Number of bytes to skip.
+     *
+     * @throws IOException If the stream ended before skipping all bytes.
+     */
+    private static void skip(@NonNull InputStream input, long count) throws IOException {
+        while (count > 0) {
+            final long skipped = input.skip(count);
+            if (skipped <= 0) {
+                if (input.read() < 0) throw new EOFException();
+                count--;
+            } else count -= skipped;
+        }
+    }
+
+    /**
+     * Reads a little-endian 16-bit value.
+     *
+     * @param input Stream to read.
+     *
+     * @return The read value.
+     *
+     * @throws IOException If the stream ended.
+     */
+    private static int readShort(@NonNull InputStream input) throws IOException {
+        final int low = input.read();
+        final int high = input.read();
+        if ((low | high) < 0) throw new EOFException();
+        return low | (high << 8);
+    }
+
+    /**
+     * Reads a little-endian 32-bit value.
+     *
+     * @param input Stream to read.
+     *
+     * @return The read value.
+     *
+     * @throws IOException If the stream ended.
+     */
+    private static int readInt(@NonNull InputStream input) throws IOException {
+        return readShort(input) | (readShort(input) << 16);
+    }
+
+    /**
+     * Reads a four character chunk tag as a little-endian 32-bit value.
+     *
+     * @param input Stream to read.
+     *
+     * @return The read tag.
+     *
+     * @throws IOException If the stream ended.
+     */
+    private static int readTag(@NonNull InputStream input) throws IOException {
+        return readInt(input);
+    }
+}
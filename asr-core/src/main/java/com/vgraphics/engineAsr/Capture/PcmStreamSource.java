@@ -0,0 +1,120 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.AudioSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Audio source that reads raw 16-bit little-endian PCM from a stream, such as a network
+ * download or a decoded recording. Samples are read as fast as consumers keep up. Notice that a
+ * stream can only be read once, so this source can not be re-opened.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PcmStreamSource implements AudioSource {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Size of the read buffer in bytes. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Stream to read. */
+    private final InputStream stream;
+    /** Sample rate in Hz. */
+    private final int sampleRate;
+    /** Number of interleaved channels. */
+    private final int channels;
+    /** Scratch buffer used to convert bytes to samples. */
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    /** Low byte of a sample split between two reads, or {@code -1} if none. */
+    private int pending = -1;
+    /** Defines if the source was closed. */
+    private boolean closed;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new stream source. The stream is closed once the source is closed.
+     *
+     * @param stream     Stream of 16-bit little-endian PCM samples with no header.
+     * @param sampleRate Sample rate in Hz.
+     * @param channels   Number of interleaved channels.
+     */
+    public PcmStreamSource(@NonNull InputStream stream, int sampleRate, int channels) {
+        this.stream = stream;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SOURCE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void open() throws IOException {
+        if (closed) throw new IOException("Stream source can not be re-opened.");
+    }
+
+    @Override
+    public int read(@NonNull short[] buffer, int offset, int length) throws IOException {
+        if (closed || length <= 0) return -1;
+
+        int samples = 0;
+        while (samples == 0) {
+            final int wanted = Math.min(length * 2, bytes.length);
+            int start = 0;
+            if (pending >= 0) {
+                bytes[0] = (byte) pending;
+                start = 1;
+            }
+
+            final int count = stream.read(bytes, start, wanted - start);
+            if (count < 0) return -1;
+
+            // Keep the low byte of a split sample for the next read.
+            final int total = start + count;
+            samples = total / 2;
+            pending = (total & 1) != 0 ? bytes[total - 1] & 0xff : -1;
+
+            for (int i = 0; i < samples; i++)
+                buffer[offset + i] = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8));
+        }
+
+        return samples;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+
+        closed = true;
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing to do. Stream is discarded anyway.
+        }
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    @Override
+    public boolean isRealTime() {
+        return false;
+    }
+}
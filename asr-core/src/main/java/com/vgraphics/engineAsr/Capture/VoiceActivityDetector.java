@@ -0,0 +1,267 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Energy based voice activity detector used to detect the end of an utterance as soon as the user
+ * stops speaking. Levels are compared against an adaptive noise floor, so the detector works both
+ * with the rms values reported by recognizers and with levels computed from raw PCM frames. Speech
+ * ends once the level stays below the threshold for the configured hangover.
+ *
+ * <p>The detector also measures the latency between the detected end of speech and the final
+ * result, which is what the hangover should be tuned against. Configuration setters are safe to
+ * call from any thread, while processing functions must be called from a single thread. Detectors
+ * constructed with the same {@link VoiceActivitySettings} share their configuration, but every
+ * detector keeps its own state, so give every audio source its own detector.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class VoiceActivityDetector {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Nothing changed. */
+    public static final int EVENT_NONE = 0;
+    /** Speech started. */
+    public static final int EVENT_SPEECH_START = 1;
+    /** Speech ended and trailing silence lasted for the hangover. */
+    public static final int EVENT_SPEECH_END = 2;
+    /** Default trailing silence that ends speech, in milliseconds. */
+    public static final long DEFAULT_HANGOVER = 700;
+    /** Default margin above the noise floor that counts as speech, in dB. */
+    public static final float DEFAULT_SENSITIVITY = 6f;
+    /**
+     * Minimum speech duration before trailing silence may end it, in milliseconds. Shorter bursts
+     * are dropped once the hangover passes, without reporting end of speech.
+     */
+    public static final long MIN_SPEECH = 150;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Weight of a new level when the noise floor rises. Floor drops immediately. */
+    private static final float FLOOR_RISE = 0.05f;
+    /** Level reported for digital silence, in dB. */
+    private static final float SILENCE_DB = -96f;
+
+    /** Configuration of the detector, possibly shared with other detectors. */
+    private final VoiceActivitySettings settings;
+    /** Estimated noise floor. {@code NaN} until the first level. */
+    private float noiseFloor = Float.NaN;
+    /** Defines if speech is currently detected. */
+    private boolean speaking;
+    /** Time speech started. */
+    private long speechStart;
+    /** Time the current silence started, or {@code -1} if not silent. */
+    private long silenceStart = -1;
+    /** Detected end of speech of the current utterance, or {@code -1} if not detected yet. */
+    private long endOfSpeech = -1;
+    /** Latency between the last detected end of speech and its final result. */
+    private volatile long lastLatency = -1;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new detector with its own, default settings. Detection is disabled.
+     */
+    public VoiceActivityDetector() {
+        this(new VoiceActivitySettings());
+    }
+
+    /**
+     * Constructs a new detector that follows given settings.
+     *
+     * @param settings The settings. Changes apply to every detector that follows them.
+     */
+    public VoiceActivityDetector(@NonNull VoiceActivitySettings settings) {
+        this.settings = settings;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Enables or disables the detector. A disabled detector never reports events.
+     *
+     * @param enabled {@code True} to enable the detector.
+     */
+    public void setEnabled(boolean enabled) {
+        settings.setEnabled(enabled);
+    }
+
+    /**
+     * Sets the trailing silence that ends speech. Lower values end utterances faster but may cut
+     * users that pause while speaking.
+     *
+     * @param hangover Trailing silence in milliseconds.
+     */
+    public void setHangover(long hangover) {
+        settings.setHangover(hangover);
+    }
+
+    /**
+     * Sets the margin above the noise floor that counts as speech. Lower values detect quieter
+     * speech but are more sensitive to noise.
+     *
+     * @param sensitivity Margin in dB.
+     */
+    public void setSensitivity(float sensitivity) {
+        settings.setSensitivity(sensitivity);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PROCESSING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Processes a level reported by a recognizer, such as
+     * {@code RecognitionListener#onRmsChanged(float)}.
+     *
+     * @param level The level in dB.
+     * @param time  The time of the level in milliseconds, of any monotonic clock.
+     *
+     * @return {@link #EVENT_NONE}, {@link #EVENT_SPEECH_START} or {@link #EVENT_SPEECH_END}.
+     */
+    public int process(float level, long time) {
+        if (!settings.isEnabled()) return EVENT_NONE;
+
+        // First level initializes the noise floor.
+        if (Float.isNaN(noiseFloor)) noiseFloor = level;
+
+        final boolean loud = level > noiseFloor + settings.getSensitivity();
+
+        // Track noise floor while nobody speaks. Drop fast, rise slowly.
+        if (!loud) {
+            if (level < noiseFloor) noiseFloor = level;
+            else noiseFloor += FLOOR_RISE * (level - noiseFloor);
+        }
+
+        if (!speaking) {
+            if (!loud) return EVENT_NONE;
+
+            speaking = true;
+            speechStart = time;
+            silenceStart = -1;
+            return EVENT_SPEECH_START;
+        }
+
+        if (loud) {
+            silenceStart = -1;
+            return EVENT_NONE;
+        }
+
+        // Start counting trailing silence.
+        if (silenceStart < 0) silenceStart = time;
+
+        // Check if silence lasted long enough.
+        if (time - silenceStart < settings.getHangover()) return EVENT_NONE;
+
+        speaking = false;
+
+        // Burst was too short to be speech, so it was noise. Wait for the next one.
+        if (silenceStart - speechStart < MIN_SPEECH) {
+            silenceStart = -1;
+            return EVENT_NONE;
+        }
+
+        endOfSpeech = silenceStart;
+        return EVENT_SPEECH_END;
+    }
+
+    /**
+     * Processes a frame of 16-bit PCM samples.
+     *
+     * @param frame  The samples.
+     * @param length Number of valid samples.
+     * @param time   The time of the frame in milliseconds, of any monotonic clock.
+     *
+     * @return {@link #EVENT_NONE}, {@link #EVENT_SPEECH_START} or {@link #EVENT_SPEECH_END}.
+     */
+    public int process(@NonNull short[] frame, int length, long time) {
+        return process(levelOf(frame, length), time);
+    }
+
+    /**
+     * Reports that the final result of the current utterance arrived. Records the latency since
+     * the detected end of speech, if any, and resets the detector for the next utterance.
+     *
+     * @param time The time of the final result, of the same clock used for processing.
+     *
+     * @return The latency between the detected end of speech and the final result in
+     * milliseconds, or {@code -1} if end of speech was not detected.
+     */
+    public long onFinalResult(long time) {
+        final long latency = endOfSpeech >= 0 ? time - endOfSpeech : -1;
+        if (latency >= 0) lastLatency = latency;
+
+        reset();
+        return latency;
+    }
+
+    /**
+     * Resets the detector for a new utterance. The noise floor is kept.
+     */
+    public void reset() {
+        speaking = false;
+        silenceStart = -1;
+        endOfSpeech = -1;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return {@code True} if the detector is enabled. {@code False} otherwise. */
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /** @return Trailing silence that ends speech, in milliseconds. */
+    public long getHangover() {
+        return settings.getHangover();
+    }
+
+    /** @return Margin above the noise floor that counts as speech, in dB. */
+    public float getSensitivity() {
+        return settings.getSensitivity();
+    }
+
+    /** @return The settings the detector follows. */
+    @NonNull
+    public VoiceActivitySettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Returns the latency between the last detected end of speech and its final result. This
+     * includes the hangover, so it is the dead air the user experienced.
+     *
+     * @return The latency in milliseconds, or {@code -1} if nothing was measured yet.
+     */
+    public long getLastEndOfSpeechLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Computes the level of given frame relative to full scale.
+     *
+     * @param frame  The samples.
+     * @param length Number of valid samples.
+     *
+     * @return The rms level of given frame in dB.
+     */
+    public static float levelOf(@NonNull short[] frame, int length) {
+        if (length <= 0) return SILENCE_DB;
+
+        long sum = 0;
+        for (int i = 0; i < length; i++) sum += frame[i] * frame[i];
+        if (sum == 0) return SILENCE_DB;
+
+        final double rms = Math.sqrt((double) sum / length) / Short.MAX_VALUE;
+        return (float) (20 * Math.log10(rms));
+    }
+}
@@ -0,0 +1,90 @@
+package com.vgraphics.engineAsr.Capture;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Settings of end of speech detection. A single instance can be shared by the
+ * {@link VoiceActivityDetector} of every engine, so a change applies to all of them at once,
+ * while every detector keeps its own noise floor and speech state. Functions are safe to call
+ * from any thread.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class VoiceActivitySettings {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Defines if detection is enabled. */
+    private volatile boolean enabled;
+    /** Trailing silence that ends speech, in milliseconds. */
+    private volatile long hangover = VoiceActivityDetector.DEFAULT_HANGOVER;
+    /** Margin above the noise floor that counts as speech, in dB. */
+    private volatile float sensitivity = VoiceActivityDetector.DEFAULT_SENSITIVITY;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Enables or disables detection. A disabled detector never reports events.
+     *
+     * @param enabled {@code True} to enable detection.
+     *
+     * @return These settings.
+     */
+    @NonNull
+    public VoiceActivitySettings setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * Sets the trailing silence that ends speech. Lower values end utterances faster but may cut
+     * users that pause while speaking.
+     *
+     * @param hangover Trailing silence in milliseconds.
+     *
+     * @return These settings.
+     */
+    @NonNull
+    public VoiceActivitySettings setHangover(long hangover) {
+        this.hangover = Math.max(0, hangover);
+        return this;
+    }
+
+    /**
+     * Sets the margin above the noise floor that counts as speech. Lower values detect quieter
+     * speech but are more sensitive to noise.
+     *
+     * @param sensitivity Margin in dB.
+     *
+     * @return These settings.
+     */
+    @NonNull
+    public VoiceActivitySettings setSensitivity(float sensitivity) {
+        this.sensitivity = Math.max(0, sensitivity);
+        return this;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return {@code True} if detection is enabled. {@code False} otherwise. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** @return Trailing silence that ends speech, in milliseconds. */
+    public long getHangover() {
+        return hangover;
+    }
+
+    /** @return Margin above the noise floor that counts as speech, in dB. */
+    public float getSensitivity() {
+        return sensitivity;
+    }
+}
@@ -0,0 +1,428 @@
+package com.vgraphics.engineAsr.Commands;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registry of voice command phrases that finds them inside recognized text. Phrases are compiled
+ * into an Aho-Corasick automaton, so a text is matched against every command in a single pass
+ * over its characters, without allocating anything.
+ *
+ * <p>Phrases and texts are compared in lower case, and any run of characters that are neither
+ * letters nor digits counts as a single space. Phrases only match whole tokens, so {@code "on"}
+ * is not found in {@code "one"}. When phrases overlap, the longest one wins. A phrase found
+ * inside a longer one at the same position, such as {@code "on"} in {@code "lights on"}, is not
+ * reported, and neither is a phrase that the following text extends to a longer one, such as
+ * {@code "open"} in {@code "open settings"}.
+ *
+ * <p>Partial results keep growing, so a phrase at the end of a partial that is the start of a
+ * longer phrase is ambiguous until more text arrives. Such phrases are only reported in complete
+ * texts, which are final results. Every other phrase is reported as soon as it is found.
+ * Recognizers report whole words, so the last token of a partial is taken as complete.
+ *
+ * <p>Commands may be added and removed from any thread. The automaton is compiled again on the
+ * first match after a change.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CommandMatcher {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Separator of tokens, which also marks the start and the end of phrases and texts. */
+    private static final char SPACE = ' ';
+    /** The following text diverges from every longer phrase. */
+    private static final int WALK_DIVERGED = 0;
+    /** The following text completes a longer phrase. */
+    private static final int WALK_EXTENDED = 1;
+    /** The text ends while it may still become a longer phrase. */
+    private static final int WALK_OPEN = 2;
+
+    /** Ids of the commands, in order of registration. */
+    private final List<Integer> ids = new ArrayList<>();
+    /** Phrases of the commands as given. */
+    private final List<String> phrases = new ArrayList<>();
+    /** Compiled automaton, or {@code null} if commands changed since it was compiled. */
+    private volatile Automaton automaton;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → REGISTRY FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Adds a command, or replaces the phrase of a command that was already added.
+     *
+     * @param id     Id of the command, reported when its phrase is found. Must not be negative.
+     * @param phrase Phrase of the command.
+     *
+     * @return This matcher.
+     *
+     * @throws IllegalArgumentException If given id is negative, if given phrase has no letters or
+     *                                  digits, or if it already belongs to another command.
+     */
+    @NonNull
+    public synchronized CommandMatcher add(int id, @NonNull String phrase) {
+        if (id < 0) throw new IllegalArgumentException("Id must not be negative : " + id);
+
+        final String normalized = normalize(phrase);
+        if (normalized.isEmpty())
+            throw new IllegalArgumentException("Phrase has no letters or digits : " + phrase);
+
+        for (int i = 0; i < phrases.size(); i++) {
+            if (ids.get(i) != id && normalize(phrases.get(i)).equals(normalized))
+                throw new IllegalArgumentException("Phrase \"" + phrase +
+                        "\" already belongs to command " + ids.get(i));
+        }
+
+        final int index = ids.indexOf(id);
+        if (index >= 0) phrases.set(index, phrase);
+        else {
+            ids.add(id);
+            phrases.add(phrase);
+        }
+
+        automaton = null;
+        return this;
+    }
+
+    /**
+     * Removes a command.
+     *
+     * @param id Id of the command.
+     *
+     * @return {@code True} if the command was removed. {@code False} if there was no such command.
+     */
+    public synchronized boolean remove(int id) {
+        final int index = ids.indexOf(id);
+        if (index < 0) return false;
+
+        ids.remove(index);
+        phrases.remove(index);
+        automaton = null;
+        return true;
+    }
+
+    /**
+     * Removes every command.
+     */
+    public synchronized void clear() {
+        ids.clear();
+        phrases.clear();
+        automaton = null;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → MATCHING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Finds every command in given text and reports them to given sink in order of appearance.
+     * Allocates nothing unless commands changed since the last match.
+     *
+     * @param text     The text to search.
+     * @param complete {@code True} if the text is a final result. {@code False} if it is a
+     *                 partial result that may still grow.
+     * @param sink     Sink to report the commands to.
+     *
+     * @return Number of commands reported.
+     */
+    public int match(@NonNull CharSequence text, boolean complete, @NonNull Sink sink) {
+        return compiled().match(text, complete, sink);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of commands. */
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    /**
+     * @param id Id of a command.
+     *
+     * @return Phrase of given command or {@code null} if there is no such command.
+     */
+    @Nullable
+    public synchronized String getPhrase(int id) {
+        final int index = ids.indexOf(id);
+        return index >= 0 ? phrases.get(index) : null;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @return The compiled automaton, compiling it first if commands changed.
+     */
+    @NonNull
+    private Automaton compiled() {
+        final Automaton automaton = this.automaton;
+        if (automaton != null) return automaton;
+
+        synchronized (this) {
+            if (this.automaton == null) this.automaton = new Automaton(ids, phrases);
+            return this.automaton;
+        }
+    }
+
+    /**
+     * Normalizes given character. Letters and digits are lower cased, anything else is a space.
+     *
+     * @param c The character.
+     *
+     * @return The normalized character.
+     */
+    private static char normalize(char c) {
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : SPACE;
+    }
+
+    /**
+     * Normalizes given phrase. Tokens are lower cased and separated by single spaces.
+     *
+     * @param phrase The phrase.
+     *
+     * @return The normalized phrase. Empty if it has no letters or digits.
+     */
+    @NonNull
+    static String normalize(@NonNull String phrase) {
+        final StringBuilder builder = new StringBuilder(phrase.length());
+        for (int i = 0; i < phrase.length(); i++) {
+            final char c = normalize(phrase.charAt(i));
+            if (c != SPACE) builder.append(c);
+            else if (builder.length() > 0 && builder.charAt(builder.length() - 1) != SPACE)
+                builder.append(SPACE);
+        }
+
+        final int length = builder.length();
+        if (length > 0 && builder.charAt(length - 1) == SPACE) builder.setLength(length - 1);
+        return builder.toString();
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Receives the commands found in a text.
+     */
+    public interface Sink {
+        /**
+         * Invokes for every command found in a text.
+         *
+         * @param id     Id of the command.
+         * @param phrase Phrase of the command as it was added.
+         *
+         * @return {@code True} to keep matching. {@code False} to stop.
+         */
+        boolean onCommandFound(int id, @NonNull String phrase);
+    }
+
+    /**
+     * Immutable Aho-Corasick automaton over the normalized phrases. Every phrase is enclosed in
+     * spaces, so phrases only match whole tokens. Edges of a node are sorted by character and
+     * looked up with a binary search.
+     */
+    private static final class Automaton {
+        /** Ids of the commands by command index. */
+        private final int[] ids;
+        /** Phrases of the commands by command index. */
+        private final String[] phrases;
+        /** Index of the first edge of every node. Edges of node n end at edgeStart[n + 1]. */
+        private final int[] edgeStart;
+        /** Character of every edge. */
+        private final char[] edgeChars;
+        /** Target node of every edge. */
+        private final int[] edgeTargets;
+        /** Longest proper suffix of every node that is also a node. */
+        private final int[] fail;
+        /** Command index of the phrase that ends at every node, or {@code -1}. */
+        private final int[] output;
+        /** Nearest node along the fail links that ends a phrase, or {@code -1}. */
+        private final int[] outputLink;
+
+        /**
+         * Compiles given commands.
+         *
+         * @param ids     Ids of the commands.
+         * @param phrases Phrases of the commands.
+         */
+        Automaton(@NonNull List<Integer> ids, @NonNull List<String> phrases) {
+            this.ids = new int[ids.size()];
+            this.phrases = phrases.toArray(new String[0]);
+
+            // Build the trie.
+            final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            final List<Integer> outputs = new ArrayList<>();
+            trie.add(new TreeMap<Character, Integer>());
+            outputs.add(-1);
+            for (int i = 0; i < this.phrases.length; i++) {
+                this.ids[i] = ids.get(i);
+
+                final String phrase = SPACE + normalize(this.phrases[i]) + SPACE;
+                int node = 0;
+                for (int j = 0; j < phrase.length(); j++) {
+                    Integer next = trie.get(node).get(phrase.charAt(j));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.get(node).put(phrase.charAt(j), next);
+                        trie.add(new TreeMap<Character, Integer>());
+                        outputs.add(-1);
+                    }
+                    node = next;
+                }
+                outputs.set(node, i);
+            }
+
+            // Flatten the trie into sorted edge arrays.
+            final int nodes = trie.size();
+            edgeStart = new int[nodes + 1];
+            edgeChars = new char[nodes - 1];
+            edgeTargets = new int[nodes - 1];
+            output = new int[nodes];
+            int edge = 0;
+            for (int n = 0; n < nodes; n++) {
+                edgeStart[n] = edge;
+                output[n] = outputs.get(n);
+                for (Map.Entry<Character, Integer> entry : trie.get(n).entrySet()) {
+                    edgeChars[edge] = entry.getKey();
+                    edgeTargets[edge++] = entry.getValue();
+                }
+            }
+            edgeStart[nodes] = edge;
+
+            // Compute fail and output links breadth first.
+            fail = new int[nodes];
+            outputLink = new int[nodes];
+            outputLink[0] = -1;
+            final ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+                fail[edgeTargets[e]] = 0;
+                outputLink[edgeTargets[e]] = -1;
+                queue.add(edgeTargets[e]);
+            }
+            while (!queue.isEmpty()) {
+                final int node = queue.poll();
+                for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                    final int child = edgeTargets[e];
+                    final int suffix = step(fail[node], edgeChars[e]);
+                    fail[child] = suffix;
+                    outputLink[child] = output[suffix] >= 0 ? suffix : outputLink[suffix];
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * Finds every command in given text. See {@link CommandMatcher#match}.
+         *
+         * @param text     The text to search.
+         * @param complete Defines if the text is complete.
+         * @param sink     Sink to report the commands to.
+         *
+         * @return Number of commands reported.
+         */
+        int match(@NonNull CharSequence text, boolean complete, @NonNull Sink sink) {
+            if (ids.length == 0) return 0;
+
+            // Ignore trailing separators, so that the end of the text is known while matching.
+            int end = text.length();
+            while (end > 0 && normalize(text.charAt(end - 1)) == SPACE) end--;
+
+            int found = 0;
+            int state = step(0, SPACE);
+            boolean space = true;
+            for (int i = 0; i <= end; i++) {
+                final char c = i < end ? normalize(text.charAt(i)) : SPACE;
+                if (c == SPACE && space) continue;
+                space = c == SPACE;
+                state = step(state, c);
+
+                // Report the longest phrase that ends here, unless the text goes on into a
+                // longer one.
+                final int node = output[state] >= 0 ? state : outputLink[state];
+                if (node < 0) continue;
+
+                final int walk = i < end ? walk(node, text, i + 1, end) :
+                        edgeStart[node] < edgeStart[node + 1] ? WALK_OPEN : WALK_DIVERGED;
+                if (walk == WALK_EXTENDED || (walk == WALK_OPEN && !complete)) continue;
+
+                found++;
+                final int command = output[node];
+                if (!sink.onCommandFound(ids[command], phrases[command])) break;
+            }
+
+            return found;
+        }
+
+        /**
+         * Follows the trie from given node along the text that follows it.
+         *
+         * @param node The node of a phrase.
+         * @param text The text.
+         * @param from Index of the text that follows the phrase.
+         * @param end  Index of the text after its last token.
+         *
+         * @return Any of {@link #WALK_DIVERGED}, {@link #WALK_EXTENDED} or {@link #WALK_OPEN}.
+         */
+        private int walk(int node, @NonNull CharSequence text, int from, int end) {
+            boolean space = true;
+            for (int i = from; i <= end; i++) {
+                final char c = i < end ? normalize(text.charAt(i)) : SPACE;
+                if (c == SPACE && space) continue;
+                space = c == SPACE;
+
+                node = child(node, c);
+                if (node < 0) return WALK_DIVERGED;
+                if (output[node] >= 0) return WALK_EXTENDED;
+            }
+
+            // The last token may still grow, unless nothing can follow it.
+            return edgeStart[node] < edgeStart[node + 1] ? WALK_OPEN : WALK_DIVERGED;
+        }
+
+        /**
+         * Moves from given node with given character, following fail links if needed.
+         *
+         * @param node The node.
+         * @param c    The normalized character.
+         *
+         * @return The next node.
+         */
+        private int step(int node, char c) {
+            while (true) {
+                final int next = child(node, c);
+                if (next >= 0) return next;
+                if (node == 0) return 0;
+                node = fail[node];
+            }
+        }
+
+        /**
+         * @param node The node.
+         * @param c    The normalized character.
+         *
+         * @return The child of given node with given character or {@code -1} if there is none.
+         */
+        private int child(int node, char c) {
+            int low = edgeStart[node];
+            int high = edgeStart[node + 1] - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final char value = edgeChars[middle];
+                if (value < c) low = middle + 1;
+                else if (value > c) high = middle - 1;
+                else return edgeTargets[middle];
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({AdmissionRejection.QUEUE_FULL, AdmissionRejection.DUPLICATE,
+        AdmissionRejection.CANCELLED_BY_STOP, AdmissionRejection.NOT_LISTENING,
+        AdmissionRejection.ENGINE_UNAVAILABLE})
+public @interface AdmissionRejection {
+    /**
+     * Defines that the command queue was full when the request arrived. This only happens when
+     * requests are issued much faster than the engine is able to serve them.
+     */
+    int QUEUE_FULL = 0;
+    /**
+     * Defines that an identical request was already queued, so the new one was merged into it.
+     */
+    int DUPLICATE = 1;
+    /**
+     * Defines that a queued start request was cancelled out by a following stop request before
+     * the engine got the chance to start.
+     */
+    int CANCELLED_BY_STOP = 2;
+    /**
+     * Defines that a stop request arrived while the engine was neither listening nor requested to
+     * start, so there was nothing to stop.
+     */
+    int NOT_LISTENING = 3;
+    /**
+     * Defines that the request could not be served since no engine is currently constructed or
+     * the engine was changed while the request was queued.
+     */
+    int ENGINE_UNAVAILABLE = 4;
+}
@@ -0,0 +1,42 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({AsrCommand.CONSTRUCT, AsrCommand.START, AsrCommand.STOP, AsrCommand.DESTROY,
+        AsrCommand.POOL_CAPACITY, AsrCommand.PRELOAD, AsrCommand.DICTATE})
+public @interface AsrCommand {
+    /**
+     * Constructs or rebuilds the engine using a language and an engine code. Consecutive
+     * construct commands are merged, since only the latest one has any effect.
+     */
+    int CONSTRUCT = 0;
+    /**
+     * Requests the engine to start listening to user input.
+     */
+    int START = 1;
+    /**
+     * Requests the engine to stop listening to user input.
+     */
+    int STOP = 2;
+    /**
+     * Disposes the engine.
+     */
+    int DESTROY = 3;
+    /**
+     * Changes the capacity of the recognizer pool of the engine. Consecutive pool capacity
+     * commands are merged.
+     */
+    int POOL_CAPACITY = 4;
+    /**
+     * Constructs an engine ahead of use, without switching to it.
+     */
+    int PRELOAD = 5;
+    /**
+     * Starts a continuous dictation. Sessions are re-armed until a stop command.
+     */
+    int DICTATE = 6;
+}
@@ -0,0 +1,42 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({AsrEngines.GOOGLE_FREE, AsrEngines.OFFLINE, AsrEngines.REPLAY, AsrEngines.FAILOVER})
+public @interface AsrEngines {
+    /**
+     * Defines the Google Free asr engine. Notice that this engine may only work if Google speech
+     * kit is installed on current device since {@code android.speech.SpeechRecognizer} is used.
+     *
+     * <p>Please note that the application must have
+     * {@code android.Manifest.permission#RECORD_AUDIO} permission to use this class.
+     */
+    int GOOGLE_FREE = 0;
+
+    /**
+     * Defines the offline asr engine. Decoding happens on the device out of model files supplied
+     * through {@code Asr#setOfflineModel(String, String)}, so no network is required. Notice that
+     * this engine may only work if the Vosk library {@code com.alphacephei:vosk-android} is added
+     * to the application dependencies.
+     *
+     * <p>Please note that the application must have
+     * {@code android.Manifest.permission#RECORD_AUDIO} permission to use this class.
+     */
+    int OFFLINE = 1;
+    /**
+     * Defines the replay engine, which replays recorded sessions of a
+     * {@link com.vgraphics.engineAsr.Replay.ReplayTrace} instead of recognizing speech. Meant for
+     * load tests, benchmarks and reproducing timing issues. No permission or service is required.
+     */
+    int REPLAY = 2;
+    /**
+     * Defines the failover engine, which recognizes through an ordered list of other engines set
+     * through {@code Asr#setFailover(int[], long)}, and moves on to the next one when an engine
+     * fails. See {@link com.vgraphics.engineAsr.Failover.FailoverAsr}.
+     */
+    int FAILOVER = 3;
+}
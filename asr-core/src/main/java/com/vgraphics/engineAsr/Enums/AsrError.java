@@ -0,0 +1,56 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({AsrError.NETWORK_TIMEOUT, AsrError.NETWORK, AsrError.AUDIO, AsrError.SERVER,
+        AsrError.CLIENT, AsrError.SPEECH_TIMEOUT, AsrError.NO_MATCH, AsrError.RECOGNIZER_BUSY,
+        AsrError.INSUFFICIENT_PERMISSIONS, AsrError.CIRCUIT_OPEN})
+public @interface AsrError {
+    /**
+     * Network operation timed out. Same value as {@code SpeechRecognizer.ERROR_NETWORK_TIMEOUT}.
+     */
+    int NETWORK_TIMEOUT = 1;
+    /**
+     * Other network related error. Same value as {@code SpeechRecognizer.ERROR_NETWORK}.
+     */
+    int NETWORK = 2;
+    /**
+     * Audio recording error. Same value as {@code SpeechRecognizer.ERROR_AUDIO}.
+     */
+    int AUDIO = 3;
+    /**
+     * Server sent an error status. Same value as {@code SpeechRecognizer.ERROR_SERVER}.
+     */
+    int SERVER = 4;
+    /**
+     * Other client side error, such as a session that never started. Same value as
+     * {@code SpeechRecognizer.ERROR_CLIENT}.
+     */
+    int CLIENT = 5;
+    /**
+     * No speech input. Same value as {@code SpeechRecognizer.ERROR_SPEECH_TIMEOUT}.
+     */
+    int SPEECH_TIMEOUT = 6;
+    /**
+     * No recognition result matched. Same value as {@code SpeechRecognizer.ERROR_NO_MATCH}.
+     */
+    int NO_MATCH = 7;
+    /**
+     * Recognition service is busy. Same value as {@code SpeechRecognizer.ERROR_RECOGNIZER_BUSY}.
+     */
+    int RECOGNIZER_BUSY = 8;
+    /**
+     * Insufficient permissions. Same value as
+     * {@code SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS}.
+     */
+    int INSUFFICIENT_PERMISSIONS = 9;
+    /**
+     * Session was not started since the circuit breaker of the recognizer is open after too many
+     * failures in a row. Library specific, not a {@code SpeechRecognizer} value.
+     */
+    int CIRCUIT_OPEN = 100;
+}
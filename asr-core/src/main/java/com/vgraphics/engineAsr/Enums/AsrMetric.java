@@ -0,0 +1,52 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({AsrMetric.START_LATENCY, AsrMetric.RESULT_LATENCY, AsrMetric.PARTIAL_GAP,
+        AsrMetric.REBUILD, AsrMetric.WATCHDOG, AsrMetric.BUSY_RETRY, AsrMetric.THROTTLED,
+        AsrMetric.REJECTED, AsrMetric.ERROR})
+public @interface AsrMetric {
+    /**
+     * Timing. Milliseconds between a start command reaching the engine and the engine starting to
+     * listen, that is {@code startListening} to {@code onReadyForSpeech}.
+     */
+    int START_LATENCY = 0;
+    /**
+     * Timing. Milliseconds between the end of speech and the final result, that is
+     * {@code onEndOfSpeech} to {@code onResults}.
+     */
+    int RESULT_LATENCY = 1;
+    /**
+     * Timing. Milliseconds between two consecutive partial results of the same session.
+     */
+    int PARTIAL_GAP = 2;
+    /**
+     * Timing. Milliseconds an engine spent rebuilding for a language, such as constructing a
+     * recognizer or loading a model.
+     */
+    int REBUILD = 3;
+    /**
+     * Counter. Number of sessions abandoned by the start watch dog of an engine.
+     */
+    int WATCHDOG = 4;
+    /**
+     * Counter. Number of times an engine reported that it was busy and was reset.
+     */
+    int BUSY_RETRY = 5;
+    /**
+     * Counter. Number of starts held back to respect the minimum start spacing.
+     */
+    int THROTTLED = 6;
+    /**
+     * Counter. Number of requests that did not reach the engine. See {@link AdmissionRejection}.
+     */
+    int REJECTED = 7;
+    /**
+     * Counter. Number of errors reported by the engine, also kept per error code.
+     */
+    int ERROR = 8;
+}
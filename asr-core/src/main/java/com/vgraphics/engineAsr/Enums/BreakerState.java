@@ -0,0 +1,25 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({BreakerState.CLOSED, BreakerState.OPEN, BreakerState.HALF_OPEN})
+public @interface BreakerState {
+    /**
+     * Recognizer is healthy. Sessions start as requested.
+     */
+    int CLOSED = 0;
+    /**
+     * Recognizer failed too many times in a row. Sessions fail fast with
+     * {@link AsrError#CIRCUIT_OPEN} until the cool-down period is over.
+     */
+    int OPEN = 1;
+    /**
+     * Cool-down period is over. A single probe session is let through, which closes the breaker
+     * if it succeeds and opens it again if it fails.
+     */
+    int HALF_OPEN = 2;
+}
@@ -0,0 +1,30 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef(flag = true, value = {EngineCapability.STREAMING, EngineCapability.OFFLINE,
+        EngineCapability.LANGUAGE_DISCOVERY, EngineCapability.VOICE_ACTIVITY})
+public @interface EngineCapability {
+    /**
+     * Engine streams partial results while the user speaks.
+     */
+    int STREAMING = 1;
+    /**
+     * Engine works with no network connection.
+     */
+    int OFFLINE = 1 << 1;
+    /**
+     * Engine can discover its supported languages on its own, instead of only supporting the
+     * languages it was given.
+     */
+    int LANGUAGE_DISCOVERY = 1 << 2;
+    /**
+     * Engine ends sessions early through the shared
+     * {@link com.vgraphics.engineAsr.Capture.VoiceActivityDetector}.
+     */
+    int VOICE_ACTIVITY = 1 << 3;
+}
@@ -0,0 +1,25 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({ErrorClass.TRANSIENT, ErrorClass.FATAL, ErrorClass.NO_MATCH})
+public @interface ErrorClass {
+    /**
+     * The error is likely to go away on its own, such as a network error or a busy recognizer.
+     * The session is retried after a backoff and the failure counts towards the circuit breaker.
+     */
+    int TRANSIENT = 0;
+    /**
+     * The error will not go away by retrying, such as missing permissions. It is reported at once.
+     */
+    int FATAL = 1;
+    /**
+     * The recognizer worked but heard nothing it could match. It is reported at once and proves
+     * the recognizer healthy.
+     */
+    int NO_MATCH = 2;
+}
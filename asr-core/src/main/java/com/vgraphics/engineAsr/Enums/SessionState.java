@@ -0,0 +1,30 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({SessionState.UNDEFINED, SessionState.IDLE, SessionState.REQUESTED,
+        SessionState.LISTENING})
+public @interface SessionState {
+    /**
+     * Int counterpart of {@link EngineState#UNDEFINED}. Engine is not constructed or has been
+     * disposed.
+     */
+    int UNDEFINED = 0;
+    /**
+     * Int counterpart of {@link EngineState#IDLE}. Engine is free to start a new session.
+     */
+    int IDLE = 1;
+    /**
+     * Int counterpart of {@link EngineState#REQUESTED}. Engine was requested to start and we are
+     * awaiting for the engine to become ready.
+     */
+    int REQUESTED = 2;
+    /**
+     * Int counterpart of {@link EngineState#LISTENING}. Engine is listening to user's voice.
+     */
+    int LISTENING = 3;
+}
@@ -0,0 +1,40 @@
+package com.vgraphics.engineAsr.Enums;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.SOURCE)
+@IntDef({TraceEvent.START, TraceEvent.PARTIAL, TraceEvent.END_OF_SPEECH, TraceEvent.FINAL,
+        TraceEvent.ERROR, TraceEvent.CANCELLED})
+public @interface TraceEvent {
+    /**
+     * Engine is ready and listens to user input. Replayed through {@code onAsrStart}.
+     */
+    int START = 0;
+    /**
+     * A partial result. Carries the text of the partial. Replayed through
+     * {@code onAsrPartialResult}.
+     */
+    int PARTIAL = 1;
+    /**
+     * User stopped speaking. Not delivered to the listener, but kept so that the latency between
+     * the end of speech and the final result is replayed and recorded.
+     */
+    int END_OF_SPEECH = 2;
+    /**
+     * The final result, which ends the session. Carries the text of the result. Replayed through
+     * {@code onAsrFinalResult}.
+     */
+    int FINAL = 3;
+    /**
+     * An error, which ends the session. Carries the error code. Replayed through
+     * {@code onAsrError}.
+     */
+    int ERROR = 4;
+    /**
+     * Session was cancelled while listening. Replayed through {@code onAsrCancelled}.
+     */
+    int CANCELLED = 5;
+}
@@ -0,0 +1,601 @@
+package com.vgraphics.engineAsr.Failover;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommittedPartialListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Interfaces.AsrRetryListener;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import java.util.List;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Engine that recognizes through an ordered list of engines. Every start goes to the first
+ * engine, and if it fails with an error another engine may get right, see
+ * {@link #isFailoverError(int)}, or its start watch dog gives up, the next engine is started
+ * within the same user turn. The listener only hears about a failure once every engine failed.
+ *
+ * <p>In hedged mode, the next engine is also started if the first one did not start listening or
+ * report a partial result within the hedge delay. Both engines then listen and the first final
+ * result wins. The other engine is stopped and its callbacks are dropped. Partial results are
+ * forwarded from the engine that reported one first. Notice that hedged engines listen at the same
+ * time, so they must be able to share the microphone.
+ *
+ * <p>Starts, wins, losses, failures and hedges are counted per engine, see
+ * {@link #getStats(int)}. Notice that this engine must only be used from the thread of its
+ * scheduler, which is the main thread on Android.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class FailoverAsr implements AsrEngineInterface {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Hedge delay that disables hedging. */
+    public static final long NO_HEDGE = 0;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler that times the hedge delay. */
+    private final Scheduler scheduler;
+    /** Engines in the order they are tried. */
+    private final AsrEngineInterface[] engines;
+    /** Listeners of the engines. */
+    private final Member[] members;
+    /** Listener to invoke asr events. */
+    private volatile AsrCallbacksListener listener;
+    /** Time the first engine gets before the next one is started too, or {@link #NO_HEDGE}. */
+    private volatile long hedgeDelay = NO_HEDGE;
+    /** Defines if a user turn is in progress. */
+    private boolean active;
+    /** Defines if the user turn was commanded to stop. */
+    private boolean stopping;
+    /** Index of the next engine to start in the current turn. */
+    private int next;
+    /** Index of the first engine started in the current turn, or {@code -1}. */
+    private int primary = -1;
+    /** Index of the engine whose partial results are forwarded, or {@code -1}. */
+    private int leader = -1;
+    /** Index of the engine whose final result won the current turn, or {@code -1}. */
+    private int winner = -1;
+    /** Defines if the start of the current turn was forwarded. */
+    private boolean startForwarded;
+    /** Number of engines that reported initialization. */
+    private int initialized;
+    /** Defines if initialization was forwarded. */
+    private boolean initializedForwarded;
+    /** Defines if the engine was disposed. */
+    private boolean disposed;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that starts the next engine if the first one made no progress in time. */
+    private final Runnable hedgeRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (!active || stopping || winner >= 0 || next == engines.length) return;
+
+            Log.d(TAG, TAG + "Engine " + primary + " made no progress in " + hedgeDelay +
+                    " ms. Hedging...");
+
+            final int started = next;
+            if (startNext()) members[started].hedges++;
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new failover engine. The listeners of given engines are replaced.
+     *
+     * @param scheduler Scheduler that times the hedge delay.
+     * @param engines   Engines in the order they are tried.
+     * @param listener  Listener to invoke asr events.
+     *
+     * @throws IllegalArgumentException If no engines are given.
+     */
+    public FailoverAsr(@NonNull Scheduler scheduler, @NonNull List<AsrEngineInterface> engines,
+                       @NonNull AsrCallbacksListener listener) {
+        if (engines.isEmpty()) throw new IllegalArgumentException("No engines to fail over.");
+
+        this.scheduler = scheduler;
+        this.engines = engines.toArray(new AsrEngineInterface[0]);
+        this.members = new Member[this.engines.length];
+        this.listener = listener;
+
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Member(i);
+            this.engines[i].setListener(members[i]);
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the time the first engine of a turn gets to start listening or report a partial
+     * result, before the next engine is started too. Applies from the next turn.
+     *
+     * @param hedgeDelay The delay in milliseconds or {@link #NO_HEDGE} to only fail over.
+     *
+     * @throws IllegalArgumentException If given delay is negative.
+     */
+    public void setHedgeDelay(long hedgeDelay) {
+        if (hedgeDelay < 0) throw new IllegalArgumentException("Hedge delay must not be " +
+                "negative : " + hedgeDelay);
+
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The hedge delay in milliseconds or {@link #NO_HEDGE}. */
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /** @return Number of engines. */
+    public int getEngineCount() {
+        return engines.length;
+    }
+
+    /**
+     * @param index Index of the engine, in the order engines are tried.
+     *
+     * @return The engine.
+     */
+    @NonNull
+    public AsrEngineInterface getEngine(int index) {
+        return engines[index];
+    }
+
+    /**
+     * @param index Index of the engine, in the order engines are tried.
+     *
+     * @return Snapshot of the statistics of the engine since construction.
+     */
+    @NonNull
+    public EngineStats getStats(int index) {
+        final Member member = members[index];
+        return new EngineStats(engines[index].engineCode(), member.starts, member.wins,
+                member.losses, member.failures, member.hedges);
+    }
+
+    /** @return {@code True} if a user turn is in progress. {@code False} otherwise. */
+    public boolean isListening() {
+        return active;
+    }
+
+    /**
+     * Defines if another engine may get right what given error made an engine fail at. Errors of
+     * the network, the server, the client, a busy recognizer and an open circuit breaker fail
+     * over. Errors of the audio,
+     * the permissions or the speech itself do not, since every engine would run into them.
+     *
+     * @param error The error code. See {@link AsrError}.
+     *
+     * @return {@code True} if the error fails over to the next engine. {@code False} otherwise.
+     */
+    public static boolean isFailoverError(int error) {
+        switch (error) {
+            case AsrError.NETWORK_TIMEOUT:
+            case AsrError.NETWORK:
+            case AsrError.SERVER:
+            case AsrError.CLIENT:
+            case AsrError.RECOGNIZER_BUSY:
+            case AsrError.CIRCUIT_OPEN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ENGINE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts a user turn on the first engine. Engines that report a failure before a result are
+     * replaced by the next one.
+     */
+    @Override
+    public void startListening() {
+        if (disposed) {
+            Log.e(TAG, TAG + "Failover engine is disposed. Can not start listening!");
+            return;
+        }
+        if (active) {
+            Log.w(TAG, TAG + "Failover engine is already listening. Skipping...");
+            return;
+        }
+
+        active = true;
+        stopping = false;
+        next = 0;
+        primary = -1;
+        leader = -1;
+        winner = -1;
+        startForwarded = false;
+
+        if (!startNext()) {
+            endTurn();
+            listener.onAsrError(AsrError.CLIENT);
+            return;
+        }
+
+        if (active && hedgeDelay != NO_HEDGE && next < engines.length)
+            scheduler.postDelayed(hedgeRunnable, hedgeDelay);
+    }
+
+    /**
+     * Stops every engine of the current turn. The first final result they deliver is forwarded.
+     */
+    @Override
+    public void stopListening() {
+        if (!active || stopping) return;
+
+        stopping = true;
+        scheduler.removeCallbacks(hedgeRunnable);
+        for (int i = 0; i < engines.length; i++)
+            if (members[i].running) engines[i].stopListening();
+    }
+
+    @Override
+    public void disposeEngine() {
+        disposed = true;
+        endTurn();
+        for (int i = 0; i < engines.length; i++) {
+            members[i].running = false;
+            engines[i].disposeEngine();
+        }
+    }
+
+    /** @return {@code True} if any engine supports given language. {@code False} otherwise. */
+    @Override
+    public boolean languageIsSupported(String language) {
+        for (AsrEngineInterface engine : engines)
+            if (engine.languageIsSupported(language)) return true;
+        return false;
+    }
+
+    @Override
+    public void setListener(@NonNull AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Retrieves the supported languages of the first engine, which serves every turn unless it
+     * fails.
+     */
+    @Override
+    public void getSupportedLanguages() {
+        engines[0].getSupportedLanguages();
+    }
+
+    @Override
+    public void setRecognitionLanguage(@NonNull String language) {
+        for (AsrEngineInterface engine : engines) engine.setRecognitionLanguage(language);
+    }
+
+    @Override
+    public int engineCode() {
+        return AsrEngines.FAILOVER;
+    }
+
+    /** @return {@code True} if any engine is available. {@code False} otherwise. */
+    @Override
+    public boolean getAvailability() {
+        for (AsrEngineInterface engine : engines) if (engine.getAvailability()) return true;
+        return false;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts the next available engine of the current turn.
+     *
+     * @return {@code True} if an engine was started. {@code False} if none is left.
+     */
+    private boolean startNext() {
+        while (next < engines.length) {
+            final int index = next++;
+            if (!engines[index].getAvailability()) continue;
+
+            final Member member = members[index];
+            member.running = true;
+            member.started = false;
+            member.starts++;
+            if (primary < 0) primary = index;
+            engines[index].startListening();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Makes given engine the winner of the current turn, unless another one already won. Every
+     * other engine still running is stopped and loses.
+     *
+     * @param index Index of the engine that delivered a final result.
+     *
+     * @return {@code True} if given engine won. {@code False} if another engine already won.
+     */
+    private boolean claim(int index) {
+        if (winner >= 0) return winner == index;
+
+        winner = index;
+        members[index].wins++;
+        scheduler.removeCallbacks(hedgeRunnable);
+
+        // Mark losers before stopping them, so their callbacks are dropped even if synchronous.
+        for (int i = 0; i < engines.length; i++) {
+            if (i == index || !members[i].running) continue;
+            members[i].running = false;
+            members[i].losses++;
+            engines[i].stopListening();
+        }
+        return true;
+    }
+
+    /**
+     * Handles an engine that ended its session without a result. Fails over to the next engine if
+     * the failure allows it and nothing else is running. Otherwise, reports the failure once no
+     * engine is left running.
+     *
+     * @param index    Index of the engine that ended.
+     * @param error    The error code, or {@code 0} if the session was cancelled.
+     * @param failover Defines if the failure may fail over.
+     */
+    private void memberEnded(int index, int error, boolean failover) {
+        for (Member member : members) if (member.running) return;
+
+        if (failover && !stopping && winner < 0 && next < engines.length) {
+            Log.w(TAG, TAG + "Engine " + index + " failed. Failing over to next engine...");
+            if (startNext()) return;
+        }
+
+        endTurn();
+        if (error != 0) listener.onAsrError(error);
+        else listener.onAsrCancelled();
+    }
+
+    /**
+     * Ends the current user turn.
+     */
+    private void endTurn() {
+        active = false;
+        stopping = false;
+        scheduler.removeCallbacks(hedgeRunnable);
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Statistics of one engine of a failover engine. A win is a turn the engine delivered the
+     * final result of, and a loss is a turn another engine delivered it while this one was still
+     * listening.
+     */
+    public static final class EngineStats {
+        /** Engine code of the engine. */
+        private final int engineCode;
+        /** Number of times the engine was started. */
+        private final long starts;
+        /** Number of turns won. */
+        private final long wins;
+        /** Number of turns lost. */
+        private final long losses;
+        /** Number of sessions that ended with an error or a start that never happened. */
+        private final long failures;
+        /** Number of times the engine was started as a hedge. */
+        private final long hedges;
+
+        /**
+         * Constructs a new statistics snapshot.
+         *
+         * @param engineCode Engine code of the engine.
+         * @param starts     Number of times the engine was started.
+         * @param wins       Number of turns won.
+         * @param losses     Number of turns lost.
+         * @param failures   Number of failed sessions.
+         * @param hedges     Number of times the engine was started as a hedge.
+         */
+        EngineStats(int engineCode, long starts, long wins, long losses, long failures,
+                    long hedges) {
+            this.engineCode = engineCode;
+            this.starts = starts;
+            this.wins = wins;
+            this.losses = losses;
+            this.failures = failures;
+            this.hedges = hedges;
+        }
+
+        /** @return Engine code of the engine. */
+        public int getEngineCode() {
+            return engineCode;
+        }
+
+        /** @return Number of times the engine was started. */
+        public long getStarts() {
+            return starts;
+        }
+
+        /** @return Number of turns the engine delivered the final result of. */
+        public long getWins() {
+            return wins;
+        }
+
+        /** @return Number of turns another engine delivered the final result of first. */
+        public long getLosses() {
+            return losses;
+        }
+
+        /** @return Number of sessions that ended with an error or a start that never happened. */
+        public long getFailures() {
+            return failures;
+        }
+
+        /** @return Number of times the engine was started as a hedge. */
+        public long getHedges() {
+            return hedges;
+        }
+
+        /** @return Share of the races the engine took part in that it won, or {@code 0}. */
+        public float getWinRate() {
+            return wins + losses > 0 ? (float) wins / (wins + losses) : 0;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "EngineStats{engine=" + engineCode + ", starts=" + starts + ", wins=" + wins +
+                    ", losses=" + losses + ", failures=" + failures + ", hedges=" + hedges + '}';
+        }
+    }
+
+    /**
+     * Listener of one engine. Callbacks of an engine that is not running in the current turn are
+     * dropped.
+     */
+    private final class Member implements AsrCallbacksListener, AsrResultListener,
+            AsrCommittedPartialListener, AsrRetryListener {
+        /** Index of the engine. */
+        private final int index;
+        /** Defines if the engine takes part in the current turn. */
+        private boolean running;
+        /** Defines if the engine started listening in the current turn. */
+        private boolean started;
+        /** Number of times the engine was started. */
+        private long starts;
+        /** Number of turns won. */
+        private long wins;
+        /** Number of turns lost. */
+        private long losses;
+        /** Number of failed sessions. */
+        private long failures;
+        /** Number of times the engine was started as a hedge. */
+        private long hedges;
+
+        /**
+         * Constructs a new engine listener.
+         *
+         * @param index Index of the engine.
+         */
+        Member(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onAsrInitialized(boolean success) {
+            if (initializedForwarded) return;
+
+            // Report success of any engine, but failure only once all of them failed.
+            initialized++;
+            if (!success && initialized < engines.length) return;
+
+            initializedForwarded = true;
+            listener.onAsrInitialized(success);
+        }
+
+        @Override
+        public void onAsrStart() {
+            if (!running) return;
+
+            started = true;
+            if (index == primary) scheduler.removeCallbacks(hedgeRunnable);
+            if (startForwarded) return;
+
+            startForwarded = true;
+            listener.onAsrStart();
+        }
+
+        @Override
+        public void onAsrCancelled() {
+            if (!running) return;
+
+            // A cancellation before the start is the watch dog of the engine giving up.
+            running = false;
+            if (leader == index) leader = -1;
+            if (!started && !stopping) failures++;
+            memberEnded(index, 0, !started);
+        }
+
+        @Override
+        public void onAsrFinalResult(String finalResult) {
+            if (!running || !claim(index)) return;
+
+            running = false;
+            endTurn();
+            listener.onAsrFinalResult(finalResult);
+        }
+
+        @Override
+        public void onAsrPartialResult(String partialResult) {
+            if (!running || winner >= 0) return;
+
+            if (index == primary) scheduler.removeCallbacks(hedgeRunnable);
+            if (leader < 0) leader = index;
+            if (leader == index) listener.onAsrPartialResult(partialResult);
+        }
+
+        @Override
+        public void onAsrError(int errorCode) {
+            if (!running) return;
+
+            running = false;
+            failures++;
+            if (leader == index) leader = -1;
+            memberEnded(index, errorCode, isFailoverError(errorCode));
+        }
+
+        @Override
+        public void onLangListRetrieved(@Nullable List<String> languages) {
+            if (index == 0) listener.onLangListRetrieved(languages);
+        }
+
+        @Override
+        public void onAsrResult(@NonNull AsrResult result) {
+            if (!running || !claim(index)) return;
+
+            final AsrCallbacksListener listener = FailoverAsr.this.listener;
+            if (listener instanceof AsrResultListener)
+                ((AsrResultListener) listener).onAsrResult(result);
+        }
+
+        @Override
+        public void onAsrCommittedPartial(@NonNull String committed) {
+            if (!running || winner >= 0 || leader != index) return;
+
+            final AsrCallbacksListener listener = FailoverAsr.this.listener;
+            if (listener instanceof AsrCommittedPartialListener)
+                ((AsrCommittedPartialListener) listener).onAsrCommittedPartial(committed);
+        }
+
+        @Override
+        public void onAsrRetry(int retry, long delay) {
+            if (!running || startForwarded) return;
+
+            final AsrCallbacksListener listener = FailoverAsr.this.listener;
+            if (listener instanceof AsrRetryListener)
+                ((AsrRetryListener) listener).onAsrRetry(retry, delay);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import com.vgraphics.engineAsr.Enums.AdmissionRejection;
+
+public interface AsrAdmissionListener {
+    /**
+     * Invokes when a {@code Asr#startListening()} or {@code Asr#stopListening()} request is not
+     * going to reach the engine. Requests are never dropped silently. Notice that this callback is
+     * always invoked on the main thread.
+     *
+     * @param start  {@code True} if the rejected request was a start request. {@code False} if it
+     *               was a stop request.
+     * @param reason The reason of the rejection. Can be any of {@link AdmissionRejection}.
+     */
+    void onAsrRequestRejected(boolean start, @AdmissionRejection int reason);
+}
@@ -0,0 +1,13 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import com.vgraphics.engineAsr.Enums.BreakerState;
+
+public interface AsrBreakerListener {
+    /**
+     * Invokes every time the circuit breaker of the recognizer changes state, on the thread that
+     * reported the session outcome, which is the main thread on Android.
+     *
+     * @param state The new state of the breaker.
+     */
+    void onBreakerStateChanged(@BreakerState int state);
+}
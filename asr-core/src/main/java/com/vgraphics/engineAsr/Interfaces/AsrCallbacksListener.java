@@ -2,14 +2,12 @@ package com.vgraphics.engineAsr.Interfaces;
 
 import androidx.annotation.Nullable;
 
-import com.vgraphics.engineAsr.asr.Asr;
-
 import java.util.List;
 
 public interface AsrCallbacksListener {
     /**
      * Invokes when the selected asr engine is initialized. Override this function to perform
-     * specific actions like {@link Asr#getSupportedLanguages()} etc.
+     * specific actions like {@code Asr#getSupportedLanguages()} etc.
      *
      * @param success Defines if engine was initialized successfully or not.
      */
@@ -0,0 +1,17 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+public interface AsrCommandListener {
+    /**
+     * Invokes once per session for every registered voice command that is found in the results
+     * of the session. Commands are matched against every partial result, so this callback usually
+     * invokes long before the final result.
+     *
+     * @param id      Id of the matched command.
+     * @param phrase  Phrase of the matched command as it was registered.
+     * @param partial {@code True} if the command was found in a partial result. {@code False} if
+     *                it was found in the final result.
+     */
+    void onCommandMatched(int id, @NonNull String phrase, boolean partial);
+}
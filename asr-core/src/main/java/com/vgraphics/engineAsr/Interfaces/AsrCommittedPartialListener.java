@@ -0,0 +1,15 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+public interface AsrCommittedPartialListener {
+    /**
+     * Invokes every time the committed part of the current partial result grows. A part is
+     * committed once it has not changed for a while, so it can be acted upon before the final
+     * result arrives. Within a session, every committed partial extends the previous one, unless
+     * the recognizer revises a committed part after all.
+     *
+     * @param committed The committed leading part of the current partial result.
+     */
+    void onAsrCommittedPartial(@NonNull String committed);
+}
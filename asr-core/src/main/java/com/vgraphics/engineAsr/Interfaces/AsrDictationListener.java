@@ -0,0 +1,26 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+public interface AsrDictationListener {
+    /**
+     * Invoked when a segment of a continuous dictation is recognized and stitched to the running
+     * transcript.
+     *
+     * @param index      Zero based index of the segment.
+     * @param segment    Text the segment added to the transcript.
+     * @param transcript The running transcript, including this segment.
+     * @param gap        Milliseconds of audio that were not recognized between the previous
+     *                   segment and this one, or {@code -1} for the first segment.
+     */
+    void onDictationSegment(int index, @NonNull String segment, @NonNull String transcript,
+                            long gap);
+
+    /**
+     * Invoked once a continuous dictation ended, either because it was stopped or because the
+     * engine kept failing.
+     *
+     * @param transcript The final transcript.
+     */
+    void onDictationEnded(@NonNull String transcript);
+}
@@ -57,7 +57,9 @@ public interface AsrEngineInterface {
     /**
      * Sets the recognition language for this engine. Given language must be of type 'el-GR' etc.
      * [IETF language tag (as defined by BCP 47)]. Notice that the engine will rebuild on it's own.
-     * You do not need to dispose the engine and re-construct it on your own.
+     * You do not need to dispose the engine and re-construct it on your own. Engines always invoke
+     * {@link AsrCallbacksListener#onAsrInitialized(boolean)} once switched, even if nothing had to
+     * be rebuilt.
      *
      * @param language Language to set for this engine.
      */
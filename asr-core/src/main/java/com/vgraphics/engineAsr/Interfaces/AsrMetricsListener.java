@@ -0,0 +1,20 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+
+public interface AsrMetricsListener {
+    /**
+     * Invokes every time a metric is recorded, while metrics are enabled. Notice that this
+     * callback is invoked on the thread that recorded the metric, which may be the main thread or
+     * an engine thread, so keep it short.
+     *
+     * @param engine   The code of the engine that recorded the metric.
+     * @param language The language the engine was using, or an empty string if unknown.
+     * @param metric   The recorded metric. Can be any of {@link AsrMetric}.
+     * @param value    Milliseconds for timings. The error code for {@link AsrMetric#ERROR} and
+     *                 {@code 1} for any other counter.
+     */
+    void onAsrMetric(int engine, @NonNull String language, @AsrMetric int metric, long value);
+}
@@ -0,0 +1,18 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+public interface AsrPartialDeltaListener {
+    /**
+     * Invokes every time a partial asr result differs from the previous partial of the same
+     * session. Only the tokens that are new or changed are reported. To rebuild the full partial,
+     * keep the first {@code stablePrefixLength} characters of the previously rebuilt partial and
+     * append {@code delta}. Identical partials are never reported.
+     *
+     * @param stablePrefixLength Number of leading characters of the previous partial that did not
+     *                           change. Always ends at a token boundary. Zero for the first
+     *                           partial of a session.
+     * @param delta              The new or changed tail of the partial result.
+     */
+    void onAsrPartialDelta(int stablePrefixLength, @NonNull String delta);
+}
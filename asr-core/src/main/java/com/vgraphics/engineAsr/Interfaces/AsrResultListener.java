@@ -0,0 +1,16 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+public interface AsrResultListener {
+    /**
+     * Invokes right before {@link AsrCallbacksListener#onAsrFinalResult(String)} with the n-best
+     * alternatives of the utterance, their confidences and the timing of the session. Notice that
+     * the result is recycled once this callback returns. Call {@link AsrResult#copy()} to keep it.
+     *
+     * @param result The structured final result.
+     */
+    void onAsrResult(@NonNull AsrResult result);
+}
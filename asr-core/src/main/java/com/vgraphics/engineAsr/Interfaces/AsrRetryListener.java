@@ -0,0 +1,12 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+public interface AsrRetryListener {
+    /**
+     * Invokes when a failed session is going to be retried within the same user turn, instead of
+     * reporting its error. The retried session reports through the usual callbacks.
+     *
+     * @param retry The retry of the user turn, starting at {@code 1}.
+     * @param delay The backoff before the retried session starts, in milliseconds.
+     */
+    void onAsrRetry(int retry, long delay);
+}
@@ -0,0 +1,21 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+public interface AudioHandOff {
+    /**
+     * Enables or disables audio hand-off. While enabled, the engine keeps capturing between
+     * sessions, so that a session started shortly after the previous one also recognizes the
+     * audio in between.
+     *
+     * @param enabled {@code True} to keep capturing between sessions.
+     */
+    void setHandOff(boolean enabled);
+
+    /**
+     * Returns the audio lost between the last two sessions. Only meaningful while hand-off is
+     * enabled.
+     *
+     * @return Milliseconds of audio that were lost before the last session started, or {@code -1}
+     * if the last session did not continue the capture of the previous one.
+     */
+    long getHandOffGap();
+}
@@ -0,0 +1,51 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+public interface AudioSource {
+    /**
+     * Opens the source. Called once on the capture thread before any read.
+     *
+     * @throws IOException If the source could not be opened.
+     */
+    void open() throws IOException;
+
+    /**
+     * Reads 16-bit PCM samples into given buffer. Channels are interleaved. Blocks until at least
+     * one sample is available or the source has ended.
+     *
+     * @param buffer Buffer to read samples into.
+     * @param offset Offset of the first sample to write.
+     * @param length Maximum number of samples to read.
+     *
+     * @return Number of samples read, or {@code -1} if the source has ended.
+     *
+     * @throws IOException If reading failed.
+     */
+    int read(@NonNull short[] buffer, int offset, int length) throws IOException;
+
+    /**
+     * Closes the source and releases any resources. Safe to call more than once.
+     */
+    void close();
+
+    /**
+     * @return The sample rate of the source in Hz.
+     */
+    int getSampleRate();
+
+    /**
+     * @return The number of interleaved channels of the source.
+     */
+    int getChannels();
+
+    /**
+     * Defines if this source produces audio in real time. Real time sources never wait for slow
+     * consumers, while other sources, such as files, are read only as fast as consumers keep up.
+     *
+     * @return {@code True} if this source produces audio in real time. {@code False} otherwise.
+     */
+    boolean isRealTime();
+}
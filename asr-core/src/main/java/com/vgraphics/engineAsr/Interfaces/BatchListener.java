@@ -0,0 +1,52 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Batch.BatchResult;
+
+public interface BatchListener {
+    /**
+     * Invokes when a worker starts transcribing a job. Notice that every callback of this
+     * listener is invoked on the worker thread of the job, so callbacks of different jobs may
+     * run concurrently.
+     *
+     * @param id The id of the job.
+     */
+    void onBatchJobStarted(@NonNull String id);
+
+    /**
+     * Invokes when a segment of a job was recognized.
+     *
+     * @param id      The id of the job.
+     * @param index   Zero based index of the segment.
+     * @param segment The text of the segment.
+     */
+    void onBatchSegment(@NonNull String id, int index, @NonNull String segment);
+
+    /**
+     * Invokes periodically while a job is transcribed, about every
+     * {@link com.vgraphics.engineAsr.Batch.BatchTranscriber#PROGRESS_INTERVAL} of audio.
+     *
+     * @param id          The id of the job.
+     * @param audioMillis Milliseconds of audio transcribed so far.
+     */
+    void onBatchProgress(@NonNull String id, long audioMillis);
+
+    /**
+     * Invokes when a job completed successfully.
+     *
+     * @param id     The id of the job.
+     * @param result The result of the job.
+     */
+    void onBatchJobCompleted(@NonNull String id, @NonNull BatchResult result);
+
+    /**
+     * Invokes when a job failed or was cancelled. Cancelled jobs report a
+     * {@link java.util.concurrent.CancellationException}, which is invoked on the thread that
+     * cancelled the job.
+     *
+     * @param id    The id of the job.
+     * @param error The cause of the failure.
+     */
+    void onBatchJobFailed(@NonNull String id, @NonNull Exception error);
+}
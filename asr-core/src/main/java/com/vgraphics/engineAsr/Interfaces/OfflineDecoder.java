@@ -0,0 +1,91 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import java.io.IOException;
+
+public interface OfflineDecoder {
+    /**
+     * Feeds 16-bit mono PCM samples to the decoder. Called on the decoding thread only.
+     *
+     * @param frame  Buffer holding the samples.
+     * @param length Number of valid samples.
+     *
+     * @return {@code True} if the decoder detected the end of the utterance. {@code False}
+     * otherwise.
+     */
+    boolean acceptWaveform(@NonNull short[] frame, int length);
+
+    /**
+     * @return The current partial result of the utterance. Empty if nothing was recognized yet.
+     */
+    @NonNull
+    String getPartialResult();
+
+    /**
+     * Flushes any buffered audio and returns the final result of the utterance.
+     *
+     * @return The final result of the utterance. Empty if nothing was recognized.
+     */
+    @NonNull
+    String getFinalResult();
+
+    /**
+     * Flushes any buffered audio, adds the alternatives of the utterance to given result, best
+     * first, and returns the best one.
+     *
+     * @param result The result to add the alternatives to.
+     *
+     * @return The final result of the utterance. Empty if nothing was recognized.
+     */
+    @NonNull
+    String getFinalResult(@NonNull AsrResult result);
+
+    /**
+     * Sets the number of alternatives {@link #getFinalResult(AsrResult)} reports. Called on the
+     * decoding thread before every utterance.
+     *
+     * @param maxAlternatives Number of alternatives. Zero to report the best alternative only,
+     *                        without a score, which is the cheapest for most decoders.
+     */
+    void setMaxAlternatives(int maxAlternatives);
+
+    /**
+     * Resets the decoder for a new utterance. The model stays loaded.
+     */
+    void reset();
+
+    /**
+     * Releases any resources of the decoder. Safe to call more than once.
+     */
+    void close();
+
+    /**
+     * Creates decoders out of model files supplied by the application.
+     */
+    interface Factory {
+        /**
+         * Defines if decoders can be created on this device, for example if any required
+         * libraries are present.
+         *
+         * @return {@code True} if decoders can be created. {@code False} otherwise.
+         */
+        boolean isAvailable();
+
+        /**
+         * Creates a new decoder. Loading a model may take a while, so this function is only
+         * called on the decoding thread.
+         *
+         * @param modelPath  Path of the model file or directory.
+         * @param sampleRate Sample rate of the audio that will be fed to the decoder in Hz.
+         *
+         * @return The new decoder.
+         *
+         * @throws IOException If the model could not be loaded.
+         */
+        @NonNull
+        OfflineDecoder create(@NonNull String modelPath, int sampleRate) throws IOException;
+    }
+}
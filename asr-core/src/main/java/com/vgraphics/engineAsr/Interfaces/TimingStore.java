@@ -0,0 +1,25 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public interface TimingStore {
+    /**
+     * Invokes once the store is set to a timing profile, to restore the start latencies measured
+     * during previous launches.
+     *
+     * @return The stored start latencies in milliseconds, oldest first, or {@code null} if
+     * nothing is stored.
+     */
+    @Nullable
+    long[] load();
+
+    /**
+     * Invokes every time a start latency is measured while auto-tune is on, with the latencies
+     * to store.
+     *
+     * @param latencies Buffer holding the start latencies in milliseconds, oldest first.
+     * @param count     Number of valid latencies.
+     */
+    void save(@NonNull long[] latencies, int count);
+}
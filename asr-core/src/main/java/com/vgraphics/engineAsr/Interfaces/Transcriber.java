@@ -0,0 +1,60 @@
+package com.vgraphics.engineAsr.Interfaces;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+public interface Transcriber {
+    /**
+     * Transcribes a whole audio source, as fast as it can be read and decoded. A transcriber is
+     * owned by a single batch worker thread, so it does not need to be thread safe.
+     *
+     * @param source The source to transcribe. The transcriber opens and closes it.
+     * @param sink   Sink of the recognized segments and of the consumed audio.
+     *
+     * @throws IOException          If the source could not be read or decoding failed.
+     * @throws InterruptedException If the thread was interrupted because the job was cancelled.
+     */
+    void transcribe(@NonNull AudioSource source, @NonNull Sink sink)
+            throws IOException, InterruptedException;
+
+    /**
+     * Releases any resources of the transcriber. Safe to call more than once.
+     */
+    void close();
+
+    /**
+     * Receives the outcome of a transcription while it is running.
+     */
+    interface Sink {
+        /**
+         * Invokes when a segment, typically an utterance, of the source was recognized.
+         *
+         * @param text The final text of the segment.
+         */
+        void onSegment(@NonNull String text);
+
+        /**
+         * Invokes when audio of the source was consumed.
+         *
+         * @param samples Number of consumed samples, counting every channel.
+         */
+        void onAudio(int samples);
+    }
+
+    /**
+     * Creates a transcriber for every batch worker thread.
+     */
+    interface Factory {
+        /**
+         * Creates a new transcriber. Called on the worker thread that will own it.
+         *
+         * @return The new transcriber.
+         *
+         * @throws IOException If the transcriber could not be created, for example because a
+         *                     model could not be loaded.
+         */
+        @NonNull
+        Transcriber create() throws IOException;
+    }
+}
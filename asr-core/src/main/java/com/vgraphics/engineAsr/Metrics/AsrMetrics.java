@@ -0,0 +1,173 @@
+package com.vgraphics.engineAsr.Metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+import com.vgraphics.engineAsr.Interfaces.AsrMetricsListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency and error metrics of the engines, kept per engine and language. Timings are recorded to
+ * {@link LatencyHistogram}s and summarized as percentiles, counters count watch dog firings, busy
+ * retries, throttled and rejected requests and errors by code.
+ *
+ * <p>Metrics are disabled by default. While disabled, recording costs a single volatile read and
+ * nothing is stored. Read metrics either by polling {@link #getSnapshots()} or by setting an
+ * {@link AsrMetricsListener} that receives every recorded value.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AsrMetrics {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Defines if metrics are recorded. */
+    private volatile boolean enabled;
+    /** Listener that receives every recorded value, if any. */
+    private volatile AsrMetricsListener listener;
+    /** Scopes keyed by engine code and then by language. */
+    private final ConcurrentHashMap<Integer, ConcurrentHashMap<String, MetricsScope>> scopes =
+            new ConcurrentHashMap<>();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Enables or disables recording. Values recorded so far are kept.
+     *
+     * @param enabled {@code True} to record metrics.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets the listener that receives every recorded value.
+     *
+     * @param listener Listener to invoke on recorded values or {@code null} to remove it.
+     */
+    public void setListener(@Nullable AsrMetricsListener listener) {
+        this.listener = listener;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the scope of given engine and language, creating it if needed. Keep the returned
+     * scope for as long as the engine uses the language, instead of looking it up on every
+     * recording.
+     *
+     * @param engine   Code of the engine.
+     * @param language Language of the engine or {@code null} if unknown.
+     *
+     * @return The scope of given engine and language.
+     */
+    @NonNull
+    public MetricsScope scope(int engine, @Nullable String language) {
+        final String key = language != null ? language : "";
+
+        ConcurrentHashMap<String, MetricsScope> languages = scopes.get(engine);
+        if (languages == null) {
+            final ConcurrentHashMap<String, MetricsScope> created = new ConcurrentHashMap<>();
+            languages = scopes.putIfAbsent(engine, created);
+            if (languages == null) languages = created;
+        }
+
+        MetricsScope scope = languages.get(key);
+        if (scope == null) {
+            final MetricsScope created = new MetricsScope(this, engine, key);
+            scope = languages.putIfAbsent(key, created);
+            if (scope == null) scope = created;
+        }
+        return scope;
+    }
+
+    /**
+     * Removes all recorded values. Scopes held by engines stay valid.
+     */
+    public void reset() {
+        for (ConcurrentHashMap<String, MetricsScope> languages : scopes.values())
+            for (MetricsScope scope : languages.values()) scope.reset();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return {@code True} if metrics are recorded. {@code False} otherwise. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** @return Snapshots of all engines and languages that were used so far. */
+    @NonNull
+    public List<MetricsSnapshot> getSnapshots() {
+        final List<MetricsSnapshot> snapshots = new ArrayList<>();
+        for (ConcurrentHashMap<String, MetricsScope> languages : scopes.values())
+            for (MetricsScope scope : languages.values()) snapshots.add(scope.snapshot());
+        return snapshots;
+    }
+
+    /**
+     * @param engine   Code of the engine.
+     * @param language Language of the engine or {@code null} if unknown.
+     *
+     * @return Snapshot of given engine and language or {@code null} if they were never used.
+     */
+    @Nullable
+    public MetricsSnapshot getSnapshot(int engine, @Nullable String language) {
+        final ConcurrentHashMap<String, MetricsScope> languages = scopes.get(engine);
+        if (languages == null) return null;
+
+        final MetricsScope scope = languages.get(language != null ? language : "");
+        return scope != null ? scope.snapshot() : null;
+    }
+
+    /**
+     * Returns a human readable name of given metric.
+     *
+     * @param metric Any of {@link AsrMetric}.
+     *
+     * @return The name of given metric.
+     */
+    @NonNull
+    public static String metricToString(@AsrMetric int metric) {
+        switch (metric) {
+            case AsrMetric.START_LATENCY: return "START_LATENCY";
+            case AsrMetric.RESULT_LATENCY: return "RESULT_LATENCY";
+            case AsrMetric.PARTIAL_GAP: return "PARTIAL_GAP";
+            case AsrMetric.REBUILD: return "REBUILD";
+            case AsrMetric.WATCHDOG: return "WATCHDOG";
+            case AsrMetric.BUSY_RETRY: return "BUSY_RETRY";
+            case AsrMetric.THROTTLED: return "THROTTLED";
+            case AsrMetric.REJECTED: return "REJECTED";
+            case AsrMetric.ERROR: return "ERROR";
+            default: return "undefined";
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sends a recorded value to the listener, if any.
+     *
+     * @param engine   Code of the engine.
+     * @param language Language of the engine.
+     * @param metric   The recorded metric.
+     * @param value    The recorded value.
+     */
+    void dispatch(int engine, @NonNull String language, @AsrMetric int metric, long value) {
+        final AsrMetricsListener listener = this.listener;
+        if (listener != null) listener.onAsrMetric(engine, language, metric, value);
+    }
+}
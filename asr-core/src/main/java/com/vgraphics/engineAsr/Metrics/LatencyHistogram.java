@@ -0,0 +1,149 @@
+package com.vgraphics.engineAsr.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of millisecond latencies. Values below {@value #EXACT} are counted exactly,
+ * larger values fall into logarithmic buckets with eight buckets per power of two, so percentiles
+ * are accurate to about 12%. Recording is a few atomic increments with no allocation and is safe
+ * from any thread. Reads are not atomic against concurrent recording, which only matters for the
+ * samples recorded while reading.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class LatencyHistogram {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Values below this are counted exactly. */
+    public static final int EXACT = 8;
+    /** Largest value that is told apart from larger ones, in milliseconds. About 17 minutes. */
+    public static final long MAX_VALUE = (1L << 20) - 1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Bits of a value kept below its highest bit. */
+    private static final int SUB_BITS = 3;
+    /** Number of buckets. */
+    private static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+    /** Number of values per bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /** Number of recorded values. */
+    private final AtomicLong count = new AtomicLong();
+    /** Sum of recorded values. */
+    private final AtomicLong sum = new AtomicLong();
+    /** Largest recorded value. */
+    private final AtomicLong max = new AtomicLong();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Records a value. Negative values are ignored and values above {@link #MAX_VALUE} are
+     * counted as {@link #MAX_VALUE}.
+     *
+     * @param millis The value in milliseconds.
+     */
+    public void record(long millis) {
+        if (millis < 0) return;
+
+        final long value = Math.min(millis, MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) current = max.get();
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of recorded values. */
+    public long getCount() {
+        return count.get();
+    }
+
+    /** @return Largest recorded value in milliseconds, or {@code 0} if none. */
+    public long getMax() {
+        return max.get();
+    }
+
+    /** @return Mean of recorded values in milliseconds, or {@code 0} if none. */
+    public long getMean() {
+        final long count = this.count.get();
+        return count > 0 ? sum.get() / count : 0;
+    }
+
+    /**
+     * Returns the value below which given percentage of the recorded values fall. The highest
+     * value of the matching bucket is returned, so percentiles never understate latency.
+     *
+     * @param percentile The percentage, from {@code 0} to {@code 100}.
+     *
+     * @return The percentile in milliseconds, or {@code 0} if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        if (total == 0) return 0;
+
+        // Rank of the requested value, starting from one.
+        final long rank = Math.max(1,
+                (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highestOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @param value A value from {@code 0} to {@link #MAX_VALUE}.
+     *
+     * @return The bucket of given value.
+     */
+    private static int indexOf(long value) {
+        if (value < EXACT) return (int) value;
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - SUB_BITS)) & (EXACT - 1);
+        return (exponent - SUB_BITS + 1) * EXACT + sub;
+    }
+
+    /**
+     * @param index A bucket.
+     *
+     * @return The highest value that falls into given bucket.
+     */
+    private static long highestOf(int index) {
+        if (index < EXACT) return index;
+
+        final int shift = index / EXACT - 1;
+        final long lowest = (long) (EXACT + index % EXACT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,179 @@
+package com.vgraphics.engineAsr.Metrics;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Metrics of a single engine and language. Engines and {@code Asr} keep the scope of their
+ * current language and record to it directly, so recording needs no lookup. While metrics are
+ * disabled every recording function returns after a single volatile read. All functions are safe
+ * to call from any thread.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MetricsScope {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of timing metrics. Metrics below this are timings, the rest are counters. */
+    public static final int TIMINGS = AsrMetric.WATCHDOG;
+    /** Number of metrics. */
+    public static final int METRICS = AsrMetric.ERROR + 1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Metrics this scope belongs to. */
+    private final AsrMetrics metrics;
+    /** Code of the engine. */
+    private final int engine;
+    /** Language of the engine. */
+    private final String language;
+    /** Histograms of timing metrics. */
+    private final LatencyHistogram[] timings = new LatencyHistogram[TIMINGS];
+    /** Values of counter metrics, starting from {@link #TIMINGS}. */
+    private final AtomicLongArray counters = new AtomicLongArray(METRICS - TIMINGS);
+    /** Number of errors keyed by error code. */
+    private final ConcurrentHashMap<Integer, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Package private constructor. Use {@link AsrMetrics#scope(int, String)}.
+     *
+     * @param metrics  Metrics this scope belongs to.
+     * @param engine   Code of the engine.
+     * @param language Language of the engine.
+     */
+    MetricsScope(@NonNull AsrMetrics metrics, int engine, @NonNull String language) {
+        this.metrics = metrics;
+        this.engine = engine;
+        this.language = language;
+
+        for (int i = 0; i < TIMINGS; i++) timings[i] = new LatencyHistogram();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → RECORDING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Records a timing. Does nothing if metrics are disabled or given metric is not a timing.
+     *
+     * @param metric Any timing of {@link AsrMetric}.
+     * @param millis The timing in milliseconds.
+     */
+    public void record(@AsrMetric int metric, long millis) {
+        if (!metrics.isEnabled() || metric < 0 || metric >= TIMINGS) return;
+
+        timings[metric].record(millis);
+        metrics.dispatch(engine, language, metric, millis);
+    }
+
+    /**
+     * Increments a counter. Does nothing if metrics are disabled or given metric is not a
+     * counter. Use {@link #error(int)} for errors.
+     *
+     * @param metric Any counter of {@link AsrMetric}.
+     */
+    public void increment(@AsrMetric int metric) {
+        if (!metrics.isEnabled() || metric < TIMINGS || metric >= METRICS) return;
+
+        counters.incrementAndGet(metric - TIMINGS);
+        metrics.dispatch(engine, language, metric, 1);
+    }
+
+    /**
+     * Counts an error of the engine. Does nothing if metrics are disabled.
+     *
+     * @param code The error code.
+     */
+    public void error(int code) {
+        if (!metrics.isEnabled()) return;
+
+        AtomicLong count = errors.get(code);
+        if (count == null) {
+            final AtomicLong created = new AtomicLong();
+            count = errors.putIfAbsent(code, created);
+            if (count == null) count = created;
+        }
+        count.incrementAndGet();
+        counters.incrementAndGet(AsrMetric.ERROR - TIMINGS);
+
+        metrics.dispatch(engine, language, AsrMetric.ERROR, code);
+    }
+
+    /**
+     * Removes all recorded values of this scope.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : timings) histogram.reset();
+        for (int i = 0; i < counters.length(); i++) counters.set(i, 0);
+        errors.clear();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return {@code True} if metrics are recorded. {@code False} otherwise. */
+    public boolean isEnabled() {
+        return metrics.isEnabled();
+    }
+
+    /** @return Code of the engine. */
+    public int getEngine() {
+        return engine;
+    }
+
+    /** @return Language of the engine, or an empty string if unknown. */
+    @NonNull
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return The histogram of given timing.
+     */
+    @NonNull
+    public LatencyHistogram getHistogram(@AsrMetric int metric) {
+        return timings[metric];
+    }
+
+    /**
+     * @param metric Any counter of {@link AsrMetric}.
+     *
+     * @return The value of given counter.
+     */
+    public long getCounter(@AsrMetric int metric) {
+        return counters.get(metric - TIMINGS);
+    }
+
+    /** @return A copy of the number of errors keyed by error code. */
+    @NonNull
+    public Map<Integer, Long> getErrors() {
+        final Map<Integer, Long> copy = new HashMap<>();
+        for (Map.Entry<Integer, AtomicLong> entry : errors.entrySet())
+            copy.put(entry.getKey(), entry.getValue().get());
+        return copy;
+    }
+
+    /** @return A snapshot of the current values of this scope. */
+    @NonNull
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(this);
+    }
+}
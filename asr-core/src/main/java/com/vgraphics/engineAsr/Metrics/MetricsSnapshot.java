@@ -0,0 +1,182 @@
+package com.vgraphics.engineAsr.Metrics;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the metrics of a single engine and language. Timings are summarized as
+ * count, mean, maximum and the 50th, 95th and 99th percentile, all in milliseconds.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class MetricsSnapshot {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Code of the engine. */
+    private final int engine;
+    /** Language of the engine. */
+    private final String language;
+    /** Number of values of every timing. */
+    private final long[] count = new long[MetricsScope.TIMINGS];
+    /** Mean of every timing. */
+    private final long[] mean = new long[MetricsScope.TIMINGS];
+    /** Median of every timing. */
+    private final long[] p50 = new long[MetricsScope.TIMINGS];
+    /** 95th percentile of every timing. */
+    private final long[] p95 = new long[MetricsScope.TIMINGS];
+    /** 99th percentile of every timing. */
+    private final long[] p99 = new long[MetricsScope.TIMINGS];
+    /** Maximum of every timing. */
+    private final long[] max = new long[MetricsScope.TIMINGS];
+    /** Values of every counter, starting from {@link MetricsScope#TIMINGS}. */
+    private final long[] counters = new long[MetricsScope.METRICS - MetricsScope.TIMINGS];
+    /** Number of errors keyed by error code. */
+    private final Map<Integer, Long> errors;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Package private constructor. Use {@link MetricsScope#snapshot()}.
+     *
+     * @param scope The scope to take a snapshot of.
+     */
+    MetricsSnapshot(@NonNull MetricsScope scope) {
+        engine = scope.getEngine();
+        language = scope.getLanguage();
+
+        for (int i = 0; i < MetricsScope.TIMINGS; i++) {
+            final LatencyHistogram histogram = scope.getHistogram(i);
+            count[i] = histogram.getCount();
+            mean[i] = histogram.getMean();
+            p50[i] = histogram.getPercentile(50);
+            p95[i] = histogram.getPercentile(95);
+            p99[i] = histogram.getPercentile(99);
+            max[i] = histogram.getMax();
+        }
+
+        for (int i = 0; i < counters.length; i++)
+            counters[i] = scope.getCounter(MetricsScope.TIMINGS + i);
+
+        errors = Collections.unmodifiableMap(scope.getErrors());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Code of the engine. */
+    public int getEngine() {
+        return engine;
+    }
+
+    /** @return Language of the engine, or an empty string if unknown. */
+    @NonNull
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return Number of recorded values of given timing.
+     */
+    public long getCount(@AsrMetric int metric) {
+        return count[metric];
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return Mean of given timing in milliseconds.
+     */
+    public long getMean(@AsrMetric int metric) {
+        return mean[metric];
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return Median of given timing in milliseconds.
+     */
+    public long getP50(@AsrMetric int metric) {
+        return p50[metric];
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return 95th percentile of given timing in milliseconds.
+     */
+    public long getP95(@AsrMetric int metric) {
+        return p95[metric];
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return 99th percentile of given timing in milliseconds.
+     */
+    public long getP99(@AsrMetric int metric) {
+        return p99[metric];
+    }
+
+    /**
+     * @param metric Any timing of {@link AsrMetric}.
+     *
+     * @return Maximum of given timing in milliseconds.
+     */
+    public long getMax(@AsrMetric int metric) {
+        return max[metric];
+    }
+
+    /**
+     * @param metric Any counter of {@link AsrMetric}.
+     *
+     * @return The value of given counter.
+     */
+    public long getCounter(@AsrMetric int metric) {
+        return counters[metric - MetricsScope.TIMINGS];
+    }
+
+    /** @return Number of errors keyed by error code. The map can not be modified. */
+    @NonNull
+    public Map<Integer, Long> getErrors() {
+        return errors;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder()
+                .append("engine=").append(engine).append(" language=").append(language);
+
+        for (int i = 0; i < MetricsScope.TIMINGS; i++) {
+            if (count[i] == 0) continue;
+            builder.append(' ').append(AsrMetrics.metricToString(i))
+                    .append("{n=").append(count[i])
+                    .append(" p50=").append(p50[i])
+                    .append(" p95=").append(p95[i])
+                    .append(" p99=").append(p99[i])
+                    .append(" max=").append(max[i]).append('}');
+        }
+
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i] == 0) continue;
+            builder.append(' ').append(AsrMetrics.metricToString(MetricsScope.TIMINGS + i))
+                    .append('=').append(counters[i]);
+        }
+
+        if (!errors.isEmpty()) builder.append(" errors=").append(errors);
+        return builder.toString();
+    }
+}
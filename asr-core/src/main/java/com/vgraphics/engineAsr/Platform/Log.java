@@ -0,0 +1,127 @@
+package com.vgraphics.engineAsr.Platform;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log of the platform independent classes. Functions mirror {@code android.util.Log}, so log
+ * calls read the same on both sides of the library. Messages are written to the installed
+ * {@link Printer}, which is {@code java.util.logging} unless the platform installs its own. The
+ * Android adapter installs a printer that writes to logcat.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Log {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Tag of the library logs. */
+    public static final String TAG = "*** VGraphics *** [AsrEngine] :: ";
+    /** Priority of debug messages. Same value as {@code android.util.Log.DEBUG}. */
+    public static final int DEBUG = 3;
+    /** Priority of warning messages. Same value as {@code android.util.Log.WARN}. */
+    public static final int WARN = 5;
+    /** Priority of error messages. Same value as {@code android.util.Log.ERROR}. */
+    public static final int ERROR = 6;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Printer that writes the messages. */
+    private static volatile Printer printer = new LoggingPrinter();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Private constructor. Log functions are static.
+     */
+    private Log() {}
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the printer that writes the messages.
+     *
+     * @param printer The printer or {@code null} to restore {@code java.util.logging}.
+     */
+    public static void setPrinter(@Nullable Printer printer) {
+        Log.printer = printer != null ? printer : new LoggingPrinter();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → LOG FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Writes a debug message.
+     *
+     * @param tag     The tag of the message.
+     * @param message The message.
+     */
+    public static void d(@NonNull String tag, @NonNull String message) {
+        printer.print(DEBUG, tag, message);
+    }
+
+    /**
+     * Writes a warning message.
+     *
+     * @param tag     The tag of the message.
+     * @param message The message.
+     */
+    public static void w(@NonNull String tag, @NonNull String message) {
+        printer.print(WARN, tag, message);
+    }
+
+    /**
+     * Writes an error message.
+     *
+     * @param tag     The tag of the message.
+     * @param message The message.
+     */
+    public static void e(@NonNull String tag, @NonNull String message) {
+        printer.print(ERROR, tag, message);
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Printer that writes log messages to a platform log.
+     */
+    public interface Printer {
+        /**
+         * Writes a message.
+         *
+         * @param priority The priority of the message. One of {@link #DEBUG}, {@link #WARN} or
+         *                 {@link #ERROR}.
+         * @param tag      The tag of the message.
+         * @param message  The message.
+         */
+        void print(int priority, @NonNull String tag, @NonNull String message);
+    }
+
+    /**
+     * Printer that writes to {@code java.util.logging}. Debug messages are logged as
+     * {@link Level#FINE}, so they are hidden by default.
+     */
+    private static final class LoggingPrinter implements Printer {
+        /** Logger of the library. */
+        private final Logger logger = Logger.getLogger("EasyAsr");
+
+        @Override
+        public void print(int priority, @NonNull String tag, @NonNull String message) {
+            final Level level = priority >= ERROR ? Level.SEVERE
+                    : priority >= WARN ? Level.WARNING : Level.FINE;
+            if (logger.isLoggable(level)) logger.log(level, message);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.vgraphics.engineAsr.Platform;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduler with a virtual clock that only moves when told to. Posted runnables run on the thread
+ * that advances the clock, in time order and in posting order for equal times. Runs are fully
+ * deterministic, which makes this scheduler fit for tests, benchmarks and replays on a plain JVM.
+ * Posting is safe from any thread.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ManualScheduler implements Scheduler {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Lock guarding pending runnables and the clock. */
+    private final Object lock = new Object();
+    /** Pending runnables ordered by due time and posting order. */
+    private final List<Task> pending = new ArrayList<>();
+    /** Current time of the virtual clock in milliseconds. */
+    private long now;
+    /** Sequence number of the last posted runnable. */
+    private long sequence;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new scheduler with its clock at zero.
+     */
+    public ManualScheduler() {}
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SCHEDULER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public boolean post(@NonNull Runnable runnable) {
+        return postDelayed(runnable, 0);
+    }
+
+    @Override
+    public boolean postDelayed(@NonNull Runnable runnable, long delay) {
+        synchronized (lock) {
+            final Task task = new Task(runnable, now + Math.max(0, delay), ++sequence);
+
+            // Keep pending runnables sorted, searching from the end since most posts are latest.
+            int index = pending.size();
+            while (index > 0 && pending.get(index - 1).due > task.due) index--;
+            pending.add(index, task);
+            return true;
+        }
+    }
+
+    @Override
+    public void removeCallbacks(@NonNull Runnable runnable) {
+        synchronized (lock) {
+            for (int i = pending.size() - 1; i >= 0; i--)
+                if (pending.get(i).runnable == runnable) pending.remove(i);
+        }
+    }
+
+    @Override
+    public long uptimeMillis() {
+        synchronized (lock) {
+            return now;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Runs every runnable that is due at the current time, including runnables they post without
+     * a delay.
+     *
+     * @return Number of runnables that ran.
+     */
+    public int runPending() {
+        return advanceTo(uptimeMillis());
+    }
+
+    /**
+     * Moves the clock forward by given time, running every runnable that falls due on the way at
+     * its due time.
+     *
+     * @param millis The time to move forward in milliseconds.
+     *
+     * @return Number of runnables that ran.
+     */
+    public int advanceBy(long millis) {
+        return advanceTo(uptimeMillis() + Math.max(0, millis));
+    }
+
+    /**
+     * Moves the clock forward to given time, running every runnable that falls due on the way at
+     * its due time. The clock never moves backwards.
+     *
+     * @param time The time to move to in milliseconds.
+     *
+     * @return Number of runnables that ran.
+     */
+    public int advanceTo(long time) {
+        int count = 0;
+        while (true) {
+            final Task task;
+            synchronized (lock) {
+                if (pending.isEmpty() || pending.get(0).due > time) {
+                    if (time > now) now = time;
+                    return count;
+                }
+
+                task = pending.remove(0);
+                if (task.due > now) now = task.due;
+            }
+
+            // Run outside of lock so runnables are free to post new ones.
+            task.runnable.run();
+            count++;
+        }
+    }
+
+    /**
+     * Moves the clock forward until no runnable is pending. Runnables that keep re-posting
+     * themselves make this function stop after given number of runs.
+     *
+     * @param maxRuns Maximum number of runnables to run.
+     *
+     * @return Number of runnables that ran.
+     */
+    public int runAll(int maxRuns) {
+        int count = 0;
+        while (count < maxRuns) {
+            final long due;
+            synchronized (lock) {
+                if (pending.isEmpty()) return count;
+                due = pending.get(0).due;
+            }
+            count += advanceTo(due);
+        }
+        return count;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of runnables waiting to run. */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /** @return Due time of the next pending runnable, or {@code -1} if none. */
+    public long getNextDueTime() {
+        synchronized (lock) {
+            return pending.isEmpty() ? -1 : pending.get(0).due;
+        }
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Posted runnable with its due time.
+     */
+    private static final class Task {
+        /** The posted runnable. */
+        final Runnable runnable;
+        /** Time the runnable is due. */
+        final long due;
+        /** Posting order of the runnable. */
+        final long sequence;
+
+        /**
+         * Constructs a new task.
+         *
+         * @param runnable The posted runnable.
+         * @param due      Time the runnable is due.
+         * @param sequence Posting order of the runnable.
+         */
+        Task(@NonNull Runnable runnable, long due, long sequence) {
+            this.runnable = runnable;
+            this.due = due;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.vgraphics.engineAsr.Platform;
+
+import androidx.annotation.NonNull;
+
+public interface Scheduler {
+    /**
+     * Posts a runnable to be run on the scheduler thread.
+     *
+     * @param runnable The runnable to run.
+     *
+     * @return {@code True} if the runnable was posted. {@code False} if the scheduler is shut
+     * down.
+     */
+    boolean post(@NonNull Runnable runnable);
+
+    /**
+     * Posts a runnable to be run on the scheduler thread after given delay.
+     *
+     * @param runnable The runnable to run.
+     * @param delay    The delay in milliseconds.
+     *
+     * @return {@code True} if the runnable was posted. {@code False} if the scheduler is shut
+     * down.
+     */
+    boolean postDelayed(@NonNull Runnable runnable, long delay);
+
+    /**
+     * Removes every pending post of given runnable.
+     *
+     * @param runnable The runnable to remove.
+     */
+    void removeCallbacks(@NonNull Runnable runnable);
+
+    /**
+     * Returns the time of the scheduler clock. The clock is monotonic, and delays of
+     * {@link #postDelayed(Runnable, long)} are measured against it.
+     *
+     * @return The current time in milliseconds.
+     */
+    long uptimeMillis();
+}
@@ -0,0 +1,157 @@
+package com.vgraphics.engineAsr.Platform;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler that runs posted runnables on a single daemon thread of its own. This is the
+ * scheduler of choice when the library runs outside of Android, such as on a server, where there
+ * is no main looper. Call {@link #quit()} once the scheduler is no longer used.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ThreadScheduler implements Scheduler {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Executor that owns the scheduler thread. */
+    private final ScheduledThreadPoolExecutor executor;
+    /** Pending tasks of every posted runnable. Also the lock of posting and removing. */
+    private final Map<Runnable, List<Task>> posted = new IdentityHashMap<>();
+    /** The scheduler thread, once started. */
+    private volatile Thread thread;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new scheduler and starts its thread.
+     *
+     * @param name The name of the scheduler thread.
+     */
+    public ThreadScheduler(@NonNull final String name) {
+        executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                final Thread created = new Thread(runnable, name);
+                created.setDaemon(true);
+                thread = created;
+                return created;
+            }
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executor.prestartCoreThread();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SCHEDULER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public boolean post(@NonNull Runnable runnable) {
+        return postDelayed(runnable, 0);
+    }
+
+    @Override
+    public boolean postDelayed(@NonNull Runnable runnable, long delay) {
+        synchronized (posted) {
+            final Task task = new Task(runnable);
+            try {
+                task.future = executor.schedule(task, Math.max(0, delay), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+
+            List<Task> tasks = posted.get(runnable);
+            if (tasks == null) posted.put(runnable, tasks = new ArrayList<>(1));
+            tasks.add(task);
+            return true;
+        }
+    }
+
+    @Override
+    public void removeCallbacks(@NonNull Runnable runnable) {
+        synchronized (posted) {
+            final List<Task> tasks = posted.remove(runnable);
+            if (tasks == null) return;
+
+            for (Task task : tasks) {
+                task.cancelled = true;
+                task.future.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return System.nanoTime() / 1000000;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Stops the scheduler thread. Pending runnables are dropped and later posts are refused.
+     */
+    public void quit() {
+        synchronized (posted) {
+            posted.clear();
+            executor.shutdownNow();
+        }
+    }
+
+    /** @return {@code True} if called on the scheduler thread. {@code False} otherwise. */
+    public boolean isCurrentThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Posted runnable that forgets itself once it runs.
+     */
+    private final class Task implements Runnable {
+        /** The posted runnable. */
+        final Runnable runnable;
+        /** Future of the scheduled run. */
+        Future<?> future;
+        /** Defines if the runnable was removed. Guarded by {@link #posted}. */
+        boolean cancelled;
+
+        /**
+         * Constructs a new task.
+         *
+         * @param runnable The posted runnable.
+         */
+        Task(@NonNull Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            synchronized (posted) {
+                if (cancelled) return;
+
+                final List<Task> tasks = posted.get(runnable);
+                if (tasks != null && tasks.remove(this) && tasks.isEmpty())
+                    posted.remove(runnable);
+            }
+
+            runnable.run();
+        }
+    }
+}
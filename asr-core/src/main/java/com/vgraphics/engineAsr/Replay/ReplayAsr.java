@@ -0,0 +1,432 @@
+package com.vgraphics.engineAsr.Replay;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrEngines;
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+import com.vgraphics.engineAsr.Enums.TraceEvent;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Metrics.MetricsScope;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import java.util.List;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Engine that replays the sessions of a {@link ReplayTrace} instead of recognizing speech, so the
+ * rest of the library can be driven with no microphone, network or speech service. Every start
+ * replays the next session of the trace, wrapping around after the last one, and delivers its
+ * events to the listener at their recorded offsets.
+ *
+ * <p>Offsets are divided by the playback speed, so a speed of {@code 1} plays in real time, a
+ * speed of {@code 10} plays ten times faster and {@link #INSTANT} delivers a whole session at
+ * once. Events are timed with the clock of the scheduler given at construction, so a
+ * {@code ManualScheduler} replays on a virtual clock, which makes timing races reproducible.
+ *
+ * <p>Notice that this engine must only be used from the thread of its scheduler, which is the
+ * main thread on Android.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ReplayAsr implements AsrEngineInterface {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Playback speed that delivers every event of a session at once. */
+    public static final float INSTANT = Float.POSITIVE_INFINITY;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler that times the replayed events. */
+    private final Scheduler scheduler;
+    /** Listener to invoke asr events. */
+    private volatile AsrCallbacksListener listener;
+    /** Trace to replay. Replaced traces apply from the next session. */
+    private volatile ReplayTrace trace;
+    /** Playback speed. Changes apply from the next session. */
+    private volatile float speed = 1;
+    /** Metrics to record result latency to, if any. */
+    private volatile AsrMetrics metrics;
+    /** Current recognition language. */
+    private String language;
+    /** Events of the session being replayed. */
+    private List<ReplayTrace.Event> session;
+    /** Index of the next event to deliver. */
+    private int next;
+    /** Time the session started on the scheduler clock. */
+    private long startTime;
+    /** Playback speed of the session being replayed. */
+    private float sessionSpeed;
+    /** Time the end of speech was replayed, or {@code -1} if it was not. */
+    private long endOfSpeechTime = -1;
+    /** Last delivered partial result of the session, if any. */
+    private String lastPartial;
+    /** Defines if a session is being replayed. */
+    private boolean listening;
+    /** Defines if the engine was disposed. */
+    private boolean disposed;
+    /** Number of sessions started since construction. */
+    private long replayedSessions;
+    /** Number of events delivered since construction. */
+    private long deliveredEvents;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that delivers the due events of the session. */
+    private final Runnable playRunnable = new Runnable() {
+        @Override
+        public void run() {
+            play();
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new replay engine. Initialization is reported on the scheduler.
+     *
+     * @param scheduler Scheduler that times the replayed events.
+     * @param trace     Trace to replay.
+     * @param language  Recognition language. May be {@code null}.
+     * @param listener  Listener to invoke asr events.
+     */
+    public ReplayAsr(@NonNull Scheduler scheduler, @NonNull ReplayTrace trace,
+                     @Nullable String language, @NonNull AsrCallbacksListener listener) {
+        this.scheduler = scheduler;
+        this.trace = trace;
+        this.language = language;
+        this.listener = listener;
+
+        postInitialized();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the trace to replay. The session being replayed, if any, is not affected.
+     *
+     * @param trace The trace to replay.
+     */
+    public void setTrace(@NonNull ReplayTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Sets the playback speed. The session being replayed, if any, is not affected.
+     *
+     * @param speed Factor the recorded timings are accelerated by. {@code 1} plays in real time
+     *              and {@link #INSTANT} delivers a whole session at once.
+     *
+     * @throws IllegalArgumentException If given speed is not positive.
+     */
+    public void setSpeed(float speed) {
+        if (!(speed > 0)) throw new IllegalArgumentException("Speed must be positive : " + speed);
+
+        this.speed = speed;
+    }
+
+    /**
+     * Sets the metrics that the latency between the replayed end of speech and the final result
+     * is recorded to, same as live engines do.
+     *
+     * @param metrics The metrics or {@code null} to record nothing.
+     */
+    public void setMetrics(@Nullable AsrMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The trace being replayed. */
+    @NonNull
+    public ReplayTrace getTrace() {
+        return trace;
+    }
+
+    /** @return The playback speed. */
+    public float getSpeed() {
+        return speed;
+    }
+
+    /** @return {@code True} if a session is being replayed. {@code False} otherwise. */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /** @return Number of sessions started since construction. */
+    public long getReplayedSessionCount() {
+        return replayedSessions;
+    }
+
+    /** @return Number of events delivered since construction. */
+    public long getDeliveredEventCount() {
+        return deliveredEvents;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ENGINE FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts replaying the next session of the trace. Events due at once are delivered on the
+     * scheduler, not from within this call, same as live engines deliver them.
+     */
+    @Override
+    public void startListening() {
+        if (disposed) {
+            Log.e(TAG, TAG + "Replay engine is disposed. Can not start listening!");
+            return;
+        }
+        if (listening) {
+            Log.w(TAG, TAG + "Replay engine is already listening. Skipping...");
+            return;
+        }
+
+        // Check if we have anything to replay.
+        final ReplayTrace trace = this.trace;
+        if (trace.getSessionCount() == 0) {
+            Log.e(TAG, TAG + "Replay trace has no sessions. Can not start listening!");
+            scheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onAsrError(AsrError.CLIENT);
+                }
+            });
+            return;
+        }
+
+        session = trace.getSession((int) (replayedSessions++ % trace.getSessionCount()));
+        next = 0;
+        startTime = scheduler.uptimeMillis();
+        sessionSpeed = speed;
+        endOfSpeechTime = -1;
+        lastPartial = null;
+        listening = true;
+
+        schedule();
+    }
+
+    /**
+     * Stops replaying the current session. Remaining events are dropped and the session ends with
+     * exactly one terminal callback, same as live engines do. The last partial result, if any,
+     * is delivered as the final result. Otherwise cancellation is reported.
+     */
+    @Override
+    public void stopListening() {
+        if (!listening) return;
+
+        endSession();
+        final AsrCallbacksListener listener = this.listener;
+        if (lastPartial != null) {
+            notifyResult(lastPartial, scheduler.uptimeMillis());
+            listener.onAsrFinalResult(lastPartial);
+        }
+        else listener.onAsrCancelled();
+    }
+
+    @Override
+    public void disposeEngine() {
+        if (listening) endSession();
+        disposed = true;
+    }
+
+    /**
+     * Defines if given language is one of the languages of the trace. Traces without languages
+     * support every language.
+     *
+     * @param language Language to check if is supported by this engine.
+     *
+     * @return {@code True} if requested language is supported by this engine. {@code False}
+     * otherwise.
+     */
+    @Override
+    public boolean languageIsSupported(String language) {
+        final List<String> languages = trace.getLanguages();
+        return languages.isEmpty() || languages.contains(language);
+    }
+
+    @Override
+    public void setListener(@NonNull AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void getSupportedLanguages() {
+        final List<String> languages = trace.getLanguages();
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onLangListRetrieved(languages);
+            }
+        });
+    }
+
+    @Override
+    public void setRecognitionLanguage(@NonNull String language) {
+        if (listening) endSession();
+        this.language = language;
+
+        postInitialized();
+    }
+
+    @Override
+    public int engineCode() {
+        return AsrEngines.REPLAY;
+    }
+
+    @Override
+    public boolean getAvailability() {
+        return true;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Delivers every due event of the session and schedules the next one. A final result or an
+     * error ends the session before it is delivered, so the listener may start a new session
+     * from within the callback. The session also ends once its events run out.
+     */
+    private void play() {
+        final long now = scheduler.uptimeMillis();
+        while (listening && next < session.size()) {
+            final ReplayTrace.Event event = session.get(next);
+            if (dueTime(event) > now) break;
+
+            next++;
+            deliveredEvents++;
+            deliver(event, now);
+        }
+
+        if (!listening) return;
+        if (next < session.size()) schedule();
+        else endSession();
+    }
+
+    /**
+     * Delivers given event to the listener.
+     *
+     * @param event The event to deliver.
+     * @param now   Current time on the scheduler clock.
+     */
+    private void deliver(@NonNull ReplayTrace.Event event, long now) {
+        final AsrCallbacksListener listener = this.listener;
+        switch (event.getType()) {
+            case TraceEvent.START:
+                listener.onAsrStart();
+                break;
+            case TraceEvent.PARTIAL:
+                lastPartial = event.getText();
+                listener.onAsrPartialResult(lastPartial);
+                break;
+            case TraceEvent.END_OF_SPEECH:
+                endOfSpeechTime = now;
+                break;
+            case TraceEvent.FINAL:
+                recordResultLatency(now);
+                endSession();
+                notifyResult(event.getText(), now);
+                listener.onAsrFinalResult(event.getText());
+                break;
+            case TraceEvent.ERROR:
+                endSession();
+                listener.onAsrError(event.getNumber());
+                break;
+            case TraceEvent.CANCELLED:
+                listener.onAsrCancelled();
+                break;
+        }
+    }
+
+    /**
+     * Schedules delivery of the next event of the session.
+     */
+    private void schedule() {
+        final long delay = dueTime(session.get(next)) - scheduler.uptimeMillis();
+        if (delay > 0) scheduler.postDelayed(playRunnable, delay);
+        else scheduler.post(playRunnable);
+    }
+
+    /**
+     * @param event An event of the session.
+     *
+     * @return Time given event is due on the scheduler clock.
+     */
+    private long dueTime(@NonNull ReplayTrace.Event event) {
+        return startTime + (long) (event.getOffset() / sessionSpeed);
+    }
+
+    /**
+     * Ends the session being replayed, dropping its remaining events.
+     */
+    private void endSession() {
+        listening = false;
+        scheduler.removeCallbacks(playRunnable);
+    }
+
+    /**
+     * Delivers the structured form of a final result, if the listener wants it. Traces do not
+     * record alternatives, so the result holds the final result only, without a confidence.
+     *
+     * @param text The final result. May be {@code null} for an empty one.
+     * @param now  Current time on the scheduler clock.
+     */
+    private void notifyResult(@Nullable String text, long now) {
+        final AsrCallbacksListener listener = this.listener;
+        if (!(listener instanceof AsrResultListener)) return;
+
+        final AsrResult result = AsrResult.obtain(engineCode(), language);
+        if (text != null && !text.isEmpty())
+            result.addAlternative(text, AsrResult.UNKNOWN_CONFIDENCE);
+        result.setTiming(startTime, endOfSpeechTime, now);
+        try {
+            ((AsrResultListener) listener).onAsrResult(result);
+        }
+        finally {
+            result.recycle();
+        }
+    }
+
+    /**
+     * Records the latency between the replayed end of speech and the final result, if the end of
+     * speech was replayed and metrics are enabled.
+     *
+     * @param now Current time on the scheduler clock.
+     */
+    private void recordResultLatency(long now) {
+        final AsrMetrics metrics = this.metrics;
+        if (endOfSpeechTime < 0 || metrics == null || !metrics.isEnabled()) return;
+
+        final MetricsScope scope = metrics.scope(engineCode(), language);
+        scope.record(AsrMetric.RESULT_LATENCY, now - endOfSpeechTime);
+    }
+
+    /**
+     * Reports a successful initialization on the scheduler.
+     */
+    private void postInitialized() {
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!disposed) listener.onAsrInitialized(true);
+            }
+        });
+    }
+}
@@ -0,0 +1,458 @@
+package com.vgraphics.engineAsr.Replay;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.TraceEvent;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Recorded callback timings and transcripts of one or more recognition sessions, replayed by
+ * {@link ReplayAsr}. Every session is a list of {@link Event}s stamped with their offset from
+ * the start of the session, in milliseconds. Traces are built in code, recorded from a live
+ * engine through {@link TraceRecorder}, or read from text.
+ *
+ * <p>The text format has one entry per line, with fields separated by tabs. A {@code session}
+ * line starts a new session and every other line is an event of that session, as offset, event
+ * name and an optional argument, which is the text of partial and final results or the code of
+ * errors. An optional {@code languages} line lists the supported languages, separated by commas.
+ * Empty lines and lines starting with {@code #} are ignored. Tabs, line breaks and backslashes
+ * of texts are escaped with a backslash.
+ *
+ * <pre>
+ * # EasyAsr replay trace
+ * languages    en-US,el-GR
+ * session
+ * 0    START
+ * 420  PARTIAL        hello
+ * 910  END_OF_SPEECH
+ * 1180 FINAL          hello world
+ * </pre>
+ *
+ * <p>Notice that traces are not thread safe and must not be modified while replayed.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ReplayTrace {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** First line of written traces. */
+    public static final String HEADER = "# EasyAsr replay trace";
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Charset of trace files. */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    /** Keyword of the line that starts a session. */
+    private static final String SESSION = "session";
+    /** Keyword of the line that lists the supported languages. */
+    private static final String LANGUAGES = "languages";
+    /** Names of the events, indexed by {@link TraceEvent}. */
+    private static final String[] NAMES = {"START", "PARTIAL", "END_OF_SPEECH", "FINAL", "ERROR",
+            "CANCELLED"};
+
+    /** Recorded sessions in order. */
+    private final List<List<Event>> sessions = new ArrayList<>();
+    /** Supported languages. Empty if every language is supported. */
+    private final List<String> languages = new ArrayList<>();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new empty trace.
+     */
+    public ReplayTrace() {}
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → BUILD FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts a new session. Events added from now on belong to it.
+     *
+     * @return This trace.
+     */
+    @NonNull
+    public ReplayTrace newSession() {
+        sessions.add(new ArrayList<Event>());
+        return this;
+    }
+
+    /**
+     * Adds an event without argument to the last session, starting one if there is none.
+     *
+     * @param type   Any of {@link TraceEvent}.
+     * @param offset Offset of the event from the start of the session in milliseconds.
+     *
+     * @return This trace.
+     */
+    @NonNull
+    public ReplayTrace add(@TraceEvent int type, long offset) {
+        return add(type, offset, null, 0);
+    }
+
+    /**
+     * Adds an event to the last session, starting one if there is none.
+     *
+     * @param type   Any of {@link TraceEvent}.
+     * @param offset Offset of the event from the start of the session in milliseconds.
+     * @param text   Text of partial and final results. Ignored by other events.
+     * @param number Code of errors. Ignored by other events.
+     *
+     * @return This trace.
+     *
+     * @throws IllegalArgumentException If the event type is unknown or the offset is negative or
+     *                                  earlier than the offset of the previous event.
+     */
+    @NonNull
+    public ReplayTrace add(@TraceEvent int type, long offset, @Nullable String text, int number) {
+        if (type < 0 || type >= NAMES.length)
+            throw new IllegalArgumentException("Unknown trace event : " + type);
+        if (sessions.isEmpty()) newSession();
+
+        final List<Event> session = sessions.get(sessions.size() - 1);
+        final long previous = session.isEmpty() ? 0 : session.get(session.size() - 1).offset;
+        if (offset < previous) throw new IllegalArgumentException("Event offset " + offset +
+                " is earlier than the previous event at " + previous);
+
+        final boolean hasText = type == TraceEvent.PARTIAL || type == TraceEvent.FINAL;
+        session.add(new Event(type, offset, hasText ? (text != null ? text : "") : null,
+                type == TraceEvent.ERROR ? number : 0));
+        return this;
+    }
+
+    /**
+     * Sets the languages a replaying engine reports as supported.
+     *
+     * @param languages The supported languages or {@code null} to support every language.
+     *
+     * @return This trace.
+     */
+    @NonNull
+    public ReplayTrace setLanguages(@Nullable List<String> languages) {
+        this.languages.clear();
+        if (languages != null) this.languages.addAll(languages);
+        return this;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of recorded sessions. */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @param index Index of the session.
+     *
+     * @return The events of given session in order. The list can not be modified.
+     */
+    @NonNull
+    public List<Event> getSession(int index) {
+        return Collections.unmodifiableList(sessions.get(index));
+    }
+
+    /** @return Total number of events of all sessions. */
+    public int getEventCount() {
+        int count = 0;
+        for (List<Event> session : sessions) count += session.size();
+        return count;
+    }
+
+    /** @return Sum of the durations of all sessions in milliseconds. */
+    public long getDuration() {
+        long duration = 0;
+        for (List<Event> session : sessions)
+            if (!session.isEmpty()) duration += session.get(session.size() - 1).offset;
+        return duration;
+    }
+
+    /** @return Supported languages. Empty if every language is supported. Can not be modified. */
+    @NonNull
+    public List<String> getLanguages() {
+        return Collections.unmodifiableList(languages);
+    }
+
+    /**
+     * @param type Any of {@link TraceEvent}.
+     *
+     * @return Name of given event as written in traces.
+     */
+    @NonNull
+    public static String eventToString(@TraceEvent int type) {
+        return type >= 0 && type < NAMES.length ? NAMES[type] : "UNKNOWN";
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TEXT FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Writes this trace as text. Given writer is not closed.
+     *
+     * @param writer Writer to write to.
+     *
+     * @throws IOException If writing fails.
+     */
+    public void write(@NonNull Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+
+        if (!languages.isEmpty()) {
+            writer.write(LANGUAGES);
+            writer.write('\t');
+            for (int i = 0; i < languages.size(); i++) {
+                if (i > 0) writer.write(',');
+                writer.write(languages.get(i));
+            }
+            writer.write('\n');
+        }
+
+        for (List<Event> session : sessions) {
+            writer.write(SESSION);
+            writer.write('\n');
+
+            for (Event event : session) {
+                writer.write(Long.toString(event.offset));
+                writer.write('\t');
+                writer.write(NAMES[event.type]);
+                if (event.text != null) {
+                    writer.write('\t');
+                    writer.write(escape(event.text));
+                }
+                else if (event.type == TraceEvent.ERROR) {
+                    writer.write('\t');
+                    writer.write(Integer.toString(event.number));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes this trace to given file as UTF-8 text, replacing any existing file.
+     *
+     * @param file File to write to.
+     *
+     * @throws IOException If writing fails.
+     */
+    public void save(@NonNull File file) throws IOException {
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8);
+        try {
+            write(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reads a trace from text. Given reader is not closed.
+     *
+     * @param reader Reader to read from.
+     *
+     * @return The trace.
+     *
+     * @throws IOException If reading fails or the text is not a valid trace.
+     */
+    @NonNull
+    public static ReplayTrace parse(@NonNull Reader reader) throws IOException {
+        final ReplayTrace trace = new ReplayTrace();
+        final BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader : new BufferedReader(reader);
+
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+
+            final String[] fields = line.split("\t", 3);
+            try {
+                if (fields[0].equals(SESSION)) trace.newSession();
+                else if (fields[0].equals(LANGUAGES)) {
+                    final List<String> languages = new ArrayList<>();
+                    if (fields.length > 1) for (String language : fields[1].split(","))
+                        if (!language.isEmpty()) languages.add(language);
+                    trace.setLanguages(languages);
+                }
+                else {
+                    final int type = typeOf(fields.length > 1 ? fields[1] : "");
+                    final String argument = fields.length > 2 ? fields[2] : null;
+                    trace.add(type, Long.parseLong(fields[0]),
+                            argument != null ? unescape(argument) : null,
+                            type == TraceEvent.ERROR && argument != null
+                                    ? Integer.parseInt(argument) : 0);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid trace line " + number + " : " + e.getMessage());
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * Reads a trace from given UTF-8 text file.
+     *
+     * @param file File to read from.
+     *
+     * @return The trace.
+     *
+     * @throws IOException If reading fails or the file is not a valid trace.
+     */
+    @NonNull
+    public static ReplayTrace load(@NonNull File file) throws IOException {
+        final Reader reader = new InputStreamReader(new FileInputStream(file), UTF_8);
+        try {
+            return parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @param name Name of an event as written in traces.
+     *
+     * @return The event type of given name.
+     *
+     * @throws IllegalArgumentException If given name is not an event.
+     */
+    private static int typeOf(@NonNull String name) {
+        for (int i = 0; i < NAMES.length; i++) if (NAMES[i].equals(name)) return i;
+
+        throw new IllegalArgumentException("Unknown trace event : " + name);
+    }
+
+    /**
+     * Escapes tabs, line breaks and backslashes of given text.
+     *
+     * @param text Text to escape.
+     *
+     * @return The escaped text.
+     */
+    @NonNull
+    private static String escape(@NonNull String text) {
+        final StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '\\') builder.append("\\\\");
+            else if (c == '\t') builder.append("\\t");
+            else if (c == '\n') builder.append("\\n");
+            else if (c == '\r') builder.append("\\r");
+            else builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reverts {@link #escape(String)}.
+     *
+     * @param text Text to un-escape.
+     *
+     * @return The un-escaped text.
+     */
+    @NonNull
+    private static String unescape(@NonNull String text) {
+        if (text.indexOf('\\') < 0) return text;
+
+        final StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c != '\\' || i == text.length() - 1) {
+                builder.append(c);
+                continue;
+            }
+
+            final char next = text.charAt(++i);
+            if (next == 't') builder.append('\t');
+            else if (next == 'n') builder.append('\n');
+            else if (next == 'r') builder.append('\r');
+            else builder.append(next);
+        }
+        return builder.toString();
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * A recorded callback of a session.
+     */
+    public static final class Event {
+        /** Type of the event. */
+        private final int type;
+        /** Offset of the event from the start of the session in milliseconds. */
+        private final long offset;
+        /** Text of partial and final results. {@code null} for other events. */
+        private final String text;
+        /** Code of errors. Zero for other events. */
+        private final int number;
+
+        /**
+         * Constructs a new event.
+         *
+         * @param type   Type of the event.
+         * @param offset Offset of the event from the start of the session in milliseconds.
+         * @param text   Text of partial and final results.
+         * @param number Code of errors.
+         */
+        Event(@TraceEvent int type, long offset, @Nullable String text, int number) {
+            this.type = type;
+            this.offset = offset;
+            this.text = text;
+            this.number = number;
+        }
+
+        /** @return Type of the event. Any of {@link TraceEvent}. */
+        @TraceEvent
+        public int getType() {
+            return type;
+        }
+
+        /** @return Offset of the event from the start of the session in milliseconds. */
+        public long getOffset() {
+            return offset;
+        }
+
+        /** @return Text of partial and final results. {@code null} for other events. */
+        @Nullable
+        public String getText() {
+            return text;
+        }
+
+        /** @return Code of errors. Zero for other events. */
+        public int getNumber() {
+            return number;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return offset + " " + NAMES[type] + (text != null ? " " + text
+                    : type == TraceEvent.ERROR ? " " + number : "");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.vgraphics.engineAsr.Replay;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.TraceEvent;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+
+import java.util.List;
+
+/**
+ * Listener that records the callbacks of a live engine into a {@link ReplayTrace}, and forwards
+ * them to another listener. Set it as the engine listener, or wrap the application listener
+ * with it, and save the trace once done.
+ *
+ * <p>A session starts at {@link #begin()}, which should be called together with the start
+ * request, so that the start latency of the engine is recorded as well. Otherwise, a session
+ * starts at the first callback. A final result or an error ends the session. The end of speech,
+ * which listeners do not receive, can be marked with {@link #endOfSpeech()}.
+ *
+ * <p>Notice that this class must only be used from the thread engines invoke callbacks on,
+ * which is the main thread on Android.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class TraceRecorder implements AsrCallbacksListener {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler whose clock stamps the events. */
+    private final Scheduler scheduler;
+    /** Trace the events are recorded to. */
+    private final ReplayTrace trace;
+    /** Listener callbacks are forwarded to, if any. */
+    private volatile AsrCallbacksListener listener;
+    /** Time the current session started, or {@code -1} if no session is recorded. */
+    private long sessionStart = -1;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new recorder that records to a new trace.
+     *
+     * @param scheduler Scheduler whose clock stamps the events.
+     * @param listener  Listener to forward callbacks to or {@code null} to forward nothing.
+     */
+    public TraceRecorder(@NonNull Scheduler scheduler, @Nullable AsrCallbacksListener listener) {
+        this(scheduler, new ReplayTrace(), listener);
+    }
+
+    /**
+     * Constructs a new recorder that appends sessions to given trace.
+     *
+     * @param scheduler Scheduler whose clock stamps the events.
+     * @param trace     Trace to record to.
+     * @param listener  Listener to forward callbacks to or {@code null} to forward nothing.
+     */
+    public TraceRecorder(@NonNull Scheduler scheduler, @NonNull ReplayTrace trace,
+                         @Nullable AsrCallbacksListener listener) {
+        this.scheduler = scheduler;
+        this.trace = trace;
+        this.listener = listener;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts recording a new session. Any session that did not end yet is kept as is.
+     */
+    public void begin() {
+        trace.newSession();
+        sessionStart = scheduler.uptimeMillis();
+    }
+
+    /**
+     * Marks the end of speech of the current session.
+     */
+    public void endOfSpeech() {
+        record(TraceEvent.END_OF_SPEECH, null, 0);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @param listener Listener to forward callbacks to or {@code null} to forward nothing.
+     */
+    public void setListener(@Nullable AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The trace the events are recorded to. */
+    @NonNull
+    public ReplayTrace getTrace() {
+        return trace;
+    }
+
+    /** @return {@code True} if a session is being recorded. {@code False} otherwise. */
+    public boolean isRecording() {
+        return sessionStart >= 0;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Records an event to the current session, starting one if there is none. A final result or
+     * an error ends the session.
+     *
+     * @param type   Any of {@link TraceEvent}.
+     * @param text   Text of partial and final results.
+     * @param number Code of errors.
+     */
+    private void record(@TraceEvent int type, @Nullable String text, int number) {
+        if (sessionStart < 0) begin();
+
+        trace.add(type, scheduler.uptimeMillis() - sessionStart, text, number);
+        if (type == TraceEvent.FINAL || type == TraceEvent.ERROR) sessionStart = -1;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → LISTENER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void onAsrInitialized(boolean success) {
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrInitialized(success);
+    }
+
+    @Override
+    public void onAsrStart() {
+        record(TraceEvent.START, null, 0);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrStart();
+    }
+
+    @Override
+    public void onAsrCancelled() {
+        record(TraceEvent.CANCELLED, null, 0);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrCancelled();
+    }
+
+    @Override
+    public void onAsrFinalResult(String finalResult) {
+        record(TraceEvent.FINAL, finalResult, 0);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrFinalResult(finalResult);
+    }
+
+    @Override
+    public void onAsrPartialResult(String partialResult) {
+        record(TraceEvent.PARTIAL, partialResult, 0);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrPartialResult(partialResult);
+    }
+
+    @Override
+    public void onAsrError(int errorCode) {
+        record(TraceEvent.ERROR, null, errorCode);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onAsrError(errorCode);
+    }
+
+    @Override
+    public void onLangListRetrieved(@Nullable List<String> languages) {
+        if (languages != null) trace.setLanguages(languages);
+
+        final AsrCallbacksListener listener = this.listener;
+        if (listener != null) listener.onLangListRetrieved(languages);
+    }
+}
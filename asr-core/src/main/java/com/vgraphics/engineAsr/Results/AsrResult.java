@@ -0,0 +1,287 @@
+package com.vgraphics.engineAsr.Results;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+
+/**
+ * Structured final result of a recognition session. Holds the n-best alternatives of the
+ * utterance, best first, each with its confidence, together with the engine, the language and
+ * the timing of the session.
+ *
+ * <p>Results are taken from a small pool through {@link #obtain(int, String)} and returned to it
+ * through {@link #recycle()}, so delivering them allocates nothing but the texts the engine
+ * produced. A result delivered through {@link AsrResultListener#onAsrResult(AsrResult)} is only
+ * valid for the duration of the callback and is recycled once it returns. Use {@link #copy()} to
+ * keep it.
+ *
+ * <p>Confidences are on the scale of the engine. {@code Google Free} reports values between 0 and
+ * 1, while {@code Offline} reports the score of the decoder, which is only meaningful relative to
+ * the other alternatives of the same utterance. Alternatives without a confidence report
+ * {@link #UNKNOWN_CONFIDENCE}. Timings are in milliseconds of a monotonic clock of the engine, so
+ * only their differences are meaningful.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AsrResult {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Maximum number of alternatives a result holds. */
+    public static final int MAX_ALTERNATIVES = 10;
+    /** Confidence of alternatives whose engine did not report one. */
+    public static final float UNKNOWN_CONFIDENCE = -1;
+    /** Value of timings that are not known. */
+    public static final long UNKNOWN_TIME = -1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Maximum number of pooled results. */
+    private static final int POOL_SIZE = 8;
+    /** Lock guarding the pool. */
+    private static final Object poolLock = new Object();
+    /** First pooled result. Pooled results are linked through {@link #next}. */
+    private static AsrResult pool;
+    /** Number of pooled results. */
+    private static int poolCount;
+
+    /** Next pooled result. */
+    private AsrResult next;
+    /** Defines if this result is in the pool. */
+    private boolean pooled;
+    /** Texts of the alternatives, best first. */
+    private final String[] texts = new String[MAX_ALTERNATIVES];
+    /** Confidences of the alternatives. */
+    private final float[] confidences = new float[MAX_ALTERNATIVES];
+    /** Number of alternatives. */
+    private int count;
+    /** Engine code of the engine that recognized the utterance. */
+    private int engine;
+    /** Language of the utterance. */
+    private String language;
+    /** Time the engine started listening. */
+    private long startTime = UNKNOWN_TIME;
+    /** Time the user stopped speaking. */
+    private long endOfSpeechTime = UNKNOWN_TIME;
+    /** Time the result was ready. */
+    private long resultTime = UNKNOWN_TIME;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Private constructor. Use {@link #obtain(int, String)} or {@link #copy()}.
+     */
+    private AsrResult() {}
+
+    /**
+     * Returns an empty result out of the pool, or a new one if the pool is empty. Safe to call
+     * from any thread.
+     *
+     * @param engine   Engine code of the engine that recognized the utterance.
+     * @param language Language of the utterance. May be {@code null}.
+     *
+     * @return An empty result.
+     */
+    @NonNull
+    public static AsrResult obtain(int engine, @Nullable String language) {
+        AsrResult result = null;
+        synchronized (poolLock) {
+            if (pool != null) {
+                result = pool;
+                pool = result.next;
+                result.next = null;
+                result.pooled = false;
+                poolCount--;
+            }
+        }
+        if (result == null) result = new AsrResult();
+
+        result.engine = engine;
+        result.language = language;
+        return result;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → BUILD FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Adds the next best alternative. Alternatives beyond {@link #MAX_ALTERNATIVES} are dropped.
+     *
+     * @param text       Text of the alternative.
+     * @param confidence Confidence of the alternative or {@link #UNKNOWN_CONFIDENCE}.
+     *
+     * @return {@code True} if the alternative was added. {@code False} if the result is full.
+     */
+    public boolean addAlternative(@NonNull String text, float confidence) {
+        if (count == MAX_ALTERNATIVES) return false;
+
+        texts[count] = text;
+        confidences[count] = confidence;
+        count++;
+        return true;
+    }
+
+    /**
+     * Sets the timing of the session.
+     *
+     * @param startTime       Time the engine started listening or {@link #UNKNOWN_TIME}.
+     * @param endOfSpeechTime Time the user stopped speaking or {@link #UNKNOWN_TIME}.
+     * @param resultTime      Time the result was ready or {@link #UNKNOWN_TIME}.
+     */
+    public void setTiming(long startTime, long endOfSpeechTime, long resultTime) {
+        this.startTime = startTime;
+        this.endOfSpeechTime = endOfSpeechTime;
+        this.resultTime = resultTime;
+    }
+
+    /**
+     * Returns an un-pooled copy of this result, which stays valid after this result is recycled.
+     *
+     * @return A copy of this result.
+     */
+    @NonNull
+    public AsrResult copy() {
+        final AsrResult copy = new AsrResult();
+        System.arraycopy(texts, 0, copy.texts, 0, count);
+        System.arraycopy(confidences, 0, copy.confidences, 0, count);
+        copy.count = count;
+        copy.engine = engine;
+        copy.language = language;
+        copy.setTiming(startTime, endOfSpeechTime, resultTime);
+        return copy;
+    }
+
+    /**
+     * Clears this result and returns it to the pool. The result must not be used afterwards.
+     * Safe to call from any thread.
+     *
+     * @throws IllegalStateException If the result is already recycled.
+     */
+    public void recycle() {
+        for (int i = 0; i < count; i++) texts[i] = null;
+        count = 0;
+        language = null;
+        setTiming(UNKNOWN_TIME, UNKNOWN_TIME, UNKNOWN_TIME);
+
+        synchronized (poolLock) {
+            if (pooled) throw new IllegalStateException("Result is already recycled.");
+            if (poolCount == POOL_SIZE) return;
+
+            pooled = true;
+            next = pool;
+            pool = this;
+            poolCount++;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Number of alternatives. Zero if nothing was recognized. */
+    public int getAlternativeCount() {
+        return count;
+    }
+
+    /**
+     * @param index Index of the alternative. Zero is the best one.
+     *
+     * @return Text of given alternative.
+     *
+     * @throws IndexOutOfBoundsException If there is no such alternative.
+     */
+    @NonNull
+    public String getText(int index) {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("Alternative " +
+                index + " of " + count);
+        return texts[index];
+    }
+
+    /**
+     * @param index Index of the alternative. Zero is the best one.
+     *
+     * @return Confidence of given alternative or {@link #UNKNOWN_CONFIDENCE}.
+     *
+     * @throws IndexOutOfBoundsException If there is no such alternative.
+     */
+    public float getConfidence(int index) {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("Alternative " +
+                index + " of " + count);
+        return confidences[index];
+    }
+
+    /** @return Text of the best alternative. Empty if nothing was recognized. */
+    @NonNull
+    public String getText() {
+        return count > 0 ? texts[0] : "";
+    }
+
+    /** @return Confidence of the best alternative or {@link #UNKNOWN_CONFIDENCE}. */
+    public float getConfidence() {
+        return count > 0 ? confidences[0] : UNKNOWN_CONFIDENCE;
+    }
+
+    /** @return Engine code of the engine that recognized the utterance. */
+    public int getEngine() {
+        return engine;
+    }
+
+    /** @return Language of the utterance. May be {@code null} for the engine default. */
+    @Nullable
+    public String getLanguage() {
+        return language;
+    }
+
+    /** @return Time the engine started listening or {@link #UNKNOWN_TIME}. */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** @return Time the user stopped speaking or {@link #UNKNOWN_TIME}. */
+    public long getEndOfSpeechTime() {
+        return endOfSpeechTime;
+    }
+
+    /** @return Time the result was ready or {@link #UNKNOWN_TIME}. */
+    public long getResultTime() {
+        return resultTime;
+    }
+
+    /**
+     * @return Milliseconds between the end of speech and the result or {@link #UNKNOWN_TIME} if
+     * either is not known.
+     */
+    public long getLatency() {
+        if (endOfSpeechTime == UNKNOWN_TIME || resultTime == UNKNOWN_TIME) return UNKNOWN_TIME;
+        return resultTime - endOfSpeechTime;
+    }
+
+    /**
+     * @return Milliseconds between the start of listening and the result or {@link #UNKNOWN_TIME}
+     * if either is not known.
+     */
+    public long getDuration() {
+        if (startTime == UNKNOWN_TIME || resultTime == UNKNOWN_TIME) return UNKNOWN_TIME;
+        return resultTime - startTime;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("AsrResult{engine=").append(engine)
+                .append(", language=").append(language).append(", alternatives=[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append('"').append(texts[i]).append("\" ").append(confidences[i]);
+        }
+        return builder.append("], latency=").append(getLatency()).append(", duration=")
+                .append(getDuration()).append('}').toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.vgraphics.engineAsr.Session;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrCommand;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.asr.AdmissionController;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * A recognition session opened through {@link SessionManager}. Every session has its own id,
+ * engine instance, language and listener, so any number of sessions can recognize at the same
+ * time without overriding each other. Start and stop requests of a session pass through its own
+ * {@link AdmissionController}, while commands of all sessions share the single dispatcher of the
+ * manager, so a session costs a few small objects besides its engine.
+ *
+ * <p>Operations are safe to call from any thread and are executed in order on the scheduler of
+ * the manager. The engine is constructed there too, once the session is opened, and disposed
+ * once the session is closed.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AsrSession {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Manager that opened the session. */
+    private final SessionManager manager;
+    /** Unique id of the session within its manager. */
+    private final int id;
+    /** Engine code of the session. */
+    private final int engineCode;
+    /** Listener to invoke asr events of the session. */
+    private final AsrCallbacksListener listener;
+    /** Controller that queues and spaces start and stop requests of the session. */
+    private final AdmissionController admission;
+    /** Language of the session. */
+    private volatile String language;
+    /** Engine of the session. Only assigned on the scheduler of the manager. */
+    private volatile AsrEngineInterface engine;
+    /** Defines if the session was closed. */
+    private volatile boolean closed;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Package private constructor. Sessions are opened through
+     * {@link SessionManager#open(int, String, AsrCallbacksListener)}.
+     *
+     * @param manager    Manager that opens the session.
+     * @param id         Unique id of the session.
+     * @param engineCode Engine code of the session.
+     * @param language   Language of the session. May be {@code null}.
+     * @param listener   Listener to invoke asr events of the session.
+     */
+    AsrSession(@NonNull SessionManager manager, int id, int engineCode, @Nullable String language,
+               @NonNull AsrCallbacksListener listener) {
+        this.manager = manager;
+        this.id = id;
+        this.engineCode = engineCode;
+        this.language = language;
+        this.listener = listener;
+
+        admission = new AdmissionController(manager.getScheduler());
+        admission.setListener(listener);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Requests the engine of the session to start listening. Requests that will not reach the
+     * engine are reported through the admission listener of {@link #getAdmissionController()}.
+     */
+    public void startListening() {
+        if (closed) {
+            Log.w(TAG, TAG + "Session " + id + " is closed. Can not start listening!");
+            return;
+        }
+
+        manager.enqueue(AsrCommand.START, null, id);
+    }
+
+    /**
+     * Requests the engine of the session to stop listening.
+     */
+    public void stopListening() {
+        if (closed) return;
+
+        manager.enqueue(AsrCommand.STOP, null, id);
+    }
+
+    /**
+     * Switches the session to another language. The engine of the session is switched to it
+     * without being constructed again. Sessions of the same engine may use different languages.
+     *
+     * @param language The new language of the session. Must be type of 'en-US'.
+     */
+    public void setLanguage(@Nullable String language) {
+        if (closed) return;
+
+        manager.enqueue(AsrCommand.CONSTRUCT, language, id);
+    }
+
+    /**
+     * Closes the session. Its engine stops listening and is disposed, and queued requests are
+     * rejected. It is safe to call this operation more than once.
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        manager.enqueue(AsrCommand.DESTROY, null, id);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return Unique id of the session within its manager. */
+    public int getId() {
+        return id;
+    }
+
+    /** @return Engine code of the session. */
+    public int getEngineCode() {
+        return engineCode;
+    }
+
+    /** @return Language of the session. May be {@code null} for the engine default. */
+    @Nullable
+    public String getLanguage() {
+        return language;
+    }
+
+    /** @return Listener to invoke asr events of the session. */
+    @NonNull
+    public AsrCallbacksListener getListener() {
+        return listener;
+    }
+
+    /** @return Engine of the session or {@code null} if not constructed yet or closed. */
+    @Nullable
+    public AsrEngineInterface getEngine() {
+        return engine;
+    }
+
+    /** @return Controller that queues and spaces start and stop requests of the session. */
+    @NonNull
+    public AdmissionController getAdmissionController() {
+        return admission;
+    }
+
+    /** @return {@code True} if the session was closed. {@code False} otherwise. */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "AsrSession{id=" + id + ", engine=" + engineCode + ", language=" + language
+                + (closed ? ", closed}" : "}");
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → COMMAND FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Executes a command of the session. Always runs on the scheduler of the manager.
+     *
+     * @param type    The type of the command.
+     * @param text    Text argument of the command.
+     * @param factory Factory that constructs the engine of the session.
+     * @param metrics Metrics to record sessions to or {@code null}.
+     */
+    void execute(@AsrCommand int type, @Nullable String text,
+                 @NonNull SessionManager.EngineFactory factory, @Nullable AsrMetrics metrics) {
+        switch (type) {
+            case AsrCommand.CONSTRUCT:
+                if (engine == null) {
+                    language = text;
+                    construct(factory, metrics);
+                }
+                else if (text == null ? language != null : !text.equals(language)) {
+                    language = text;
+                    if (metrics != null) admission.setMetrics(metrics.scope(engineCode, text));
+                    engine.setRecognitionLanguage(text);
+                }
+                break;
+            case AsrCommand.START:
+                admission.requestStart();
+                break;
+            case AsrCommand.STOP:
+                admission.requestStop();
+                break;
+            case AsrCommand.DESTROY:
+                final AsrEngineInterface current = engine;
+                engine = null;
+                admission.setEngine(null);
+                if (current != null) {
+                    current.stopListening();
+                    current.disposeEngine();
+                }
+                break;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs the engine of the session, which invokes the admission controller of the
+     * session. A session whose engine can not be constructed reports a failed initialization.
+     *
+     * @param factory Factory that constructs the engine of the session.
+     * @param metrics Metrics to record sessions to or {@code null}.
+     */
+    private void construct(@NonNull SessionManager.EngineFactory factory,
+                           @Nullable AsrMetrics metrics) {
+        final AsrEngineInterface created = factory.create(engineCode, language, admission);
+        if (created == null) {
+            Log.e(TAG, TAG + "Session " + id + " has no engine with code : " + engineCode);
+            listener.onAsrInitialized(false);
+            return;
+        }
+
+        engine = created;
+        if (metrics != null) admission.setMetrics(metrics.scope(engineCode, language));
+        admission.setEngine(created);
+    }
+}
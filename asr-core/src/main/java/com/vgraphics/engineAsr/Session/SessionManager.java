@@ -0,0 +1,215 @@
+package com.vgraphics.engineAsr.Session;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrCommand;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Metrics.AsrMetrics;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.asr.CommandDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Manager of concurrent recognition sessions. Every {@link AsrSession} has its own id, engine
+ * instance, language and listener, so a process can recognize on many sessions at once, for
+ * example one per microphone or one per remote client. Resources that do not belong to a single
+ * session, such as models and language lists, are pooled by the engines themselves and shared
+ * between sessions.
+ *
+ * <p>Commands of all sessions are executed by a single {@link CommandDispatcher} on the scheduler
+ * given at construction, keyed by session id. Opening or closing a session neither creates
+ * threads nor allocates dispatcher slots, so a manager can hold thousands of sessions. Notice
+ * that all functions of this class are safe to call from any thread.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SessionManager {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler that executes session commands and engines run on. */
+    private final Scheduler scheduler;
+    /** Factory that constructs the engine of every session. */
+    private final EngineFactory factory;
+    /** Open sessions keyed by id. */
+    private final Map<Integer, AsrSession> sessions = new ConcurrentHashMap<>();
+    /** Id of the last opened session. */
+    private final AtomicInteger lastId = new AtomicInteger();
+    /** Dispatcher that executes commands of all sessions in FIFO order. */
+    private final CommandDispatcher dispatcher;
+    /** Metrics sessions are recorded to or {@code null} to record nothing. */
+    private volatile AsrMetrics metrics;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new session manager.
+     *
+     * @param scheduler Scheduler that executes session commands. Engines are constructed and used
+     *                  on its thread, which must be the main thread on Android.
+     * @param factory   Factory that constructs the engine of every session.
+     */
+    public SessionManager(@NonNull Scheduler scheduler, @NonNull EngineFactory factory) {
+        this.scheduler = scheduler;
+        this.factory = factory;
+        this.dispatcher = new CommandDispatcher(scheduler, new CommandDispatcher.Executor() {
+            @Override
+            public void execute(@AsrCommand int type, @Nullable String text, int number) {
+                executeCommand(type, text, number);
+            }
+        });
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the metrics that sessions opened or switched to another language from now on are
+     * recorded to.
+     *
+     * @param metrics The metrics or {@code null} to record nothing.
+     */
+    public void setMetrics(@Nullable AsrMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SESSION FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Opens a new session. Its engine is constructed on the scheduler of the manager, and
+     * {@link AsrCallbacksListener#onAsrInitialized(boolean)} of given listener reports when it is
+     * ready. Requests made on the session before that are queued.
+     *
+     * @param engineCode The engine code of the session.
+     * @param language   The language of the session or {@code null} for the engine default.
+     * @param listener   Listener to invoke asr events of the session only.
+     *
+     * @return The new session.
+     */
+    @NonNull
+    public AsrSession open(int engineCode, @Nullable String language,
+                           @NonNull AsrCallbacksListener listener) {
+        final int id = lastId.incrementAndGet();
+        final AsrSession session = new AsrSession(this, id, engineCode, language, listener);
+        sessions.put(id, session);
+
+        enqueue(AsrCommand.CONSTRUCT, language, id);
+        return session;
+    }
+
+    /**
+     * Closes all open sessions.
+     */
+    public void closeAll() {
+        for (AsrSession session : sessions.values()) session.close();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @param id The session id.
+     *
+     * @return The session of given id or {@code null} if no such session is open.
+     */
+    @Nullable
+    public AsrSession getSession(int id) {
+        return sessions.get(id);
+    }
+
+    /** @return A copy of the open sessions. Sessions that are closing are included. */
+    @NonNull
+    public List<AsrSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /** @return Number of open sessions, including the ones that are closing. */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /** @return Scheduler that executes session commands. */
+    @NonNull
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /** @return Dispatcher that executes commands of all sessions. */
+    @NonNull
+    public CommandDispatcher getCommandDispatcher() {
+        return dispatcher;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Enqueues a command of a session. Commands are never merged, since consecutive commands may
+     * belong to different sessions.
+     *
+     * @param type The type of the command.
+     * @param text Text argument of the command.
+     * @param id   The session id.
+     */
+    void enqueue(@AsrCommand int type, @Nullable String text, int id) {
+        dispatcher.enqueue(type, text, id, false);
+    }
+
+    /**
+     * Executes a command dispatched by {@link #dispatcher}. Always runs on the scheduler.
+     *
+     * @param type The type of the command.
+     * @param text Text argument of the command.
+     * @param id   The session id.
+     */
+    private void executeCommand(@AsrCommand int type, @Nullable String text, int id) {
+        final AsrSession session = sessions.get(id);
+        if (session == null) {
+            Log.w(TAG, TAG + "Session " + id + " is not open. Skipping "
+                    + CommandDispatcher.typeToString(type) + "...");
+            return;
+        }
+
+        session.execute(type, text, factory, metrics);
+        if (type == AsrCommand.DESTROY) sessions.remove(id);
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Factory of the session engines. Invoked on the scheduler of the manager.
+     */
+    public interface EngineFactory {
+        /**
+         * Creates a new engine for a session. Engines must not be shared between sessions, while
+         * anything heavy the engine needs, such as a model, should be.
+         *
+         * @param engineCode The engine code of the session.
+         * @param language   The language of the session. May be {@code null}.
+         * @param listener   Listener the engine must invoke.
+         *
+         * @return The new engine or {@code null} if no engine has given code.
+         */
+        @Nullable
+        AsrEngineInterface create(int engineCode, @Nullable String language,
+                                  @NonNull AsrCallbacksListener listener);
+    }
+}
@@ -0,0 +1,741 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Commands.CommandMatcher;
+import com.vgraphics.engineAsr.Enums.AdmissionRejection;
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Enums.AsrMetric;
+import com.vgraphics.engineAsr.Interfaces.AsrAdmissionListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommandListener;
+import com.vgraphics.engineAsr.Interfaces.AsrCommittedPartialListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrPartialDeltaListener;
+import com.vgraphics.engineAsr.Interfaces.AsrResultListener;
+import com.vgraphics.engineAsr.Interfaces.AsrRetryListener;
+import com.vgraphics.engineAsr.Metrics.MetricsScope;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+import com.vgraphics.engineAsr.Results.AsrResult;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Admission controller that sits between {@code Asr} and the current engine. Start and stop
+ * requests are queued in FIFO order and redundant requests are merged, so a start followed by a
+ * stop cancels out. A queued start is sent to the engine as soon as the previous session has
+ * ended and the minimum start spacing has elapsed. The spacing follows the start latency the
+ * device actually shows. Requests that will not reach the engine are reported through
+ * {@link AsrAdmissionListener} instead of being dropped silently.
+ *
+ * <p>The controller is registered as the listener of the engine in order to follow the session
+ * lifecycle and forwards every callback to the user listener. Identical consecutive partial
+ * results are dropped before they are forwarded, and voice commands are matched against the rest,
+ * so they are reported before the end of speech. Start latency, gaps between partial results,
+ * throttled and rejected requests and errors are recorded to the metrics of the current engine.
+ * All functions must be called on the thread of the scheduler given at construction, which is
+ * the main thread on Android.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AdmissionController implements AsrCallbacksListener, AsrResultListener,
+        AsrCommittedPartialListener, AsrRetryListener {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Maximum number of queued commands. */
+    public static final int QUEUE_CAPACITY = 8;
+    /** Lower bound of the spacing between two consecutive starts, in milliseconds. */
+    public static final long MIN_START_SPACING = 100;
+    /** Upper bound of the spacing between two consecutive starts, in milliseconds. */
+    public static final long MAX_START_SPACING = 1500;
+    /** Spacing used until the first start latency is measured, in milliseconds. */
+    public static final long INITIAL_START_SPACING = 500;
+    /** Time after which a start that never reached the engine callbacks is abandoned. */
+    public static final long START_TIMEOUT = 5000;
+    /** Time a start may exceed the start deadline of the session timing before it is abandoned. */
+    public static final long START_TIMEOUT_MARGIN = 2000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Queued start command. */
+    private static final Boolean START = Boolean.TRUE;
+    /** Queued stop command. */
+    private static final Boolean STOP = Boolean.FALSE;
+    /** No session is running. */
+    private static final int SESSION_IDLE = 0;
+    /** Engine was commanded to start but did not report {@link #onAsrStart()} yet. */
+    private static final int SESSION_STARTING = 1;
+    /** Engine is listening. */
+    private static final int SESSION_ACTIVE = 2;
+    /** Engine was commanded to stop but did not report a terminal callback yet. */
+    private static final int SESSION_STOPPING = 3;
+    /** Weight of the newest sample in the smoothed start latency. */
+    private static final float LATENCY_SMOOTHING = 0.25f;
+
+    /** Scheduler of the drain and timeout runnables, whose clock times the sessions. */
+    private final Scheduler scheduler;
+    /** Pending commands in FIFO order. */
+    private final ArrayDeque<Boolean> queue = new ArrayDeque<>(QUEUE_CAPACITY);
+    /** Engine that receives admitted commands. */
+    private AsrEngineInterface engine;
+    /** Timing profile of the sessions, if any. */
+    private volatile SessionTiming timing;
+    /** User listener that receives forwarded engine callbacks. */
+    private AsrCallbacksListener listener;
+    /** Listener that receives rejected requests. */
+    private volatile AsrAdmissionListener admissionListener;
+    /** Listener that receives partial result deltas. */
+    private volatile AsrPartialDeltaListener deltaListener;
+    /** Listener that receives structured final results. */
+    private volatile AsrResultListener resultListener;
+    /** Listener that receives committed partial results. */
+    private volatile AsrCommittedPartialListener committedListener;
+    /** Voice commands matched against the results of every session, if any. */
+    private volatile CommandMatcher commandMatcher;
+    /** Listener that receives matched voice commands. */
+    private volatile AsrCommandListener commandListener;
+    /** Defines if the session is stopped as soon as a command is found in a partial result. */
+    private volatile boolean stopOnCommand;
+    /** Ids of the commands already reported in the current session, in any order. */
+    private int[] matchedCommands = new int[8];
+    /** Number of commands already reported in the current session. */
+    private int matchedCount;
+    /** Defines if commands are currently matched against a partial result. */
+    private boolean matchingPartial;
+    /** Tracker of the partial results of the current session. */
+    private final PartialDeltaTracker deltaTracker = new PartialDeltaTracker();
+    /** Observer of the session being admitted with the queued start, if any. */
+    private AsrCallbacksListener pendingObserver;
+    /** Observer of the current session, if any. */
+    private AsrCallbacksListener observer;
+    /** Continuous dictation that re-arms sessions, if any. */
+    private ContinuousDictation dictation;
+    /** Metrics of the current engine and language, if any. */
+    private MetricsScope metrics;
+    /** Current session state. */
+    private int session = SESSION_IDLE;
+    /** Defines if a timed out start is being stopped. Its engine callbacks are ignored. */
+    private boolean abandoning;
+    /** Timestamp of the last start sent to the engine. */
+    private long lastStartTimestamp;
+    /** Smoothed latency between a start command and {@link #onAsrStart()}, in milliseconds. */
+    private float startLatency = INITIAL_START_SPACING;
+    /** Number of requests that did not reach the engine. */
+    private long rejected;
+    /** Timestamp of the last start that was held back by the start spacing. */
+    private long throttledTimestamp = -1;
+    /** Timestamp of the last partial result of the current session, or {@code -1} if none. */
+    private long partialTimestamp = -1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that dispatches queued commands once the start spacing has elapsed. */
+    private final Runnable drainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+    /** Runnable that stops the session a command was found in. */
+    private final Runnable commandStopRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (session == SESSION_ACTIVE) requestStop();
+        }
+    };
+    /** Sink that reports every command once per session. */
+    private final CommandMatcher.Sink commandSink = new CommandMatcher.Sink() {
+        @Override
+        public boolean onCommandFound(int id, @NonNull String phrase) {
+            // Ids are user defined and may be large, so they are not used as indices. A session
+            // only matches a few commands, so a linear search is enough.
+            for (int i = 0; i < matchedCount; i++) if (matchedCommands[i] == id) return true;
+            if (matchedCount == matchedCommands.length)
+                matchedCommands = Arrays.copyOf(matchedCommands, matchedCount * 2);
+            matchedCommands[matchedCount++] = id;
+
+            final AsrCommandListener commandListener = AdmissionController.this.commandListener;
+            if (commandListener != null)
+                commandListener.onCommandMatched(id, phrase, matchingPartial);
+
+            // Stop outside of the engine callback, since engines may report synchronously.
+            if (!matchingPartial || !stopOnCommand) return true;
+            scheduler.post(commandStopRunnable);
+            return false;
+        }
+    };
+    /** Runnable that abandons a start that never got any engine callback. */
+    private final Runnable startTimeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (session != SESSION_STARTING) return;
+
+            Log.w(TAG, TAG + "Engine did not respond to start request. Releasing admission.");
+
+            // Stop the engine first, since engines without a watchdog of their own would keep
+            // the request and skip the next start. Callbacks of the session it may deliver from
+            // within are dropped, so the timeout is the only end the listener is told about.
+            session = SESSION_STOPPING;
+            final AsrEngineInterface engine = AdmissionController.this.engine;
+            if (engine != null) {
+                abandoning = true;
+                try {
+                    engine.stopListening();
+                } finally {
+                    abandoning = false;
+                }
+            }
+
+            // End the session like an engine error, so the listener learns it is over too.
+            onAsrError(AsrError.CLIENT);
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new admission controller.
+     *
+     * @param scheduler Scheduler that runs on the thread the controller is used from.
+     */
+    public AdmissionController(@NonNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the engine that receives admitted commands. Queued starts are kept and will reach the
+     * new engine. If given engine is {@code null}, all queued requests are rejected.
+     *
+     * @param engine The engine that receives admitted commands.
+     */
+    public void setEngine(@Nullable AsrEngineInterface engine) {
+        this.engine = engine;
+
+        // Any running session belonged to the previous engine.
+        session = SESSION_IDLE;
+        scheduler.removeCallbacks(startTimeoutRunnable);
+        if (observer != null) {
+            final AsrCallbacksListener observer = this.observer;
+            this.observer = null;
+            observer.onAsrError(AsrError.CLIENT);
+        }
+
+        // Reject everything if we have no engine to serve requests.
+        if (engine == null) {
+            scheduler.removeCallbacks(drainRunnable);
+            final AsrCallbacksListener observer = pendingObserver;
+            pendingObserver = null;
+            while (!queue.isEmpty()) {
+                final boolean start = queue.pollFirst();
+                reject(start, AdmissionRejection.ENGINE_UNAVAILABLE, start ? observer : null);
+            }
+            return;
+        }
+
+        drain();
+    }
+
+    /**
+     * Lets go of the current engine, for it to be replaced with {@link #setEngine}. Unlike
+     * setting a {@code null} engine, queued requests are kept for the next engine. A session
+     * that was running is reported as cancelled to the listener and to its observer, since the
+     * engine will not report its end anymore. Call before stopping the engine, so that a stop
+     * that ends its session synchronously can not drain a queued start into it.
+     */
+    public void detachEngine() {
+        engine = null;
+        scheduler.removeCallbacks(startTimeoutRunnable);
+        scheduler.removeCallbacks(drainRunnable);
+        if (session == SESSION_IDLE) return;
+
+        // End the interrupted session without re-arming, the next engine picks up the queue.
+        final AsrCallbacksListener observer = this.observer;
+        session = SESSION_IDLE;
+        this.observer = null;
+        deltaTracker.reset();
+        if (dictation != null) dictation.onSessionEnded(null, 0);
+
+        if (listener != null) listener.onAsrCancelled();
+        if (observer != null) observer.onAsrCancelled();
+    }
+
+    /**
+     * Sets the user listener that receives forwarded engine callbacks.
+     *
+     * @param listener Listener to invoke asr callbacks.
+     */
+    public void setListener(@Nullable AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the listener that receives rejected requests. Safe to call from any thread.
+     *
+     * @param admissionListener Listener to invoke on rejected requests.
+     */
+    public void setAdmissionListener(@Nullable AsrAdmissionListener admissionListener) {
+        this.admissionListener = admissionListener;
+    }
+
+    /**
+     * Sets the listener that receives partial result deltas. Safe to call from any thread.
+     *
+     * @param deltaListener Listener to invoke on partial result deltas.
+     */
+    public void setPartialDeltaListener(@Nullable AsrPartialDeltaListener deltaListener) {
+        this.deltaListener = deltaListener;
+    }
+
+    /**
+     * Sets the listener that receives structured final results. If none is set, they are
+     * forwarded to the user listener instead, if it implements {@link AsrResultListener}. Safe to
+     * call from any thread.
+     *
+     * @param resultListener Listener to invoke on structured final results.
+     */
+    public void setResultListener(@Nullable AsrResultListener resultListener) {
+        this.resultListener = resultListener;
+    }
+
+    /**
+     * Sets the listener that receives committed partial results. If none is set, they are
+     * forwarded to the user listener instead, if it implements
+     * {@link AsrCommittedPartialListener}. Safe to call from any thread.
+     *
+     * @param committedListener Listener to invoke on committed partial results.
+     */
+    public void setCommittedPartialListener(
+            @Nullable AsrCommittedPartialListener committedListener) {
+        this.committedListener = committedListener;
+    }
+
+    /**
+     * Sets the voice commands matched against the partial and final results of every session.
+     * Safe to call from any thread.
+     *
+     * @param commandMatcher The voice commands or {@code null} to match none.
+     * @param stopOnCommand  Defines if the session is stopped as soon as a command is found in a
+     *                       partial result, instead of waiting for the end of speech.
+     */
+    public void setCommandMatcher(@Nullable CommandMatcher commandMatcher, boolean stopOnCommand) {
+        this.commandMatcher = commandMatcher;
+        this.stopOnCommand = stopOnCommand;
+    }
+
+    /**
+     * Sets the listener that receives matched voice commands. Safe to call from any thread.
+     *
+     * @param commandListener Listener to invoke on matched voice commands.
+     */
+    public void setCommandListener(@Nullable AsrCommandListener commandListener) {
+        this.commandListener = commandListener;
+    }
+
+    /**
+     * Sets the timing profile of the sessions. The profile bounds the start spacing, and a start
+     * is abandoned {@link #START_TIMEOUT_MARGIN} after the start deadline of the profile, so the
+     * engine gets to retry it first. Without a profile, {@link #MAX_START_SPACING} and
+     * {@link #START_TIMEOUT} apply. Safe to call from any thread.
+     *
+     * @param timing The timing profile or {@code null} to use the defaults.
+     */
+    public void setTiming(@Nullable SessionTiming timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Sets the continuous dictation that is notified about sessions and re-arms them.
+     *
+     * @param dictation The continuous dictation or {@code null} to remove it.
+     */
+    public void setDictation(@Nullable ContinuousDictation dictation) {
+        this.dictation = dictation;
+    }
+
+    /**
+     * Sets the metrics that sessions of the current engine are recorded to.
+     *
+     * @param metrics The metrics of the current engine and language or {@code null} to record
+     *                nothing.
+     */
+    public void setMetrics(@Nullable MetricsScope metrics) {
+        this.metrics = metrics;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Queues a start request. Request is merged if the engine is already listening or a start is
+     * already queued.
+     */
+    public void requestStart() {
+        requestStart(null);
+    }
+
+    /**
+     * Queues a start request whose session is reported to given observer, on top of the user
+     * listener. The observer receives every callback of that session only, or a rejection through
+     * {@link AsrAdmissionListener} if the observer implements it and the start does not reach the
+     * engine. Structured final results reach observers that implement {@link AsrResultListener}.
+     *
+     * @param observer Observer of the session or {@code null} for none.
+     */
+    public void requestStart(@Nullable AsrCallbacksListener observer) {
+        if (engine == null) {
+            reject(START, AdmissionRejection.ENGINE_UNAVAILABLE, observer);
+            return;
+        }
+
+        // Check if we will be listening anyway.
+        if (willListen()) {
+            reject(START, AdmissionRejection.DUPLICATE, observer);
+            return;
+        }
+
+        // Check if we have room for another command.
+        if (queue.size() >= QUEUE_CAPACITY) {
+            reject(START, AdmissionRejection.QUEUE_FULL, observer);
+            return;
+        }
+
+        pendingObserver = observer;
+        queue.addLast(START);
+        drain();
+    }
+
+    /**
+     * Queues a stop request only if given observer observes the current session or the queued
+     * start. Use it to stop an observed session without stopping another one.
+     *
+     * @param observer The observer of the session to stop.
+     */
+    public void requestStop(@NonNull AsrCallbacksListener observer) {
+        if (observer == this.observer || observer == pendingObserver) requestStop();
+    }
+
+    /**
+     * Queues a stop request. A queued start that did not reach the engine yet is cancelled out
+     * instead.
+     */
+    public void requestStop() {
+        // Check if there is anything to stop.
+        if (!willListen()) {
+            reject(STOP, AdmissionRejection.NOT_LISTENING);
+            if (dictation != null) dictation.finish();
+            return;
+        }
+
+        // Check if stop cancels out a queued start.
+        if (!queue.isEmpty() && queue.peekLast() == START) {
+            queue.pollLast();
+            final AsrCallbacksListener observer = pendingObserver;
+            pendingObserver = null;
+            reject(START, AdmissionRejection.CANCELLED_BY_STOP, observer);
+            if (dictation != null) dictation.finish();
+            return;
+        }
+
+        queue.addLast(STOP);
+        drain();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the current minimum spacing between two consecutive starts. The spacing follows the
+     * smoothed latency between a start command and the engine starting to listen.
+     *
+     * @return The minimum start spacing in milliseconds.
+     */
+    public long getStartSpacing() {
+        final SessionTiming timing = this.timing;
+        final long max = timing != null ? timing.getMaxStartSpacing() : MAX_START_SPACING;
+        return Math.max(MIN_START_SPACING, Math.min(max, (long) startLatency));
+    }
+
+    /**
+     * @return Time after which a start that never reached the engine callbacks is abandoned, in
+     * milliseconds.
+     */
+    public long getStartTimeout() {
+        final SessionTiming timing = this.timing;
+        return timing != null ? timing.getStartTimeout() + START_TIMEOUT_MARGIN : START_TIMEOUT;
+    }
+
+    /** @return Number of currently queued commands. */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /** @return Number of requests that did not reach the engine. */
+    public long getRejectedCount() {
+        return rejected;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Defines if the engine will be listening once all queued commands are executed.
+     *
+     * @return {@code True} if the engine will be listening. {@code False} otherwise.
+     */
+    private boolean willListen() {
+        if (!queue.isEmpty()) return queue.peekLast() == START;
+
+        return session == SESSION_STARTING || session == SESSION_ACTIVE;
+    }
+
+    /**
+     * Sends queued commands to the engine for as long as the session state allows it. A start is
+     * held back until the previous session has ended and the start spacing has elapsed.
+     */
+    private void drain() {
+        scheduler.removeCallbacks(drainRunnable);
+
+        while (!queue.isEmpty() && engine != null) {
+            if (queue.peekFirst() == STOP) {
+                queue.pollFirst();
+
+                // Nothing to stop if session already ended.
+                if (session != SESSION_STARTING && session != SESSION_ACTIVE) continue;
+
+                session = SESSION_STOPPING;
+                scheduler.removeCallbacks(startTimeoutRunnable);
+                engine.stopListening();
+                continue;
+            }
+
+            // Wait for the current session to end.
+            if (session != SESSION_IDLE) return;
+
+            // Wait for the start spacing to elapse.
+            final long now = scheduler.uptimeMillis();
+            final long wait = lastStartTimestamp + getStartSpacing() - now;
+            if (wait > 0) {
+                // Count every held back start once.
+                if (throttledTimestamp != lastStartTimestamp) {
+                    throttledTimestamp = lastStartTimestamp;
+                    if (metrics != null) metrics.increment(AsrMetric.THROTTLED);
+                }
+
+                scheduler.postDelayed(drainRunnable, wait);
+                return;
+            }
+
+            queue.pollFirst();
+            observer = pendingObserver;
+            pendingObserver = null;
+            session = SESSION_STARTING;
+            lastStartTimestamp = now;
+            scheduler.postDelayed(startTimeoutRunnable, getStartTimeout());
+            engine.startListening();
+        }
+    }
+
+    /**
+     * Marks the current session as ended and sends the next queued command, if any. Requests a
+     * new session right away during continuous dictation.
+     *
+     * @param result The final result of the session, or {@code null} if it did not get one.
+     * @param error  The error code if the session failed, or {@code 0} otherwise.
+     */
+    private void endSession(@Nullable String result, int error) {
+        session = SESSION_IDLE;
+        observer = null;
+        deltaTracker.reset();
+        scheduler.removeCallbacks(startTimeoutRunnable);
+
+        if (dictation != null) {
+            dictation.onSessionEnded(result, error);
+            if (dictation.shouldRearm() && queue.isEmpty()) queue.addLast(START);
+        }
+
+        drain();
+    }
+
+    /**
+     * Matches the voice commands against given result of the current session. Commands are
+     * reported once per session.
+     *
+     * @param result  The partial or final result.
+     * @param partial Defines if given result is a partial result.
+     */
+    private void matchCommands(@NonNull String result, boolean partial) {
+        final CommandMatcher commandMatcher = this.commandMatcher;
+        if (commandMatcher == null || commandListener == null) return;
+
+        matchingPartial = partial;
+        commandMatcher.match(result, !partial, commandSink);
+    }
+
+    /**
+     * Reports a request that will not reach the engine.
+     *
+     * @param start  Defines if the rejected request was a start request.
+     * @param reason The reason of the rejection.
+     */
+    private void reject(boolean start, @AdmissionRejection int reason) {
+        reject(start, reason, null);
+    }
+
+    /**
+     * Reports a request that will not reach the engine, to its observer as well.
+     *
+     * @param start    Defines if the rejected request was a start request.
+     * @param reason   The reason of the rejection.
+     * @param observer Observer of the rejected request or {@code null} if none.
+     */
+    private void reject(boolean start, @AdmissionRejection int reason,
+                        @Nullable AsrCallbacksListener observer) {
+        Log.w(TAG, TAG + "Rejected " + (start ? "start" : "stop") + " request with reason : " +
+                reason);
+
+        rejected++;
+        if (metrics != null) metrics.increment(AsrMetric.REJECTED);
+        if (admissionListener != null) admissionListener.onAsrRequestRejected(start, reason);
+        if (observer instanceof AsrAdmissionListener)
+            ((AsrAdmissionListener) observer).onAsrRequestRejected(start, reason);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → LISTENER FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Override
+    public void onAsrInitialized(boolean success) {
+        if (listener != null) listener.onAsrInitialized(success);
+    }
+
+    @Override
+    public void onAsrStart() {
+        // Ignore late starts of sessions that were abandoned or stopped meanwhile.
+        if (session != SESSION_STARTING) {
+            Log.d(TAG, TAG + "Ignoring start of a session that is no longer admitted.");
+            return;
+        }
+
+        // Measure start latency to adapt start spacing.
+        final long latency = scheduler.uptimeMillis() - lastStartTimestamp;
+        startLatency += LATENCY_SMOOTHING * (latency - startLatency);
+        if (metrics != null) metrics.record(AsrMetric.START_LATENCY, latency);
+
+        session = SESSION_ACTIVE;
+        partialTimestamp = -1;
+        scheduler.removeCallbacks(startTimeoutRunnable);
+        deltaTracker.reset();
+        matchedCount = 0;
+        if (dictation != null) dictation.onSessionStarted();
+
+        if (listener != null) listener.onAsrStart();
+        if (observer != null) observer.onAsrStart();
+    }
+
+    @Override
+    public void onAsrCancelled() {
+        if (abandoning) return;
+
+        if (listener != null) listener.onAsrCancelled();
+        if (observer != null) observer.onAsrCancelled();
+        endSession(null, 0);
+    }
+
+    @Override
+    public void onAsrFinalResult(String finalResult) {
+        if (abandoning) return;
+
+        if (finalResult != null) matchCommands(finalResult, false);
+        if (listener != null) listener.onAsrFinalResult(finalResult);
+        if (observer != null) observer.onAsrFinalResult(finalResult);
+        endSession(finalResult, 0);
+    }
+
+    @Override
+    public void onAsrResult(@NonNull AsrResult result) {
+        if (abandoning) return;
+
+        final AsrResultListener resultListener = this.resultListener;
+        if (resultListener != null) resultListener.onAsrResult(result);
+        else if (listener instanceof AsrResultListener)
+            ((AsrResultListener) listener).onAsrResult(result);
+        if (observer instanceof AsrResultListener)
+            ((AsrResultListener) observer).onAsrResult(result);
+    }
+
+    @Override
+    public void onAsrRetry(int retry, long delay) {
+        // The engine retries the start within the same turn. Give the retry a full start timeout.
+        if (session == SESSION_STARTING) {
+            scheduler.removeCallbacks(startTimeoutRunnable);
+            scheduler.postDelayed(startTimeoutRunnable, delay + getStartTimeout());
+        }
+
+        if (listener instanceof AsrRetryListener)
+            ((AsrRetryListener) listener).onAsrRetry(retry, delay);
+    }
+
+    @Override
+    public void onAsrCommittedPartial(@NonNull String committed) {
+        final AsrCommittedPartialListener committedListener = this.committedListener;
+        if (committedListener != null) committedListener.onAsrCommittedPartial(committed);
+        else if (listener instanceof AsrCommittedPartialListener)
+            ((AsrCommittedPartialListener) listener).onAsrCommittedPartial(committed);
+    }
+
+    @Override
+    public void onAsrPartialResult(String partialResult) {
+        // Measure gap since the previous partial, including identical ones.
+        if (metrics != null && metrics.isEnabled()) {
+            final long now = scheduler.uptimeMillis();
+            if (partialTimestamp >= 0)
+                metrics.record(AsrMetric.PARTIAL_GAP, now - partialTimestamp);
+            partialTimestamp = now;
+        }
+
+        // Drop identical partials before doing any work.
+        if (partialResult == null || !deltaTracker.update(partialResult)) return;
+
+        if (listener != null) listener.onAsrPartialResult(partialResult);
+        if (observer != null) observer.onAsrPartialResult(partialResult);
+
+        final AsrPartialDeltaListener deltaListener = this.deltaListener;
+        if (deltaListener != null) deltaListener.onAsrPartialDelta(
+                deltaTracker.getStablePrefixLength(), deltaTracker.getDelta());
+
+        matchCommands(partialResult, true);
+    }
+
+    @Override
+    public void onAsrError(int errorCode) {
+        if (abandoning) return;
+
+        if (metrics != null) metrics.error(errorCode);
+        if (listener != null) listener.onAsrError(errorCode);
+        if (observer != null) observer.onAsrError(errorCode);
+        endSession(null, errorCode);
+    }
+
+    @Override
+    public void onLangListRetrieved(@Nullable List<String> languages) {
+        if (listener != null) listener.onLangListRetrieved(languages);
+    }
+}
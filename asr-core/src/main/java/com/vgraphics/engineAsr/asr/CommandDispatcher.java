@@ -0,0 +1,326 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrCommand;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Long-lived dispatcher that executes engine commands on a single scheduler in strict FIFO order.
+ * Commands are stored in pre-allocated slots, so dispatching a command does not allocate. A
+ * command that supersedes the last pending command of the same type is merged into it instead
+ * of being queued again. Every executed command is recorded, stamped with a sequence number, in a
+ * fixed size history ring that can be read for debugging purposes.
+ *
+ * <p>Enqueue functions are safe to call from any thread. Commands are always executed on the
+ * scheduler given at construction, and are stamped with its clock.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CommandDispatcher {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of executed commands kept in history. */
+    public static final int HISTORY_SIZE = 64;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Initial number of pending command slots. Slots grow if ever exhausted. */
+    private static final int INITIAL_SLOTS = 16;
+
+    /** Executor of the dispatched commands. */
+    private final Executor executor;
+    /** Scheduler that drains pending commands. */
+    private final Scheduler scheduler;
+    /** Lock guarding pending commands and history. */
+    private final Object lock = new Object();
+    /** Pending command slots used as a ring. */
+    private Command[] pending;
+    /** Index of the first pending command. */
+    private int head;
+    /** Number of pending commands. */
+    private int count;
+    /** Executed commands ring. */
+    private final Command[] history = new Command[HISTORY_SIZE];
+    /** Number of executed commands since construction. */
+    private long executed;
+    /** Sequence number of the last enqueued command. */
+    private long sequence;
+    /** Defines if {@link #drainRunnable} is posted and not yet running. */
+    private boolean drainPosted;
+    /** Slot of the command currently being executed. */
+    private final Command current = new Command();
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → HANDLERS AND RUNNABLE
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Runnable that executes all pending commands. */
+    private final Runnable drainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new command dispatcher.
+     *
+     * @param scheduler Scheduler that executes commands.
+     * @param executor  Executor of the dispatched commands.
+     */
+    public CommandDispatcher(@NonNull Scheduler scheduler, @NonNull Executor executor) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+
+        // Pre-allocate command slots.
+        pending = new Command[INITIAL_SLOTS];
+        for (int i = 0; i < pending.length; i++) pending[i] = new Command();
+        for (int i = 0; i < history.length; i++) history[i] = new Command();
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → DISPATCH FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Enqueues a command without arguments.
+     *
+     * @param type The type of the command.
+     *
+     * @return The sequence number of the command.
+     */
+    public long enqueue(@AsrCommand int type) {
+        return enqueue(type, null, 0, false);
+    }
+
+    /**
+     * Enqueues a command. If the last pending command has the same type and given command is
+     * mergeable, arguments of the pending command are replaced instead.
+     *
+     * @param type      The type of the command.
+     * @param text      Text argument of the command.
+     * @param number    Numeric argument of the command.
+     * @param mergeable Defines if this command supersedes a pending command of the same type.
+     *
+     * @return The sequence number of the command.
+     */
+    public long enqueue(@AsrCommand int type, @Nullable String text, int number,
+                        boolean mergeable) {
+        synchronized (lock) {
+            // Merge into last pending command if superseded.
+            if (mergeable && count > 0) {
+                final Command last = pending[(head + count - 1) % pending.length];
+                if (last.type == type) {
+                    last.text = text;
+                    last.number = number;
+                    last.merged++;
+                    return last.sequence;
+                }
+            }
+
+            // Make sure we have a free slot.
+            if (count == pending.length) grow();
+
+            final Command command = pending[(head + count) % pending.length];
+            command.sequence = ++sequence;
+            command.type = type;
+            command.text = text;
+            command.number = number;
+            command.merged = 0;
+            command.enqueuedAt = scheduler.uptimeMillis();
+            count++;
+
+            // Schedule drain unless already scheduled.
+            if (!drainPosted) drainPosted = scheduler.post(drainRunnable);
+
+            return command.sequence;
+        }
+    }
+
+    /**
+     * Returns the executed commands that are still in history, oldest first. Each entry is
+     * formatted as a human readable line containing sequence number, command, arguments, number
+     * of merged commands, queue delay and execution time.
+     *
+     * @return A list with the recently executed commands.
+     */
+    @NonNull
+    public List<String> getHistory() {
+        synchronized (lock) {
+            final int size = (int) Math.min(executed, HISTORY_SIZE);
+            final List<String> lines = new ArrayList<>(size);
+            for (long i = executed - size; i < executed; i++) {
+                final Command command = history[(int) (i % HISTORY_SIZE)];
+                lines.add("#" + command.sequence + " " + typeToString(command.type) +
+                        (command.text != null ? " text=" + command.text : "") +
+                        " number=" + command.number +
+                        " merged=" + command.merged +
+                        " queued=" + (command.executedAt - command.enqueuedAt) + "ms" +
+                        " took=" + command.duration + "ms");
+            }
+            return lines;
+        }
+    }
+
+    /** @return Number of commands waiting to be executed. */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return count;
+        }
+    }
+
+    /** @return Number of commands executed since construction. */
+    public long getExecutedCount() {
+        synchronized (lock) {
+            return executed;
+        }
+    }
+
+    /**
+     * Returns a friendly name for given command type.
+     *
+     * @param type The command type. Can be any of {@link AsrCommand}.
+     *
+     * @return A friendly name for given command type.
+     */
+    @NonNull
+    public static String typeToString(@AsrCommand int type) {
+        switch (type) {
+            case AsrCommand.CONSTRUCT: return "CONSTRUCT";
+            case AsrCommand.START: return "START";
+            case AsrCommand.STOP: return "STOP";
+            case AsrCommand.DESTROY: return "DESTROY";
+            case AsrCommand.POOL_CAPACITY: return "POOL_CAPACITY";
+            case AsrCommand.PRELOAD: return "PRELOAD";
+            case AsrCommand.DICTATE: return "DICTATE";
+            default: return "undefined";
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Executes pending commands one by one in FIFO order. Commands enqueued while draining are
+     * executed in the same pass.
+     */
+    private void drain() {
+        while (true) {
+            // Take next command out of pending slots.
+            synchronized (lock) {
+                if (count == 0) {
+                    drainPosted = false;
+                    return;
+                }
+
+                current.copy(pending[head]);
+                pending[head].text = null;
+                head = (head + 1) % pending.length;
+                count--;
+            }
+
+            // Execute outside of lock so commands are free to enqueue new ones.
+            current.executedAt = scheduler.uptimeMillis();
+            boolean completed = false;
+            try {
+                executor.execute(current.type, current.text, current.number);
+                completed = true;
+            } finally {
+                // A throwing command must not stall the queue. Remaining commands run in a new
+                // pass while the exception propagates to the scheduler.
+                if (!completed) {
+                    synchronized (lock) {
+                        drainPosted = count > 0 && scheduler.post(drainRunnable);
+                    }
+                }
+            }
+            current.duration = scheduler.uptimeMillis() - current.executedAt;
+
+            // Record executed command.
+            synchronized (lock) {
+                history[(int) (executed % HISTORY_SIZE)].copy(current);
+                executed++;
+            }
+        }
+    }
+
+    /**
+     * Doubles the number of pending command slots, keeping pending commands in order.
+     */
+    private void grow() {
+        final Command[] grown = new Command[pending.length * 2];
+        for (int i = 0; i < pending.length; i++) grown[i] = pending[(head + i) % pending.length];
+        for (int i = pending.length; i < grown.length; i++) grown[i] = new Command();
+
+        pending = grown;
+        head = 0;
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Executor of the dispatched commands. Invoked on the dispatcher scheduler.
+     */
+    public interface Executor {
+        /**
+         * Executes a command.
+         *
+         * @param type   The type of the command.
+         * @param text   Text argument of the command.
+         * @param number Numeric argument of the command.
+         */
+        void execute(@AsrCommand int type, @Nullable String text, int number);
+    }
+
+    /**
+     * Pre-allocated command slot.
+     */
+    private static final class Command {
+        /** Sequence number of the command. */
+        long sequence;
+        /** Type of the command. */
+        int type;
+        /** Text argument of the command. */
+        String text;
+        /** Numeric argument of the command. */
+        int number;
+        /** Number of superseded commands merged into this one. */
+        int merged;
+        /** Time the command was enqueued. */
+        long enqueuedAt;
+        /** Time the command started executing. */
+        long executedAt;
+        /** Execution duration of the command. */
+        long duration;
+
+        /**
+         * Copies given command into this slot.
+         *
+         * @param other The command to copy.
+         */
+        void copy(@NonNull Command other) {
+            sequence = other.sequence;
+            type = other.type;
+            text = other.text;
+            number = other.number;
+            merged = other.merged;
+            enqueuedAt = other.enqueuedAt;
+            executedAt = other.executedAt;
+            duration = other.duration;
+        }
+    }
+}
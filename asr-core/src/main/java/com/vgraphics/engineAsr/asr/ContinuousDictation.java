@@ -0,0 +1,280 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Interfaces.AsrDictationListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AudioHandOff;
+import com.vgraphics.engineAsr.Platform.Log;
+import com.vgraphics.engineAsr.Platform.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.vgraphics.engineAsr.Platform.Log.TAG;
+
+/**
+ * Continuous dictation on top of one-shot engine sessions. While active, a new session is
+ * requested as soon as the previous one ends, and the result of every session is stitched to a
+ * running transcript with the segment boundaries kept. Engines that implement
+ * {@link AudioHandOff} keep capturing between sessions, so no audio is lost. Other engines lose
+ * the audio between the end of a session and the start of the next one. That gap is measured
+ * either way with the clock of the scheduler given at construction. Notice that this class must
+ * only be used from the thread of that scheduler, which is the main thread on Android.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ContinuousDictation {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of consecutive failed sessions that end the dictation. */
+    public static final int MAX_FAILURES = 5;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler whose clock measures the gaps. */
+    private final Scheduler scheduler;
+    /** Running transcript. */
+    private final StringBuilder transcript = new StringBuilder();
+    /** Offset of every segment in the transcript. */
+    private final List<Integer> boundaries = new ArrayList<>();
+    /** Listener to invoke dictation events. */
+    private volatile AsrDictationListener listener;
+    /** Engine of the dictation. */
+    private AsrEngineInterface engine;
+    /** Defines if dictation is active and sessions are re-armed. */
+    private boolean active;
+    /** Defines if dictation was stopped and waits for its last session to end. */
+    private boolean finishing;
+    /** Number of consecutive failed sessions. */
+    private int failures;
+    /** Time the last session ended, or {@code -1} if no session ended since the last start. */
+    private long segmentEnd = -1;
+    /** Gap before the current session, or {@code -1} for the first session. */
+    private long currentGap = -1;
+    /** Gap before the last session that started. */
+    private long lastGap = -1;
+    /** Sum of all measured gaps. */
+    private long totalGap;
+    /** Number of measured gaps. */
+    private int gapCount;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new continuous dictation.
+     *
+     * @param scheduler Scheduler that runs on the thread the dictation is used from.
+     */
+    public ContinuousDictation(@NonNull Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the listener that receives dictation events.
+     *
+     * @param listener Listener to invoke dictation events or {@code null} to remove it.
+     */
+    public void setListener(@Nullable AsrDictationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the engine of the dictation. Hand-off moves from the previous engine to the new one.
+     *
+     * @param engine The engine or {@code null} if there is none.
+     */
+    public void setEngine(@Nullable AsrEngineInterface engine) {
+        if (this.engine == engine) return;
+
+        setHandOff(false);
+        this.engine = engine;
+        setHandOff(active);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Starts a new dictation with an empty transcript. The caller requests the first session.
+     *
+     * @param engine The engine of the dictation.
+     */
+    public void begin(@Nullable AsrEngineInterface engine) {
+        transcript.setLength(0);
+        boundaries.clear();
+        failures = 0;
+        segmentEnd = -1;
+        currentGap = -1;
+        lastGap = -1;
+        totalGap = 0;
+        gapCount = 0;
+        finishing = false;
+        active = true;
+
+        setEngine(engine);
+        setHandOff(true);
+    }
+
+    /**
+     * Stops re-arming sessions. The dictation ends once its last session ends, or at once through
+     * {@link #finish()} if no session will end.
+     */
+    public void end() {
+        if (!active) return;
+
+        active = false;
+        finishing = true;
+        setHandOff(false);
+    }
+
+    /**
+     * Ends a stopped dictation and reports the final transcript. Does nothing if dictation was
+     * not stopped.
+     */
+    public void finish() {
+        if (!finishing) return;
+        finishing = false;
+
+        Log.d(TAG, TAG + "Dictation ended with " + boundaries.size() + " segments. Average gap : "
+                + getAverageGap() + " ms.");
+
+        final AsrDictationListener listener = this.listener;
+        if (listener != null) listener.onDictationEnded(transcript.toString());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SESSION FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Invoked when a session starts listening. Measures the gap since the previous session.
+     */
+    public void onSessionStarted() {
+        if (!active || segmentEnd < 0) return;
+
+        // Engines that hand audio off know exactly how much was lost.
+        long gap = engine instanceof AudioHandOff ? ((AudioHandOff) engine).getHandOffGap() : -1;
+        if (gap < 0) gap = scheduler.uptimeMillis() - segmentEnd;
+
+        segmentEnd = -1;
+        currentGap = gap;
+        lastGap = gap;
+        totalGap += gap;
+        gapCount++;
+    }
+
+    /**
+     * Invoked when a session ends.
+     *
+     * @param result The final result of the session, or {@code null} if it was cancelled or
+     *               failed.
+     * @param error  The error code if the session failed, or {@code 0} otherwise.
+     */
+    public void onSessionEnded(@Nullable String result, int error) {
+        if (!active && !finishing) return;
+
+        segmentEnd = scheduler.uptimeMillis();
+        if (result != null && !result.isEmpty()) append(result);
+
+        // Give up on engines that keep failing.
+        if (error == 0) failures = 0;
+        else if (++failures >= MAX_FAILURES
+                || error == AsrError.INSUFFICIENT_PERMISSIONS) {
+            Log.e(TAG, TAG + "Dictation stopped after error : " + error);
+            end();
+        }
+
+        currentGap = -1;
+        if (finishing) finish();
+    }
+
+    /** @return {@code True} if a new session should be requested. {@code False} otherwise. */
+    public boolean shouldRearm() {
+        return active;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return {@code True} if dictation is active. {@code False} otherwise. */
+    public boolean isActive() {
+        return active;
+    }
+
+    /** @return The running transcript. */
+    @NonNull
+    public String getTranscript() {
+        return transcript.toString();
+    }
+
+    /** @return Offset of every segment in the transcript, in order. */
+    @NonNull
+    public int[] getSegmentBoundaries() {
+        final int[] offsets = new int[boundaries.size()];
+        for (int i = 0; i < offsets.length; i++) offsets[i] = boundaries.get(i);
+        return offsets;
+    }
+
+    /** @return Number of segments in the transcript. */
+    public int getSegmentCount() {
+        return boundaries.size();
+    }
+
+    /** @return Milliseconds of audio lost before the last session, or {@code -1} if none. */
+    public long getLastGap() {
+        return lastGap;
+    }
+
+    /** @return Milliseconds of audio lost between all sessions of the dictation. */
+    public long getTotalGap() {
+        return totalGap;
+    }
+
+    /** @return Average milliseconds of audio lost between two sessions, or {@code -1} if none. */
+    public long getAverageGap() {
+        return gapCount > 0 ? totalGap / gapCount : -1;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Stitches a segment to the transcript and reports it.
+     *
+     * @param result The final result of the segment.
+     */
+    private void append(@NonNull String result) {
+        final String segment = result.trim();
+        if (segment.isEmpty()) return;
+
+        if (transcript.length() > 0) transcript.append(' ');
+        boundaries.add(transcript.length());
+        transcript.append(segment);
+
+        final AsrDictationListener listener = this.listener;
+        if (listener != null) listener.onDictationSegment(boundaries.size() - 1, segment,
+                transcript.toString(), currentGap);
+    }
+
+    /**
+     * Enables or disables hand-off of the engine, if supported.
+     *
+     * @param enabled {@code True} to keep capturing between sessions.
+     */
+    private void setHandOff(boolean enabled) {
+        if (engine instanceof AudioHandOff) ((AudioHandOff) engine).setHandOff(enabled);
+    }
+}
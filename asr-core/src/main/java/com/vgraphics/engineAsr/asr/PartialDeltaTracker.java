@@ -0,0 +1,90 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Tracks consecutive partial results of a session and computes what changed between them. The
+ * stable prefix always ends at a token boundary, so a token that changed in the middle is reported
+ * again as a whole. Notice that this class is not thread safe.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PartialDeltaTracker {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** The last accepted partial. */
+    private String previous = "";
+    /** Stable prefix length of the last accepted partial. */
+    private int stablePrefixLength;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Accepts a new partial result.
+     *
+     * @param partial The new partial result.
+     *
+     * @return {@code True} if given partial differs from the previous one. {@code False} if it is
+     * identical and should be dropped.
+     */
+    public boolean update(@NonNull String partial) {
+        if (partial.equals(previous)) return false;
+
+        // Find first differing character.
+        final int limit = Math.min(previous.length(), partial.length());
+        int common = 0;
+        while (common < limit && previous.charAt(common) == partial.charAt(common)) common++;
+
+        // Move back to the start of the token that changed, unless the token ended in both.
+        if (!isBoundary(partial, common) || !isBoundary(previous, common)) {
+            while (common > 0 && !Character.isWhitespace(partial.charAt(common - 1))) common--;
+        }
+
+        previous = partial;
+        stablePrefixLength = common;
+        return true;
+    }
+
+    /** @return Number of leading characters that did not change with the last accepted partial. */
+    public int getStablePrefixLength() {
+        return stablePrefixLength;
+    }
+
+    /** @return The new or changed tail of the last accepted partial. */
+    @NonNull
+    public String getDelta() {
+        return previous.substring(stablePrefixLength);
+    }
+
+    /** @return The last accepted partial. */
+    @NonNull
+    public String getPartial() {
+        return previous;
+    }
+
+    /**
+     * Defines if given index of given text is a token boundary.
+     *
+     * @param text  The text to check.
+     * @param index The index to check.
+     *
+     * @return {@code True} if a token starts or ends at given index. {@code False} otherwise.
+     */
+    private static boolean isBoundary(@NonNull String text, int index) {
+        return index == 0 || index >= text.length()
+                || Character.isWhitespace(text.charAt(index - 1))
+                || Character.isWhitespace(text.charAt(index));
+    }
+
+    /**
+     * Forgets the previous partial. Call when a new session starts.
+     */
+    public void reset() {
+        previous = "";
+        stablePrefixLength = 0;
+    }
+}
@@ -0,0 +1,246 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Tracks how long every token prefix of the partial results of a session has stayed unchanged.
+ * A prefix is stable once it has not changed for the stability window, which follows the measured
+ * gap between consecutive partials, so it is short for fast recognizers and speakers and long
+ * for slow ones. Once the whole hypothesis is stable, the session can be finalized early, and
+ * the stable prefix can be committed before the final result arrives.
+ *
+ * <p>The smoothed gap is kept across sessions, since the cadence depends on the recognizer and
+ * the speaker rather than the utterance. Notice that this class is not thread safe.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class PartialStabilityTracker {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default shortest stability window in milliseconds. */
+    public static final long MIN_WINDOW = 600;
+    /** Default longest stability window in milliseconds. */
+    public static final long MAX_WINDOW = 5000;
+    /** Gap between partials assumed before any is measured, in milliseconds. */
+    public static final long INITIAL_GAP = 1000;
+    /** Stability window as a multiple of the smoothed gap between partials. */
+    public static final float WINDOW_FACTOR = 3;
+    /** Time returned when nothing is pending. */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Weight of the newest sample in the smoothed gap. */
+    private static final float GAP_SMOOTHING = 0.25f;
+    /** Initial capacity of the token arrays. */
+    private static final int INITIAL_TOKENS = 16;
+
+    /** The last accepted partial. */
+    private String partial = "";
+    /** Start index of every token of the last accepted partial. */
+    private int[] starts = new int[INITIAL_TOKENS];
+    /** End index of every token of the last accepted partial. */
+    private int[] ends = new int[INITIAL_TOKENS];
+    /** Time since the prefix that ends with every token is unchanged. */
+    private long[] since = new long[INITIAL_TOKENS];
+    /** Number of tokens of the last accepted partial. */
+    private int tokens;
+    /** Time the hypothesis last changed in any way, including dropped tokens. */
+    private long changeTime;
+    /** Number of leading tokens committed in the current session. */
+    private int committedTokens;
+    /** Smoothed gap between consecutive partials, in milliseconds. */
+    private float gap = INITIAL_GAP;
+    /** Time of the previous partial of the current session, or {@code -1} if none. */
+    private long previousTime = -1;
+    /** Shortest stability window in milliseconds. */
+    private long minWindow = MIN_WINDOW;
+    /** Longest stability window in milliseconds. */
+    private long maxWindow = MAX_WINDOW;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the bounds of the stability window. Defaults to {@link #MIN_WINDOW} and
+     * {@link #MAX_WINDOW}.
+     *
+     * @param minWindow The shortest window in milliseconds.
+     * @param maxWindow The longest window in milliseconds.
+     *
+     * @throws IllegalArgumentException If the shortest window is longer than the longest one.
+     */
+    public void setWindowBounds(long minWindow, long maxWindow) {
+        if (maxWindow < minWindow) throw new IllegalArgumentException("Window bounds " +
+                minWindow + ".." + maxWindow + " are reversed.");
+
+        this.minWindow = minWindow;
+        this.maxWindow = maxWindow;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Accepts a new partial result. Identical partials count towards the measured cadence too,
+     * but leave the stability of the hypothesis as is.
+     *
+     * @param partial The new partial result.
+     * @param now     Current time in milliseconds.
+     *
+     * @return {@code True} if given partial differs from the previous one. {@code False} if it is
+     * identical.
+     */
+    public boolean update(@NonNull String partial, long now) {
+        if (previousTime >= 0) gap += GAP_SMOOTHING * (now - previousTime - gap);
+        previousTime = now;
+
+        if (partial.equals(this.partial)) return false;
+
+        // Tokens that are equal to the previous ones, in order, keep their time.
+        int count = 0;
+        int changed = -1;
+        int index = 0;
+        while (true) {
+            while (index < partial.length() && Character.isWhitespace(partial.charAt(index)))
+                index++;
+            if (index == partial.length()) break;
+
+            final int start = index;
+            while (index < partial.length() && !Character.isWhitespace(partial.charAt(index)))
+                index++;
+
+            if (changed < 0 && (count >= tokens || ends[count] - starts[count] != index - start
+                    || !this.partial.regionMatches(starts[count], partial, start, index - start)))
+                changed = count;
+
+            ensureCapacity(count + 1);
+            if (changed >= 0) since[count] = now;
+            starts[count] = start;
+            ends[count] = index;
+            count++;
+        }
+
+        this.partial = partial;
+        changeTime = now;
+        tokens = count;
+        if (changed >= 0) committedTokens = Math.min(committedTokens, changed);
+        else committedTokens = Math.min(committedTokens, tokens);
+        return true;
+    }
+
+    /**
+     * Commits every leading token that is stable. Committed tokens are only taken back if the
+     * recognizer changes them after all.
+     *
+     * @param now Current time in milliseconds.
+     *
+     * @return {@code True} if more tokens were committed. {@code False} otherwise.
+     */
+    public boolean commit(long now) {
+        final long window = getWindow();
+        int stable = committedTokens;
+        while (stable < tokens && now - since[stable] >= window) stable++;
+        if (stable == committedTokens) return false;
+
+        committedTokens = stable;
+        return true;
+    }
+
+    /**
+     * Forgets the partials of the current session. Call when a new session starts. The measured
+     * cadence is kept.
+     */
+    public void reset() {
+        partial = "";
+        tokens = 0;
+        committedTokens = 0;
+        previousTime = -1;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The current stability window in milliseconds. */
+    public long getWindow() {
+        return Math.max(minWindow, Math.min(maxWindow, (long) (WINDOW_FACTOR * gap)));
+    }
+
+    /** @return The smoothed gap between consecutive partials in milliseconds. */
+    public long getGap() {
+        return (long) gap;
+    }
+
+    /** @return The last accepted partial. */
+    @NonNull
+    public String getPartial() {
+        return partial;
+    }
+
+    /**
+     * @param now Current time in milliseconds.
+     *
+     * @return {@code True} if there is a hypothesis and it is stable as a whole. {@code False}
+     * otherwise.
+     */
+    public boolean isStable(long now) {
+        return tokens > 0 && now - changeTime >= getWindow();
+    }
+
+    /**
+     * @return Time the whole hypothesis becomes stable unless it changes before, or
+     * {@link #NEVER} if there is no hypothesis.
+     */
+    public long getStableTime() {
+        return tokens > 0 ? changeTime + getWindow() : NEVER;
+    }
+
+    /**
+     * @return Time the next token can be committed unless it changes before, or {@link #NEVER}
+     * if every token is committed.
+     */
+    public long getNextCommitTime() {
+        return committedTokens < tokens ? since[committedTokens] + getWindow() : NEVER;
+    }
+
+    /** @return Number of characters of the committed prefix of the last accepted partial. */
+    public int getCommittedLength() {
+        return committedTokens > 0 ? ends[committedTokens - 1] : 0;
+    }
+
+    /** @return The committed prefix of the last accepted partial. Empty if none. */
+    @NonNull
+    public String getCommitted() {
+        return partial.substring(0, getCommittedLength());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Grows the token arrays to hold at least given number of tokens.
+     *
+     * @param capacity The number of tokens.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= starts.length) return;
+
+        final int length = Math.max(capacity, starts.length * 2);
+        final int[] starts = new int[length];
+        final int[] ends = new int[length];
+        final long[] since = new long[length];
+        System.arraycopy(this.starts, 0, starts, 0, this.starts.length);
+        System.arraycopy(this.ends, 0, ends, 0, this.ends.length);
+        System.arraycopy(this.since, 0, since, 0, this.since.length);
+        this.starts = starts;
+        this.ends = ends;
+        this.since = since;
+    }
+}
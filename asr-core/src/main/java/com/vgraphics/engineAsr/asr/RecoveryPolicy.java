@@ -0,0 +1,428 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Enums.AsrError;
+import com.vgraphics.engineAsr.Enums.BreakerState;
+import com.vgraphics.engineAsr.Enums.ErrorClass;
+import com.vgraphics.engineAsr.Interfaces.AsrBreakerListener;
+
+import java.util.Random;
+
+/**
+ * Recovery policy of a recognizer that reports errors. Errors are classified as transient, fatal
+ * or no-match, see {@link #classify(int)}. Sessions that fail with a transient error are retried
+ * after a jittered exponential backoff, and the recognizer is rebuilt once it keeps failing.
+ *
+ * <p>After {@link #setBreakerThreshold(int) too many} transient failures in a row, a circuit
+ * breaker opens and sessions fail fast with {@link AsrError#CIRCUIT_OPEN} instead of adding load
+ * to a saturated recognizer service. Once the cool-down period is over, a single probe session is
+ * let through. Its success closes the breaker, its failure opens it again.
+ *
+ * <p>Engines of the same recognizer service may share a policy, so they share its breaker. Times
+ * are in milliseconds of a monotonic clock of the engine. Notice that this class is thread safe.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class RecoveryPolicy {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Action that reports the error to the listener. */
+    public static final int ACTION_REPORT = 0;
+    /** Action that retries the session after {@link #getRetryDelay(int)}. */
+    public static final int ACTION_RETRY = 1;
+    /** Action that rebuilds the recognizer and retries the session after the delay. */
+    public static final int ACTION_REBUILD = 2;
+
+    /** Default backoff before the first retry, in milliseconds. */
+    public static final long DEFAULT_BASE_DELAY = 250;
+    /** Default longest backoff, in milliseconds. */
+    public static final long DEFAULT_MAX_DELAY = 4000;
+    /** Default number of retries of a session. */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    /** Default number of transient failures in a row after which the recognizer is rebuilt. */
+    public static final int DEFAULT_REBUILD_THRESHOLD = 2;
+    /** Default number of transient failures in a row after which the breaker opens. */
+    public static final int DEFAULT_BREAKER_THRESHOLD = 5;
+    /** Default time the breaker stays open, in milliseconds. */
+    public static final long DEFAULT_COOL_DOWN = 30000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Source of the backoff jitter. */
+    private final Random random;
+    /** Backoff before the first retry, in milliseconds. */
+    private long baseDelay = DEFAULT_BASE_DELAY;
+    /** Longest backoff, in milliseconds. */
+    private long maxDelay = DEFAULT_MAX_DELAY;
+    /** Number of retries of a session. */
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    /** Number of transient failures in a row after which the recognizer is rebuilt. */
+    private int rebuildThreshold = DEFAULT_REBUILD_THRESHOLD;
+    /** Number of transient failures in a row after which the breaker opens. */
+    private int breakerThreshold = DEFAULT_BREAKER_THRESHOLD;
+    /** Time the breaker stays open, in milliseconds. */
+    private long coolDown = DEFAULT_COOL_DOWN;
+    /** Listener that receives breaker state changes, if any. */
+    private volatile AsrBreakerListener listener;
+    /** Current breaker state. */
+    private int state = BreakerState.CLOSED;
+    /** Number of transient failures in a row. */
+    private int consecutiveFailures;
+    /** Time the breaker opened. */
+    private long openedTime;
+    /** Defines if the probe session of a half open breaker is in flight. */
+    private boolean probing;
+    /** Time the probe session of a half open breaker was let through. */
+    private long probeTime;
+    /** Number of times the breaker opened. */
+    private long openCount;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new recovery policy with the default settings.
+     */
+    public RecoveryPolicy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a new recovery policy with the default settings and given source of jitter, so
+     * backoffs can be reproduced.
+     *
+     * @param random Source of the backoff jitter.
+     */
+    public RecoveryPolicy(@NonNull Random random) {
+        this.random = random;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the backoff of the retries. The n-th retry waits between half and all of
+     * {@code baseDelay * 2^(n-1)}, capped at {@code maxDelay}.
+     *
+     * @param baseDelay The backoff before the first retry in milliseconds.
+     * @param maxDelay  The longest backoff in milliseconds.
+     *
+     * @return This policy.
+     *
+     * @throws IllegalArgumentException If either delay is not positive or the base delay is longer
+     *                                  than the longest one.
+     */
+    @NonNull
+    public synchronized RecoveryPolicy setBackoff(long baseDelay, long maxDelay) {
+        if (baseDelay <= 0 || maxDelay < baseDelay) throw new IllegalArgumentException("Invalid " +
+                "backoff " + baseDelay + ".." + maxDelay);
+
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Sets the number of times a session that failed with a transient error is retried before
+     * the error is reported.
+     *
+     * @param maxRetries Number of retries. Zero reports every error at once.
+     *
+     * @return This policy.
+     *
+     * @throws IllegalArgumentException If given number is negative.
+     */
+    @NonNull
+    public synchronized RecoveryPolicy setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) throw new IllegalArgumentException("Max retries must not be " +
+                "negative : " + maxRetries);
+
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Sets the number of transient failures in a row after which the recognizer is rebuilt before
+     * it is retried. The recognizer is rebuilt again every as many failures.
+     *
+     * @param rebuildThreshold Number of failures.
+     *
+     * @return This policy.
+     *
+     * @throws IllegalArgumentException If given number is not positive.
+     */
+    @NonNull
+    public synchronized RecoveryPolicy setRebuildThreshold(int rebuildThreshold) {
+        if (rebuildThreshold <= 0) throw new IllegalArgumentException("Rebuild threshold must be " +
+                "positive : " + rebuildThreshold);
+
+        this.rebuildThreshold = rebuildThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the number of transient failures in a row after which the breaker opens.
+     *
+     * @param breakerThreshold Number of failures.
+     *
+     * @return This policy.
+     *
+     * @throws IllegalArgumentException If given number is not positive.
+     */
+    @NonNull
+    public synchronized RecoveryPolicy setBreakerThreshold(int breakerThreshold) {
+        if (breakerThreshold <= 0) throw new IllegalArgumentException("Breaker threshold must be " +
+                "positive : " + breakerThreshold);
+
+        this.breakerThreshold = breakerThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the time the breaker stays open before a probe session is let through.
+     *
+     * @param coolDown The cool-down period in milliseconds.
+     *
+     * @return This policy.
+     *
+     * @throws IllegalArgumentException If given period is not positive.
+     */
+    @NonNull
+    public synchronized RecoveryPolicy setCoolDown(long coolDown) {
+        if (coolDown <= 0) throw new IllegalArgumentException("Cool down must be positive : " +
+                coolDown);
+
+        this.coolDown = coolDown;
+        return this;
+    }
+
+    /**
+     * Sets the listener that receives breaker state changes.
+     *
+     * @param listener Listener to invoke on breaker state changes or {@code null} to remove it.
+     *
+     * @return This policy.
+     */
+    @NonNull
+    public RecoveryPolicy setBreakerListener(@Nullable AsrBreakerListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Classifies given error code.
+     *
+     * @param error The error code. See {@link AsrError}.
+     *
+     * @return The class of the error. Unknown codes are fatal, so they are never retried.
+     */
+    @ErrorClass
+    public static int classify(int error) {
+        switch (error) {
+            case AsrError.NETWORK_TIMEOUT:
+            case AsrError.NETWORK:
+            case AsrError.AUDIO:
+            case AsrError.SERVER:
+            case AsrError.CLIENT:
+            case AsrError.RECOGNIZER_BUSY:
+                return ErrorClass.TRANSIENT;
+            case AsrError.SPEECH_TIMEOUT:
+            case AsrError.NO_MATCH:
+                return ErrorClass.NO_MATCH;
+            default:
+                return ErrorClass.FATAL;
+        }
+    }
+
+    /**
+     * Defines if a session may start. An open breaker lets nothing through until the cool-down
+     * period is over, and then turns half open and lets a single probe session through. A probe
+     * that got no verdict within another cool-down period is considered lost, and the next start
+     * becomes the probe.
+     *
+     * @param now Current time in milliseconds.
+     *
+     * @return {@code True} if the session may start. {@code False} if it must fail fast with
+     * {@link AsrError#CIRCUIT_OPEN}.
+     */
+    public boolean allowStart(long now) {
+        final boolean allowed;
+        boolean changed = false;
+        synchronized (this) {
+            if (state == BreakerState.OPEN && now - openedTime >= coolDown) {
+                state = BreakerState.HALF_OPEN;
+                probing = false;
+                changed = true;
+            }
+
+            if (state == BreakerState.HALF_OPEN && (!probing || now - probeTime >= coolDown)) {
+                probing = true;
+                probeTime = now;
+                allowed = true;
+            }
+            else allowed = state == BreakerState.CLOSED;
+        }
+
+        if (changed) notifyState(BreakerState.HALF_OPEN);
+        return allowed;
+    }
+
+    /**
+     * Records that the recognizer worked, for instance got ready for speech or delivered results.
+     * Resets the failures in a row and closes the breaker.
+     */
+    public void recordSuccess() {
+        synchronized (this) {
+            consecutiveFailures = 0;
+            probing = false;
+            if (state == BreakerState.CLOSED) return;
+            state = BreakerState.CLOSED;
+        }
+
+        notifyState(BreakerState.CLOSED);
+    }
+
+    /**
+     * Records that a session ended before the recognizer proved working or failing, for instance
+     * because it was stopped or disposed before it got ready for speech. A half open breaker then
+     * lets the next start through as its probe.
+     */
+    public synchronized void recordAbandoned() {
+        probing = false;
+    }
+
+    /**
+     * Records a failed session and decides how to recover from it. A no-match error proves the
+     * recognizer healthy. A transient error counts towards the breaker and is retried while the
+     * session has retries left and the breaker stays closed.
+     *
+     * @param error   The error code. See {@link AsrError}.
+     * @param retries Number of times the failed session was already retried.
+     * @param now     Current time in milliseconds.
+     *
+     * @return {@link #ACTION_RETRY} or {@link #ACTION_REBUILD} to retry the session after
+     * {@link #getRetryDelay(int)}, or {@link #ACTION_REPORT} to report the error.
+     */
+    public int recordFailure(int error, int retries, long now) {
+        final int errorClass = classify(error);
+        if (errorClass == ErrorClass.NO_MATCH) {
+            recordSuccess();
+            return ACTION_REPORT;
+        }
+        if (errorClass == ErrorClass.FATAL) {
+            // A fatal error says nothing about the health of the recognizer.
+            recordAbandoned();
+            return ACTION_REPORT;
+        }
+
+        final int action;
+        synchronized (this) {
+            consecutiveFailures++;
+
+            // A failed probe or too many failures open the breaker.
+            final boolean open = state == BreakerState.HALF_OPEN
+                    || (state == BreakerState.CLOSED && consecutiveFailures >= breakerThreshold);
+            if (open) {
+                state = BreakerState.OPEN;
+                openedTime = now;
+                probing = false;
+                openCount++;
+                action = ACTION_REPORT;
+            }
+            else if (state != BreakerState.CLOSED || retries >= maxRetries) return ACTION_REPORT;
+            else if (consecutiveFailures % rebuildThreshold == 0) action = ACTION_REBUILD;
+            else action = ACTION_RETRY;
+        }
+
+        if (action == ACTION_REPORT) notifyState(BreakerState.OPEN);
+        return action;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Returns the jittered backoff of given retry: a random time between half and all of
+     * {@code baseDelay * 2^(retry-1)}, capped at the longest backoff.
+     *
+     * @param retry The retry, starting at {@code 1}.
+     *
+     * @return The backoff in milliseconds.
+     */
+    public synchronized long getRetryDelay(int retry) {
+        final int shift = Math.max(0, Math.min(retry - 1, 30));
+        final long delay = Math.min(maxDelay, baseDelay << shift);
+        return delay / 2 + (long) (random.nextDouble() * (delay - delay / 2));
+    }
+
+    /**
+     * Returns the breaker state as seen at given time. An open breaker whose cool-down period is
+     * over is reported half open, although it only turns half open on the next start.
+     *
+     * @param now Current time in milliseconds.
+     *
+     * @return The breaker state.
+     */
+    @BreakerState
+    public synchronized int getBreakerState(long now) {
+        if (state == BreakerState.OPEN && now - openedTime >= coolDown)
+            return BreakerState.HALF_OPEN;
+        return state;
+    }
+
+    /**
+     * @param now Current time in milliseconds.
+     *
+     * @return Milliseconds until the breaker lets a probe session through, or {@code 0} if it is
+     * not open.
+     */
+    public synchronized long getRemainingCoolDown(long now) {
+        if (state != BreakerState.OPEN) return 0;
+        return Math.max(0, openedTime + coolDown - now);
+    }
+
+    /** @return Number of transient failures in a row. */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /** @return Number of times the breaker opened. */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    /** @return Number of retries of a session. */
+    public synchronized int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /** @return Time the breaker stays open in milliseconds. */
+    public synchronized long getCoolDown() {
+        return coolDown;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Notifies the listener about a breaker state change, outside of the lock.
+     *
+     * @param state The new state.
+     */
+    private void notifyState(@BreakerState int state) {
+        final AsrBreakerListener listener = this.listener;
+        if (listener != null) listener.onBreakerStateChanged(state);
+    }
+}
@@ -0,0 +1,239 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Enums.EngineState;
+import com.vgraphics.engineAsr.Enums.SessionState;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free state machine of a recognition session. The state and a per-session generation
+ * counter are packed in a single atomic value and are only changed through compare-and-set, so
+ * racing callbacks and timers can never both win the same transition. Allowed transitions are
+ * defined by an explicit table. The generation is increased every time a new session is
+ * requested, so a timer that was scheduled for an older session is ignored.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SessionStateMachine {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Returned by {@link #begin()} if a new session could not be requested. */
+    public static final long NO_SESSION = -1;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of bits of the packed value that hold the state. */
+    private static final int STATE_BITS = 8;
+    /** Mask of the packed value that holds the state. */
+    private static final long STATE_MASK = (1 << STATE_BITS) - 1;
+    /** Allowed transitions indexed by [from][to]. */
+    private static final boolean[][] TRANSITIONS = new boolean[4][4];
+
+    static {
+        allow(SessionState.UNDEFINED, SessionState.IDLE);
+        allow(SessionState.IDLE, SessionState.REQUESTED);
+        allow(SessionState.IDLE, SessionState.UNDEFINED);
+        allow(SessionState.REQUESTED, SessionState.LISTENING);
+        allow(SessionState.REQUESTED, SessionState.IDLE);
+        allow(SessionState.REQUESTED, SessionState.UNDEFINED);
+        allow(SessionState.LISTENING, SessionState.IDLE);
+        allow(SessionState.LISTENING, SessionState.UNDEFINED);
+    }
+
+    /** Packed generation and state. */
+    private final AtomicLong value;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → CONSTRUCTOR
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs a new state machine.
+     *
+     * @param initial The initial state. Can be any of {@link SessionState}.
+     */
+    public SessionStateMachine(@SessionState int initial) {
+        value = new AtomicLong(pack(0, initial));
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TRANSITION FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Requests a new session. Succeeds only if the machine is {@link SessionState#IDLE} and moves
+     * it to {@link SessionState#REQUESTED} with a new generation.
+     *
+     * @return The generation of the new session or {@link #NO_SESSION} if the machine was not
+     * idle.
+     */
+    public long begin() {
+        while (true) {
+            final long current = value.get();
+            if (stateOf(current) != SessionState.IDLE) return NO_SESSION;
+
+            final long generation = generationOf(current) + 1;
+            if (value.compareAndSet(current, pack(generation, SessionState.REQUESTED)))
+                return generation;
+        }
+    }
+
+    /**
+     * Moves the machine from given state to another, regardless of the session generation.
+     *
+     * @param from The expected current state.
+     * @param to   The new state. Must be an allowed transition from given state.
+     *
+     * @return {@code True} if the transition happened. {@code False} if the machine was not at
+     * given state or the transition is not allowed.
+     */
+    public boolean transition(@SessionState int from, @SessionState int to) {
+        if (!isAllowed(from, to)) return false;
+
+        while (true) {
+            final long current = value.get();
+            if (stateOf(current) != from) return false;
+            if (value.compareAndSet(current, pack(generationOf(current), to))) return true;
+        }
+    }
+
+    /**
+     * Moves the machine from given state to another, only if the current session has given
+     * generation. Used by timers to ignore sessions other than the one they were scheduled for.
+     *
+     * @param generation The expected session generation.
+     * @param from       The expected current state.
+     * @param to         The new state. Must be an allowed transition from given state.
+     *
+     * @return {@code True} if the transition happened. {@code False} otherwise.
+     */
+    public boolean transition(long generation, @SessionState int from, @SessionState int to) {
+        if (!isAllowed(from, to)) return false;
+
+        final long expected = pack(generation, from);
+        return value.compareAndSet(expected, pack(generation, to));
+    }
+
+    /**
+     * Moves the machine to given state from whichever state it currently is, if allowed.
+     *
+     * @param to The new state.
+     *
+     * @return The state the machine was at before the transition, or {@code -1} if the transition
+     * is not allowed from the current state.
+     */
+    public int moveTo(@SessionState int to) {
+        while (true) {
+            final long current = value.get();
+            final int from = stateOf(current);
+            if (!isAllowed(from, to)) return -1;
+            if (value.compareAndSet(current, pack(generationOf(current), to))) return from;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** @return The current state. Can be any of {@link SessionState}. */
+    @SessionState
+    public int getState() {
+        return stateOf(value.get());
+    }
+
+    /** @return The generation of the current or last session. */
+    public long getGeneration() {
+        return generationOf(value.get());
+    }
+
+    /**
+     * Defines if the machine is at given state.
+     *
+     * @param state The state to check.
+     *
+     * @return {@code True} if the machine is at given state. {@code False} otherwise.
+     */
+    public boolean is(@SessionState int state) {
+        return stateOf(value.get()) == state;
+    }
+
+    /**
+     * Defines if given transition is allowed by the transition table.
+     *
+     * @param from The current state.
+     * @param to   The new state.
+     *
+     * @return {@code True} if given transition is allowed. {@code False} otherwise.
+     */
+    public static boolean isAllowed(@SessionState int from, @SessionState int to) {
+        return from >= 0 && from < TRANSITIONS.length && to >= 0 && to < TRANSITIONS.length
+                && TRANSITIONS[from][to];
+    }
+
+    /**
+     * Converts given state to its {@link EngineState} counterpart.
+     *
+     * @param state The state to convert. Can be any of {@link SessionState}.
+     *
+     * @return The {@link EngineState} counterpart of given state.
+     */
+    @NonNull
+    @EngineState
+    public static String toEngineState(@SessionState int state) {
+        switch (state) {
+            case SessionState.IDLE: return EngineState.IDLE;
+            case SessionState.REQUESTED: return EngineState.REQUESTED;
+            case SessionState.LISTENING: return EngineState.LISTENING;
+            default: return EngineState.UNDEFINED;
+        }
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Adds an allowed transition to the transition table.
+     *
+     * @param from The current state.
+     * @param to   The new state.
+     */
+    private static void allow(@SessionState int from, @SessionState int to) {
+        TRANSITIONS[from][to] = true;
+    }
+
+    /**
+     * Packs given generation and state in a single value.
+     *
+     * @param generation The session generation.
+     * @param state      The state.
+     *
+     * @return The packed value.
+     */
+    private static long pack(long generation, int state) {
+        return (generation << STATE_BITS) | state;
+    }
+
+    /**
+     * @param packed A packed value.
+     *
+     * @return The state of given packed value.
+     */
+    private static int stateOf(long packed) {
+        return (int) (packed & STATE_MASK);
+    }
+
+    /**
+     * @param packed A packed value.
+     *
+     * @return The generation of given packed value.
+     */
+    private static long generationOf(long packed) {
+        return packed >>> STATE_BITS;
+    }
+}
@@ -0,0 +1,329 @@
+package com.vgraphics.engineAsr.asr;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.TimingStore;
+
+import java.util.Arrays;
+
+/**
+ * Timing profile of the recognition sessions of an engine: the deadline for the engine to start
+ * listening, the time the system sounds stay muted, the longest spacing between two starts and the
+ * bounds of the stability window that finalizes a session. Defaults match the values engines used
+ * to hard-code.
+ *
+ * <p>With auto-tune on, the start deadline follows the measured latency between a start command
+ * and the engine starting to listen, instead of a fixed value. The deadline is twice the 95th
+ * percentile of the last {@link #SAMPLES} latencies, so slow devices are not cut off and fast ones
+ * recover quickly from a start that never happens. Starts that miss the deadline count as
+ * latencies at the deadline. Latencies are restored from a {@link TimingStore}, if any, and saved
+ * to it while auto-tune is on, so the deadline carries over to the next launch. Notice that this
+ * class is thread safe.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SessionTiming {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PUBLIC VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Default deadline for the engine to start listening, in milliseconds. */
+    public static final long DEFAULT_START_TIMEOUT = 3000;
+    /** Default time the system sounds stay muted around a start, in milliseconds. */
+    public static final long DEFAULT_MUTE_DURATION = 900;
+    /** Default upper bound of the spacing between two consecutive starts, in milliseconds. */
+    public static final long DEFAULT_MAX_START_SPACING = AdmissionController.MAX_START_SPACING;
+    /** Number of start latencies auto-tune keeps. */
+    public static final int SAMPLES = 64;
+    /** Number of start latencies auto-tune needs before it replaces the start deadline. */
+    public static final int MIN_SAMPLES = 8;
+    /** Shortest start deadline auto-tune sets, in milliseconds. */
+    public static final long MIN_TUNED_START_TIMEOUT = 1000;
+    /** Longest start deadline auto-tune sets, in milliseconds. */
+    public static final long MAX_TUNED_START_TIMEOUT = 10000;
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Tuned start deadline as a multiple of the 95th percentile of the start latency. */
+    private static final int TUNE_FACTOR = 2;
+
+    /** Configured deadline for the engine to start listening, in milliseconds. */
+    private volatile long startTimeout = DEFAULT_START_TIMEOUT;
+    /** Time the system sounds stay muted around a start, in milliseconds. */
+    private volatile long muteDuration = DEFAULT_MUTE_DURATION;
+    /** Upper bound of the spacing between two consecutive starts, in milliseconds. */
+    private volatile long maxStartSpacing = DEFAULT_MAX_START_SPACING;
+    /** Shortest stability window, in milliseconds. */
+    private volatile long minStableWindow = PartialStabilityTracker.MIN_WINDOW;
+    /** Longest stability window, in milliseconds. */
+    private volatile long maxStableWindow = PartialStabilityTracker.MAX_WINDOW;
+    /** Defines if the start deadline follows the measured start latency. */
+    private volatile boolean autoTune;
+    /** Start deadline derived from the measured latencies, or {@code -1} if too few. */
+    private volatile long tunedStartTimeout = -1;
+    /** 95th percentile of the measured latencies, or {@code -1} if none. */
+    private volatile long startLatencyP95 = -1;
+    /** Store the measured latencies are kept in, if any. */
+    private volatile TimingStore store;
+    /** Measured start latencies, oldest first. Guarded by this. */
+    private final long[] latencies = new long[SAMPLES];
+    /** Number of measured start latencies. Guarded by this. */
+    private int count;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → SETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Sets the deadline for the engine to start listening. A start that misses it is retried.
+     * Replaced by the tuned deadline once auto-tune has enough samples.
+     *
+     * @param startTimeout The deadline in milliseconds.
+     *
+     * @return This profile.
+     *
+     * @throws IllegalArgumentException If given deadline is not positive.
+     */
+    @NonNull
+    public SessionTiming setStartTimeout(long startTimeout) {
+        this.startTimeout = requirePositive(startTimeout, "Start timeout");
+        return this;
+    }
+
+    /**
+     * Sets the time the system sounds stay muted around a start, so the start beep is not heard.
+     *
+     * @param muteDuration The duration in milliseconds.
+     *
+     * @return This profile.
+     *
+     * @throws IllegalArgumentException If given duration is not positive.
+     */
+    @NonNull
+    public SessionTiming setMuteDuration(long muteDuration) {
+        this.muteDuration = requirePositive(muteDuration, "Mute duration");
+        return this;
+    }
+
+    /**
+     * Sets the upper bound of the spacing between two consecutive starts. The spacing itself
+     * follows the measured start latency.
+     *
+     * @param maxStartSpacing The upper bound in milliseconds. Values lower than
+     *                        {@link AdmissionController#MIN_START_SPACING} are raised to it.
+     *
+     * @return This profile.
+     *
+     * @throws IllegalArgumentException If given bound is not positive.
+     */
+    @NonNull
+    public SessionTiming setMaxStartSpacing(long maxStartSpacing) {
+        this.maxStartSpacing = Math.max(AdmissionController.MIN_START_SPACING,
+                requirePositive(maxStartSpacing, "Start spacing"));
+        return this;
+    }
+
+    /**
+     * Sets the bounds of the window a hypothesis must stay unchanged for before the session is
+     * finalized.
+     *
+     * @param minStableWindow The shortest window in milliseconds.
+     * @param maxStableWindow The longest window in milliseconds.
+     *
+     * @return This profile.
+     *
+     * @throws IllegalArgumentException If either bound is not positive or the shortest window is
+     *                                  longer than the longest one.
+     */
+    @NonNull
+    public SessionTiming setStableWindow(long minStableWindow, long maxStableWindow) {
+        requirePositive(minStableWindow, "Stable window");
+        if (maxStableWindow < minStableWindow) throw new IllegalArgumentException("Stable " +
+                "window bounds " + minStableWindow + ".." + maxStableWindow + " are reversed.");
+
+        this.minStableWindow = minStableWindow;
+        this.maxStableWindow = maxStableWindow;
+        return this;
+    }
+
+    /**
+     * Sets if the start deadline follows the measured start latency.
+     *
+     * @param autoTune {@code True} to tune the deadline. {@code False} to use the configured one.
+     *
+     * @return This profile.
+     */
+    @NonNull
+    public SessionTiming setAutoTune(boolean autoTune) {
+        this.autoTune = autoTune;
+        return this;
+    }
+
+    /**
+     * Sets the store the measured start latencies are kept in and restores any stored ones, which
+     * replace the latencies measured so far.
+     *
+     * @param store The store or {@code null} to keep latencies in memory only.
+     *
+     * @return This profile.
+     */
+    @NonNull
+    public SessionTiming setStore(@Nullable TimingStore store) {
+        this.store = store;
+        if (store == null) return this;
+
+        final long[] stored = store.load();
+        if (stored == null) return this;
+
+        synchronized (this) {
+            count = 0;
+            final int from = Math.max(0, stored.length - SAMPLES);
+            for (int i = from; i < stored.length; i++)
+                if (stored[i] >= 0) latencies[count++] = stored[i];
+            tune();
+        }
+        return this;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → OPERATING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Records a measured latency between a start command and the engine starting to listen. The
+     * oldest latency is dropped once {@link #SAMPLES} are kept. Latencies are recorded even while
+     * auto-tune is off, so the deadline is ready once it is turned on, but they are only saved to
+     * the store while auto-tune is on.
+     *
+     * @param latency The latency in milliseconds. Negative values are ignored.
+     */
+    public void recordStartLatency(long latency) {
+        if (latency < 0) return;
+
+        final TimingStore store = autoTune ? this.store : null;
+        synchronized (this) {
+            if (count == SAMPLES) {
+                System.arraycopy(latencies, 1, latencies, 0, SAMPLES - 1);
+                count--;
+            }
+            latencies[count++] = latency;
+            tune();
+
+            if (store != null) store.save(latencies, count);
+        }
+    }
+
+    /**
+     * Records a start that missed its deadline. Its latency is only known to be longer than the
+     * deadline, so it is recorded as a censored sample at the deadline. Otherwise only the starts
+     * that made it would be measured, and a device whose starts keep timing out would never get
+     * a longer deadline.
+     *
+     * @param deadline The missed deadline in milliseconds. Negative values are ignored.
+     */
+    public void recordStartTimeout(long deadline) {
+        recordStartLatency(deadline);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → GETTERS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * @return The deadline for the engine to start listening in milliseconds. The tuned one if
+     * auto-tune is on and has enough samples, the configured one otherwise.
+     */
+    public long getStartTimeout() {
+        final long tuned = tunedStartTimeout;
+        return autoTune && tuned > 0 ? tuned : startTimeout;
+    }
+
+    /** @return The configured deadline for the engine to start listening in milliseconds. */
+    public long getConfiguredStartTimeout() {
+        return startTimeout;
+    }
+
+    /** @return Time the system sounds stay muted around a start in milliseconds. */
+    public long getMuteDuration() {
+        return muteDuration;
+    }
+
+    /** @return Upper bound of the spacing between two consecutive starts in milliseconds. */
+    public long getMaxStartSpacing() {
+        return maxStartSpacing;
+    }
+
+    /** @return The shortest stability window in milliseconds. */
+    public long getMinStableWindow() {
+        return minStableWindow;
+    }
+
+    /** @return The longest stability window in milliseconds. */
+    public long getMaxStableWindow() {
+        return maxStableWindow;
+    }
+
+    /** @return {@code True} if the start deadline follows the measured start latency. */
+    public boolean isAutoTune() {
+        return autoTune;
+    }
+
+    /** @return The store the measured start latencies are kept in or {@code null} if none. */
+    @Nullable
+    public TimingStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return The 95th percentile of the measured start latencies in milliseconds, or {@code -1}
+     * if nothing was measured.
+     */
+    public long getStartLatencyP95() {
+        return startLatencyP95;
+    }
+
+    /** @return Number of measured start latencies kept. */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Derives the 95th percentile and the tuned deadline from the measured latencies. Must hold
+     * the lock of this profile.
+     */
+    private void tune() {
+        if (count == 0) {
+            startLatencyP95 = -1;
+            tunedStartTimeout = -1;
+            return;
+        }
+
+        final long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final long p95 = sorted[Math.min(count - 1, (int) Math.ceil(count * 0.95) - 1)];
+        startLatencyP95 = p95;
+        tunedStartTimeout = count < MIN_SAMPLES ? -1 : Math.max(MIN_TUNED_START_TIMEOUT,
+                Math.min(MAX_TUNED_START_TIMEOUT, p95 * TUNE_FACTOR));
+    }
+
+    /**
+     * Checks that given duration is positive.
+     *
+     * @param value The duration.
+     * @param name  Name of the duration for the error message.
+     *
+     * @return Given duration.
+     *
+     * @throws IllegalArgumentException If given duration is not positive.
+     */
+    private static long requirePositive(long value, @NonNull String name) {
+        if (value <= 0) throw new IllegalArgumentException(name + " must be positive: " + value);
+        return value;
+    }
+}
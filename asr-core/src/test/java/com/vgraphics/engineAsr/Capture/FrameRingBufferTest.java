@@ -0,0 +1,310 @@
+package com.vgraphics.engineAsr.Capture;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FrameRingBufferTest {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Sample rate of the test audio. */
+    private static final int SAMPLE_RATE = 16000;
+    /** Number of samples per frame. */
+    private static final int FRAME_SIZE = 4;
+    /** Time to wait for a thread, in milliseconds. */
+    private static final long TIMEOUT = 5000;
+    /** Time a producer is given to overrun a ring it must not overrun, in milliseconds. */
+    private static final long SETTLE = 50;
+
+    /** Temporary file of the test, if any. */
+    private File file;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TESTS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @After
+    public void tearDown() {
+        if (file != null && !file.delete()) file.deleteOnExit();
+    }
+
+    @Test
+    public void slowConsumerSkipsToOldestFrame() {
+        final FrameRingBuffer ring = new FrameRingBuffer(FRAME_SIZE, 4, false);
+        final FrameRingBuffer.Cursor cursor = ring.newCursor();
+        for (int i = 0; i < 10; i++) assertTrue(ring.publish(frameOf(i), FRAME_SIZE));
+
+        // Oldest frame still available is the one after the slot the producer writes next.
+        final short[] frame = new short[FRAME_SIZE];
+        assertEquals(10, cursor.getLag());
+        for (int i = 7; i < 10; i++) {
+            assertEquals(FRAME_SIZE, cursor.read(frame));
+            assertArrayEquals(frameOf(i), frame);
+        }
+        assertEquals(7, cursor.getOverruns());
+        assertEquals(FrameRingBuffer.Cursor.EMPTY, cursor.read(frame));
+        assertEquals(0, cursor.getLag());
+    }
+
+    @Test
+    public void overwrittenFrameIsNeverReturnedTorn() throws InterruptedException {
+        final int count = 30000;
+        final FrameRingBuffer ring = new FrameRingBuffer(4096, 2, false);
+        final FrameRingBuffer.Cursor cursor = ring.newCursor();
+        final Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final short[] frame = new short[ring.getFrameSize()];
+                for (int i = 0; i < count; i++) {
+                    Arrays.fill(frame, (short) i);
+                    ring.publish(frame, frame.length);
+                }
+                ring.finish();
+            }
+        });
+        producer.start();
+
+        // Every returned frame must be whole and newer than the previous one.
+        final short[] frame = new short[ring.getFrameSize()];
+        int read = 0;
+        int last = -1;
+        int result;
+        while ((result = cursor.read(frame)) != FrameRingBuffer.Cursor.END_OF_STREAM) {
+            if (result == FrameRingBuffer.Cursor.EMPTY) continue;
+
+            assertEquals(frame.length, result);
+            for (short sample : frame) assertEquals(frame[0], sample);
+            assertTrue(frame[0] > last);
+            last = frame[0];
+            read++;
+        }
+        producer.join(TIMEOUT);
+
+        assertEquals(count - 1, last);
+        assertEquals(count, read + cursor.getOverruns());
+    }
+
+    @Test
+    public void blockingProducerWaitsForSlowestConsumer() throws InterruptedException {
+        final FrameRingBuffer ring = new FrameRingBuffer(FRAME_SIZE, 2, true);
+        final FrameRingBuffer.Cursor fast = ring.newCursor();
+        final FrameRingBuffer.Cursor slow = ring.newCursor();
+        final Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 5; i++) ring.publish(frameOf(i), FRAME_SIZE);
+                ring.finish();
+            }
+        });
+        producer.start();
+
+        // Producer fills the ring and waits.
+        awaitPublished(ring, 2);
+        Thread.sleep(SETTLE);
+        assertEquals(2, ring.getPublishedCount());
+
+        // Fast consumer alone does not make room.
+        final short[] frame = new short[FRAME_SIZE];
+        assertEquals(FRAME_SIZE, fast.read(frame));
+        Thread.sleep(SETTLE);
+        assertEquals(2, ring.getPublishedCount());
+
+        // Slow consumer does.
+        assertEquals(FRAME_SIZE, slow.read(frame));
+        awaitPublished(ring, 3);
+
+        // Closed consumer no longer holds back the producer.
+        slow.close();
+        for (int i = 1; i < 5; i++) {
+            assertEquals(FRAME_SIZE, fast.take(frame, TIMEOUT));
+            assertArrayEquals(frameOf(i), frame);
+        }
+        assertEquals(FrameRingBuffer.Cursor.END_OF_STREAM, fast.take(frame, TIMEOUT));
+        assertEquals(0, fast.getOverruns());
+        producer.join(TIMEOUT);
+    }
+
+    @Test
+    public void interruptedProducerGivesUpWaiting() throws InterruptedException {
+        final FrameRingBuffer ring = new FrameRingBuffer(FRAME_SIZE, 1, true);
+        ring.newCursor();
+        assertTrue(ring.publish(frameOf(0), FRAME_SIZE));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(ring.publish(frameOf(1), FRAME_SIZE));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(1, ring.getPublishedCount());
+    }
+
+    @Test
+    public void endOfStreamFollowsLastFrame() {
+        final FrameRingBuffer ring = new FrameRingBuffer(FRAME_SIZE, 4, false);
+        final FrameRingBuffer.Cursor cursor = ring.newCursor();
+        final short[] frame = new short[FRAME_SIZE];
+        assertEquals(FrameRingBuffer.Cursor.EMPTY, cursor.take(frame, 10));
+
+        ring.publish(frameOf(0), FRAME_SIZE);
+        ring.publish(frameOf(1), 2);
+        ring.finish();
+
+        // Frames published before finishing are still delivered, including a short last one.
+        assertEquals(FRAME_SIZE, cursor.read(frame));
+        assertEquals(2, cursor.read(frame));
+        assertEquals(1, frame[0]);
+        assertEquals(FrameRingBuffer.Cursor.END_OF_STREAM, cursor.read(frame));
+        assertEquals(FrameRingBuffer.Cursor.END_OF_STREAM, cursor.take(frame, TIMEOUT));
+
+        // Consumers registered after the end read nothing.
+        assertEquals(FrameRingBuffer.Cursor.END_OF_STREAM, ring.newCursor().read(frame));
+    }
+
+    @Test
+    public void everyConsumerReadsWholeMemorySource() throws InterruptedException {
+        // Ring much smaller than the source, so the capture is held back by the consumers.
+        final short[] samples = ramp(1000 * FRAME_SIZE + 3);
+        final AudioCapture capture = new AudioCapture(
+                new MemoryAudioSource(samples, SAMPLE_RATE, 1), FRAME_SIZE, 8);
+        assertConsumersReadAll(capture, samples, 3);
+    }
+
+    @Test
+    public void everyConsumerReadsWholePcmFile() throws IOException, InterruptedException {
+        final short[] samples = ramp(500 * FRAME_SIZE + 1);
+        file = File.createTempFile("ring", ".pcm");
+        final FileOutputStream output = new FileOutputStream(file);
+        try {
+            for (short sample : samples) {
+                output.write(sample & 0xff);
+                output.write((sample >> 8) & 0xff);
+            }
+        } finally {
+            output.close();
+        }
+
+        final AudioCapture capture = new AudioCapture(
+                new PcmFileSource(file, SAMPLE_RATE, 1), FRAME_SIZE, 8);
+        assertConsumersReadAll(capture, samples, 2);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Runs given capture with a number of consumers on their own threads and checks that every
+     * consumer reads all samples in order, followed by end of stream.
+     *
+     * @param capture   The capture. Its source must not be real time.
+     * @param samples   The samples of the source.
+     * @param consumers Number of consumers.
+     */
+    private static void assertConsumersReadAll(final AudioCapture capture, short[] samples,
+                                               int consumers) throws InterruptedException {
+        final Thread[] threads = new Thread[consumers];
+        final short[][] received = new short[consumers][];
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < consumers; i++) {
+            final int index = i;
+            final FrameRingBuffer.Cursor cursor = capture.newCursor();
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        received[index] = readAll(cursor, capture.getRing().getFrameSize());
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        capture.start();
+        for (Thread thread : threads) thread.join(TIMEOUT);
+        if (failure.get() != null) throw new AssertionError(failure.get());
+
+        for (short[] consumer : received) assertArrayEquals(samples, consumer);
+        assertFalse(capture.isRunning());
+        assertNull(capture.getError());
+    }
+
+    /**
+     * Reads given cursor until end of stream.
+     *
+     * @param cursor    The cursor.
+     * @param frameSize Number of samples per frame.
+     *
+     * @return All read samples, in order.
+     */
+    private static short[] readAll(FrameRingBuffer.Cursor cursor, int frameSize) {
+        final short[] frame = new short[frameSize];
+        short[] samples = new short[frameSize * 64];
+        int count = 0;
+        int read;
+        while ((read = cursor.take(frame, TIMEOUT)) != FrameRingBuffer.Cursor.END_OF_STREAM) {
+            assertTrue("No frame in time.", read != FrameRingBuffer.Cursor.EMPTY);
+            if (count + read > samples.length) samples = Arrays.copyOf(samples, samples.length * 2);
+            System.arraycopy(frame, 0, samples, count, read);
+            count += read;
+        }
+        assertEquals(0, cursor.getOverruns());
+        return Arrays.copyOf(samples, count);
+    }
+
+    /**
+     * Waits for given number of frames to be published.
+     *
+     * @param ring  The ring.
+     * @param count Number of frames.
+     */
+    private static void awaitPublished(FrameRingBuffer ring, long count)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        while (ring.getPublishedCount() < count) {
+            assertTrue("Frame was not published in time.", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * @param value Value of every sample.
+     *
+     * @return A whole frame of given value.
+     */
+    private static short[] frameOf(int value) {
+        final short[] frame = new short[FRAME_SIZE];
+        Arrays.fill(frame, (short) value);
+        return frame;
+    }
+
+    /**
+     * @param count Number of samples.
+     *
+     * @return Samples that differ from their neighbours, positive and negative.
+     */
+    private static short[] ramp(int count) {
+        final short[] samples = new short[count];
+        for (int i = 0; i < count; i++) samples[i] = (short) (i * 37 - 20000);
+        return samples;
+    }
+}
@@ -0,0 +1,113 @@
+package com.vgraphics.engineAsr.Capture;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class VoiceActivityDetectorTest {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Interval between levels, in milliseconds. */
+    private static final long FRAME = 20;
+    /** Level of background noise, in dB. */
+    private static final float NOISE = -60f;
+    /** Level of speech, in dB. */
+    private static final float SPEECH = -20f;
+
+    /** Detector under test. */
+    private final VoiceActivityDetector detector = new VoiceActivityDetector(
+            new VoiceActivitySettings().setEnabled(true));
+    /** Events of the detector, stamped with the time of the level that raised them. */
+    private final List<String> events = new ArrayList<>();
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TESTS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Test
+    public void speechEndsAfterHangover() {
+        feed(NOISE, 0, 200);
+        feed(SPEECH, 200, 1000);
+        feed(NOISE, 1000, 2000);
+
+        assertEquals(Arrays.asList("200 start", "1700 end"), events);
+        assertEquals(1000, detector.onFinalResult(2000));
+        assertEquals(1000, detector.getLastEndOfSpeechLatency());
+    }
+
+    @Test
+    public void pauseShorterThanHangoverDoesNotEndSpeech() {
+        feed(NOISE, 0, 200);
+        feed(SPEECH, 200, 600);
+        feed(NOISE, 600, 1000);
+        feed(SPEECH, 1000, 1400);
+        feed(NOISE, 1400, 2400);
+
+        assertEquals(Arrays.asList("200 start", "2100 end"), events);
+    }
+
+    @Test
+    public void shortBurstIsDroppedAfterHangover() {
+        feed(NOISE, 0, 200);
+        feed(SPEECH, 200, 240);
+        feed(NOISE, 240, 1200);
+        assertEquals(Arrays.asList("200 start"), events);
+
+        // Detector is ready for the next utterance instead of staying in speech forever.
+        feed(SPEECH, 1200, 1600);
+        feed(NOISE, 1600, 2600);
+        assertEquals(Arrays.asList("200 start", "1200 start", "2300 end"), events);
+    }
+
+    @Test
+    public void disabledDetectorReportsNothing() {
+        detector.setEnabled(false);
+        feed(NOISE, 0, 200);
+        feed(SPEECH, 200, 1000);
+        feed(NOISE, 1000, 2000);
+
+        assertEquals(Collections.<String>emptyList(), events);
+    }
+
+    @Test
+    public void frameLevelIsRelativeToFullScale() {
+        final short[] frame = new short[160];
+        assertEquals(-96f, VoiceActivityDetector.levelOf(frame, frame.length), 0f);
+        assertEquals(-96f, VoiceActivityDetector.levelOf(frame, 0), 0f);
+
+        Arrays.fill(frame, Short.MAX_VALUE);
+        assertEquals(0f, VoiceActivityDetector.levelOf(frame, frame.length), 0.01f);
+
+        Arrays.fill(frame, (short) (Short.MAX_VALUE / 10));
+        assertEquals(-20f, VoiceActivityDetector.levelOf(frame, frame.length), 0.01f);
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Feeds a constant level to the detector, one level per {@link #FRAME}, and records events.
+     *
+     * @param level The level in dB.
+     * @param from  Time of the first level, inclusive.
+     * @param to    Time of the last level, exclusive.
+     */
+    private void feed(float level, long from, long to) {
+        for (long time = from; time < to; time += FRAME) {
+            final int event = detector.process(level, time);
+            if (event == VoiceActivityDetector.EVENT_SPEECH_START) events.add(time + " start");
+            else if (event == VoiceActivityDetector.EVENT_SPEECH_END) events.add(time + " end");
+        }
+    }
+}
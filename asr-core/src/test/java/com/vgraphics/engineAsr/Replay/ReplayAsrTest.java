@@ -0,0 +1,195 @@
+package com.vgraphics.engineAsr.Replay;
+
+import com.vgraphics.engineAsr.Enums.TraceEvent;
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Platform.ManualScheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReplayAsrTest {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Scheduler with the virtual clock the engine replays on. */
+    private final ManualScheduler scheduler = new ManualScheduler();
+    /** Callbacks of the engine, stamped with the virtual time they arrived at. */
+    private final List<String> events = new ArrayList<>();
+    /** Defines if the listener starts a new session from within every terminal callback. */
+    private boolean restart;
+    /** Engine under test. */
+    private ReplayAsr engine;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TESTS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Test
+    public void virtualClockDeliversEventsAtRecordedOffsets() {
+        newEngine(1);
+        engine.startListening();
+
+        scheduler.advanceBy(399);
+        assertEquals(Arrays.asList("100 start"), events);
+
+        scheduler.advanceBy(1000);
+        assertEquals(Arrays.asList("100 start", "400 partial:hello",
+                "1200 final:hello world"), events);
+        assertFalse(engine.isListening());
+    }
+
+    @Test
+    public void speedDividesOffsets() {
+        newEngine(4);
+        engine.startListening();
+
+        scheduler.advanceBy(1000);
+        assertEquals(Arrays.asList("25 start", "100 partial:hello", "300 final:hello world"),
+                events);
+    }
+
+    @Test
+    public void instantSpeedDeliversWholeSessionAtOnce() {
+        newEngine(ReplayAsr.INSTANT);
+        engine.startListening();
+        assertTrue("Events must not be delivered from within the start.", events.isEmpty());
+
+        scheduler.runPending();
+        assertEquals(Arrays.asList("0 start", "0 partial:hello", "0 final:hello world"), events);
+    }
+
+    @Test
+    public void stopAfterPartialDeliversOnlyFinalResult() {
+        newEngine(1);
+        engine.startListening();
+        scheduler.advanceBy(500);
+
+        engine.stopListening();
+        scheduler.advanceBy(2000);
+        assertEquals(Arrays.asList("100 start", "400 partial:hello", "500 final:hello"), events);
+    }
+
+    @Test
+    public void stopBeforePartialDeliversOnlyCancellation() {
+        newEngine(1);
+        engine.startListening();
+        scheduler.advanceBy(200);
+
+        engine.stopListening();
+        scheduler.advanceBy(2000);
+        assertEquals(Arrays.asList("100 start", "200 cancelled"), events);
+    }
+
+    @Test
+    public void stopDoesNotEndSessionStartedFromTerminalCallback() {
+        newEngine(1);
+        restart = true;
+        engine.startListening();
+        scheduler.advanceBy(500);
+
+        // Listener re-arms from within the terminal callback, like continuous dictation does.
+        engine.stopListening();
+        restart = false;
+        assertTrue(engine.isListening());
+
+        scheduler.advanceBy(2000);
+        assertEquals(Arrays.asList("100 start", "400 partial:hello", "500 final:hello",
+                "600 start", "900 partial:hello", "1700 final:hello world"), events);
+        assertEquals(2, engine.getReplayedSessionCount());
+    }
+
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → ASSISTING FUNCTIONS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /**
+     * Constructs the engine with a single session trace and consumes its initialization.
+     *
+     * @param speed The playback speed.
+     */
+    private void newEngine(float speed) {
+        final ReplayTrace trace = new ReplayTrace()
+                .add(TraceEvent.START, 100)
+                .add(TraceEvent.PARTIAL, 400, "hello", 0)
+                .add(TraceEvent.END_OF_SPEECH, 900)
+                .add(TraceEvent.FINAL, 1200, "hello world", 0);
+        engine = new ReplayAsr(scheduler, trace, "en-US", new Listener());
+        engine.setSpeed(speed);
+
+        scheduler.runPending();
+        assertEquals(Arrays.asList("0 initialized:true"), events);
+        events.clear();
+    }
+
+    /**
+     * Records given callback.
+     *
+     * @param event The callback.
+     */
+    private void record(String event) {
+        events.add(scheduler.uptimeMillis() + " " + event);
+    }
+
+    /**
+     * Starts a new session if the test asks for it.
+     */
+    private void restartIfRequested() {
+        if (restart) engine.startListening();
+    }
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ CLASSES                                                                                   ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    /**
+     * Listener that records callbacks.
+     */
+    private final class Listener implements AsrCallbacksListener {
+        @Override
+        public void onAsrInitialized(boolean success) {
+            record("initialized:" + success);
+        }
+
+        @Override
+        public void onAsrStart() {
+            record("start");
+        }
+
+        @Override
+        public void onAsrCancelled() {
+            record("cancelled");
+            restartIfRequested();
+        }
+
+        @Override
+        public void onAsrFinalResult(String finalResult) {
+            record("final:" + finalResult);
+            restartIfRequested();
+        }
+
+        @Override
+        public void onAsrPartialResult(String partialResult) {
+            record("partial:" + partialResult);
+        }
+
+        @Override
+        public void onAsrError(int errorCode) {
+            record("error:" + errorCode);
+            restartIfRequested();
+        }
+
+        @Override
+        public void onLangListRetrieved(List<String> languages) {
+        }
+    }
+}
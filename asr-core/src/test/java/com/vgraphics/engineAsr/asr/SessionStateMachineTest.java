@@ -0,0 +1,145 @@
+package com.vgraphics.engineAsr.asr;
+
+import com.vgraphics.engineAsr.Enums.SessionState;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SessionStateMachineTest {
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ VARIABLES                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → PRIVATE VARIABLES
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    /** Number of threads that race the transitions. */
+    private static final int THREADS = 8;
+    /** Number of operations of every thread. */
+    private static final int OPERATIONS = 200_000;
+
+    // ╔═══════════════════════════════════════════════════════════════════════════════════════════╗
+    // ║ FUNCTIONS                                                                                 ║
+    // ╚═══════════════════════════════════════════════════════════════════════════════════════════╝
+    // ┌───────────────────────────────────────────────────────────────────────────────────────────┐
+    //   → TESTS
+    // └───────────────────────────────────────────────────────────────────────────────────────────┘
+    @Test
+    public void staleGenerationIsIgnored() {
+        final SessionStateMachine state = new SessionStateMachine(SessionState.IDLE);
+
+        final long first = state.begin();
+        assertEquals(SessionStateMachine.NO_SESSION, state.begin());
+        assertTrue(state.transition(SessionState.REQUESTED, SessionState.IDLE));
+
+        final long second = state.begin();
+        assertEquals(first + 1, second);
+
+        // A timer of the first session must not end the second one.
+        assertFalse(state.transition(first, SessionState.REQUESTED, SessionState.IDLE));
+        assertTrue(state.transition(second, SessionState.REQUESTED, SessionState.LISTENING));
+        assertTrue(state.is(SessionState.LISTENING));
+    }
+
+    @Test
+    public void undefinedIsOnlyLeftToIdle() {
+        final SessionStateMachine state = new SessionStateMachine(SessionState.UNDEFINED);
+
+        assertEquals(SessionStateMachine.NO_SESSION, state.begin());
+        assertFalse(state.transition(SessionState.REQUESTED, SessionState.IDLE));
+        assertEquals(-1, state.moveTo(SessionState.LISTENING));
+        assertEquals(SessionState.UNDEFINED, state.moveTo(SessionState.IDLE));
+    }
+
+    @Test
+    public void racingTransitionsKeepInvariants() throws InterruptedException {
+        final SessionStateMachine state = new SessionStateMachine(SessionState.IDLE);
+        final ConcurrentHashMap<Long, Integer> winners = new ConcurrentHashMap<>();
+        final AtomicInteger begins = new AtomicInteger();
+        final AtomicInteger ends = new AtomicInteger();
+        final AtomicReference<String> violation = new AtomicReference<>();
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    final Random random = new Random(id);
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        switch (random.nextInt(5)) {
+                            case 0: {
+                                // Start, like a user request.
+                                final long generation = state.begin();
+                                if (generation == SessionStateMachine.NO_SESSION) break;
+
+                                begins.incrementAndGet();
+                                if (winners.putIfAbsent(generation, id) != null)
+                                    violation.compareAndSet(null, "Generation " + generation +
+                                            " was begun twice.");
+                                break;
+                            }
+                            case 1:
+                                // Ready for speech.
+                                state.transition(SessionState.REQUESTED, SessionState.LISTENING);
+                                break;
+                            case 2: {
+                                // Watch dog of whichever session is current.
+                                final long generation = state.getGeneration();
+                                if (state.transition(generation, SessionState.REQUESTED,
+                                        SessionState.IDLE)) ends.incrementAndGet();
+                                break;
+                            }
+                            case 3:
+                                // Stop or result.
+                                if (state.transition(SessionState.LISTENING, SessionState.IDLE))
+                                    ends.incrementAndGet();
+                                break;
+                            default: {
+                                // Error.
+                                final int previous = state.moveTo(SessionState.IDLE);
+                                if (previous == SessionState.REQUESTED
+                                        || previous == SessionState.LISTENING)
+                                    ends.incrementAndGet();
+                                break;
+                            }
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        gate.countDown();
+        for (Thread thread : threads) thread.join();
+
+        assertNull(violation.get(), violation.get());
+        assertTrue("No session was begun.", begins.get() > 0);
+
+        // Exactly one winner per generation and no generation lost in between.
+        assertEquals(begins.get(), winners.size());
+        assertEquals(begins.get(), state.getGeneration());
+        for (long generation = 1; generation <= begins.get(); generation++)
+            assertTrue("Generation " + generation + " was lost.", winners.containsKey(generation));
+
+        // Every session ended once, except the one still running.
+        final int running = state.is(SessionState.IDLE) ? 0 : 1;
+        assertEquals(begins.get() - running, ends.get());
+    }
+}
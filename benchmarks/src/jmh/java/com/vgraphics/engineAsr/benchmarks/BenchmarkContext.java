@@ -0,0 +1,125 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.Handler;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Context of the benchmarks. Shared preferences are kept in memory and broadcasts are dropped.
+ */
+public class BenchmarkContext extends Context {
+    /** Preferences keyed by name. */
+    private final Map<String, MemoryPreferences> preferences = new HashMap<>();
+
+    @Override
+    public Object getSystemService(String name) {
+        return null;
+    }
+
+    @Override
+    public String getPackageName() {
+        return "com.vgraphics.engineAsr.benchmarks";
+    }
+
+    @Override
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    @Override
+    public synchronized SharedPreferences getSharedPreferences(String name, int mode) {
+        MemoryPreferences found = preferences.get(name);
+        if (found == null) preferences.put(name, found = new MemoryPreferences());
+        return found;
+    }
+
+    @Override
+    public void sendOrderedBroadcast(Intent intent, String receiverPermission,
+                                     BroadcastReceiver resultReceiver, Handler scheduler,
+                                     int initialCode, String initialData, Bundle initialExtras) {}
+
+    /**
+     * Shared preferences kept in memory. Edits are applied at once.
+     */
+    private static final class MemoryPreferences
+            implements SharedPreferences, SharedPreferences.Editor {
+        /** Stored values. */
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public synchronized String getString(String key, String defValue) {
+            final Object value = values.get(key);
+            return value instanceof String ? (String) value : defValue;
+        }
+
+        @Override
+        public synchronized long getLong(String key, long defValue) {
+            final Object value = values.get(key);
+            return value instanceof Long ? (Long) value : defValue;
+        }
+
+        @Override
+        public synchronized int getInt(String key, int defValue) {
+            final Object value = values.get(key);
+            return value instanceof Integer ? (Integer) value : defValue;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public synchronized Set<String> getStringSet(String key, Set<String> defValues) {
+            final Object value = values.get(key);
+            return value instanceof Set ? new HashSet<>((Set<String>) value) : defValues;
+        }
+
+        @Override
+        public Editor edit() {
+            return this;
+        }
+
+        @Override
+        public synchronized Editor putString(String key, String value) {
+            values.put(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized Editor putLong(String key, long value) {
+            values.put(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized Editor putInt(String key, int value) {
+            values.put(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized Editor putStringSet(String key, Set<String> values) {
+            this.values.put(key, new HashSet<>(values));
+            return this;
+        }
+
+        @Override
+        public synchronized Editor remove(String key) {
+            values.remove(key);
+            return this;
+        }
+
+        @Override
+        public void apply() {}
+
+        @Override
+        public boolean commit() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.asr.Asr;
+import com.vgraphics.engineAsr.asr.EngineRegistry;
+import com.vgraphics.engineAsr.asr.LibraryAsr;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/**
+ * Setup shared by the benchmarks.
+ */
+final class Benchmarks {
+    private Benchmarks() {}
+
+    /**
+     * Constructs an asr that uses the {@link FakeEngine} and waits for the engine to be
+     * constructed.
+     *
+     * @param language Language of the asr.
+     *
+     * @return The initialized asr.
+     */
+    @NonNull
+    static Asr newAsr(@NonNull String language) {
+        EngineRegistry.getInstance().register(new FakeEngine.Provider());
+
+        final Asr asr = new LibraryAsr();
+        asr.setListener(listener(null));
+        asr.initialize(new BenchmarkContext(), language, FakeEngine.CODE);
+        idle();
+        return asr;
+    }
+
+    /**
+     * Destroys given asr and runs its pending commands.
+     *
+     * @param asr The asr to destroy.
+     */
+    static void destroy(@NonNull Asr asr) {
+        asr.destroy();
+        idle();
+    }
+
+    /**
+     * Runs every due message of the main looper on the calling thread.
+     */
+    static void idle() {
+        Looper.getMainLooper().idle();
+    }
+
+    /**
+     * Builds growing partial results of a dictation, the way recognizers report them.
+     *
+     * @param words Number of words of the last partial.
+     *
+     * @return One partial per word.
+     */
+    @NonNull
+    static String[] partials(int words) {
+        final String[] partials = new String[words];
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) builder.append(' ');
+            builder.append("word").append(i);
+            partials[i] = builder.toString();
+        }
+        return partials;
+    }
+
+    /**
+     * Returns a listener that sinks every callback into given black hole.
+     *
+     * @param blackhole The black hole or {@code null} to drop callbacks.
+     *
+     * @return The listener.
+     */
+    @NonNull
+    static AsrCallbacksListener listener(@Nullable final Blackhole blackhole) {
+        return new AsrCallbacksListener() {
+            @Override
+            public void onAsrInitialized(boolean success) {
+                if (blackhole != null) blackhole.consume(success);
+            }
+
+            @Override
+            public void onAsrStart() {}
+
+            @Override
+            public void onAsrCancelled() {}
+
+            @Override
+            public void onAsrFinalResult(String finalResult) {
+                if (blackhole != null) blackhole.consume(finalResult);
+            }
+
+            @Override
+            public void onAsrPartialResult(String partialResult) {
+                if (blackhole != null) blackhole.consume(partialResult);
+            }
+
+            @Override
+            public void onAsrError(int errorCode) {
+                if (blackhole != null) blackhole.consume(errorCode);
+            }
+
+            @Override
+            public void onLangListRetrieved(@Nullable List<String> languages) {}
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Commands.CommandMatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Voice command matching of {@link CommandMatcher} against the growing partials of a dictation,
+ * which mention no command, so every partial is searched in full. Matching should not allocate.
+ */
+@State(Scope.Thread)
+public class CommandMatcherBenchmark {
+    /** Number of registered commands. */
+    @Param({"10", "300"})
+    public int commands;
+    /** Number of words of the longest partial. */
+    @Param({"8", "32"})
+    public int words;
+
+    /** Matcher under test. */
+    private CommandMatcher matcher;
+    /** Growing partials of a dictation. */
+    private String[] partials;
+    /** Sink of found commands. */
+    private CommandMatcher.Sink sink;
+    /** Index of the next partial. */
+    private int next;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        partials = Benchmarks.partials(words);
+        matcher = new CommandMatcher();
+        for (int i = 0; i < commands; i++) matcher.add(i, "command " + i + " now");
+        sink = new CommandMatcher.Sink() {
+            @Override
+            public boolean onCommandFound(int id, @NonNull String phrase) {
+                blackhole.consume(id);
+                return true;
+            }
+        };
+    }
+
+    /** One partial matched against every command. */
+    @Benchmark
+    public int partial() {
+        final String partial = partials[next];
+        next = (next + 1) % partials.length;
+        return matcher.match(partial, false, sink);
+    }
+}
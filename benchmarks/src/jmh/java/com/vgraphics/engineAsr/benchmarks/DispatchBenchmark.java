@@ -0,0 +1,68 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import com.vgraphics.engineAsr.asr.Asr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Command dispatch through {@link Asr}. Every operation enqueues commands from the calling thread
+ * and then runs them on the same thread, which acts as the main thread, so one operation covers
+ * the {@code CommandDispatcher} queue, command execution and the admission controller.
+ */
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    /** Asr under test. */
+    private Asr asr;
+    /** Defines which language the next language switch goes to. */
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        asr = Benchmarks.newAsr("en-US");
+    }
+
+    @TearDown
+    public void tearDown() {
+        Benchmarks.destroy(asr);
+    }
+
+    /**
+     * A start immediately followed by a stop. Once the first session ran, the start is held back
+     * by the start spacing and the stop cancels it out, which is the path taken by users tapping
+     * the microphone button repeatedly.
+     */
+    @Benchmark
+    public void startStop() {
+        asr.startListening();
+        asr.stopListening();
+        Benchmarks.idle();
+    }
+
+    /**
+     * A language switch of the current engine. Covers the engine registry lookup and the metrics
+     * scope lookup of a construct command.
+     */
+    @Benchmark
+    public void switchLanguage() {
+        flip = !flip;
+        asr.setLanguage(flip ? "el-GR" : "en-US");
+        Benchmarks.idle();
+    }
+
+    /**
+     * Many language switches before the main thread gets to run, which are merged into a single
+     * construct command.
+     */
+    @Benchmark
+    public void mergedSwitches() {
+        for (int i = 0; i < 8; i++) {
+            flip = !flip;
+            asr.setLanguage(flip ? "el-GR" : "en-US");
+        }
+        Benchmarks.idle();
+    }
+}
@@ -0,0 +1,126 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineInterface;
+import com.vgraphics.engineAsr.Interfaces.AsrEngineProvider;
+import com.vgraphics.engineAsr.asr.EngineOptions;
+
+import java.util.Collections;
+
+/**
+ * Engine that does no recognition. Every command is answered at once with the callback a real
+ * engine would eventually invoke, so benchmarks measure the library and not the recognizer.
+ */
+public class FakeEngine implements AsrEngineInterface {
+    /** Engine code of the fake engine. Far from the codes of the library engines. */
+    public static final int CODE = 100;
+
+    /** Listener to invoke asr events. */
+    private volatile AsrCallbacksListener listener;
+    /** Defines if the engine is listening. */
+    private boolean listening;
+
+    /**
+     * Constructs a new fake engine.
+     *
+     * @param listener Listener to invoke asr events.
+     */
+    public FakeEngine(@NonNull AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    /** @return The listener the engine invokes, which is the admission controller of an asr. */
+    @NonNull
+    public AsrCallbacksListener getListener() {
+        return listener;
+    }
+
+    @Override
+    public void startListening() {
+        if (listening) return;
+
+        listening = true;
+        listener.onAsrStart();
+    }
+
+    @Override
+    public void stopListening() {
+        if (!listening) return;
+
+        listening = false;
+        listener.onAsrCancelled();
+    }
+
+    @Override
+    public void disposeEngine() {
+        listening = false;
+    }
+
+    @Override
+    public boolean languageIsSupported(String language) {
+        return true;
+    }
+
+    @Override
+    public void setListener(@NonNull AsrCallbacksListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void getSupportedLanguages() {
+        listener.onLangListRetrieved(Collections.<String>emptyList());
+    }
+
+    @Override
+    public void setRecognitionLanguage(@NonNull String language) {
+        listener.onAsrInitialized(true);
+    }
+
+    @Override
+    public int engineCode() {
+        return CODE;
+    }
+
+    @Override
+    public boolean getAvailability() {
+        return true;
+    }
+
+    /**
+     * Provider of the fake engine.
+     */
+    public static class Provider implements AsrEngineProvider {
+        @Override
+        public int engineCode() {
+            return CODE;
+        }
+
+        @NonNull
+        @Override
+        public String getName() {
+            return "Fake";
+        }
+
+        @Override
+        public int getCapabilities() {
+            return 0;
+        }
+
+        @Override
+        public void warmUp(@NonNull Context context, @Nullable String language,
+                           @NonNull EngineOptions options) {}
+
+        @NonNull
+        @Override
+        public AsrEngineInterface create(@NonNull Context context, @Nullable String language,
+                                         @NonNull AsrCallbacksListener listener,
+                                         @NonNull EngineOptions options) {
+            return new FakeEngine(listener);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import androidx.annotation.NonNull;
+
+import com.vgraphics.engineAsr.Interfaces.AsrCallbacksListener;
+import com.vgraphics.engineAsr.Interfaces.AsrPartialDeltaListener;
+import com.vgraphics.engineAsr.asr.Asr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Fan-out of engine callbacks to the listeners of an {@link Asr}. Callbacks enter the admission
+ * controller the same way engine callbacks do and reach the user listener and the partial delta
+ * listener, with metrics disabled or enabled.
+ */
+@State(Scope.Thread)
+public class ListenerFanOutBenchmark {
+    /** Defines if metrics are recorded. */
+    @Param({"false", "true"})
+    public boolean metrics;
+    /** Defines if a partial delta listener is set. */
+    @Param({"false", "true"})
+    public boolean deltas;
+
+    /** Asr under test. */
+    private Asr asr;
+    /** Listener engines invoke. */
+    private AsrCallbacksListener engineListener;
+    /** Growing partials of a dictation. */
+    private String[] partials;
+    /** Index of the next partial. */
+    private int next;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        partials = Benchmarks.partials(32);
+
+        asr = Benchmarks.newAsr("en-US");
+        asr.setListener(Benchmarks.listener(blackhole));
+        asr.setMetricsEnabled(metrics);
+        if (deltas) asr.setPartialDeltaListener(new AsrPartialDeltaListener() {
+            @Override
+            public void onAsrPartialDelta(int stablePrefixLength, @NonNull String delta) {
+                blackhole.consume(stablePrefixLength);
+                blackhole.consume(delta);
+            }
+        });
+
+        // Start a session, so that callbacks follow a real session lifecycle.
+        asr.startListening();
+        Benchmarks.idle();
+        engineListener = ((FakeEngine) asr.getEngineRegistry().getEngine(FakeEngine.CODE))
+                .getListener();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Benchmarks.destroy(asr);
+    }
+
+    /** A partial result that differs from the previous one. */
+    @Benchmark
+    public void partial() {
+        engineListener.onAsrPartialResult(partials[next]);
+        next = (next + 1) % partials.length;
+    }
+
+    /** A partial result identical to the previous one, which is dropped before fan-out. */
+    @Benchmark
+    public void repeatedPartial() {
+        engineListener.onAsrPartialResult(partials[partials.length - 1]);
+    }
+}
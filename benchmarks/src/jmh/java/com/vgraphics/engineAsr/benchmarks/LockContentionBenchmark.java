@@ -0,0 +1,68 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import com.vgraphics.engineAsr.asr.Asr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Contention on the lock of {@link Asr} when many threads call it at the same time. Readers check
+ * availability while writers switch languages, both under the lock. Commands of the writers are
+ * merged by the dispatcher since the main thread never runs, so the queue stays bounded. The
+ * uncontended benchmark gives the baseline of a single caller.
+ */
+@State(Scope.Benchmark)
+public class LockContentionBenchmark {
+    /** Asr shared by all threads. */
+    private Asr asr;
+
+    @Setup
+    public void setUp() {
+        asr = Benchmarks.newAsr("en-US");
+    }
+
+    @TearDown
+    public void tearDown() {
+        Benchmarks.destroy(asr);
+    }
+
+    /**
+     * Language of every writer thread.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        /** Defines which language the next switch goes to. */
+        boolean flip;
+
+        String next() {
+            flip = !flip;
+            return flip ? "el-GR" : "en-US";
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean uncontended() {
+        return asr.getAvailability();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(6)
+    public boolean readers() {
+        return asr.getAvailability();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public void writers(Writer writer) {
+        asr.setLanguage(writer.next());
+    }
+}
@@ -0,0 +1,73 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import android.os.Bundle;
+import android.speech.SpeechRecognizer;
+
+import com.vgraphics.engineAsr.asr.GoogleFree.GoogleFreeAsr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Partial result processing in {@link GoogleFreeAsr#onPartialResults(Bundle)}. The recognizer is
+ * put in a listening session and is then fed the growing partials of a dictation, plus repeated
+ * partials that recognizers often send and the engine drops. Notice that the stubbed handler
+ * allocates a message for every post, same as the Android handler does when its message pool is
+ * empty.
+ */
+@State(Scope.Thread)
+public class PartialResultBenchmark {
+    /** Number of words of the longest partial. */
+    @Param({"8", "32"})
+    public int words;
+
+    /** Engine under test. */
+    private GoogleFreeAsr engine;
+    /** Growing partials of a dictation. */
+    private Bundle[] partials;
+    /** Index of the next partial. */
+    private int next;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        final String[] texts = Benchmarks.partials(words);
+        partials = new Bundle[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            partials[i] = new Bundle();
+            partials[i].putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION,
+                    new ArrayList<>(Collections.singletonList(texts[i])));
+        }
+
+        engine = new GoogleFreeAsr(new BenchmarkContext(), "en-US",
+                Benchmarks.listener(blackhole));
+        engine.startListening();
+        engine.onReadyForSpeech(null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.disposeEngine();
+        Benchmarks.idle();
+    }
+
+    /** A partial that differs from the previous one. */
+    @Benchmark
+    public void changedPartial() {
+        engine.onPartialResults(partials[next]);
+        next = (next + 1) % partials.length;
+    }
+
+    /** A partial identical to the previous one, which is dropped. */
+    @Benchmark
+    public void repeatedPartial() {
+        engine.onPartialResults(partials[partials.length - 1]);
+    }
+}
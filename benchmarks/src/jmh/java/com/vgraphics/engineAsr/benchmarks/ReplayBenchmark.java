@@ -0,0 +1,83 @@
+package com.vgraphics.engineAsr.benchmarks;
+
+import com.vgraphics.engineAsr.Enums.TraceEvent;
+import com.vgraphics.engineAsr.Platform.ManualScheduler;
+import com.vgraphics.engineAsr.Replay.ReplayAsr;
+import com.vgraphics.engineAsr.Replay.ReplayTrace;
+import com.vgraphics.engineAsr.asr.AdmissionController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Whole recognition sessions replayed by {@link ReplayAsr} on a virtual clock. A session of a
+ * dictation is a start, one growing partial per word and a final result, with the timings of a
+ * live engine. The virtual clock is advanced past the session at once, so one operation covers
+ * every callback of a session without waiting for it.
+ */
+@State(Scope.Thread)
+public class ReplayBenchmark {
+    /** Number of words, and so partials, of a session. */
+    @Param({"8", "32"})
+    public int words;
+
+    /** Virtual clock the sessions are replayed on. */
+    private ManualScheduler scheduler;
+    /** Engine that invokes the listener directly. */
+    private ReplayAsr direct;
+    /** Engine that invokes the listener through an admission controller. */
+    private ReplayAsr admitted;
+    /** Admission controller of {@link #admitted}. */
+    private AdmissionController admission;
+    /** Duration of a session in milliseconds. */
+    private long duration;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        final String[] partials = Benchmarks.partials(words);
+        final ReplayTrace trace = new ReplayTrace().add(TraceEvent.START, 300);
+        for (int i = 0; i < partials.length; i++)
+            trace.add(TraceEvent.PARTIAL, 600 + i * 250L, partials[i], 0);
+        duration = 600 + partials.length * 250L + 400;
+        trace.add(TraceEvent.END_OF_SPEECH, duration - 400);
+        trace.add(TraceEvent.FINAL, duration, partials[partials.length - 1], 0);
+
+        scheduler = new ManualScheduler();
+        direct = new ReplayAsr(scheduler, trace, "en-US", Benchmarks.listener(blackhole));
+
+        admission = new AdmissionController(scheduler);
+        admission.setListener(Benchmarks.listener(blackhole));
+        admitted = new ReplayAsr(scheduler, trace, "en-US", admission);
+        admission.setEngine(admitted);
+        scheduler.runPending();
+    }
+
+    @TearDown
+    public void tearDown() {
+        direct.disposeEngine();
+        admitted.disposeEngine();
+    }
+
+    /** A session delivered straight to the listener. */
+    @Benchmark
+    public void session() {
+        direct.startListening();
+        scheduler.advanceBy(duration);
+    }
+
+    /**
+     * A session requested through the admission controller, which also drops repeated partials
+     * and tracks start latency. The clock is advanced past the start spacing as well, so the next
+     * request is admitted at once.
+     */
+    @Benchmark
+    public void admittedSession() {
+        admission.requestStart();
+        scheduler.advanceBy(duration + admission.getStartSpacing());
+    }
+}
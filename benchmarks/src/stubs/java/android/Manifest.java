@@ -0,0 +1,11 @@
+package android;
+
+/**
+ * JVM stand-in of the Android manifest constants.
+ */
+public final class Manifest {
+    public static final class permission {
+        public static final String RECORD_AUDIO = "android.permission.RECORD_AUDIO";
+        public static final String INTERNET = "android.permission.INTERNET";
+    }
+}
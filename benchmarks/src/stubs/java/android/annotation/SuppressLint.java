@@ -0,0 +1,8 @@
+package android.annotation;
+
+/**
+ * JVM stand-in of the Android lint annotation.
+ */
+public @interface SuppressLint {
+    String[] value();
+}
@@ -0,0 +1,8 @@
+package android.app;
+
+/**
+ * JVM stand-in of the Android activity constants.
+ */
+public class Activity {
+    public static final int RESULT_OK = -1;
+}
@@ -0,0 +1,18 @@
+package android.content;
+
+import android.os.Bundle;
+
+/**
+ * JVM stand-in of the Android broadcast receiver. Broadcasts are never delivered.
+ */
+public abstract class BroadcastReceiver {
+    public abstract void onReceive(Context context, Intent intent);
+
+    public final int getResultCode() {
+        return 0;
+    }
+
+    public final Bundle getResultExtras(boolean makeMap) {
+        return makeMap ? new Bundle() : null;
+    }
+}
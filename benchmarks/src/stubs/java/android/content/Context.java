@@ -0,0 +1,25 @@
+package android.content;
+
+import android.os.Bundle;
+import android.os.Handler;
+
+/**
+ * JVM stand-in of the Android context. Benchmarks supply their own implementation.
+ */
+public abstract class Context {
+    public static final String AUDIO_SERVICE = "audio";
+    public static final int MODE_PRIVATE = 0;
+
+    public abstract Object getSystemService(String name);
+
+    public abstract String getPackageName();
+
+    public abstract Context getApplicationContext();
+
+    public abstract SharedPreferences getSharedPreferences(String name, int mode);
+
+    public abstract void sendOrderedBroadcast(Intent intent, String receiverPermission,
+                                              BroadcastReceiver resultReceiver,
+                                              Handler scheduler, int initialCode,
+                                              String initialData, Bundle initialExtras);
+}
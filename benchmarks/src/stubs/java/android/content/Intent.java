@@ -0,0 +1,46 @@
+package android.content;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in of the Android intent, keeping its extras in a hash map.
+ */
+public class Intent {
+    private final String action;
+    private final Map<String, Object> extras = new HashMap<>();
+    private String packageName;
+
+    public Intent(String action) {
+        this.action = action;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Intent putExtra(String name, String value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public Intent putExtra(String name, int value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public Intent putExtra(String name, long value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public Intent putExtra(String name, boolean value) {
+        extras.put(name, value);
+        return this;
+    }
+
+    public Intent setPackage(String packageName) {
+        this.packageName = packageName;
+        return this;
+    }
+}
@@ -0,0 +1,34 @@
+package android.content;
+
+import java.util.Set;
+
+/**
+ * JVM stand-in of the Android shared preferences.
+ */
+public interface SharedPreferences {
+    String getString(String key, String defValue);
+
+    long getLong(String key, long defValue);
+
+    int getInt(String key, int defValue);
+
+    Set<String> getStringSet(String key, Set<String> defValues);
+
+    Editor edit();
+
+    interface Editor {
+        Editor putString(String key, String value);
+
+        Editor putLong(String key, long value);
+
+        Editor putInt(String key, int value);
+
+        Editor putStringSet(String key, Set<String> values);
+
+        Editor remove(String key);
+
+        void apply();
+
+        boolean commit();
+    }
+}
@@ -0,0 +1,9 @@
+package android.media;
+
+/**
+ * JVM stand-in of the Android audio format constants.
+ */
+public class AudioFormat {
+    public static final int CHANNEL_IN_MONO = 16;
+    public static final int ENCODING_PCM_16BIT = 2;
+}
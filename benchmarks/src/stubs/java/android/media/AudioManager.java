@@ -0,0 +1,12 @@
+package android.media;
+
+/**
+ * JVM stand-in of the Android audio manager. Volume changes are ignored.
+ */
+public class AudioManager {
+    public static final int STREAM_MUSIC = 3;
+    public static final int ADJUST_MUTE = -100;
+    public static final int ADJUST_UNMUTE = 100;
+
+    public void adjustStreamVolume(int streamType, int direction, int flags) {}
+}
@@ -0,0 +1,33 @@
+package android.media;
+
+/**
+ * JVM stand-in of the Android audio recorder. It never initializes, since there is no microphone
+ * on the JVM. Use a file or memory audio source instead.
+ */
+public class AudioRecord {
+    public static final int STATE_UNINITIALIZED = 0;
+    public static final int STATE_INITIALIZED = 1;
+    public static final int ERROR = -1;
+    public static final int ERROR_BAD_VALUE = -2;
+
+    public AudioRecord(int audioSource, int sampleRateInHz, int channelConfig, int audioFormat,
+                       int bufferSizeInBytes) {}
+
+    public static int getMinBufferSize(int sampleRateInHz, int channelConfig, int audioFormat) {
+        return ERROR;
+    }
+
+    public int getState() {
+        return STATE_UNINITIALIZED;
+    }
+
+    public void startRecording() {}
+
+    public void stop() {}
+
+    public void release() {}
+
+    public int read(short[] audioData, int offsetInShorts, int sizeInShorts) {
+        return ERROR;
+    }
+}
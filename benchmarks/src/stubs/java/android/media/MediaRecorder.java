@@ -0,0 +1,11 @@
+package android.media;
+
+/**
+ * JVM stand-in of the Android media recorder constants.
+ */
+public class MediaRecorder {
+    public static final class AudioSource {
+        public static final int MIC = 1;
+        public static final int VOICE_RECOGNITION = 6;
+    }
+}
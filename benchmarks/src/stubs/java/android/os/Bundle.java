@@ -0,0 +1,29 @@
+package android.os;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in of the Android bundle, backed by a hash map.
+ */
+public class Bundle {
+    private final Map<String, Object> values = new HashMap<>();
+
+    public void putStringArrayList(String key, ArrayList<String> value) {
+        values.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<String> getStringArrayList(String key) {
+        return (ArrayList<String>) values.get(key);
+    }
+
+    public void putFloatArray(String key, float[] value) {
+        values.put(key, value);
+    }
+
+    public float[] getFloatArray(String key) {
+        return (float[]) values.get(key);
+    }
+}
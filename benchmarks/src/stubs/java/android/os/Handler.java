@@ -0,0 +1,42 @@
+package android.os;
+
+/**
+ * JVM stand-in of the Android handler. Messages are queued to a {@link Looper} and run once the
+ * looper is idled.
+ */
+public class Handler {
+    private final Looper looper;
+
+    public Handler() {
+        this(Looper.getMainLooper());
+    }
+
+    public Handler(Looper looper) {
+        this.looper = looper;
+    }
+
+    public final boolean post(Runnable r) {
+        return postAtTime(r, SystemClock.uptimeMillis());
+    }
+
+    public final boolean postDelayed(Runnable r, long delayMillis) {
+        return postAtTime(r, SystemClock.uptimeMillis() + Math.max(0, delayMillis));
+    }
+
+    public final boolean postAtTime(Runnable r, long uptimeMillis) {
+        looper.enqueue(this, r, uptimeMillis);
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable r) {
+        if (r != null) looper.remove(this, r);
+    }
+
+    public final void removeCallbacksAndMessages(Object token) {
+        looper.remove(this, null);
+    }
+
+    public final Looper getLooper() {
+        return looper;
+    }
+}
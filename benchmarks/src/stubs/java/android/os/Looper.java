@@ -0,0 +1,99 @@
+package android.os;
+
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * JVM stand-in of the Android looper. There is no looper thread. Posted messages run on whichever
+ * thread calls {@link #idle()}, which becomes the looper thread, so benchmarks decide exactly
+ * when the main thread gets to run.
+ */
+public final class Looper {
+    /** The main looper. */
+    private static final Looper MAIN = new Looper();
+
+    /** Pending messages ordered by time and then by posting order. */
+    private final PriorityQueue<Message> queue = new PriorityQueue<>();
+    /** Number of posted messages. Keeps messages of the same time in posting order. */
+    private long sequence;
+    /** Thread that last ran messages. */
+    private volatile Thread thread;
+
+    private Looper() {}
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    public static Looper myLooper() {
+        return MAIN.thread == Thread.currentThread() ? MAIN : null;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    public void quitSafely() {}
+
+    /**
+     * Runs every message that is due, including messages posted while running, on the calling
+     * thread.
+     *
+     * @return Number of messages that ran.
+     */
+    public int idle() {
+        thread = Thread.currentThread();
+
+        int ran = 0;
+        while (true) {
+            final Message message;
+            synchronized (this) {
+                message = queue.peek();
+                if (message == null || message.when > SystemClock.uptimeMillis()) return ran;
+                queue.poll();
+            }
+            message.callback.run();
+            ran++;
+        }
+    }
+
+    /** @return Number of pending messages, due or not. */
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    synchronized void enqueue(Handler handler, Runnable callback, long when) {
+        queue.add(new Message(handler, callback, when, sequence++));
+    }
+
+    synchronized void remove(Handler handler, Runnable callback) {
+        for (Iterator<Message> iterator = queue.iterator(); iterator.hasNext(); ) {
+            final Message message = iterator.next();
+            if (message.handler == handler && (callback == null || message.callback == callback))
+                iterator.remove();
+        }
+    }
+
+    /**
+     * Posted message.
+     */
+    private static final class Message implements Comparable<Message> {
+        final Handler handler;
+        final Runnable callback;
+        final long when;
+        final long sequence;
+
+        Message(Handler handler, Runnable callback, long when, long sequence) {
+            this.handler = handler;
+            this.callback = callback;
+            this.when = when;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Message other) {
+            if (when != other.when) return when < other.when ? -1 : 1;
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
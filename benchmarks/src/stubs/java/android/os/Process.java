@@ -0,0 +1,11 @@
+package android.os;
+
+/**
+ * JVM stand-in of the Android process. Thread priorities are ignored.
+ */
+public class Process {
+    public static final int THREAD_PRIORITY_BACKGROUND = 10;
+    public static final int THREAD_PRIORITY_URGENT_AUDIO = -19;
+
+    public static void setThreadPriority(int priority) {}
+}
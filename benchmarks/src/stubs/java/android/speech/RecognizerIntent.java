@@ -0,0 +1,20 @@
+package android.speech;
+
+/**
+ * JVM stand-in of the Android recognizer intent constants.
+ */
+public class RecognizerIntent {
+    public static final String ACTION_RECOGNIZE_SPEECH = "android.speech.action.RECOGNIZE_SPEECH";
+    public static final String ACTION_GET_LANGUAGE_DETAILS =
+            "android.speech.action.GET_LANGUAGE_DETAILS";
+    public static final String EXTRA_LANGUAGE = "android.speech.extra.LANGUAGE";
+    public static final String EXTRA_LANGUAGE_PREFERENCE =
+            "android.speech.extra.LANGUAGE_PREFERENCE";
+    public static final String EXTRA_SUPPORTED_LANGUAGES =
+            "android.speech.extra.SUPPORTED_LANGUAGES";
+    public static final String EXTRA_CALLING_PACKAGE = "calling_package";
+    public static final String EXTRA_LANGUAGE_MODEL = "android.speech.extra.LANGUAGE_MODEL";
+    public static final String LANGUAGE_MODEL_FREE_FORM = "free_form";
+    public static final String EXTRA_PARTIAL_RESULTS = "android.speech.extra.PARTIAL_RESULTS";
+    public static final String EXTRA_MAX_RESULTS = "android.speech.extra.MAX_RESULTS";
+}
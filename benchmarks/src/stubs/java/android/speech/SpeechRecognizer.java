@@ -0,0 +1,44 @@
+package android.speech;
+
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * JVM stand-in of the Android speech recognizer. It never calls its listener, so benchmarks drive
+ * the {@link RecognitionListener} callbacks themselves.
+ */
+public class SpeechRecognizer {
+    public static final String RESULTS_RECOGNITION = "results_recognition";
+    public static final String CONFIDENCE_SCORES = "confidence_scores";
+    public static final int ERROR_NETWORK_TIMEOUT = 1;
+    public static final int ERROR_NETWORK = 2;
+    public static final int ERROR_AUDIO = 3;
+    public static final int ERROR_SERVER = 4;
+    public static final int ERROR_CLIENT = 5;
+    public static final int ERROR_SPEECH_TIMEOUT = 6;
+    public static final int ERROR_NO_MATCH = 7;
+    public static final int ERROR_RECOGNIZER_BUSY = 8;
+    public static final int ERROR_INSUFFICIENT_PERMISSIONS = 9;
+
+    private RecognitionListener listener;
+
+    public static SpeechRecognizer createSpeechRecognizer(Context context) {
+        return new SpeechRecognizer();
+    }
+
+    public static boolean isRecognitionAvailable(Context context) {
+        return true;
+    }
+
+    public void setRecognitionListener(RecognitionListener listener) {
+        this.listener = listener;
+    }
+
+    public void startListening(Intent recognizerIntent) {}
+
+    public void stopListening() {}
+
+    public void cancel() {}
+
+    public void destroy() {}
+}
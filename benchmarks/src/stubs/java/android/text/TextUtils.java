@@ -0,0 +1,25 @@
+package android.text;
+
+/**
+ * JVM stand-in of the Android text utilities.
+ */
+public class TextUtils {
+    public static String join(CharSequence delimiter, Iterable tokens) {
+        final StringBuilder builder = new StringBuilder();
+        boolean first = true;
+        for (Object token : tokens) {
+            if (!first) builder.append(delimiter);
+            builder.append(token);
+            first = false;
+        }
+        return builder.toString();
+    }
+
+    public static boolean isEmpty(CharSequence str) {
+        return str == null || str.length() == 0;
+    }
+
+    public static boolean equals(CharSequence a, CharSequence b) {
+        return a == b || (a != null && b != null && a.toString().equals(b.toString()));
+    }
+}
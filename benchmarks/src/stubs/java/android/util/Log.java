@@ -0,0 +1,41 @@
+package android.util;
+
+/**
+ * JVM stand-in of the Android log. Messages are dropped, so that logging does not dominate
+ * benchmarks, same as a release build with a quiet log level.
+ */
+public final class Log {
+    private Log() {}
+
+    public static int println(int priority, String tag, String msg) {
+        return 0;
+    }
+
+    public static int v(String tag, String msg) {
+        return 0;
+    }
+
+    public static int d(String tag, String msg) {
+        return 0;
+    }
+
+    public static int i(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg) {
+        return 0;
+    }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        return 0;
+    }
+}
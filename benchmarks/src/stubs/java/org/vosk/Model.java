@@ -0,0 +1,15 @@
+package org.vosk;
+
+import java.io.IOException;
+
+/**
+ * JVM stand-in of the Vosk model. Models can not be loaded on the JVM.
+ */
+public class Model implements AutoCloseable {
+    public Model(String path) throws IOException {
+        throw new IOException("Vosk models are not available on the JVM.");
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,35 @@
+package org.vosk;
+
+import java.io.IOException;
+
+/**
+ * JVM stand-in of the Vosk recognizer. Never constructed, since models can not be loaded.
+ */
+public class Recognizer implements AutoCloseable {
+    public Recognizer(Model model, float sampleRate) throws IOException {
+        throw new IOException("Vosk is not available on the JVM.");
+    }
+
+    public boolean acceptWaveForm(short[] data, int len) {
+        return false;
+    }
+
+    public void setMaxAlternatives(int maxAlternatives) {}
+
+    public String getResult() {
+        return "";
+    }
+
+    public String getPartialResult() {
+        return "";
+    }
+
+    public String getFinalResult() {
+        return "";
+    }
+
+    public void reset() {}
+
+    @Override
+    public void close() {}
+}